@@ -0,0 +1,67 @@
+package app.adriano.fakeplayers.benchmark;
+
+import app.adriano.fakeplayers.text.MessageTemplate;
+import app.adriano.fakeplayers.text.Placeholder;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks da renderização das mensagens pré-compiladas ({@link MessageTemplate}).
+ *
+ * @since 0.2.0
+ */
+@State(Scope.Thread)
+public class MessageBenchmark {
+
+    private static final String STATIC_SOURCE = "&cVocê não tem permissão para usar este comando!";
+    private static final String PING_SOURCE = "&aPong! &eLatência: &f%time%ms &e| MSPT: &f%mspt%";
+    private static final String SPAWN_SOURCE = "&f%count% &abots criados em &f%time%ms";
+
+    private MessageTemplate staticTemplate;
+    private MessageTemplate pingTemplate;
+    private MessageTemplate spawnTemplate;
+    private long value;
+
+    @Setup
+    public void setup() {
+        staticTemplate = MessageTemplate.compile(STATIC_SOURCE);
+        pingTemplate = MessageTemplate.compile(PING_SOURCE);
+        spawnTemplate = MessageTemplate.compile(SPAWN_SOURCE);
+    }
+
+    /**
+     * Mensagem fixa, servida do cache.
+     */
+    @Benchmark
+    public Component renderStatic() {
+        return staticTemplate.asComponent();
+    }
+
+    /**
+     * Mensagem com dois placeholders de tipos diferentes.
+     */
+    @Benchmark
+    public Component renderPing() {
+        return pingTemplate.render(Placeholder.TIME, ++value, Placeholder.MSPT, 12.5);
+    }
+
+    /**
+     * Mensagem com dois placeholders numéricos.
+     */
+    @Benchmark
+    public Component renderSpawn() {
+        long count = ++value;
+        return spawnTemplate.render(Placeholder.COUNT, count, Placeholder.TIME, count >>> 3);
+    }
+
+    /**
+     * Compilação de uma mensagem, feita a cada recarregamento do config.
+     */
+    @Benchmark
+    public MessageTemplate compile() {
+        return MessageTemplate.compile(PING_SOURCE);
+    }
+}
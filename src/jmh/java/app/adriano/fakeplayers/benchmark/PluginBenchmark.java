@@ -0,0 +1,114 @@
+package app.adriano.fakeplayers.benchmark;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.commands.CommandNode;
+import app.adriano.fakeplayers.commands.FakePlayersCommand;
+import app.adriano.fakeplayers.config.ConfigManager;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks que precisam do plugin habilitado, em um servidor simulado (MockBukkit).
+ *
+ * Mede:
+ * 1. {@link ConfigManager#getString} e {@link ConfigManager#debug} com o debug desligado,
+ *    contra a leitura direta do snapshot compilado
+ * 2. O despacho do /fp pela árvore de comandos (caminho, permissões e argumentos restantes),
+ *    com executores vazios para não medir o envio de mensagens
+ *
+ * @since 0.2.0
+ */
+@State(Scope.Benchmark)
+public class PluginBenchmark {
+
+    private static final String[] PING_ARGS = {"ping"};
+    private static final String[] NESTED_ARGS = {"bots", "list", "page", "2"};
+    private static final String[] UNKNOWN_ARGS = {"pnig"};
+
+    private FakePlayersPlugin plugin;
+    private ConfigManager configManager;
+    private FakePlayersCommand command;
+    private FakePlayersCommand unknownCommand;
+    private CommandSender sender;
+
+    @Setup
+    public void setup() {
+        ServerMock server = MockBukkit.mock();
+        plugin = MockBukkit.load(FakePlayersPlugin.class);
+        configManager = plugin.getConfigManager();
+        sender = server.getConsoleSender();
+
+        CommandExecutor noop = (commandSender, cmd, label, args) -> true;
+        CommandNode root = new CommandNode("fp", "base", null, null)
+            .then(new CommandNode("info", "info", noop, null))
+            .then(new CommandNode("ping", "ping", noop, null))
+            .then(new CommandNode("reload", "reload", noop, null))
+            .then(new CommandNode("bots", "base", null, null)
+                .then(new CommandNode("list", "base", noop, null)));
+        // Subcomando desconhecido cai no nó raiz; com um executor, nenhuma mensagem é enviada
+        CommandNode unknownRoot = new CommandNode("fp", "base", noop, null)
+            .then(new CommandNode("ping", "ping", noop, null));
+        command = new FakePlayersCommand(plugin, root);
+        unknownCommand = new FakePlayersCommand(plugin, unknownRoot);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    /**
+     * Busca de uma string no YAML, com conversão das cores.
+     */
+    @Benchmark
+    public String configGetString() {
+        return configManager.getString("messages.commands.info", "&aInformações do plugin:");
+    }
+
+    /**
+     * Leitura do prefixo pré-compilado no snapshot.
+     */
+    @Benchmark
+    public Object configSnapshotRead() {
+        return configManager.getSnapshot().prefix();
+    }
+
+    /**
+     * Chamada de debug com o debug desligado (caso comum).
+     */
+    @Benchmark
+    public void configDebugDisabled() {
+        configManager.debug("Mensagem de debug");
+    }
+
+    /**
+     * /fp ping: um nível na árvore.
+     */
+    @Benchmark
+    public boolean dispatchPing() {
+        return command.execute(sender, "fp", PING_ARGS);
+    }
+
+    /**
+     * /fp bots list page 2: dois níveis e argumentos restantes copiados.
+     */
+    @Benchmark
+    public boolean dispatchNested() {
+        return command.execute(sender, "fp", NESTED_ARGS);
+    }
+
+    /**
+     * /fp pnig: busca sem correspondência, que para no nó raiz.
+     */
+    @Benchmark
+    public boolean dispatchUnknown() {
+        return unknownCommand.execute(sender, "fp", UNKNOWN_ARGS);
+    }
+}
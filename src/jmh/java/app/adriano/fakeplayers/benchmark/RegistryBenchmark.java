@@ -0,0 +1,78 @@
+package app.adriano.fakeplayers.benchmark;
+
+import app.adriano.fakeplayers.bot.BotMode;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmarks do {@link FakePlayerRegistry} com 1k, 10k e 50k bots.
+ *
+ * Cada operação parte do registro cheio ({@code bots} bots), então os
+ * tempos refletem o estado estável do servidor, não o registro vazio.
+ *
+ * @since 0.2.0
+ */
+@State(Scope.Thread)
+public class RegistryBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int bots;
+
+    private FakePlayerRegistry registry;
+    private UUID[] uuids;
+    private int world;
+    private long sequence;
+
+    @Setup
+    public void setup() {
+        registry = new FakePlayerRegistry(bots, bots + 1);
+        world = registry.worldIndex(UUID.randomUUID());
+        uuids = new UUID[bots];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < bots; i++) {
+            uuids[i] = UUID.randomUUID();
+            registry.spawn(uuids[i], "Bot" + i, i + 1, world,
+                random.nextDouble(-512, 512), 64.0, random.nextDouble(-512, 512),
+                0.0f, 0.0f, BotMode.PACKET.applyTo(0));
+        }
+    }
+
+    /**
+     * Cria e remove um bot, com o registro cheio.
+     */
+    @Benchmark
+    public boolean spawnDespawn() {
+        long seq = ++sequence;
+        int id = registry.spawn(new UUID(seq, -seq), "Temp", -1, world,
+            0.0, 64.0, 0.0, 0.0f, 0.0f, BotMode.PACKET.applyTo(0));
+        return registry.despawn(id);
+    }
+
+    /**
+     * Busca um bot pelo UUID.
+     */
+    @Benchmark
+    public int lookupByUuid() {
+        return registry.find(uuids[ThreadLocalRandom.current().nextInt(bots)]);
+    }
+
+    /**
+     * Percorre todos os bots lendo a posição, como o agendador faz.
+     */
+    @Benchmark
+    public double iterateAll() {
+        double sum = 0.0;
+        for (int slot = 0, size = registry.size(); slot < size; slot++) {
+            int id = registry.idAt(slot);
+            sum += registry.getX(id) + registry.getZ(id);
+        }
+        return sum;
+    }
+}
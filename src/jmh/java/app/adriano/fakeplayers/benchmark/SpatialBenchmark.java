@@ -0,0 +1,72 @@
+package app.adriano.fakeplayers.benchmark;
+
+import app.adriano.fakeplayers.bot.BotMode;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.spatial.BotSpatialIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmarks das consultas do {@link BotSpatialIndex}.
+ *
+ * Os bots são espalhados em um quadrado de 1024 blocos; as consultas partem
+ * de posições aleatórias dentro dele.
+ *
+ * @since 0.2.0
+ */
+@State(Scope.Thread)
+public class SpatialBenchmark {
+
+    private static final double AREA = 512.0;
+
+    @Param({"1000", "10000", "50000"})
+    public int bots;
+
+    @Param({"16", "64"})
+    public double radius;
+
+    private BotSpatialIndex index;
+    private int world;
+    private final int[] out = new int[4096];
+    private final int[] nearestIds = new int[8];
+    private final double[] nearestDistSq = new double[8];
+
+    @Setup
+    public void setup() {
+        FakePlayerRegistry registry = new FakePlayerRegistry(bots, bots);
+        index = new BotSpatialIndex(registry);
+        world = registry.worldIndex(UUID.randomUUID());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < bots; i++) {
+            registry.spawn(UUID.randomUUID(), "Bot" + i, i + 1, world,
+                random.nextDouble(-AREA, AREA), 64.0, random.nextDouble(-AREA, AREA),
+                0.0f, 0.0f, BotMode.PACKET.applyTo(0));
+        }
+    }
+
+    /**
+     * Bots dentro de uma esfera.
+     */
+    @Benchmark
+    public int queryRadius() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.queryRadius(world, random.nextDouble(-AREA, AREA), 64.0,
+            random.nextDouble(-AREA, AREA), radius, out);
+    }
+
+    /**
+     * Os 8 bots mais próximos de um ponto.
+     */
+    @Benchmark
+    public int nearest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.nearest(world, random.nextDouble(-AREA, AREA), 64.0,
+            random.nextDouble(-AREA, AREA), radius, nearestIds, nearestDistSq);
+    }
+}
@@ -0,0 +1,158 @@
+package app.adriano.fakeplayers.loadtest;
+
+import app.adriano.fakeplayers.cluster.ClusterCoordinator;
+import app.adriano.fakeplayers.cluster.ClusterNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Teste do cluster em um único processo, pela interface de loopback.
+ * Executado com {@code ./gradlew clusterLoopback}
+ *
+ * Funcionamento:
+ * 1. Sobe um {@link ClusterCoordinator} em uma porta livre e vários {@link ClusterNode}
+ *    com contadores no lugar dos servidores
+ * 2. Distribui bots e espera cada nó ter a sua parte
+ * 3. Informa um MSPT acima do limite em um nó e espera o coordenador tirar bots dele
+ * 4. Desliga um nó e espera os bots dele irem para os demais
+ * 5. Remove todos os bots
+ *
+ * Cada etapa tem um prazo; o processo sai com código 1 na primeira que falhar.
+ *
+ * Propriedades de sistema (definidas pela tarefa do Gradle):
+ * - {@code cluster.nodes}: quantidade de nós
+ * - {@code cluster.bots}: bots distribuídos
+ * - {@code cluster.capacity}: capacidade de cada nó
+ *
+ * @since 0.2.0
+ */
+public final class ClusterLoopbackHarness {
+
+    private static final String TOKEN = "loopback";
+    private static final long DEADLINE_MILLIS = 10_000;
+
+    private final Logger logger = Logger.getLogger("ClusterLoopback");
+    private final List<CounterNode> nodes = new ArrayList<>();
+
+    /**
+     * Nó simulado: só conta os bots recebidos.
+     */
+    private static final class CounterNode implements ClusterNode.Handler {
+        private final int capacity;
+        private ClusterNode node;
+        private int bots;
+        private double mspt = 10.0;
+
+        CounterNode(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public synchronized void spawn(int count) {
+            bots = Math.min(capacity, bots + count);
+            node.update(bots, capacity, mspt);
+        }
+
+        @Override
+        public synchronized void despawn(int count) {
+            bots = Math.max(0, bots - count);
+            node.update(bots, capacity, mspt);
+        }
+
+        synchronized void setMspt(double mspt) {
+            this.mspt = mspt;
+            node.update(bots, capacity, mspt);
+        }
+
+        synchronized int bots() {
+            return bots;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int nodeCount = Integer.getInteger("cluster.nodes", 4);
+        int bots = Integer.getInteger("cluster.bots", 4000);
+        int capacity = Integer.getInteger("cluster.capacity", 5000);
+        boolean passed = new ClusterLoopbackHarness().run(nodeCount, bots, capacity);
+        System.out.println(passed ? "Cluster loopback: OK" : "Cluster loopback: FALHOU");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run(int nodeCount, int bots, int capacity) throws IOException, InterruptedException {
+        try (ClusterCoordinator coordinator = new ClusterCoordinator("127.0.0.1", 0, TOKEN,
+            600, 45.0, 50, 0, logger)) {
+            coordinator.start();
+            List<ClusterNode> clients = new ArrayList<>();
+            for (int i = 0; i < nodeCount; i++) {
+                CounterNode counter = new CounterNode(capacity);
+                ClusterNode node = new ClusterNode("127.0.0.1", coordinator.getPort(), TOKEN, "node-" + i,
+                    100, 100, counter, logger);
+                counter.node = node;
+                node.update(0, capacity, counter.mspt);
+                nodes.add(counter);
+                clients.add(node);
+                node.start();
+            }
+            try {
+                if (!check("Conexão dos nós", () -> coordinator.getNodes().size() == nodeCount)) {
+                    return false;
+                }
+
+                coordinator.spawn(bots);
+                int share = bots / nodeCount;
+                if (!check("Distribuição de " + bots + " bots", () -> total() == bots
+                    && nodes.stream().allMatch(node -> Math.abs(node.bots() - share) <= 1))) {
+                    return false;
+                }
+
+                CounterNode overloaded = nodes.get(0);
+                overloaded.setMspt(60.0);
+                if (!check("Rebalanceamento do nó sobrecarregado", () -> overloaded.bots() < share
+                    && total() == bots)) {
+                    return false;
+                }
+                overloaded.setMspt(10.0);
+
+                CounterNode killed = nodes.remove(nodeCount - 1);
+                clients.remove(nodeCount - 1).close();
+                if (!check("Redistribuição dos bots do nó desligado", () -> total() == bots
+                    && coordinator.getNodes().size() == nodeCount - 1)) {
+                    return false;
+                }
+                System.out.println("  (o nó desligado ficou com " + killed.bots() + " bots locais)");
+
+                coordinator.despawnAll();
+                return check("Remoção de todos os bots", () -> total() == 0 && coordinator.getDesired() == 0);
+            } finally {
+                for (ClusterNode node : clients) {
+                    node.close();
+                }
+            }
+        }
+    }
+
+    private int total() {
+        int total = 0;
+        for (CounterNode node : nodes) {
+            total += node.bots();
+        }
+        return total;
+    }
+
+    private static boolean check(String name, BooleanSupplier condition) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (System.currentTimeMillis() - start < DEADLINE_MILLIS) {
+            if (condition.getAsBoolean()) {
+                System.out.println("OK   " + name + " (" + (System.currentTimeMillis() - start) + "ms)");
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        System.out.println("FALHA " + name + " (prazo de " + DEADLINE_MILLIS + "ms)");
+        return false;
+    }
+}
@@ -0,0 +1,305 @@
+package app.adriano.fakeplayers.loadtest;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotMode;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.metrics.LatencyHistogram;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Teste de carga do plugin, sem servidor real e sem rede.
+ * Executado com {@code ./gradlew loadTest}
+ *
+ * Funcionamento:
+ * 1. Habilita o {@link FakePlayersPlugin} em um servidor simulado (MockBukkit), com
+ *    persistência desligada e orçamento do agendador ilimitado, para medir o custo real;
+ *    o registro começa pequeno, então o heap base não inclui os arrays dos bots e o
+ *    crescimento deles entra no heap por bot
+ * 2. Para cada etapa (por padrão de 100 a 20.000 bots), cria bots até a quantidade da etapa
+ * 3. Roda ticks de aquecimento e depois ticks medidos; a cada tick uma tarefa move todos os
+ *    bots do balde, acionando o índice espacial, o renderizador e os demais ouvintes
+ * 4. Mede o custo por tick (média, p99 e máximo), a alocação da thread principal por tick
+ *    e o heap por bot após um GC
+ * 5. Grava os resultados em JSON e compara cada etapa com a mesma etapa de uma execução
+ *    gravada antes (a linha de base); falha (código de saída 1) se o p99 do tick ou o heap por
+ *    bot piorarem além da tolerância, ou se a última etapa passar dos limites absolutos
+ *
+ * Propriedades de sistema (definidas pela tarefa do Gradle):
+ * - {@code loadtest.steps}: quantidades de bots separadas por vírgula
+ * - {@code loadtest.warmupTicks} e {@code loadtest.measureTicks}: ticks por etapa
+ * - {@code loadtest.maxTickMillis}: limite do p99 do tick na última etapa (0 desativa)
+ * - {@code loadtest.maxHeapPerBot}: limite de bytes de heap por bot na última etapa (0 desativa)
+ * - {@code loadtest.output}: arquivo JSON de resultados
+ * - {@code loadtest.baseline}: arquivo JSON da linha de base; a execução falha se ele não existir
+ * - {@code loadtest.tolerance}: piora aceita em relação à linha de base (0.2 = 20%)
+ * - {@code loadtest.recordBaseline}: grava os resultados como a nova linha de base, sem comparar
+ *
+ * @since 0.2.0
+ */
+public final class LoadTestHarness {
+
+    private static final double AREA = 1024.0;
+    private static final double STEP = 0.25;
+    // Capacidade inicial do registro no teste: pequena para não entrar no heap base
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Pattern FIELD = Pattern.compile("\"(\\w+)\": ([0-9.]+)");
+
+    private final int warmupTicks = Integer.getInteger("loadtest.warmupTicks", 100);
+    private final int measureTicks = Integer.getInteger("loadtest.measureTicks", 400);
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ServerMock server;
+    private FakePlayersPlugin plugin;
+    private World world;
+    private long sequence;
+
+    /**
+     * Resultado de uma etapa.
+     *
+     * @param bots Quantidade de bots
+     * @param spawnMillis Tempo para criar os bots da etapa
+     * @param tickMeanMillis Custo médio do tick
+     * @param tickP99Millis Percentil 99 do custo do tick
+     * @param tickMaxMillis Maior custo de tick
+     * @param allocatedPerTick Bytes alocados pela thread principal por tick
+     * @param heapPerBot Bytes de heap por bot, após GC
+     */
+    record StepResult(int bots, double spawnMillis, double tickMeanMillis, double tickP99Millis,
+                      double tickMaxMillis, long allocatedPerTick, long heapPerBot) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] steps = parseSteps(System.getProperty("loadtest.steps", "100,500,1000,2000,5000,10000,20000"));
+        LoadTestHarness harness = new LoadTestHarness();
+        List<StepResult> results;
+        try {
+            harness.boot(steps[steps.length - 1]);
+            results = harness.run(steps);
+        } finally {
+            MockBukkit.unmock();
+        }
+
+        String output = System.getProperty("loadtest.output");
+        if (output != null) {
+            File file = new File(output);
+            file.getParentFile().mkdirs();
+            Files.writeString(file.toPath(), toJson(results), StandardCharsets.UTF_8);
+            System.out.println("Resultados gravados em " + file);
+        }
+
+        boolean failed = false;
+        String baselinePath = System.getProperty("loadtest.baseline");
+        if (baselinePath != null) {
+            File baseline = new File(baselinePath);
+            if (Boolean.getBoolean("loadtest.recordBaseline")) {
+                baseline.getAbsoluteFile().getParentFile().mkdirs();
+                Files.writeString(baseline.toPath(), toJson(results), StandardCharsets.UTF_8);
+                System.out.println("Linha de base gravada em " + baseline);
+            } else if (baseline.isFile()) {
+                double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+                failed = compare(results, parseJson(Files.readString(baseline.toPath(), StandardCharsets.UTF_8)), tolerance);
+            } else {
+                // Sem linha de base não há critério de regressão: a execução não pode passar em silêncio
+                System.err.println("FALHA: sem linha de base em " + baseline
+                    + "; grave uma com -Ploadtest.recordBaseline=true na máquina dos testes");
+                failed = true;
+            }
+        }
+
+        StepResult last = results.get(results.size() - 1);
+        double maxTickMillis = Double.parseDouble(System.getProperty("loadtest.maxTickMillis", "0"));
+        long maxHeapPerBot = Long.getLong("loadtest.maxHeapPerBot", 0L);
+        if (maxTickMillis > 0 && last.tickP99Millis() > maxTickMillis) {
+            System.err.printf(Locale.ROOT, "FALHA: p99 do tick com %d bots = %.3fms (limite %.3fms)%n",
+                last.bots(), last.tickP99Millis(), maxTickMillis);
+            failed = true;
+        }
+        if (maxHeapPerBot > 0 && last.heapPerBot() > maxHeapPerBot) {
+            System.err.printf(Locale.ROOT, "FALHA: heap por bot com %d bots = %d bytes (limite %d)%n",
+                last.bots(), last.heapPerBot(), maxHeapPerBot);
+            failed = true;
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    /**
+     * Habilita o plugin e o reinicia com a configuração do teste de carga.
+     */
+    private void boot(int maxBots) throws IOException {
+        server = MockBukkit.mock();
+        world = server.addSimpleWorld("world");
+        plugin = MockBukkit.load(FakePlayersPlugin.class);
+
+        // O registro é dimensionado ao habilitar, então a configuração é aplicada com um reinício
+        File configFile = new File(plugin.getDataFolder(), "config.yml");
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+        config.set("bots.max-bots", maxBots);
+        config.set("bots.initial-capacity", INITIAL_CAPACITY);
+        config.set("persistence.enabled", false);
+        config.set("scheduler.budget-nanos", 1_000_000_000L);
+        config.set("metrics.exporter.enabled", false);
+        // Sem jogadores todos os bots adormeceriam; o teste mede o custo de todos no nível completo
+        config.set("lod.enabled", false);
+        config.save(configFile);
+        server.getPluginManager().disablePlugin(plugin);
+        server.getPluginManager().enablePlugin(plugin);
+
+        // Movimento simples: cada bot do balde anda um pouco, acionando os ouvintes de posição
+        FakePlayerRegistry registry = plugin.getRegistry();
+        plugin.getBotScheduler().addTask((botId, tick) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            registry.setPosition(botId, registry.getWorld(botId),
+                registry.getX(botId) + random.nextDouble(-STEP, STEP),
+                registry.getY(botId),
+                registry.getZ(botId) + random.nextDouble(-STEP, STEP));
+        });
+    }
+
+    private List<StepResult> run(int[] steps) {
+        System.out.printf(Locale.ROOT, "%8s %10s %10s %10s %10s %12s %10s%n",
+            "bots", "spawn ms", "tick ms", "p99 ms", "max ms", "aloc/tick", "heap/bot");
+        long baseHeap = usedHeapAfterGc();
+        List<StepResult> results = new ArrayList<>();
+        for (int bots : steps) {
+            long spawnStart = System.nanoTime();
+            spawnUpTo(bots);
+            double spawnMillis = (System.nanoTime() - spawnStart) / 1_000_000.0;
+
+            for (int i = 0; i < warmupTicks; i++) {
+                server.getScheduler().performOneTick();
+            }
+            LatencyHistogram ticks = new LatencyHistogram();
+            long thread = Thread.currentThread().getId();
+            long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < measureTicks; i++) {
+                long start = System.nanoTime();
+                server.getScheduler().performOneTick();
+                ticks.record(System.nanoTime() - start);
+            }
+            long allocatedPerTick = (threads.getThreadAllocatedBytes(thread) - allocatedBefore) / measureTicks;
+            long heapPerBot = Math.max(0L, usedHeapAfterGc() - baseHeap) / bots;
+
+            StepResult result = new StepResult(bots, spawnMillis, ticks.mean() / 1_000_000.0,
+                ticks.percentile(0.99) / 1_000_000.0, ticks.max() / 1_000_000.0, allocatedPerTick, heapPerBot);
+            results.add(result);
+            System.out.printf(Locale.ROOT, "%8d %10.1f %10.3f %10.3f %10.3f %12d %10d%n",
+                result.bots(), result.spawnMillis(), result.tickMeanMillis(), result.tickP99Millis(),
+                result.tickMaxMillis(), result.allocatedPerTick(), result.heapPerBot());
+        }
+        return results;
+    }
+
+    private void spawnUpTo(int bots) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (plugin.getRegistry().size() < bots) {
+            Location location = new Location(world,
+                random.nextDouble(-AREA, AREA), 64.0, random.nextDouble(-AREA, AREA));
+            if (plugin.getBotManager().spawn("Load" + ++sequence, location, BotMode.PACKET)
+                    == FakePlayerRegistry.NO_BOT) {
+                throw new IllegalStateException("Limite de bots atingido em " + plugin.getRegistry().size());
+            }
+        }
+    }
+
+    /**
+     * Compara cada etapa com a mesma quantidade de bots na linha de base.
+     *
+     * @return true se alguma etapa piorou além da tolerância
+     */
+    private static boolean compare(List<StepResult> results, List<StepResult> baseline, double tolerance) {
+        boolean failed = false;
+        for (StepResult result : results) {
+            for (StepResult base : baseline) {
+                if (base.bots() != result.bots()) {
+                    continue;
+                }
+                if (result.tickP99Millis() > base.tickP99Millis() * (1.0 + tolerance)) {
+                    System.err.printf(Locale.ROOT, "FALHA: p99 do tick com %d bots = %.3fms (linha de base %.3fms)%n",
+                        result.bots(), result.tickP99Millis(), base.tickP99Millis());
+                    failed = true;
+                }
+                if (result.heapPerBot() > base.heapPerBot() * (1.0 + tolerance)) {
+                    System.err.printf(Locale.ROOT, "FALHA: heap por bot com %d bots = %d bytes (linha de base %d)%n",
+                        result.bots(), result.heapPerBot(), base.heapPerBot());
+                    failed = true;
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Lê os resultados gravados por {@link #toJson(List)}, um objeto por linha.
+     */
+    private static List<StepResult> parseJson(String json) {
+        List<StepResult> results = new ArrayList<>();
+        for (String line : json.split("\n")) {
+            Map<String, Double> fields = new HashMap<>();
+            Matcher matcher = FIELD.matcher(line);
+            while (matcher.find()) {
+                fields.put(matcher.group(1), Double.parseDouble(matcher.group(2)));
+            }
+            if (fields.containsKey("bots")) {
+                results.add(new StepResult(fields.get("bots").intValue(),
+                    fields.getOrDefault("spawnMillis", 0.0),
+                    fields.getOrDefault("tickMeanMillis", 0.0),
+                    fields.getOrDefault("tickP99Millis", 0.0),
+                    fields.getOrDefault("tickMaxMillis", 0.0),
+                    fields.getOrDefault("allocatedBytesPerTick", 0.0).longValue(),
+                    fields.getOrDefault("heapBytesPerBot", 0.0).longValue()));
+            }
+        }
+        return results;
+    }
+
+    private long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static int[] parseSteps(String value) {
+        String[] parts = value.split(",");
+        int[] steps = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            steps[i] = Integer.parseInt(parts[i].trim());
+        }
+        return steps;
+    }
+
+    private static String toJson(List<StepResult> results) {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            StepResult r = results.get(i);
+            json.append(String.format(Locale.ROOT,
+                "  {\"bots\": %d, \"spawnMillis\": %.3f, \"tickMeanMillis\": %.4f, \"tickP99Millis\": %.4f, "
+                    + "\"tickMaxMillis\": %.4f, \"allocatedBytesPerTick\": %d, \"heapBytesPerBot\": %d}",
+                r.bots(), r.spawnMillis(), r.tickMeanMillis(), r.tickP99Millis(),
+                r.tickMaxMillis(), r.allocatedPerTick(), r.heapPerBot()));
+            json.append(i + 1 < results.size() ? ",\n" : "\n");
+        }
+        return json.append("]\n").toString();
+    }
+}
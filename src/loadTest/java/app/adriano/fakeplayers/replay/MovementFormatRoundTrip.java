@@ -0,0 +1,299 @@
+package app.adriano.fakeplayers.replay;
+
+import app.adriano.fakeplayers.bot.BotActions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Teste de ida e volta do formato das gravações de movimento.
+ * Executado com {@code ./gradlew movementRoundTrip}
+ *
+ * Fica no pacote {@code replay} porque o {@link MovementFormat} e o {@link FrameReader} são internos.
+ *
+ * Funcionamento:
+ * 1. Codifica quadros com o {@link MovementFormat}, no mesmo layout do {@link MovementRecorder}:
+ *    keyframes, diferenças pequenas e grandes (varints de 1 a 10 bytes), negativas, o yaw dando
+ *    a volta, saltos longos de tick e quadros aleatórios
+ * 2. Lê a gravação com o {@link FrameReader} e compara o estado e a posição de cada quadro
+ * 3. Corta o arquivo em cada byte do maior quadro e do último, e confere que a leitura para
+ *    no quadro anterior sem mudar o estado
+ * 4. Salta para cada keyframe pelo índice e confere o estado
+ *
+ * O processo sai com código 1 se alguma verificação falhar.
+ *
+ * @since 0.2.0
+ */
+public final class MovementFormatRoundTrip {
+
+    private static final long SEED = 0x46504D52L;
+    private static final int RANDOM_FRAMES = 2000;
+    private static final int KEYFRAME_INTERVAL = 100;
+
+    /**
+     * Estado absoluto de um quadro gravado e a posição logo após ele no arquivo.
+     */
+    private record Frame(int tick, long x, long y, long z, int yaw, int pitch, int actions, int end) {
+    }
+
+    private final List<Frame> frames = new ArrayList<>();
+    private final List<int[]> keyframes = new ArrayList<>();
+    private byte[] data = new byte[64 * 1024];
+    private int length = MovementFormat.HEADER_SIZE;
+    private int largest;
+    private int failures;
+
+    public static void main(String[] args) throws IOException {
+        MovementFormatRoundTrip test = new MovementFormatRoundTrip();
+        test.encode();
+        test.verify();
+        System.out.println(test.failures == 0 ? "Formato de movimento: OK" : "Formato de movimento: FALHOU");
+        System.exit(test.failures == 0 ? 0 : 1);
+    }
+
+    private void encode() {
+        int pitch = MovementFormat.packPitch(0f);
+        int tick = 0;
+        add(tick, 0, 64 * 4096L, 0, 0, pitch, 0, true);
+
+        // Diferenças pequenas e nos limites de 1 e 2 bytes do varint zigzag
+        add(++tick, 1, 64 * 4096L, 0, 0, pitch, 0, false);
+        add(++tick, 0, 64 * 4096L - 64, -65, 0, pitch, 0, false);
+        add(++tick, 63, 64 * 4096L + 8191, -8192, 0, pitch, BotActions.SNEAKING, false);
+
+        // Diferenças grandes e negativas
+        add(++tick, 1L << 40, -(1L << 40), Integer.MAX_VALUE + 1L, 0, pitch, 0, false);
+        add(++tick, -(1L << 40), 1L << 40, Integer.MIN_VALUE - 1L, 0, pitch, 0, false);
+        add(++tick, Long.MIN_VALUE, Long.MAX_VALUE, 0, 0, pitch, 0, false);
+        add(++tick, Long.MAX_VALUE, Long.MIN_VALUE, -1, 0, pitch, 0, false);
+        add(++tick, 0, 0, 0, 0, pitch, 0, false);
+
+        // O yaw dá a volta pelo caminho mais curto; o pitch vai de um extremo ao outro
+        add(++tick, 0, 0, 0, 0xFFF0, pitch, 0, false);
+        add(++tick, 0, 0, 0, 0x0010, pitch, 0, false);
+        add(++tick, 0, 0, 0, 0xFFF0, 0, 0, false);
+        add(++tick, 0, 0, 0, 0x8000, 0xFFFF, 0, false);
+        add(++tick, 0, 0, 0, 0x7FFF, 0, 0, false);
+
+        // Saltos de tick de 1 a 5 bytes
+        tick += 127;
+        add(tick, 1, 1, 1, 0, pitch, 0, false);
+        tick += 128;
+        add(tick, 2, 2, 2, 0, pitch, 0, false);
+        tick += (1 << 28) + 1;
+        add(tick, 3, 3, 3, 0, pitch, 0, true);
+
+        // Maior quadro possível: todos os campos mudam com as maiores diferenças
+        tick += (1 << 28) + 1;
+        add(tick, Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, 0x8003, 0xFFFF, 0x7F, false);
+        add(++tick, 0, 0, 0, 0, pitch, 0, false);
+
+        Random random = new Random(SEED);
+        Frame last = frames.get(frames.size() - 1);
+        long x = last.x();
+        long y = last.y();
+        long z = last.z();
+        int yaw = last.yaw();
+        int actions = last.actions();
+        pitch = last.pitch();
+        for (int i = 0; i < RANDOM_FRAMES; i++) {
+            tick += random.nextInt(8) == 0 ? 1 + random.nextInt(5000) : 1;
+            if (random.nextBoolean()) {
+                x += delta(random);
+            }
+            if (random.nextBoolean()) {
+                y += delta(random);
+            }
+            if (random.nextBoolean()) {
+                z += delta(random);
+            }
+            if (random.nextInt(3) == 0) {
+                yaw = random.nextInt(0x10000);
+            }
+            if (random.nextInt(3) == 0) {
+                pitch = random.nextInt(0x10000);
+            }
+            if (random.nextInt(10) == 0) {
+                actions = random.nextInt(1 << 6);
+            }
+            add(tick, x, y, z, yaw, pitch, actions, i % KEYFRAME_INTERVAL == 0);
+        }
+    }
+
+    private static long delta(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(17) - 8;
+            case 1 -> random.nextInt(200_001) - 100_000;
+            case 2 -> random.nextLong() >> random.nextInt(64);
+            default -> random.nextLong();
+        };
+    }
+
+    /**
+     * Codifica um quadro como o {@link MovementRecorder}: keyframe absoluto ou só os campos que mudaram.
+     */
+    private void add(int tick, long x, long y, long z, int yaw, int pitch, int actions, boolean keyframe) {
+        Frame last = frames.isEmpty() ? null : frames.get(frames.size() - 1);
+        if (length + MovementFormat.MAX_FRAME_SIZE > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        int start = length;
+        int position = MovementFormat.writeUnsigned(data, length, last == null ? tick : tick - last.tick());
+        if (last == null || keyframe) {
+            data[position++] = (byte) MovementFormat.KEYFRAME;
+            position = MovementFormat.writeSigned(data, position, x);
+            position = MovementFormat.writeSigned(data, position, y);
+            position = MovementFormat.writeSigned(data, position, z);
+            position = MovementFormat.writeUnsigned(data, position, yaw);
+            position = MovementFormat.writeUnsigned(data, position, pitch);
+            position = MovementFormat.writeUnsigned(data, position, actions);
+            keyframes.add(new int[] {tick, start});
+        } else {
+            int mask = (x != last.x() ? MovementFormat.X : 0)
+                | (y != last.y() ? MovementFormat.Y : 0)
+                | (z != last.z() ? MovementFormat.Z : 0)
+                | (yaw != last.yaw() ? MovementFormat.YAW : 0)
+                | (pitch != last.pitch() ? MovementFormat.PITCH : 0)
+                | (actions != last.actions() ? MovementFormat.ACTIONS : 0);
+            data[position++] = (byte) mask;
+            if ((mask & MovementFormat.X) != 0) {
+                position = MovementFormat.writeSigned(data, position, x - last.x());
+            }
+            if ((mask & MovementFormat.Y) != 0) {
+                position = MovementFormat.writeSigned(data, position, y - last.y());
+            }
+            if ((mask & MovementFormat.Z) != 0) {
+                position = MovementFormat.writeSigned(data, position, z - last.z());
+            }
+            if ((mask & MovementFormat.YAW) != 0) {
+                position = MovementFormat.writeSigned(data, position, (short) (yaw - last.yaw()));
+            }
+            if ((mask & MovementFormat.PITCH) != 0) {
+                position = MovementFormat.writeSigned(data, position, pitch - last.pitch());
+            }
+            if ((mask & MovementFormat.ACTIONS) != 0) {
+                position = MovementFormat.writeUnsigned(data, position, actions);
+            }
+        }
+        int size = position - start;
+        check(size <= MovementFormat.MAX_FRAME_SIZE,
+            "quadro " + frames.size() + " tem " + size + " bytes (limite " + MovementFormat.MAX_FRAME_SIZE + ")");
+        length = position;
+        frames.add(new Frame(tick, x, y, z, yaw, pitch, actions, length));
+        if (frames.size() > 1 && (largest == 0 || size > frameSize(largest))) {
+            largest = frames.size() - 1;
+        }
+    }
+
+    private void verify() throws IOException {
+        File complete = write(length, true);
+        MovementRecording recording = MovementRecording.open("completa", complete);
+        check(recording.getDuration() == frames.get(frames.size() - 1).tick(), "duração da gravação completa");
+        check(recording.getFrameBytes() == length - MovementFormat.HEADER_SIZE, "tamanho dos quadros");
+        int read = readAll(recording, frames.size());
+        System.out.println("OK   " + read + " quadros lidos em sequência ("
+            + (length - MovementFormat.HEADER_SIZE) + " bytes, maior quadro " + frameSize(largest) + " bytes)");
+
+        for (int frame : new int[] {largest, frames.size() - 1}) {
+            int start = frames.get(frame - 1).end();
+            for (int cut = start; cut < frames.get(frame).end(); cut++) {
+                MovementRecording partial = MovementRecording.open("cortada", write(cut, false));
+                check(partial.getDuration() == frames.get(frame - 1).tick(), "duração com corte no byte " + cut);
+                check(partial.framesEnd() == start, "fim dos quadros com corte no byte " + cut);
+                readAll(partial, frame);
+            }
+            System.out.println("OK   cortes em cada byte do quadro " + frame + " (" + frameSize(frame) + " bytes)");
+        }
+
+        FrameReader reader = new FrameReader();
+        for (int i = 0; i < keyframes.size(); i++) {
+            int[] keyframe = keyframes.get(i);
+            check(recording.keyframeBefore(keyframe[0]) == i, "busca do keyframe " + i);
+            check(recording.keyframeTick(i) == keyframe[0] && recording.keyframeOffset(i) == keyframe[1],
+                "índice do keyframe " + i);
+            reader.start(recording);
+            reader.seek(keyframe[1], keyframe[0]);
+            check(reader.nextTick() == keyframe[0], "tick do keyframe " + i);
+            check(reader.advance() && matches(reader, frameAt(keyframe[1])), "estado do keyframe " + i);
+        }
+        System.out.println("OK   saltos para " + keyframes.size() + " keyframes");
+    }
+
+    /**
+     * Lê a gravação do início e confere cada quadro; depois do último, a leitura não avança.
+     *
+     * @return Quadros lidos
+     */
+    private int readAll(MovementRecording recording, int expected) {
+        FrameReader reader = new FrameReader();
+        reader.start(recording);
+        for (int i = 0; i < expected; i++) {
+            Frame frame = frames.get(i);
+            if (!check(reader.nextTick() == frame.tick(), "tick do próximo quadro " + i)
+                || !check(reader.advance(), "leitura do quadro " + i)
+                || !check(matches(reader, frame) && reader.position == frame.end(), "estado do quadro " + i)) {
+                return i;
+            }
+        }
+        Frame last = frames.get(expected - 1);
+        check(reader.nextTick() == Integer.MAX_VALUE, "fim dos quadros depois do quadro " + (expected - 1));
+        check(!reader.advance() && matches(reader, last) && reader.position == last.end(),
+            "estado mantido no fim, depois do quadro " + (expected - 1));
+        return expected;
+    }
+
+    private File write(int frameEnd, boolean index) throws IOException {
+        int size = frameEnd + (index ? keyframes.size() * MovementFormat.INDEX_ENTRY_SIZE : 0);
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(data, 0, frameEnd);
+        buffer.putInt(0, MovementFormat.MAGIC);
+        buffer.putShort(4, MovementFormat.VERSION);
+        if (index) {
+            buffer.putInt(MovementFormat.DURATION_OFFSET, frames.get(frames.size() - 1).tick());
+            buffer.putInt(MovementFormat.KEYFRAMES_OFFSET, keyframes.size());
+            buffer.putLong(MovementFormat.INDEX_OFFSET, frameEnd);
+            for (int[] keyframe : keyframes) {
+                buffer.putInt(keyframe[0]);
+                buffer.putInt(keyframe[1]);
+            }
+        }
+        File file = Files.createTempFile("fakeplayers-roundtrip", ".fpr").toFile();
+        file.deleteOnExit();
+        Files.write(file.toPath(), buffer.array());
+        return file;
+    }
+
+    private Frame frameAt(int offset) {
+        for (int i = 0; i < frames.size(); i++) {
+            if ((i == 0 ? MovementFormat.HEADER_SIZE : frames.get(i - 1).end()) == offset) {
+                return frames.get(i);
+            }
+        }
+        throw new IllegalArgumentException("Nenhum quadro na posição " + offset);
+    }
+
+    private int frameSize(int frame) {
+        return frames.get(frame).end() - (frame == 0 ? MovementFormat.HEADER_SIZE : frames.get(frame - 1).end());
+    }
+
+    private static boolean matches(FrameReader reader, Frame frame) {
+        return reader.tick == frame.tick() && reader.x == frame.x() && reader.y == frame.y()
+            && reader.z == frame.z() && reader.yaw == frame.yaw() && reader.pitch == frame.pitch()
+            && reader.actions == frame.actions();
+    }
+
+    private boolean check(boolean condition, String name) {
+        if (!condition) {
+            failures++;
+            System.err.println("FALHA: " + name);
+        }
+        return condition;
+    }
+}
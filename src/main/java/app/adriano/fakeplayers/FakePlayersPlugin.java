@@ -1,17 +1,59 @@
 package app.adriano.fakeplayers;
 
 // Importações necessárias para manipulação de texto e cores no console
+import app.adriano.fakeplayers.behavior.BehaviorEngine;
+import app.adriano.fakeplayers.bot.FakePlayerManager;
+import app.adriano.fakeplayers.chat.ChatCorpus;
+import app.adriano.fakeplayers.chat.ChatSimulator;
+import app.adriano.fakeplayers.cluster.ClusterBotHandler;
+import app.adriano.fakeplayers.cluster.ClusterCoordinator;
+import app.adriano.fakeplayers.cluster.ClusterNode;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.bot.LodController;
+import app.adriano.fakeplayers.commands.ClusterCommand;
+import app.adriano.fakeplayers.commands.CommandNode;
+import app.adriano.fakeplayers.commands.FakePlayersCommand;
 import app.adriano.fakeplayers.commands.InfoCommand;
 import app.adriano.fakeplayers.commands.PingCommand;
 import app.adriano.fakeplayers.commands.ReloadCommand;
+import app.adriano.fakeplayers.commands.RemoveCommand;
+import app.adriano.fakeplayers.commands.ReplayCommand;
+import app.adriano.fakeplayers.commands.SpawnCommand;
+import app.adriano.fakeplayers.commands.StatsCommand;
 import app.adriano.fakeplayers.config.ConfigManager;
+import app.adriano.fakeplayers.config.ConfigWatcher;
+import app.adriano.fakeplayers.listeners.BotViewerListener;
+import app.adriano.fakeplayers.listeners.JoinQuitCoalescer;
+import app.adriano.fakeplayers.listeners.PlayerNameListener;
+import app.adriano.fakeplayers.listeners.ViewerTracker;
+import app.adriano.fakeplayers.listeners.ServerListListener;
 import app.adriano.fakeplayers.listeners.TestListener;
+import app.adriano.fakeplayers.logging.TraceCategory;
+import app.adriano.fakeplayers.logging.TraceLogger;
+import app.adriano.fakeplayers.metrics.MetricRegistry;
+import app.adriano.fakeplayers.metrics.MetricsExporter;
+import app.adriano.fakeplayers.metrics.PingSimulator;
+import app.adriano.fakeplayers.metrics.PluginMetrics;
+import app.adriano.fakeplayers.metrics.PluginProfiler;
+import app.adriano.fakeplayers.metrics.Subsystem;
+import app.adriano.fakeplayers.metrics.TickMonitor;
+import app.adriano.fakeplayers.names.NameGenerator;
+import app.adriano.fakeplayers.names.NameIndex;
+import app.adriano.fakeplayers.names.NameModel;
+import app.adriano.fakeplayers.pathfinding.PathfindingService;
+import app.adriano.fakeplayers.persistence.BotStore;
+import app.adriano.fakeplayers.render.PacketBotRenderer;
+import app.adriano.fakeplayers.render.PacketEventsSink;
+import app.adriano.fakeplayers.replay.MovementRecorder;
+import app.adriano.fakeplayers.replay.ReplayEngine;
+import app.adriano.fakeplayers.scheduler.BotScheduler;
+import app.adriano.fakeplayers.scheduler.PlatformScheduler;
+import app.adriano.fakeplayers.skin.LocalTextureSource;
+import app.adriano.fakeplayers.skin.SkinCache;
+import app.adriano.fakeplayers.spatial.BotSpatialIndex;
+import app.adriano.fakeplayers.text.Placeholder;
 import net.kyori.adventure.text.Component;  // Classe principal para manipulação de texto
 import net.kyori.adventure.text.format.NamedTextColor;  // Classe para cores predefinidas
-import org.bukkit.command.Command;
-import org.bukkit.command.CommandExecutor;
-import org.bukkit.command.CommandSender;
-import org.bukkit.command.TabCompleter;
 import org.bukkit.plugin.java.JavaPlugin;  // Classe base para plugins do Bukkit/Paper
 
 /**
@@ -30,6 +72,35 @@ public final class FakePlayersPlugin extends JavaPlugin {
 
     private TestListener testListener;
     private ConfigManager configManager;
+    private ConfigWatcher configWatcher;
+    private TraceLogger trace;
+    private FakePlayerRegistry registry;
+    private PlatformScheduler platformScheduler;
+    private BotScheduler botScheduler;
+    private FakePlayerManager botManager;
+    private BotSpatialIndex spatialIndex;
+    private LodController lodController;
+    private PacketBotRenderer packetRenderer;
+    private BotViewerListener botViewerListener;
+    private ViewerTracker viewerTracker;
+    private PathfindingService pathfinding;
+    private BotStore botStore;
+    private PluginProfiler profiler;
+    private TickMonitor tickMonitor;
+    private PingSimulator pingSimulator;
+    private BehaviorEngine behaviorEngine;
+    private ChatSimulator chatSimulator;
+    private MetricRegistry metrics;
+    private MetricsExporter metricsExporter;
+    private SkinCache skinCache;
+    private NameIndex nameIndex;
+    private NameGenerator nameGenerator;
+    private PlayerNameListener playerNameListener;
+    private ServerListListener serverListListener;
+    private ClusterCoordinator clusterCoordinator;
+    private ClusterNode clusterNode;
+    private ReplayEngine replayEngine;
+    private MovementRecorder movementRecorder;
 
     /**
      * Método chamado quando o plugin é habilitado.
@@ -48,63 +119,236 @@ public final class FakePlayersPlugin extends JavaPlugin {
      */
     @Override
     public void onEnable() {
+        // Escolhe o agendador da plataforma: thread principal no Paper, regiões no Folia
+        platformScheduler = PlatformScheduler.create(this);
+        
         // Inicializa o gerenciador de configuração
         configManager = new ConfigManager(this);
         configManager.debug("ConfigManager inicializado");
+        configManager.debug(() -> "PlatformScheduler iniciado (" + (platformScheduler.isFolia() ? "Folia" : "Paper") + ")");
         
-        // Registra o listener de teste
-        testListener = new TestListener(this);
-        testListener.register();
-        configManager.debug("TestListener registrado");
+        // Inicia o trace assíncrono, usado pelos demais componentes
+        trace = new TraceLogger(this);
+        trace.start();
+        configManager.debug("TraceLogger iniciado");
         
-        // Registra os comandos do plugin
-        CommandExecutor executor = (sender, command, label, args) -> {
-            configManager.debug("Comando recebido: /" + label + " " + String.join(" ", args));
-            
-            if (args.length == 0) {
-                sender.sendMessage(Component.text("Uso: /fp [info|ping|reload]", NamedTextColor.RED));
-                return true;
-            }
-            
-            switch (args[0].toLowerCase()) {
-                case "info":
-                    configManager.debug("Executando comando info");
-                    return new InfoCommand(this).onCommand(sender, command, label, args);
-                case "ping":
-                    configManager.debug("Executando comando ping");
-                    return new PingCommand(this).onCommand(sender, command, label, args);
-                case "reload":
-                    configManager.debug("Executando comando reload");
-                    return new ReloadCommand(this).onCommand(sender, command, label, args);
-                default:
-                    sender.sendMessage(Component.text("Subcomando desconhecido. Use: /fp [info|ping|reload]", NamedTextColor.RED));
-                    return true;
-            }
-        };
+        // Inicia as métricas de tick e dos subsistemas, exibidas no /fp stats
+        profiler = new PluginProfiler();
+        tickMonitor = new TickMonitor(this);
+        tickMonitor.register();
+        configManager.debug("Profiler iniciado");
+        
+        // Cria o registro de Fake Players
+        registry = new FakePlayerRegistry(
+            configManager.getInt("bots.initial-capacity", 1024),
+            configManager.getInt("bots.max-bots", 10000)
+        );
+        botManager = new FakePlayerManager(this, registry);
+        spatialIndex = new BotSpatialIndex(registry);
+        configManager.debug("FakePlayerRegistry criado");
+        
+        // Inicia o agendador de atualizações dos bots
+        botScheduler = new BotScheduler(this, registry);
+        botScheduler.start();
+        configManager.debug("BotScheduler iniciado");
+        
+        // Simula o ping de cada bot, atualizado a cada ciclo do agendador
+        if (configManager.getBoolean("metrics.ping-simulation.enabled", true)) {
+            pingSimulator = new PingSimulator(
+                configManager.getInt("metrics.ping-simulation.base-ms", 60),
+                configManager.getDouble("metrics.ping-simulation.spread", 0.5),
+                configManager.getInt("metrics.ping-simulation.jitter-ms", 15)
+            );
+            registry.addListener(pingSimulator);
+            botScheduler.addTask(pingSimulator);
+            configManager.debug("PingSimulator registrado");
+        }
+        
+        // Árvores de comportamento do behaviors.yml, avaliadas para cada bot dentro do orçamento do agendador
+        if (configManager.getBoolean("behaviors.enabled", true)) {
+            behaviorEngine = new BehaviorEngine(this, registry, spatialIndex);
+            registry.addListener(behaviorEngine);
+            botScheduler.addTask(behaviorEngine);
+            loadBehaviors();
+            configManager.addReloadListener(config -> loadBehaviors());
+            configManager.debug("BehaviorEngine registrado");
+        }
+        
+        // Gravações de jogadores reais, reproduzidas nos bots direto dos arquivos mapeados em memória
+        if (configManager.getBoolean("replay.enabled", true)) {
+            java.io.File recordings = new java.io.File(getDataFolder(), configManager.getString("replay.folder", "recordings"));
+            replayEngine = new ReplayEngine(this, registry, recordings);
+            registry.addListener(replayEngine);
+            botScheduler.addTask(replayEngine);
+            configManager.addReloadListener(config -> replayEngine.loadSettings());
+            movementRecorder = new MovementRecorder(this, recordings,
+                configManager.getInt("replay.keyframe-interval-ticks", 600));
+            botScheduler.addTickTask(movementRecorder);
+            movementRecorder.register();
+            configManager.debug("ReplayEngine registrado");
+        }
+        
+        // Mundo e posição dos jogadores, copiados na thread de cada jogador para a thread dos bots
+        viewerTracker = new ViewerTracker(this);
+        viewerTracker.register();
+        configManager.debug("ViewerTracker registrado");
+        
+        // Níveis de detalhe pela distância aos jogadores, verificados antes do envio dos pacotes do tick
+        lodController = new LodController(this, registry, spatialIndex);
+        botScheduler.addTickTask(profiler.timed(Subsystem.LOD, lodController));
+        configManager.addReloadListener(config -> lodController.loadSettings());
+        configManager.debug("LodController registrado");
+        
+        // Aplica os recarregamentos de configuração e observa o config.yml se auto-reload estiver ativo
+        configWatcher = new ConfigWatcher(this, configManager);
+        configManager.addReloadListener(config -> botScheduler.loadSettings());
+        configManager.addReloadListener(config -> updateConfigWatcher(config.autoReload()));
+        updateConfigWatcher(configManager.getSnapshot().autoReload());
         
-        TabCompleter completer = (sender, command, alias, args) -> {
-            if (args.length == 1) {
-                return java.util.Arrays.asList("info", "ping", "reload");
+        // Renderiza os bots em modo pacote no fim de cada tick, com spawns, movimentos e tab list em lotes por jogador
+        packetRenderer = new PacketBotRenderer(this, registry);
+        botScheduler.addTickTask(profiler.timed(Subsystem.PACKET_FLUSH, packetRenderer::flush));
+        configManager.addReloadListener(config -> packetRenderer.loadSettings());
+        botViewerListener = new BotViewerListener(this, packetRenderer);
+        botViewerListener.register();
+        if (getServer().getPluginManager().getPlugin("packetevents") != null) {
+            packetRenderer.setSink(new PacketEventsSink(this));
+            configManager.debug("PacketEventsSink registrado");
+        } else {
+            getLogger().warning("PacketEvents não encontrado: os bots em modo pacote não ficarão visíveis para os jogadores");
+        }
+        configManager.debug("PacketBotRenderer registrado");
+        
+        // Inicia o serviço de busca de caminhos
+        pathfinding = new PathfindingService(this, registry);
+        botScheduler.addTickTask(profiler.timed(Subsystem.PATHFINDING_DRAIN, pathfinding::drain));
+        configManager.debug("PathfindingService iniciado");
+        
+        // Expõe as métricas do plugin para o Prometheus, antes da restauração para contar os bots restaurados
+        if (configManager.getBoolean("metrics.exporter.enabled", false)) {
+            metrics = new MetricRegistry();
+            PluginMetrics pluginMetrics = new PluginMetrics(this, metrics);
+            registry.addListener(pluginMetrics);
+            botScheduler.addTickTask(pluginMetrics);
+            metricsExporter = new MetricsExporter(this, metrics,
+                configManager.getString("metrics.exporter.host", "127.0.0.1"),
+                configManager.getInt("metrics.exporter.port", 9464));
+            try {
+                metricsExporter.start();
+                configManager.debug("MetricsExporter iniciado");
+            } catch (java.io.IOException e) {
+                getLogger().log(java.util.logging.Level.SEVERE, "Não foi possível abrir a porta das métricas!", e);
+                metricsExporter = null;
             }
-            return java.util.Collections.emptyList();
-        };
+        }
         
-        getServer().getCommandMap().register("fakeplayers", new Command("fp") {
-            @Override
-            public boolean execute(CommandSender sender, String label, String[] args) {
-                return executor.onCommand(sender, this, label, args);
+        // Junta as entradas e saídas de bots de cada tick em um único lote (os bots restaurados formam o primeiro lote)
+        JoinQuitCoalescer joinQuitCoalescer = new JoinQuitCoalescer(this);
+        registry.addListener(joinQuitCoalescer);
+        botScheduler.addTickTask(joinQuitCoalescer);
+        configManager.debug("JoinQuitCoalescer registrado");
+        
+        // Lista de servidores com os bots; o ping só lê um snapshot remontado quando os bots mudam
+        if (configManager.getBoolean("server-list.enabled", true)) {
+            serverListListener = new ServerListListener(this, registry);
+            registry.addListener(serverListListener);
+            botScheduler.addTickTask(serverListListener);
+            botScheduler.addIntervalTask(serverListListener::rebuild);
+            configManager.addReloadListener(config -> serverListListener.loadSettings());
+            serverListListener.register();
+            configManager.debug("ServerListListener registrado");
+        }
+        
+        // Cache das skins dos bots; as skins dos bots criados são buscadas em lote no fim do tick
+        if (configManager.getBoolean("skins.enabled", true)) {
+            java.io.File skinSource = new java.io.File(getDataFolder(), configManager.getString("skins.source", "skins"));
+            if (!skinSource.exists() && !skinSource.getName().contains(".")) {
+                skinSource.mkdirs();
             }
-            
-            @Override
-            public java.util.List<String> tabComplete(CommandSender sender, String alias, String[] args) {
-                return completer.onTabComplete(sender, this, alias, args);
+            skinCache = new SkinCache(this, new LocalTextureSource(skinSource.toPath()),
+                new java.io.File(getDataFolder(), configManager.getString("skins.disk-file", "skins.dat")),
+                configManager.getInt("skins.memory-max-entries", 2048),
+                configManager.getLong("skins.memory-ttl-minutes", 30),
+                configManager.getLong("skins.disk-ttl-hours", 168),
+                configManager.getString("skins.default", ""),
+                configManager.getInt("skins.workers", 2));
+            registry.addListener(skinCache);
+            botScheduler.addTickTask(skinCache);
+            botScheduler.addIntervalTask(skinCache::flushAsync);
+            configManager.debug("SkinCache iniciado");
+        }
+        
+        // Chat simulado: as mensagens de cada tick são enviadas em um único lote por jogador
+        if (configManager.getBoolean("chat-simulation.enabled", false)) {
+            ChatCorpus corpus = loadChatCorpus();
+            if (corpus != null) {
+                chatSimulator = new ChatSimulator(this, registry, corpus,
+                    configManager.getDouble("chat-simulation.messages-per-minute", 120),
+                    configManager.getDouble("chat-simulation.max-per-second", 10),
+                    configManager.getInt("chat-simulation.burst", 20),
+                    configManager.getBoolean("chat-simulation.console", false));
+                registry.addListener(chatSimulator);
+                botScheduler.addTickTask(profiler.timed(Subsystem.CHAT, chatSimulator));
+                configManager.addReloadListener(config -> chatSimulator.clearFormat());
+                configManager.debug("ChatSimulator iniciado");
             }
-        });
+        }
+        
+        // Gerador de nomes; o índice acompanha os nomes dos bots (pelo registro) e dos jogadores online
+        nameIndex = new NameIndex(registry.maxBots());
+        registry.addListener(nameIndex);
+        playerNameListener = new PlayerNameListener(this, nameIndex);
+        playerNameListener.register();
+        nameGenerator = new NameGenerator(loadNameModel(), nameIndex,
+            configManager.getLong("names.seed", 0),
+            configManager.getInt("names.min-length", 4),
+            configManager.getInt("names.max-length", 12),
+            configManager.getDouble("names.digit-chance", 0.3),
+            configManager.getDouble("names.capitalize-chance", 0.6));
+        configManager.debug("NameGenerator iniciado");
+        
+        // Restaura os bots salvos e agenda os salvamentos incrementais
+        if (configManager.getBoolean("persistence.enabled", true)) {
+            botStore = new BotStore(this, registry,
+                new java.io.File(getDataFolder(), configManager.getString("persistence.file", "bots.dat")));
+            long start = System.nanoTime();
+            int restored = botStore.restore();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            trace.trace(TraceCategory.PERSISTENCE, "BotStore restaurou {} bots em {}ms",
+                Integer.valueOf(restored), elapsedMillis);
+            botScheduler.addIntervalTask(profiler.timed(Subsystem.PERSISTENCE, botStore::saveAsync));
+        }
+        
+        // Registra o listener de teste
+        testListener = new TestListener(this);
+        testListener.register();
+        configManager.debug("TestListener registrado");
+        
+        // Registra a árvore de comandos; cada subcomando é criado uma única vez
+        CommandNode root = new CommandNode("fp", "base", null, null)
+            .then(new CommandNode("info", "info", new InfoCommand(this), null))
+            .then(new CommandNode("ping", "ping", new PingCommand(this), null))
+            .then(new CommandNode("reload", "reload", new ReloadCommand(this), null));
+        SpawnCommand spawnCommand = new SpawnCommand(this);
+        RemoveCommand removeCommand = new RemoveCommand(this);
+        StatsCommand statsCommand = new StatsCommand(this);
+        ClusterCommand clusterCommand = new ClusterCommand(this);
+        ReplayCommand replayCommand = new ReplayCommand(this);
+        root.then(new CommandNode("spawn", "spawn", spawnCommand, spawnCommand))
+            .then(new CommandNode("remove", "remove", removeCommand, removeCommand))
+            .then(new CommandNode("stats", "stats", statsCommand, statsCommand))
+            .then(new CommandNode("cluster", "cluster", clusterCommand, clusterCommand))
+            .then(new CommandNode("replay", "replay", replayCommand, replayCommand));
+        getServer().getCommandMap().register("fakeplayers", new FakePlayersCommand(this, root));
+        configManager.debug("Comandos registrados");
+        
+        // Cluster: o coordenador distribui os bots entre os servidores; os nós criam os bots recebidos
+        startCluster(spawnCommand);
         
         // Mensagem de inicialização
         String version = getPluginMeta().getVersion();
-        String enabledMessage = configManager.getString("messages.console.enabled", "&aFakePlayers v%version% carregado com sucesso!")
-            .replace("%version%", version);
+        Component enabledMessage = configManager.getSnapshot().messages().consoleEnabled()
+            .render(Placeholder.VERSION, version);
         
         getServer().getConsoleSender().sendMessage(
             Component.text("=============================================")
@@ -112,8 +356,7 @@ public final class FakePlayersPlugin extends JavaPlugin {
         );
         
         getServer().getConsoleSender().sendMessage(
-            Component.text(enabledMessage)
-                    .color(NamedTextColor.GREEN)
+            enabledMessage
         );
         
         getServer().getConsoleSender().sendMessage(
@@ -131,8 +374,8 @@ public final class FakePlayersPlugin extends JavaPlugin {
      * pelo servidor quando o plugin é desativado.
      * 
      * Fluxo de execução:
-     * 1. Salvar dados (futuro)
-     * 2. Limpar recursos (futuro)
+     * 1. Salvar dados
+     * 2. Limpar recursos
      * 3. Cancelar tarefas agendadas (futuro)
      * 4. Desregistrar listeners (futuro)
      * 
@@ -144,9 +387,78 @@ public final class FakePlayersPlugin extends JavaPlugin {
             testListener.unregister();
         }
         
+        if (botViewerListener != null) {
+            botViewerListener.unregister();
+        }
+        
+        if (playerNameListener != null) {
+            playerNameListener.unregister();
+        }
+        
+        if (serverListListener != null) {
+            serverListListener.unregister();
+        }
+        
+        // Conclui as gravações em andamento antes de parar o agendador
+        if (movementRecorder != null) {
+            movementRecorder.unregister();
+            movementRecorder.close();
+        }
+        
+        if (tickMonitor != null) {
+            tickMonitor.unregister();
+        }
+        
+        if (configWatcher != null) {
+            configWatcher.stop();
+        }
+        
+        if (botScheduler != null) {
+            botScheduler.stop();
+        }
+        
+        if (pathfinding != null) {
+            pathfinding.shutdown();
+        }
+        
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+        
+        if (clusterNode != null) {
+            clusterNode.close();
+        }
+        
+        if (clusterCoordinator != null) {
+            clusterCoordinator.close();
+        }
+        
+        if (skinCache != null) {
+            skinCache.close();
+        }
+        
+        // Salva os bots antes de removê-los do registro
+        if (botStore != null) {
+            botStore.close();
+            botStore = null;
+        }
+        
+        if (registry != null) {
+            registry.clear();
+            // Envia as remoções para que os jogadores não fiquem com bots fantasmas
+            if (packetRenderer != null) {
+                packetRenderer.flush();
+            }
+        }
+        
+        // Depois do último flush, que ainda usa os mundos dos jogadores
+        if (viewerTracker != null) {
+            viewerTracker.unregister();
+        }
+        
         String version = getPluginMeta().getVersion();
-        String disabledMessage = configManager.getString("messages.console.disabled", "&aFakePlayers v%version% desativado com sucesso!")
-            .replace("%version%", version);
+        Component disabledMessage = configManager.getSnapshot().messages().consoleDisabled()
+            .render(Placeholder.VERSION, version);
         
         getServer().getConsoleSender().sendMessage(
             Component.text("=============================================")
@@ -154,14 +466,282 @@ public final class FakePlayersPlugin extends JavaPlugin {
         );
         
         getServer().getConsoleSender().sendMessage(
-            Component.text(disabledMessage)
-                    .color(NamedTextColor.GREEN)
+            disabledMessage
         );
         
         getServer().getConsoleSender().sendMessage(
             Component.text("=============================================")
                     .color(NamedTextColor.GREEN)
         );
+        
+        // Escreve os traces pendentes por último
+        if (trace != null) {
+            trace.close();
+        }
+    }
+
+    /**
+     * Inicia o coordenador ou o nó do cluster, conforme {@code cluster.mode}.
+     * 
+     * @param spawnCommand Comando usado pelo nó para criar os bots recebidos
+     */
+    private void startCluster(SpawnCommand spawnCommand) {
+        String mode = configManager.getString("cluster.mode", "off");
+        String host = configManager.getString("cluster.host", "127.0.0.1");
+        int port = configManager.getInt("cluster.port", 25590);
+        String token = configManager.getString("cluster.token", "");
+        if (!mode.equalsIgnoreCase("off") && token.isEmpty()) {
+            getLogger().severe("cluster.token vazio: defina um segredo compartilhado no config.yml para usar o cluster");
+            return;
+        }
+        if (mode.equalsIgnoreCase("coordinator")) {
+            clusterCoordinator = new ClusterCoordinator(host, port, token,
+                configManager.getLong("cluster.timeout-millis", 5000),
+                configManager.getDouble("cluster.overload-mspt", 45.0),
+                configManager.getInt("cluster.rebalance-step", 100),
+                configManager.getLong("cluster.rebalance-cooldown-millis", 10000),
+                getLogger());
+            try {
+                clusterCoordinator.start();
+                configManager.debug("ClusterCoordinator iniciado");
+            } catch (java.io.IOException e) {
+                getLogger().log(java.util.logging.Level.SEVERE, "Não foi possível abrir a porta do cluster!", e);
+                clusterCoordinator = null;
+            }
+        } else if (mode.equalsIgnoreCase("node")) {
+            String name = configManager.getString("cluster.node-name", "");
+            if (name.isEmpty()) {
+                name = "node-" + getServer().getPort();
+            }
+            ClusterBotHandler handler = new ClusterBotHandler(this, spawnCommand);
+            clusterNode = new ClusterNode(host, port, token, name,
+                configManager.getLong("cluster.heartbeat-millis", 1000),
+                configManager.getLong("cluster.reconnect-millis", 3000),
+                handler, getLogger());
+            handler.setNode(clusterNode);
+            // O HELLO já leva a capacidade e os bots restaurados
+            clusterNode.update(registry.size(), registry.maxBots(), 0.0);
+            botScheduler.addTickTask(handler);
+            clusterNode.start();
+            configManager.debug("ClusterNode iniciado");
+        }
+    }
+
+    /**
+     * Inicia ou para a observação do config.yml.
+     * 
+     * @param enabled Se a observação deve estar ativa
+     */
+    private void updateConfigWatcher(boolean enabled) {
+        if (enabled && !configWatcher.isRunning()) {
+            configWatcher.start();
+            configManager.debug("ConfigWatcher iniciado");
+        } else if (!enabled && configWatcher.isRunning()) {
+            configWatcher.stop();
+            configManager.debug("ConfigWatcher parado");
+        }
+    }
+
+    /**
+     * Obtém o coordenador do cluster.
+     * 
+     * @return ClusterCoordinator do plugin, ou null se este servidor não for o coordenador
+     */
+    public ClusterCoordinator getClusterCoordinator() {
+        return clusterCoordinator;
+    }
+
+    /**
+     * Obtém o nó do cluster.
+     * 
+     * @return ClusterNode do plugin, ou null se este servidor não for um nó
+     */
+    public ClusterNode getClusterNode() {
+        return clusterNode;
+    }
+
+    /**
+     * Obtém o motor de reprodução das gravações.
+     * 
+     * @return ReplayEngine do plugin, ou null se as gravações estiverem desativadas
+     */
+    public ReplayEngine getReplayEngine() {
+        return replayEngine;
+    }
+
+    /**
+     * Obtém o gravador de movimento dos jogadores.
+     * 
+     * @return MovementRecorder do plugin, ou null se as gravações estiverem desativadas
+     */
+    public MovementRecorder getMovementRecorder() {
+        return movementRecorder;
+    }
+
+    /**
+     * Obtém o trace assíncrono do plugin.
+     * 
+     * @return TraceLogger do plugin
+     */
+    public TraceLogger getTrace() {
+        return trace;
+    }
+
+    /**
+     * Obtém o profiler dos subsistemas do plugin.
+     * 
+     * @return PluginProfiler do plugin
+     */
+    public PluginProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Obtém o cache das skins dos bots.
+     * Adaptadores de protocolo devem usar {@link SkinCache#resolve(String)}, que não bloqueia.
+     * 
+     * @return SkinCache do plugin, ou null se as skins estiverem desativadas
+     */
+    public SkinCache getSkinCache() {
+        return skinCache;
+    }
+
+    /**
+     * Obtém o motor de comportamento dos bots.
+     * 
+     * @return BehaviorEngine do plugin, ou null se os comportamentos estiverem desativados
+     */
+    public BehaviorEngine getBehaviorEngine() {
+        return behaviorEngine;
+    }
+
+    /**
+     * Lê e compila o arquivo de comportamentos ({@code behaviors.file}), criando o padrão se não existir.
+     * Se o arquivo for inválido, as árvores atuais são mantidas.
+     */
+    private void loadBehaviors() {
+        String fileName = configManager.getString("behaviors.file", "behaviors.yml");
+        java.io.File file = new java.io.File(getDataFolder(), fileName);
+        if (!file.exists() && "behaviors.yml".equals(fileName)) {
+            saveResource("behaviors.yml", false);
+        }
+        try {
+            int trees = behaviorEngine.load(file);
+            configManager.debug(() -> trees + " árvores de comportamento carregadas");
+        } catch (java.io.IOException | org.bukkit.configuration.InvalidConfigurationException e) {
+            getLogger().log(java.util.logging.Level.SEVERE, fileName + " inválido, mantendo os comportamentos atuais!", e);
+        }
+    }
+
+    /**
+     * Obtém o simulador de chat dos bots.
+     * 
+     * @return ChatSimulator do plugin, ou null se o chat simulado estiver desativado
+     */
+    public ChatSimulator getChatSimulator() {
+        return chatSimulator;
+    }
+
+    /**
+     * Lê o arquivo de mensagens do chat simulado ({@code chat-simulation.file}), criando o padrão se não existir.
+     * 
+     * @return Mensagens lidas, ou null se o arquivo for inválido
+     */
+    private ChatCorpus loadChatCorpus() {
+        String fileName = configManager.getString("chat-simulation.file", "chat.txt");
+        java.io.File file = new java.io.File(getDataFolder(), fileName);
+        if (!file.exists() && "chat.txt".equals(fileName)) {
+            saveResource("chat.txt", false);
+        }
+        boolean markov = "markov".equals(configManager.getString("chat-simulation.model", "corpus"));
+        try {
+            ChatCorpus corpus = ChatCorpus.read(java.nio.file.Files.newBufferedReader(file.toPath(),
+                java.nio.charset.StandardCharsets.UTF_8), markov);
+            configManager.debug(() -> corpus.size() + (markov ? " palavras" : " mensagens") + " do chat simulado carregadas");
+            return corpus;
+        } catch (java.io.IOException | IllegalArgumentException e) {
+            getLogger().log(java.util.logging.Level.SEVERE, fileName + " inválido, chat simulado desativado!", e);
+            return null;
+        }
+    }
+
+    /**
+     * Obtém o gerador de nomes únicos dos bots.
+     * 
+     * @return NameGenerator do plugin
+     */
+    public NameGenerator getNameGenerator() {
+        return nameGenerator;
+    }
+
+    /**
+     * Obtém o conjunto dos nomes em uso (bots e jogadores online).
+     * 
+     * @return NameIndex do plugin
+     */
+    public NameIndex getNameIndex() {
+        return nameIndex;
+    }
+
+    /**
+     * Lê o modelo do gerador de nomes: o arquivo configurado em {@code names.file}, ou o
+     * modelo embutido no plugin. Se o arquivo for inválido, usa o modelo markov embutido.
+     * 
+     * @return Modelo de nomes
+     */
+    private NameModel loadNameModel() {
+        String type = configManager.getString("names.model", "markov");
+        String file = configManager.getString("names.file", "");
+        try {
+            if (!file.isEmpty()) {
+                return NameModel.read(type, java.nio.file.Files.newBufferedReader(
+                    new java.io.File(getDataFolder(), file).toPath(), java.nio.charset.StandardCharsets.UTF_8));
+            }
+            return readEmbeddedNameModel(type);
+        } catch (java.io.IOException | IllegalArgumentException e) {
+            getLogger().log(java.util.logging.Level.WARNING, "Modelo de nomes inválido, usando o modelo markov embutido", e);
+            try {
+                return readEmbeddedNameModel("markov");
+            } catch (java.io.IOException fatal) {
+                throw new IllegalStateException("Modelo de nomes embutido ausente", fatal);
+            }
+        }
+    }
+
+    private NameModel readEmbeddedNameModel(String type) throws java.io.IOException {
+        java.io.InputStream stream = getResource("names/" + type + ".txt");
+        if (stream == null) {
+            throw new java.io.IOException("Recurso names/" + type + ".txt não encontrado");
+        }
+        return NameModel.read(type, new java.io.InputStreamReader(stream, java.nio.charset.StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Obtém o registro de métricas exposto ao Prometheus.
+     * Outros componentes podem registrar suas próprias métricas nele.
+     * 
+     * @return MetricRegistry do plugin, ou null se o exportador estiver desativado
+     */
+    public MetricRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Obtém o monitor de MSPT e TPS do servidor.
+     * 
+     * @return TickMonitor do plugin
+     */
+    public TickMonitor getTickMonitor() {
+        return tickMonitor;
+    }
+
+    /**
+     * Obtém o simulador de ping dos bots.
+     * 
+     * @return PingSimulator do plugin, ou null se a simulação estiver desativada
+     */
+    public PingSimulator getPingSimulator() {
+        return pingSimulator;
     }
 
     /**
@@ -172,4 +752,95 @@ public final class FakePlayersPlugin extends JavaPlugin {
     public ConfigManager getConfigManager() {
         return configManager;
     }
+
+    /**
+     * Obtém o registro de Fake Players do plugin.
+     * 
+     * @return FakePlayerRegistry com todos os bots ativos
+     */
+    public FakePlayerRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Obtém o agendador da plataforma (Paper ou Folia), dono da thread dos bots.
+     * 
+     * @return PlatformScheduler do plugin
+     */
+    public PlatformScheduler getPlatformScheduler() {
+        return platformScheduler;
+    }
+
+    /**
+     * Obtém o agendador de atualizações dos bots.
+     * 
+     * @return BotScheduler do plugin
+     */
+    public BotScheduler getBotScheduler() {
+        return botScheduler;
+    }
+
+    /**
+     * Obtém o gerenciador do ciclo de vida dos bots.
+     * 
+     * @return FakePlayerManager do plugin
+     */
+    public FakePlayerManager getBotManager() {
+        return botManager;
+    }
+
+    /**
+     * Obtém o índice espacial dos bots, usado em consultas de proximidade.
+     * 
+     * @return BotSpatialIndex do plugin
+     */
+    public BotSpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * Obtém o controlador dos níveis de detalhe dos bots.
+     * 
+     * @return LodController do plugin
+     */
+    public LodController getLodController() {
+        return lodController;
+    }
+
+    /**
+     * Obtém o serviço de busca de caminhos dos bots.
+     * 
+     * @return PathfindingService do plugin
+     */
+    public PathfindingService getPathfinding() {
+        return pathfinding;
+    }
+
+    /**
+     * Obtém o armazenamento dos bots.
+     * 
+     * @return BotStore do plugin, ou null se a persistência estiver desativada
+     */
+    public BotStore getBotStore() {
+        return botStore;
+    }
+
+    /**
+     * Obtém o renderizador dos bots em modo pacote.
+     * Adaptadores de protocolo devem se registrar com {@link PacketBotRenderer#setSink}.
+     * 
+     * @return PacketBotRenderer do plugin
+     */
+    public PacketBotRenderer getPacketRenderer() {
+        return packetRenderer;
+    }
+
+    /**
+     * Obtém a cópia do mundo e da posição dos jogadores, lida pela thread dos bots.
+     * 
+     * @return ViewerTracker do plugin
+     */
+    public ViewerTracker getViewerTracker() {
+        return viewerTracker;
+    }
 }
@@ -0,0 +1,217 @@
+package app.adriano.fakeplayers.behavior;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compila as árvores do behaviors.yml em {@link BehaviorTree}s.
+ *
+ * Cada nó é um mapa com uma única chave, o tipo do nó ({@link NodeType}):
+ * ```yaml
+ * selector:
+ *   - sequence:
+ *       - chance: 0.3
+ *       - wander: { radius: 10, speed: 0.25 }
+ *   - wait: { min: 20, max: 60 }
+ * ```
+ *
+ * Erros (tipo desconhecido, parâmetro inválido, árvore profunda demais) são
+ * informados com o caminho do nó, e nenhuma árvore é trocada.
+ *
+ * @since 0.2.0
+ */
+final class BehaviorCompiler {
+
+    /**
+     * Profundidade máxima de uma árvore; a avaliação é recursiva.
+     */
+    static final int MAX_DEPTH = 32;
+
+    /**
+     * Quantidade máxima de slots do blackboard por árvore.
+     */
+    static final int MAX_SLOTS = 32;
+
+    private NodeType[] types = new NodeType[16];
+    private int[] end = new int[16];
+    private double[] paramA = new double[16];
+    private double[] paramB = new double[16];
+    private int[] slot = new int[16];
+    private int size;
+    private int slotCount;
+
+    private BehaviorCompiler() {
+    }
+
+    /**
+     * Compila todas as árvores de uma seção.
+     *
+     * @param trees Seção {@code trees} do behaviors.yml
+     * @return Árvores por nome, na ordem do arquivo
+     * @throws InvalidConfigurationException Se alguma árvore for inválida
+     */
+    static Map<String, BehaviorTree> compileAll(ConfigurationSection trees) throws InvalidConfigurationException {
+        Map<String, BehaviorTree> compiled = new LinkedHashMap<>();
+        if (trees == null) {
+            return compiled;
+        }
+        for (String name : trees.getKeys(false)) {
+            compiled.put(name, compile(name, trees.get(name)));
+        }
+        return compiled;
+    }
+
+    /**
+     * Compila uma árvore.
+     *
+     * @param name Nome da árvore
+     * @param root Nó raiz, como lido do YAML
+     * @return Árvore compilada
+     * @throws InvalidConfigurationException Se a árvore for inválida
+     */
+    static BehaviorTree compile(String name, Object root) throws InvalidConfigurationException {
+        BehaviorCompiler compiler = new BehaviorCompiler();
+        compiler.node(root, "trees." + name, 0);
+        int n = compiler.size;
+        return new BehaviorTree(name, Arrays.copyOf(compiler.types, n), Arrays.copyOf(compiler.end, n),
+            Arrays.copyOf(compiler.paramA, n), Arrays.copyOf(compiler.paramB, n),
+            Arrays.copyOf(compiler.slot, n), compiler.slotCount);
+    }
+
+    private void node(Object node, String path, int depth) throws InvalidConfigurationException {
+        if (depth >= MAX_DEPTH) {
+            throw new InvalidConfigurationException(path + ": árvore com mais de " + MAX_DEPTH + " níveis");
+        }
+        Map<String, Object> entries = entries(node);
+        if (entries == null || entries.size() != 1) {
+            throw new InvalidConfigurationException(path + ": cada nó deve ter exatamente uma chave (o tipo do nó)");
+        }
+        Map.Entry<String, Object> entry = entries.entrySet().iterator().next();
+        NodeType type = NodeType.byKey(entry.getKey());
+        if (type == null) {
+            throw new InvalidConfigurationException(path + ": tipo de nó desconhecido '" + entry.getKey() + "'");
+        }
+        Object value = entry.getValue();
+        path = path + "." + type.key();
+
+        int index = add(type, path);
+        switch (type) {
+            case SEQUENCE, SELECTOR -> {
+                if (!(value instanceof List<?> children) || children.isEmpty()) {
+                    throw new InvalidConfigurationException(path + ": esperada uma lista de nós");
+                }
+                for (int i = 0; i < children.size(); i++) {
+                    node(children.get(i), path + "[" + i + "]", depth + 1);
+                }
+            }
+            case INVERT -> node(value, path, depth + 1);
+            case COOLDOWN -> {
+                paramA[index] = positive(param(value, "ticks", Double.NaN), path + ".ticks");
+                Map<String, Object> params = entries(value);
+                if (params == null || !params.containsKey("do")) {
+                    throw new InvalidConfigurationException(path + ": falta o nó 'do'");
+                }
+                node(params.get("do"), path + ".do", depth + 1);
+            }
+            case CHANCE -> {
+                double chance = param(value, "chance", Double.NaN);
+                if (!(chance >= 0.0 && chance <= 1.0)) {
+                    throw new InvalidConfigurationException(path + ": a chance deve estar entre 0 e 1");
+                }
+                paramA[index] = chance;
+            }
+            case WAIT -> {
+                double min = positive(param(value, "min", Double.NaN), path + ".min");
+                double max = param(value, "max", min);
+                if (max < min) {
+                    throw new InvalidConfigurationException(path + ": max menor que min");
+                }
+                paramA[index] = Math.floor(min);
+                paramB[index] = Math.floor(max);
+            }
+            case WANDER -> {
+                paramA[index] = positive(param(value, "radius", Double.NaN), path + ".radius");
+                paramB[index] = positive(param(value, "speed", 0.25), path + ".speed");
+            }
+            case NEAR_BOT, LOOK_AT_NEAREST ->
+                paramA[index] = positive(param(value, "radius", Double.NaN), path + ".radius");
+            case LOOK_AROUND -> {
+                // Sem parâmetros
+            }
+        }
+        end[index] = size;
+    }
+
+    private int add(NodeType type, String path) throws InvalidConfigurationException {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            end = Arrays.copyOf(end, capacity);
+            paramA = Arrays.copyOf(paramA, capacity);
+            paramB = Arrays.copyOf(paramB, capacity);
+            slot = Arrays.copyOf(slot, capacity);
+        }
+        int index = size++;
+        types[index] = type;
+        if (type.slots() > 0) {
+            if (slotCount + type.slots() > MAX_SLOTS) {
+                throw new InvalidConfigurationException(path + ": a árvore usa mais de " + MAX_SLOTS + " slots de estado");
+            }
+            slot[index] = slotCount;
+            slotCount += type.slots();
+        } else {
+            slot[index] = -1;
+        }
+        return index;
+    }
+
+    /**
+     * Lê um parâmetro numérico: o próprio valor, se for um número, ou a chave {@code key} de um mapa.
+     */
+    private static double param(Object value, String key, double defaultValue) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        Map<String, Object> params = entries(value);
+        if (params != null && params.get(key) instanceof Number number) {
+            return number.doubleValue();
+        }
+        return defaultValue;
+    }
+
+    private static double positive(double value, String path) throws InvalidConfigurationException {
+        if (!(value > 0.0) || Double.isInfinite(value)) {
+            throw new InvalidConfigurationException(path + ": esperado um número positivo");
+        }
+        return value;
+    }
+
+    /**
+     * Converte um mapa do YAML (seção ou {@link Map}) em um mapa de chaves texto.
+     *
+     * @return Entradas do mapa, ou null se o valor não for um mapa
+     */
+    private static Map<String, Object> entries(Object value) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        if (value instanceof ConfigurationSection section) {
+            Set<String> keys = section.getKeys(false);
+            for (String key : keys) {
+                entries.put(key, section.get(key));
+            }
+            return entries;
+        }
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                entries.put(String.valueOf(entry.getKey()), entry.getValue());
+            }
+            return entries;
+        }
+        return null;
+    }
+}
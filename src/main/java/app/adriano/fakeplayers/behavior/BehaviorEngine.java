@@ -0,0 +1,413 @@
+package app.adriano.fakeplayers.behavior;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.bot.SimulationLevel;
+import app.adriano.fakeplayers.logging.TraceCategory;
+import app.adriano.fakeplayers.scheduler.BotTask;
+import app.adriano.fakeplayers.spatial.BotSpatialIndex;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Motor de comportamento dos bots, baseado em árvores de comportamento.
+ *
+ * Funcionamento:
+ * 1. As árvores do behaviors.yml são compiladas uma vez em {@link BehaviorTree}s
+ *    (arrays planos e imutáveis), compartilhadas por todos os bots
+ * 2. O estado de cada bot é só primitivo, em arrays indexados pelo id do bot:
+ *    a árvore, o cursor (a folha em execução) e um blackboard de {@code long}s
+ * 3. Como {@link BotTask}, cada bot é avaliado dentro do orçamento por tick do
+ *    {@link app.adriano.fakeplayers.scheduler.BotScheduler}, da raiz até uma folha
+ *    terminar ou ficar em execução
+ * 4. Compostos retomam a partir do filho que contém o cursor, então uma folha em
+ *    execução (espera, passeio) continua no próximo ciclo sem reavaliar os irmãos anteriores
+ *
+ * Bots adormecidos ({@link SimulationLevel#DORMANT}) perdem o estado da IA (cursor e
+ * blackboard, menos a posição inicial) e recomeçam da raiz quando acordam.
+ *
+ * A avaliação não aloca objetos: a recursão usa apenas a pilha, e os vizinhos são
+ * buscados no {@link BotSpatialIndex} com arrays reutilizados.
+ *
+ * O estado da avaliação em andamento fica em uma {@link Evaluation} por thread, pois no Folia
+ * bots de regiões diferentes são avaliados ao mesmo tempo. Carregar árvores e trocar a
+ * árvore de um bot só acontecem na thread dos bots.
+ *
+ * @see BehaviorTree
+ * @see NodeType
+ * @since 0.2.0
+ */
+public final class BehaviorEngine implements BotRegistryListener, BotTask {
+
+    /**
+     * Resultados da avaliação de um nó.
+     */
+    static final int SUCCESS = 0;
+    static final int FAILURE = 1;
+    static final int RUNNING = 2;
+
+    private static final int NO_TREE = -1;
+    private static final int NO_CURSOR = 0;
+
+    // Slots reservados no início do blackboard de cada bot: ponto de spawn (passeio)
+    private static final int HOME_X = 0;
+    private static final int HOME_Z = 1;
+    private static final int RESERVED_SLOTS = 2;
+
+    private final FakePlayersPlugin plugin;
+    private final FakePlayerRegistry registry;
+    private final BotSpatialIndex spatialIndex;
+    private final ThreadLocal<Evaluation> evaluations = ThreadLocal.withInitial(Evaluation::new);
+
+    private BehaviorTree[] trees = new BehaviorTree[0];
+    private String[] treeNames = new String[0];
+    private int defaultTree = NO_TREE;
+    private int stride = RESERVED_SLOTS;
+
+    // Estado por bot, indexado pelo id
+    private int[] treeOf = new int[64];
+    private int[] cursors = new int[64];
+    private long[] blackboard = new long[64 * RESERVED_SLOTS];
+
+    /**
+     * Cria o motor, sem árvores. Deve ser registrado no registro e como tarefa por bot.
+     *
+     * @param plugin Instância principal do plugin
+     * @param registry Registro de bots
+     * @param spatialIndex Índice espacial dos bots
+     */
+    public BehaviorEngine(FakePlayersPlugin plugin, FakePlayerRegistry registry, BotSpatialIndex spatialIndex) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.spatialIndex = spatialIndex;
+        Arrays.fill(treeOf, NO_TREE);
+    }
+
+    /**
+     * Lê e compila as árvores de um arquivo e as troca pelas atuais.
+     *
+     * O arquivo tem a árvore padrão ({@code default}) e as árvores por nome ({@code trees}).
+     * Os bots mantêm a árvore de mesmo nome (ou passam para a padrão) e recomeçam da raiz;
+     * os cooldowns são zerados. Se o arquivo for inválido, as árvores atuais são mantidas.
+     *
+     * @param file Arquivo behaviors.yml
+     * @return Quantidade de árvores carregadas
+     * @throws IOException Se o arquivo não puder ser lido
+     * @throws InvalidConfigurationException Se o arquivo ou alguma árvore for inválida
+     */
+    public int load(File file) throws IOException, InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.load(file);
+        Map<String, BehaviorTree> compiled = BehaviorCompiler.compileAll(yaml.getConfigurationSection("trees"));
+        String defaultName = yaml.getString("default", "");
+        if (!defaultName.isEmpty() && !compiled.containsKey(defaultName)) {
+            throw new InvalidConfigurationException("default: árvore '" + defaultName + "' não existe");
+        }
+
+        String[] previousNames = treeNames;
+        int previousDefault = defaultTree;
+        trees = compiled.values().toArray(new BehaviorTree[0]);
+        treeNames = compiled.keySet().toArray(new String[0]);
+        defaultTree = defaultName.isEmpty() ? NO_TREE : indexOf(defaultName);
+        int maxSlots = 0;
+        for (BehaviorTree compiledTree : trees) {
+            maxSlots = Math.max(maxSlots, compiledTree.slotCount);
+        }
+
+        // Novo layout do blackboard; só o ponto de spawn é copiado
+        int newStride = RESERVED_SLOTS + maxSlots;
+        long[] newBlackboard = new long[treeOf.length * newStride];
+        for (int slot = 0; slot < registry.size(); slot++) {
+            int id = registry.idAt(slot);
+            newBlackboard[id * newStride + HOME_X] = blackboard[id * stride + HOME_X];
+            newBlackboard[id * newStride + HOME_Z] = blackboard[id * stride + HOME_Z];
+            int previous = treeOf[id];
+            int current = previous == NO_TREE || previous == previousDefault ? NO_TREE : indexOf(previousNames[previous]);
+            treeOf[id] = current == NO_TREE ? defaultTree : current;
+            cursors[id] = NO_CURSOR;
+        }
+        stride = newStride;
+        blackboard = newBlackboard;
+
+        int nodes = 0;
+        for (BehaviorTree compiledTree : trees) {
+            nodes += compiledTree.size();
+        }
+        plugin.getTrace().trace(TraceCategory.AI, "{} árvores de comportamento compiladas ({} nós)",
+            Integer.valueOf(trees.length), Integer.valueOf(nodes));
+        return trees.length;
+    }
+
+    /**
+     * Troca a árvore de um bot. O bot recomeça da raiz da nova árvore.
+     *
+     * @param id Id do bot
+     * @param name Nome da árvore, ou null para nenhuma
+     * @return false se o bot ou a árvore não existirem
+     */
+    public boolean setTree(int id, String name) {
+        int index = name == null ? NO_TREE : indexOf(name);
+        if (!registry.isAlive(id) || (name != null && index == NO_TREE)) {
+            return false;
+        }
+        treeOf[id] = index;
+        cursors[id] = NO_CURSOR;
+        Arrays.fill(blackboard, id * stride + RESERVED_SLOTS, (id + 1) * stride, 0L);
+        return true;
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Nome da árvore do bot, ou null se ele não tiver uma
+     */
+    public String getTree(int id) {
+        int index = id >= 0 && id < treeOf.length ? treeOf[id] : NO_TREE;
+        return index == NO_TREE ? null : treeNames[index];
+    }
+
+    /**
+     * @return Nomes das árvores carregadas
+     */
+    public String[] getTreeNames() {
+        return treeNames.clone();
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry source, int id) {
+        if (id >= treeOf.length) {
+            int capacity = Math.max(id + 1, treeOf.length * 2);
+            int oldLength = treeOf.length;
+            treeOf = Arrays.copyOf(treeOf, capacity);
+            cursors = Arrays.copyOf(cursors, capacity);
+            blackboard = Arrays.copyOf(blackboard, capacity * stride);
+            Arrays.fill(treeOf, oldLength, capacity, NO_TREE);
+        }
+        treeOf[id] = defaultTree;
+        cursors[id] = NO_CURSOR;
+        int offset = id * stride;
+        Arrays.fill(blackboard, offset, offset + stride, 0L);
+        blackboard[offset + HOME_X] = Double.doubleToRawLongBits(source.getX(id));
+        blackboard[offset + HOME_Z] = Double.doubleToRawLongBits(source.getZ(id));
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry source, int id) {
+        treeOf[id] = NO_TREE;
+    }
+
+    @Override
+    public void onUpdate(FakePlayerRegistry source, int id) {
+        if (SimulationLevel.isDormant(source.getFlags(id))) {
+            // Adormeceu: o bot não é avaliado até acordar, então o estado pode ser descartado
+            cursors[id] = NO_CURSOR;
+            Arrays.fill(blackboard, id * stride + RESERVED_SLOTS, (id + 1) * stride, 0L);
+        }
+    }
+
+    @Override
+    public void update(int botId, long tick) {
+        int index = treeOf[botId];
+        if (index == NO_TREE) {
+            return;
+        }
+        evaluations.get().run(trees[index], botId, tick);
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < treeNames.length; i++) {
+            if (treeNames[i].equals(name)) {
+                return i;
+            }
+        }
+        return NO_TREE;
+    }
+
+    /**
+     * Estado da avaliação de um bot, reutilizado por todas as avaliações da mesma thread.
+     */
+    private final class Evaluation {
+
+        private final SplittableRandom random = new SplittableRandom();
+        private final int[] nearestIds = new int[2];
+        private final double[] nearestDistSq = new double[2];
+
+        private BehaviorTree tree;
+        private int bot;
+        private int base;
+        private long now;
+        private int resume;
+
+        void run(BehaviorTree botTree, int botId, long tick) {
+            tree = botTree;
+            bot = botId;
+            base = botId * stride + RESERVED_SLOTS;
+            now = tick;
+            resume = cursors[botId];
+            cursors[botId] = NO_CURSOR;
+            evaluate(0);
+        }
+
+        private int evaluate(int node) {
+            switch (tree.types[node]) {
+                case SEQUENCE -> {
+                    for (int child = firstChild(node); child < tree.end[node]; child = tree.end[child]) {
+                        int status = evaluate(child);
+                        if (status != SUCCESS) {
+                            return status;
+                        }
+                    }
+                    return SUCCESS;
+                }
+                case SELECTOR -> {
+                    for (int child = firstChild(node); child < tree.end[node]; child = tree.end[child]) {
+                        int status = evaluate(child);
+                        if (status != FAILURE) {
+                            return status;
+                        }
+                    }
+                    return FAILURE;
+                }
+                case INVERT -> {
+                    int status = evaluate(node + 1);
+                    return status == RUNNING ? RUNNING : status == SUCCESS ? FAILURE : SUCCESS;
+                }
+                case COOLDOWN -> {
+                    int slot = base + tree.slot[node];
+                    if (now < blackboard[slot]) {
+                        return FAILURE;
+                    }
+                    int status = evaluate(node + 1);
+                    if (status == SUCCESS) {
+                        blackboard[slot] = now + (long) tree.paramA[node];
+                    }
+                    return status;
+                }
+                case CHANCE -> {
+                    return random.nextDouble() < tree.paramA[node] ? SUCCESS : FAILURE;
+                }
+                case WAIT -> {
+                    return waitFor(node);
+                }
+                case WANDER -> {
+                    return wander(node);
+                }
+                case LOOK_AROUND -> {
+                    registry.setRotation(bot, (float) (random.nextDouble() * 360.0 - 180.0), 0.0f);
+                    return SUCCESS;
+                }
+                case NEAR_BOT -> {
+                    return nearestOther(tree.paramA[node]) != FakePlayerRegistry.NO_BOT ? SUCCESS : FAILURE;
+                }
+                case LOOK_AT_NEAREST -> {
+                    // A posição do outro bot pode estar mudando em outra região
+                    synchronized (registry) {
+                        int other = nearestOther(tree.paramA[node]);
+                        if (other == FakePlayerRegistry.NO_BOT) {
+                            return FAILURE;
+                        }
+                        face(registry.getX(other) - registry.getX(bot), registry.getZ(other) - registry.getZ(bot));
+                        return SUCCESS;
+                    }
+                }
+                default -> {
+                    return FAILURE;
+                }
+            }
+        }
+
+        /**
+         * Primeiro filho a avaliar: o que contém o cursor, ou o primeiro.
+         */
+        private int firstChild(int node) {
+            int child = node + 1;
+            if (resume > node && resume < tree.end[node]) {
+                while (tree.end[child] <= resume) {
+                    child = tree.end[child];
+                }
+            }
+            return child;
+        }
+
+        private int running(int node) {
+            cursors[bot] = node;
+            return RUNNING;
+        }
+
+        private int waitFor(int node) {
+            int slot = base + tree.slot[node];
+            long deadline = blackboard[slot];
+            if (deadline == 0) {
+                long min = (long) tree.paramA[node];
+                long max = (long) tree.paramB[node];
+                blackboard[slot] = now + min + (max > min ? random.nextLong(max - min + 1) : 0);
+                return running(node);
+            }
+            if (now < deadline) {
+                return running(node);
+            }
+            blackboard[slot] = 0;
+            return SUCCESS;
+        }
+
+        private int wander(int node) {
+            int slot = base + tree.slot[node];
+            double x = registry.getX(bot);
+            double z = registry.getZ(bot);
+            // Destino zerado significa "sem destino"; um destino exatamente em (0, 0) só é sorteado de novo
+            if (blackboard[slot] == 0 && blackboard[slot + 1] == 0) {
+                double radius = tree.paramA[node] * Math.sqrt(random.nextDouble());
+                double angle = random.nextDouble() * Math.PI * 2.0;
+                int home = bot * stride;
+                blackboard[slot] = Double.doubleToRawLongBits(
+                    Double.longBitsToDouble(blackboard[home + HOME_X]) + Math.cos(angle) * radius);
+                blackboard[slot + 1] = Double.doubleToRawLongBits(
+                    Double.longBitsToDouble(blackboard[home + HOME_Z]) + Math.sin(angle) * radius);
+                // Vira para o destino uma única vez; os passos seguintes só mudam a posição
+                face(Double.longBitsToDouble(blackboard[slot]) - x, Double.longBitsToDouble(blackboard[slot + 1]) - z);
+            }
+            double targetX = Double.longBitsToDouble(blackboard[slot]);
+            double targetZ = Double.longBitsToDouble(blackboard[slot + 1]);
+            double dx = targetX - x;
+            double dz = targetZ - z;
+            double distance = Math.sqrt(dx * dx + dz * dz);
+            double speed = tree.paramB[node];
+            int world = registry.getWorld(bot);
+            double y = registry.getY(bot);
+            if (distance <= speed) {
+                registry.setPosition(bot, world, targetX, y, targetZ);
+                blackboard[slot] = 0;
+                blackboard[slot + 1] = 0;
+                return SUCCESS;
+            }
+            registry.setPosition(bot, world, x + dx / distance * speed, y, z + dz / distance * speed);
+            return running(node);
+        }
+
+        private int nearestOther(double radius) {
+            int found;
+            // O índice espacial é alterado pelos movimentos das outras regiões, sincronizados no registro
+            synchronized (registry) {
+                found = spatialIndex.nearest(registry.getWorld(bot), registry.getX(bot), registry.getY(bot),
+                    registry.getZ(bot), radius, nearestIds, nearestDistSq);
+            }
+            for (int i = 0; i < found; i++) {
+                if (nearestIds[i] != bot) {
+                    return nearestIds[i];
+                }
+            }
+            return FakePlayerRegistry.NO_BOT;
+        }
+
+        private void face(double dx, double dz) {
+            float yaw = (float) Math.toDegrees(Math.atan2(-dx, dz));
+            registry.setRotation(bot, yaw, 0.0f);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package app.adriano.fakeplayers.behavior;
+
+/**
+ * Árvore de comportamento compilada em arrays planos, compartilhada por todos os bots.
+ *
+ * Layout:
+ * 1. Os nós ficam em pré-ordem: o primeiro filho de um nó composto é o nó seguinte
+ * 2. {@code end[n]} é o índice logo após a subárvore de {@code n}; o próximo irmão
+ *    de um filho {@code c} é {@code end[c]}, e {@code c} está dentro de {@code n}
+ *    se {@code n < c < end[n]}
+ * 3. Os parâmetros de cada nó ficam em {@code paramA} e {@code paramB}
+ * 4. Nós com estado por bot (espera, cooldown, destino do passeio) recebem, na
+ *    compilação, o índice do seu primeiro slot no blackboard do bot ({@code slot})
+ *
+ * Imutável; o estado de cada bot fica no {@link BehaviorEngine}.
+ *
+ * @see BehaviorCompiler
+ * @since 0.2.0
+ */
+public final class BehaviorTree {
+
+    final String name;
+    final NodeType[] types;
+    final int[] end;
+    final double[] paramA;
+    final double[] paramB;
+    final int[] slot;
+    final int slotCount;
+
+    BehaviorTree(String name, NodeType[] types, int[] end, double[] paramA, double[] paramB,
+                 int[] slot, int slotCount) {
+        this.name = name;
+        this.types = types;
+        this.end = end;
+        this.paramA = paramA;
+        this.paramB = paramB;
+        this.slot = slot;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * @return Nome da árvore no behaviors.yml
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Quantidade de nós da árvore
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * @return Quantidade de slots do blackboard usados por bot
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+}
@@ -0,0 +1,73 @@
+package app.adriano.fakeplayers.behavior;
+
+/**
+ * Tipos de nó das árvores de comportamento, com a chave usada no behaviors.yml.
+ *
+ * Compostos:
+ * - {@code sequence}: executa os filhos em ordem até um falhar ou ficar em execução
+ * - {@code selector}: executa os filhos em ordem até um ter sucesso ou ficar em execução
+ *
+ * Decoradores:
+ * - {@code invert}: troca sucesso por falha e vice-versa
+ * - {@code cooldown}: após o filho ter sucesso, falha por {@code ticks} ticks
+ *
+ * Folhas:
+ * - {@code chance}: sucesso com a probabilidade dada
+ * - {@code wait}: fica em execução por {@code min} a {@code max} ticks
+ * - {@code wander}: anda em linha reta até um ponto aleatório a até {@code radius} blocos do spawn do bot
+ * - {@code look-around}: vira para uma direção aleatória
+ * - {@code near-bot}: sucesso se outro bot estiver a até {@code radius} blocos
+ * - {@code look-at-nearest}: vira para o bot mais próximo a até {@code radius} blocos
+ *
+ * @see BehaviorTree
+ * @since 0.2.0
+ */
+public enum NodeType {
+    SEQUENCE("sequence", 0),
+    SELECTOR("selector", 0),
+    INVERT("invert", 0),
+    COOLDOWN("cooldown", 1),
+    CHANCE("chance", 0),
+    WAIT("wait", 1),
+    WANDER("wander", 2),
+    LOOK_AROUND("look-around", 0),
+    NEAR_BOT("near-bot", 0),
+    LOOK_AT_NEAREST("look-at-nearest", 0);
+
+    private final String key;
+    private final int slots;
+
+    NodeType(String key, int slots) {
+        this.key = key;
+        this.slots = slots;
+    }
+
+    /**
+     * @return Chave do nó no behaviors.yml
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return Quantidade de slots do blackboard usados por bot por este nó
+     */
+    public int slots() {
+        return slots;
+    }
+
+    /**
+     * Busca um tipo pela chave do behaviors.yml.
+     *
+     * @param key Chave do nó
+     * @return Tipo do nó, ou null se a chave for desconhecida
+     */
+    public static NodeType byKey(String key) {
+        for (NodeType type : values()) {
+            if (type.key.equals(key)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
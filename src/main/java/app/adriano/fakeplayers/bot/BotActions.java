@@ -0,0 +1,61 @@
+package app.adriano.fakeplayers.bot;
+
+/**
+ * Ações visíveis de um Fake Player: agachado, correndo e balançando o braço.
+ *
+ * Ao contrário do {@link BotMode} e do {@link SimulationLevel}, as ações não são exclusivas:
+ * cada uma ocupa um bit próprio nas flags do {@link FakePlayerRegistry}, logo após os bits de nível.
+ * Adaptadores de protocolo podem lê-las para enviar a pose e a animação do bot.
+ *
+ * {@link #SWINGING} vale por uma única atualização: quem a define deve limpá-la na seguinte.
+ *
+ * @since 0.2.0
+ */
+public final class BotActions {
+
+    private static final int SHIFT = 3;
+
+    /**
+     * Bot agachado.
+     */
+    public static final int SNEAKING = 1;
+
+    /**
+     * Bot correndo.
+     */
+    public static final int SPRINTING = 1 << 1;
+
+    /**
+     * Bot balançando o braço neste tick.
+     */
+    public static final int SWINGING = 1 << 2;
+
+    /**
+     * Bits das flags que guardam as ações.
+     */
+    public static final int FLAG_MASK = 0b111 << SHIFT;
+
+    private BotActions() {
+    }
+
+    /**
+     * Obtém as ações representadas pelas flags de um bot.
+     *
+     * @param flags Flags do bot no registro
+     * @return Combinação de {@link #SNEAKING}, {@link #SPRINTING} e {@link #SWINGING}
+     */
+    public static int fromFlags(int flags) {
+        return (flags & FLAG_MASK) >>> SHIFT;
+    }
+
+    /**
+     * Aplica as ações às flags de um bot.
+     *
+     * @param flags Flags atuais do bot
+     * @param actions Combinação de ações
+     * @return Flags com os bits de ação ajustados
+     */
+    public static int applyTo(int flags, int actions) {
+        return (flags & ~FLAG_MASK) | ((actions << SHIFT) & FLAG_MASK);
+    }
+}
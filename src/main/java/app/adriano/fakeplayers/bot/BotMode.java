@@ -0,0 +1,44 @@
+package app.adriano.fakeplayers.bot;
+
+/**
+ * Modo de simulação de um Fake Player.
+ *
+ * Modos:
+ * 1. {@link #FULL} - entidade completa no servidor (chunks, tick e inventário),
+ *    com custo próximo ao de um jogador real
+ * 2. {@link #PACKET} - existe apenas em pacotes enviados aos jogadores (tab list,
+ *    contagem de jogadores e nameplate), com estado limitado à linha no registro
+ *
+ * O modo é guardado nas flags do {@link FakePlayerRegistry}.
+ *
+ * @since 0.2.0
+ */
+public enum BotMode {
+    FULL,
+    PACKET;
+
+    /**
+     * Flag que marca um bot em modo pacote.
+     */
+    public static final int FLAG_PACKET_ONLY = 1;
+
+    /**
+     * Obtém o modo representado pelas flags de um bot.
+     *
+     * @param flags Flags do bot no registro
+     * @return Modo do bot
+     */
+    public static BotMode fromFlags(int flags) {
+        return (flags & FLAG_PACKET_ONLY) != 0 ? PACKET : FULL;
+    }
+
+    /**
+     * Aplica este modo às flags de um bot.
+     *
+     * @param flags Flags atuais do bot
+     * @return Flags com o bit de modo ajustado
+     */
+    public int applyTo(int flags) {
+        return this == PACKET ? flags | FLAG_PACKET_ONLY : flags & ~FLAG_PACKET_ONLY;
+    }
+}
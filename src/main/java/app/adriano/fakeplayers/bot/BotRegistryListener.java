@@ -0,0 +1,64 @@
+package app.adriano.fakeplayers.bot;
+
+/**
+ * Observador das mudanças no {@link FakePlayerRegistry}.
+ *
+ * Permite que outros sistemas (renderização, índices espaciais, persistência)
+ * acompanhem os bots de forma incremental, sem percorrer o registro inteiro.
+ * Os métodos são chamados de forma síncrona, na mesma thread da mudança,
+ * e devem ser baratos.
+ *
+ * @see FakePlayerRegistry#addListener(BotRegistryListener)
+ * @since 0.2.0
+ */
+public interface BotRegistryListener {
+
+    /**
+     * Chamado logo após um bot ser registrado.
+     *
+     * @param registry Registro de origem
+     * @param id Id do novo bot
+     */
+    default void onSpawn(FakePlayerRegistry registry, int id) {
+    }
+
+    /**
+     * Chamado logo antes de um bot ser removido, enquanto seus dados ainda podem ser lidos.
+     *
+     * @param registry Registro de origem
+     * @param id Id do bot removido
+     */
+    default void onDespawn(FakePlayerRegistry registry, int id) {
+    }
+
+    /**
+     * Chamado após o nome ou as flags de um bot mudarem.
+     *
+     * @param registry Registro de origem
+     * @param id Id do bot
+     */
+    default void onUpdate(FakePlayerRegistry registry, int id) {
+    }
+
+    /**
+     * Chamado após o nome de um bot mudar, logo depois de {@link #onUpdate}.
+     * Para quem guarda algo derivado do nome e não deve descartá-lo a cada mudança de flags.
+     *
+     * @param registry Registro de origem
+     * @param id Id do bot
+     */
+    default void onRename(FakePlayerRegistry registry, int id) {
+    }
+
+    /**
+     * Chamado após a posição ou a rotação de um bot mudar.
+     *
+     * @param registry Registro de origem
+     * @param id Id do bot
+     * @param oldWorld Índice do mundo anterior
+     * @param oldX Coordenada X anterior
+     * @param oldZ Coordenada Z anterior
+     */
+    default void onMove(FakePlayerRegistry registry, int id, int oldWorld, double oldX, double oldZ) {
+    }
+}
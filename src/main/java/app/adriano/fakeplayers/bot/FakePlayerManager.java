@@ -0,0 +1,117 @@
+package app.adriano.fakeplayers.bot;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.logging.TraceCategory;
+import org.bukkit.Location;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gerenciador do ciclo de vida dos Fake Players.
+ *
+ * Centraliza a criação e a remoção de bots (padrão Factory), cuidando de:
+ * 1. Gerar o UUID e o id de entidade de cada bot
+ * 2. Registrar o bot no {@link FakePlayerRegistry} com o modo escolhido
+ * 3. Remover bots individualmente ou em massa
+ *
+ * A renderização acontece por observação do registro: bots em
+ * {@link BotMode#PACKET} são enviados aos jogadores pelo
+ * {@link app.adriano.fakeplayers.render.PacketBotRenderer}.
+ *
+ * @since 0.2.0
+ */
+public final class FakePlayerManager {
+
+    private final FakePlayersPlugin plugin;
+    private final FakePlayerRegistry registry;
+    private boolean fullModeWarned;
+
+    /**
+     * Cria o gerenciador.
+     *
+     * @param plugin Instância principal do plugin
+     * @param registry Registro de bots
+     */
+    public FakePlayerManager(FakePlayersPlugin plugin, FakePlayerRegistry registry) {
+        this.plugin = plugin;
+        this.registry = registry;
+    }
+
+    /**
+     * Cria um novo bot.
+     *
+     * @param name Nome exibido do bot
+     * @param location Posição inicial do bot
+     * @param mode Modo de simulação do bot
+     * @return Id do bot, ou {@link FakePlayerRegistry#NO_BOT} se o limite foi atingido
+     *         ou o modo {@link BotMode#FULL} foi pedido, pois entidades completas ainda não são suportadas
+     */
+    public int spawn(String name, Location location, BotMode mode) {
+        if (mode == BotMode.FULL) {
+            if (!fullModeWarned) {
+                fullModeWarned = true;
+                plugin.getLogger().warning("Bots no modo FULL ainda não são suportados; use o modo PACKET");
+            }
+            return FakePlayerRegistry.NO_BOT;
+        }
+        int world = registry.worldIndex(location.getWorld().getUID());
+        int entityId = plugin.getServer().getUnsafe().nextEntityId();
+        int flags = mode.applyTo(0);
+        LodController lod = plugin.getLodController();
+        if (lod != null) {
+            // Bots criados longe dos jogadores já nascem adormecidos
+            flags = lod.levelAt(world, location.getX(), location.getY(), location.getZ()).applyTo(flags);
+        }
+        int id = registry.spawn(newBotUuid(), name, entityId, world,
+            location.getX(), location.getY(), location.getZ(),
+            location.getYaw(), location.getPitch(), flags);
+        plugin.getTrace().trace(TraceCategory.BOTS, "Bot {} criado com id {}", name, id);
+        return id;
+    }
+
+    /**
+     * Remove um bot.
+     *
+     * @param id Id do bot
+     * @return true se o bot existia
+     */
+    public boolean despawn(int id) {
+        plugin.getTrace().trace(TraceCategory.BOTS, "Removendo bot {}", id);
+        return registry.despawn(id);
+    }
+
+    /**
+     * Remove todos os bots.
+     *
+     * @return Quantidade de bots removidos
+     */
+    public int despawnAll() {
+        int count = registry.size();
+        plugin.getTrace().trace(TraceCategory.BOTS, "Removendo todos os {} bots", count);
+        registry.clear();
+        return count;
+    }
+
+    /**
+     * Verifica se um UUID pertence a um bot registrado.
+     *
+     * @param uuid UUID a ser verificado
+     * @return true se for um Fake Player
+     */
+    public boolean isFakePlayer(UUID uuid) {
+        return registry.find(uuid) != FakePlayerRegistry.NO_BOT;
+    }
+
+    /**
+     * Gera um UUID versão 2 para o bot.
+     * Jogadores reais usam versões 3 (offline) ou 4 (online), então a versão 2
+     * evita colisões e segue a convenção usada por outros plugins de NPC.
+     */
+    private static UUID newBotUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & ~0xF000L) | 0x2000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,564 @@
+package app.adriano.fakeplayers.bot;
+
+import app.adriano.fakeplayers.utils.UuidIntMap;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Registro central dos Fake Players do servidor.
+ *
+ * Os bots são armazenados em formato "struct-of-arrays": cada atributo fica em
+ * um array primitivo próprio, indexado pelo slot do bot. Isso mantém o custo de
+ * memória fixo por bot, evita objetos por bot (e portanto pressão no GC) e deixa
+ * as iterações sobre todos os bots contíguas em memória.
+ *
+ * Identificação:
+ * 1. Cada bot recebe um id inteiro estável enquanto estiver registrado
+ * 2. Os slots são densos (0 até size - 1); remover um bot move o último para o buraco
+ * 3. Ids liberados são reutilizados, então os ids ficam sempre abaixo de {@code maxBots}
+ *
+ * Complexidade:
+ * - spawn, despawn e busca por id ou UUID são O(1)
+ * - Os arrays crescem dobrando de tamanho, até o limite de {@code maxBots}
+ * - Cada bot ocupa cerca de 110 bytes nos arrays e no mapa de UUIDs, mais a String do nome
+ *
+ * Exemplo de uso:
+ * ```java
+ * int id = registry.spawn(uuid, "Bot", entityId, world, x, y, z, 0f, 0f, 0);
+ * registry.setPosition(id, world, x + 1, y, z);
+ * for (int slot = 0; slot < registry.size(); slot++) {
+ *     int botId = registry.idAt(slot);
+ * }
+ * ```
+ *
+ * Threads: o registro pertence à thread dos bots. No Folia, as atualizações por bot rodam
+ * nas threads das regiões ao mesmo tempo (sem spawns nem despawns durante elas, ver
+ * {@link app.adriano.fakeplayers.scheduler.PlatformScheduler#runBotWork}); por isso as
+ * mudanças e a notificação dos observadores são sincronizadas no próprio registro, e quem
+ * lê dados de outros bots a partir de uma região deve sincronizar no registro também.
+ *
+ * @since 0.2.0
+ */
+public final class FakePlayerRegistry {
+
+    /**
+     * Valor retornado quando um bot não existe ou não pôde ser criado.
+     */
+    public static final int NO_BOT = -1;
+
+    /**
+     * Valor retornado por {@link #findWorld(UUID)} quando o mundo não está na paleta.
+     */
+    public static final int NO_WORLD = -1;
+
+    private static final float YAW_SCALE = 65536f / 360f;
+    private static final float PITCH_SCALE = 65535f / 180f;
+
+    private final int maxBots;
+    private final UuidIntMap idByUuid;
+
+    // Mapeamento id <-> slot
+    private int[] idBySlot;
+    private int[] slotById;
+    private int[] freeIds;
+    private int freeCount;
+    private int nextId;
+    private int size;
+
+    // Colunas por slot
+    private long[] uuidMost;
+    private long[] uuidLeast;
+    private String[] names;
+    private int[] entityIds;
+    private int[] worlds;
+    private double[] positions;
+    private int[] rotations;
+    private int[] flags;
+
+    private BotRegistryListener[] listeners = new BotRegistryListener[0];
+
+    // Paleta de mundos: índice inteiro por UUID de mundo
+    private UUID[] worldIds = new UUID[4];
+    private int worldCount;
+
+    /**
+     * Cria um registro vazio.
+     *
+     * @param initialCapacity Capacidade inicial dos arrays
+     * @param maxBots Quantidade máxima de bots simultâneos
+     */
+    public FakePlayerRegistry(int initialCapacity, int maxBots) {
+        if (maxBots <= 0) {
+            throw new IllegalArgumentException("maxBots deve ser positivo: " + maxBots);
+        }
+        this.maxBots = maxBots;
+        int capacity = Math.max(16, Math.min(initialCapacity, maxBots));
+        this.idByUuid = new UuidIntMap(capacity);
+        allocate(capacity);
+    }
+
+    /**
+     * Registra um novo bot.
+     *
+     * @param uuid UUID do bot
+     * @param name Nome exibido do bot
+     * @param entityId Id de entidade usado nos pacotes enviados aos jogadores
+     * @param world Índice do mundo obtido em {@link #worldIndex(UUID)}
+     * @param x Coordenada X
+     * @param y Coordenada Y
+     * @param z Coordenada Z
+     * @param yaw Rotação horizontal em graus
+     * @param pitch Rotação vertical em graus
+     * @param botFlags Flags iniciais do bot
+     * @return Id do bot, ou {@link #NO_BOT} se o UUID já existir ou o limite foi atingido
+     */
+    public synchronized int spawn(UUID uuid, String name, int entityId, int world, double x, double y, double z,
+                     float yaw, float pitch, int botFlags) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        if (size >= maxBots || idByUuid.get(msb, lsb) != UuidIntMap.MISSING) {
+            return NO_BOT;
+        }
+
+        int id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        if (id >= slotById.length || size >= idBySlot.length) {
+            grow();
+        }
+
+        int slot = size++;
+        idBySlot[slot] = id;
+        slotById[id] = slot;
+        idByUuid.put(msb, lsb, id);
+
+        uuidMost[slot] = msb;
+        uuidLeast[slot] = lsb;
+        names[slot] = name;
+        entityIds[slot] = entityId;
+        worlds[slot] = world;
+        int base = slot * 3;
+        positions[base] = x;
+        positions[base + 1] = y;
+        positions[base + 2] = z;
+        rotations[slot] = packRotation(yaw, pitch);
+        flags[slot] = botFlags;
+        for (BotRegistryListener listener : listeners) {
+            listener.onSpawn(this, id);
+        }
+        return id;
+    }
+
+    /**
+     * Remove um bot do registro.
+     * O último slot é movido para o lugar do removido, mantendo os slots densos.
+     *
+     * @param id Id do bot
+     * @return true se o bot existia
+     */
+    public synchronized boolean despawn(int id) {
+        int slot = slotOrMissing(id);
+        if (slot < 0) {
+            return false;
+        }
+        for (BotRegistryListener listener : listeners) {
+            listener.onDespawn(this, id);
+        }
+
+        idByUuid.remove(uuidMost[slot], uuidLeast[slot]);
+        int last = --size;
+        if (slot != last) {
+            int movedId = idBySlot[last];
+            idBySlot[slot] = movedId;
+            slotById[movedId] = slot;
+            uuidMost[slot] = uuidMost[last];
+            uuidLeast[slot] = uuidLeast[last];
+            names[slot] = names[last];
+            entityIds[slot] = entityIds[last];
+            worlds[slot] = worlds[last];
+            System.arraycopy(positions, last * 3, positions, slot * 3, 3);
+            rotations[slot] = rotations[last];
+            flags[slot] = flags[last];
+        }
+        names[last] = null;
+        slotById[id] = NO_BOT;
+        freeIds[freeCount++] = id;
+        return true;
+    }
+
+    /**
+     * Remove todos os bots, mantendo a capacidade alocada.
+     * Os observadores recebem {@link BotRegistryListener#onDespawn} para cada bot.
+     */
+    public synchronized void clear() {
+        for (int slot = size - 1; slot >= 0; slot--) {
+            for (BotRegistryListener listener : listeners) {
+                listener.onDespawn(this, idBySlot[slot]);
+            }
+        }
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(slotById, NO_BOT);
+        idByUuid.clear();
+        size = 0;
+        freeCount = 0;
+        nextId = 0;
+    }
+
+    /**
+     * Busca o id de um bot pelo UUID.
+     *
+     * @param uuid UUID do bot
+     * @return Id do bot ou {@link #NO_BOT}
+     */
+    public int find(UUID uuid) {
+        return idByUuid.get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Busca o id de um bot pelas duas metades do UUID, sem criar objetos.
+     *
+     * @param msb Bits mais significativos do UUID
+     * @param lsb Bits menos significativos do UUID
+     * @return Id do bot ou {@link #NO_BOT}
+     */
+    public int find(long msb, long lsb) {
+        return idByUuid.get(msb, lsb);
+    }
+
+    /**
+     * @param id Id do bot
+     * @return true se o id pertence a um bot registrado
+     */
+    public boolean isAlive(int id) {
+        return slotOrMissing(id) >= 0;
+    }
+
+    /**
+     * @return Quantidade de bots registrados
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Quantidade máxima de bots simultâneos
+     */
+    public int maxBots() {
+        return maxBots;
+    }
+
+    /**
+     * Limite superior (exclusivo) dos ids atualmente em uso.
+     * Útil para dimensionar arrays paralelos indexados por id.
+     *
+     * @return Maior id já atribuído mais um
+     */
+    public int idLimit() {
+        return nextId;
+    }
+
+    /**
+     * Obtém o id do bot que ocupa um slot.
+     * Permite iterar sobre todos os bots sem criar objetos.
+     *
+     * @param slot Slot entre 0 e {@link #size()} - 1
+     * @return Id do bot
+     */
+    public int idAt(int slot) {
+        return idBySlot[slot];
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Slot atual do bot
+     */
+    public int slotOf(int id) {
+        return slot(id);
+    }
+
+    /**
+     * Cria um {@link UUID} para o bot. Prefira {@link #getUuidMost(int)} e
+     * {@link #getUuidLeast(int)} em laços quentes, pois este método aloca.
+     *
+     * @param id Id do bot
+     * @return UUID do bot
+     */
+    public UUID getUniqueId(int id) {
+        int slot = slot(id);
+        return new UUID(uuidMost[slot], uuidLeast[slot]);
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Bits mais significativos do UUID do bot
+     */
+    public long getUuidMost(int id) {
+        return uuidMost[slot(id)];
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Bits menos significativos do UUID do bot
+     */
+    public long getUuidLeast(int id) {
+        return uuidLeast[slot(id)];
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Nome exibido do bot
+     */
+    public String getName(int id) {
+        return names[slot(id)];
+    }
+
+    /**
+     * @param id Id do bot
+     * @param name Novo nome exibido do bot
+     */
+    public synchronized void setName(int id, String name) {
+        names[slot(id)] = name;
+        notifyUpdate(id);
+        for (BotRegistryListener listener : listeners) {
+            listener.onRename(this, id);
+        }
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Id de entidade do bot
+     */
+    public int getEntityId(int id) {
+        return entityIds[slot(id)];
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Índice do mundo do bot na paleta de mundos
+     */
+    public int getWorld(int id) {
+        return worlds[slot(id)];
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Coordenada X do bot
+     */
+    public double getX(int id) {
+        return positions[slot(id) * 3];
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Coordenada Y do bot
+     */
+    public double getY(int id) {
+        return positions[slot(id) * 3 + 1];
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Coordenada Z do bot
+     */
+    public double getZ(int id) {
+        return positions[slot(id) * 3 + 2];
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Rotação horizontal do bot em graus, entre -180 e 180
+     */
+    public float getYaw(int id) {
+        return (short) (rotations[slot(id)] >>> 16) / YAW_SCALE;
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Rotação vertical do bot em graus, entre -90 e 90
+     */
+    public float getPitch(int id) {
+        return ((rotations[slot(id)] & 0xFFFF) / PITCH_SCALE) - 90f;
+    }
+
+    /**
+     * @param id Id do bot
+     * @return Flags do bot
+     */
+    public int getFlags(int id) {
+        return flags[slot(id)];
+    }
+
+    /**
+     * Move o bot para outra posição, possivelmente em outro mundo.
+     *
+     * @param id Id do bot
+     * @param world Índice do mundo
+     * @param x Coordenada X
+     * @param y Coordenada Y
+     * @param z Coordenada Z
+     */
+    public synchronized void setPosition(int id, int world, double x, double y, double z) {
+        int slot = slot(id);
+        int oldWorld = worlds[slot];
+        int base = slot * 3;
+        double oldX = positions[base];
+        double oldZ = positions[base + 2];
+        worlds[slot] = world;
+        positions[base] = x;
+        positions[base + 1] = y;
+        positions[base + 2] = z;
+        for (BotRegistryListener listener : listeners) {
+            listener.onMove(this, id, oldWorld, oldX, oldZ);
+        }
+    }
+
+    /**
+     * Atualiza a rotação do bot.
+     * Yaw e pitch são empacotados em 16 bits cada (precisão de ~0,005°).
+     *
+     * @param id Id do bot
+     * @param yaw Rotação horizontal em graus
+     * @param pitch Rotação vertical em graus
+     */
+    public synchronized void setRotation(int id, float yaw, float pitch) {
+        int slot = slot(id);
+        rotations[slot] = packRotation(yaw, pitch);
+        int base = slot * 3;
+        for (BotRegistryListener listener : listeners) {
+            listener.onMove(this, id, worlds[slot], positions[base], positions[base + 2]);
+        }
+    }
+
+    /**
+     * @param id Id do bot
+     * @param botFlags Novas flags do bot
+     */
+    public synchronized void setFlags(int id, int botFlags) {
+        flags[slot(id)] = botFlags;
+        notifyUpdate(id);
+    }
+
+    /**
+     * Adiciona um observador das mudanças do registro.
+     *
+     * @param listener Observador a ser adicionado
+     */
+    public void addListener(BotRegistryListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * Obtém (ou cria) o índice de um mundo na paleta de mundos.
+     * Os bots guardam apenas esse índice, evitando uma referência por bot.
+     *
+     * @param worldId UUID do mundo
+     * @return Índice do mundo
+     */
+    public synchronized int worldIndex(UUID worldId) {
+        for (int i = 0; i < worldCount; i++) {
+            if (worldIds[i].equals(worldId)) {
+                return i;
+            }
+        }
+        if (worldCount == worldIds.length) {
+            worldIds = Arrays.copyOf(worldIds, worldCount * 2);
+        }
+        worldIds[worldCount] = worldId;
+        return worldCount++;
+    }
+
+    /**
+     * Busca o índice de um mundo sem adicioná-lo à paleta.
+     * Usado nos caminhos de leitura, como o mundo dos jogadores reais, que não devem
+     * crescer a paleta com mundos onde nenhum bot vive.
+     *
+     * @param worldId UUID do mundo
+     * @return Índice do mundo, ou {@link #NO_WORLD} se nenhum bot usou o mundo
+     */
+    public synchronized int findWorld(UUID worldId) {
+        for (int i = 0; i < worldCount; i++) {
+            if (worldIds[i].equals(worldId)) {
+                return i;
+            }
+        }
+        return NO_WORLD;
+    }
+
+    /**
+     * @param index Índice na paleta de mundos
+     * @return UUID do mundo
+     */
+    public UUID worldId(int index) {
+        return worldIds[index];
+    }
+
+    /**
+     * @return Quantidade de mundos na paleta
+     */
+    public int worldCount() {
+        return worldCount;
+    }
+
+    private void notifyUpdate(int id) {
+        for (BotRegistryListener listener : listeners) {
+            listener.onUpdate(this, id);
+        }
+    }
+
+    private int slot(int id) {
+        int slot = slotOrMissing(id);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Bot inexistente: " + id);
+        }
+        return slot;
+    }
+
+    private int slotOrMissing(int id) {
+        return id >= 0 && id < nextId ? slotById[id] : NO_BOT;
+    }
+
+    private static int packRotation(float yaw, float pitch) {
+        float wrapped = yaw % 360f;
+        if (wrapped >= 180f) {
+            wrapped -= 360f;
+        } else if (wrapped < -180f) {
+            wrapped += 360f;
+        }
+        int packedYaw = Math.round(wrapped * YAW_SCALE) & 0xFFFF;
+        float clamped = Math.max(-90f, Math.min(90f, pitch));
+        int packedPitch = Math.round((clamped + 90f) * PITCH_SCALE) & 0xFFFF;
+        return (packedYaw << 16) | packedPitch;
+    }
+
+    private void grow() {
+        int capacity = Math.min(Math.max(idBySlot.length * 2, 16), maxBots);
+        idBySlot = Arrays.copyOf(idBySlot, capacity);
+        int oldIds = slotById.length;
+        slotById = Arrays.copyOf(slotById, capacity);
+        Arrays.fill(slotById, oldIds, capacity, NO_BOT);
+        freeIds = Arrays.copyOf(freeIds, capacity);
+        uuidMost = Arrays.copyOf(uuidMost, capacity);
+        uuidLeast = Arrays.copyOf(uuidLeast, capacity);
+        names = Arrays.copyOf(names, capacity);
+        entityIds = Arrays.copyOf(entityIds, capacity);
+        worlds = Arrays.copyOf(worlds, capacity);
+        positions = Arrays.copyOf(positions, capacity * 3);
+        rotations = Arrays.copyOf(rotations, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+
+    private void allocate(int capacity) {
+        idBySlot = new int[capacity];
+        slotById = new int[capacity];
+        Arrays.fill(slotById, NO_BOT);
+        freeIds = new int[capacity];
+        uuidMost = new long[capacity];
+        uuidLeast = new long[capacity];
+        names = new String[capacity];
+        entityIds = new int[capacity];
+        worlds = new int[capacity];
+        positions = new double[capacity * 3];
+        rotations = new int[capacity];
+        flags = new int[capacity];
+    }
+}
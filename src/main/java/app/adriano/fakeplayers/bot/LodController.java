@@ -0,0 +1,227 @@
+package app.adriano.fakeplayers.bot;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.config.ConfigManager;
+import app.adriano.fakeplayers.listeners.ViewerTracker;
+import app.adriano.fakeplayers.spatial.BotSpatialIndex;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Controlador do nível de detalhe ({@link SimulationLevel}) de cada bot.
+ *
+ * Funcionamento:
+ * 1. A cada {@code lod.check-interval-ticks} ticks, todos os bots começam como {@link SimulationLevel#DORMANT}
+ * 2. Para cada jogador real, o {@link BotSpatialIndex} devolve os bots até {@code reduced-radius}
+ *    (mais a histerese); os bots até {@code full-radius} ficam {@link SimulationLevel#FULL}
+ *    e os demais {@link SimulationLevel#REDUCED}
+ * 3. Só os bots cujo nível mudou têm as flags alteradas no registro; os observadores
+ *    reagem à mudança (o renderizador remove ou reenvia o bot, a IA descarta o estado)
+ *
+ * A histerese ({@code lod.hysteresis}) faz um bot só perder um nível quando passa do raio
+ * mais essa margem, evitando que bots na borda alternem de nível a cada verificação.
+ *
+ * Exemplo de configuração:
+ * ```yaml
+ * lod:
+ *   enabled: true
+ *   full-radius: 48
+ *   reduced-radius: 128
+ *   hysteresis: 8
+ *   reduced-interval: 4
+ *   check-interval-ticks: 20
+ * ```
+ *
+ * Usado apenas na thread dos bots; a posição dos jogadores vem do {@link ViewerTracker}.
+ *
+ * @see SimulationLevel
+ * @since 0.2.0
+ */
+public final class LodController implements Runnable {
+
+    private static final byte FULL = (byte) SimulationLevel.FULL.ordinal();
+    private static final byte REDUCED = (byte) SimulationLevel.REDUCED.ordinal();
+    private static final byte DORMANT = (byte) SimulationLevel.DORMANT.ordinal();
+    private static final SimulationLevel[] LEVELS = SimulationLevel.values();
+
+    private final FakePlayersPlugin plugin;
+    private final FakePlayerRegistry registry;
+    private final BotSpatialIndex spatialIndex;
+
+    private boolean enabled;
+    private double fullRadius;
+    private double reducedRadius;
+    private double hysteresis;
+    private int checkInterval;
+    private int countdown;
+    // Se algum bot pode estar fora do nível FULL (para restaurar todos ao desativar)
+    private boolean applied;
+
+    // Nível calculado de cada bot, indexado por id
+    private byte[] targets = new byte[64];
+    private int[] found = new int[64];
+    private final int[] counts = new int[LEVELS.length];
+
+    /**
+     * Cria o controlador. Deve ser registrado como tarefa de fim de tick.
+     *
+     * @param plugin Instância principal do plugin
+     * @param registry Registro de bots
+     * @param spatialIndex Índice espacial dos bots
+     */
+    public LodController(FakePlayersPlugin plugin, FakePlayerRegistry registry, BotSpatialIndex spatialIndex) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.spatialIndex = spatialIndex;
+        loadSettings();
+    }
+
+    /**
+     * Lê as configurações da seção {@code lod}. Chamado novamente após cada reload.
+     */
+    public void loadSettings() {
+        ConfigManager config = plugin.getConfigManager();
+        enabled = config.getBoolean("lod.enabled", true);
+        fullRadius = Math.max(0.0, config.getDouble("lod.full-radius", 48.0));
+        reducedRadius = Math.max(fullRadius, config.getDouble("lod.reduced-radius", 128.0));
+        hysteresis = Math.max(0.0, config.getDouble("lod.hysteresis", 8.0));
+        checkInterval = Math.max(1, config.getInt("lod.check-interval-ticks", 20));
+        countdown = 0;
+    }
+
+    /**
+     * Verifica os níveis quando o intervalo termina.
+     */
+    @Override
+    public void run() {
+        if (!enabled) {
+            if (applied) {
+                wakeAll();
+            }
+            return;
+        }
+        if (--countdown > 0) {
+            return;
+        }
+        countdown = checkInterval;
+        classify();
+    }
+
+    /**
+     * Calcula o nível de um bot que será criado em uma posição, para que bots criados
+     * longe dos jogadores já nasçam adormecidos (sem enviar pacotes para depois removê-los).
+     *
+     * @param world Índice do mundo
+     * @param x Posição X
+     * @param y Posição Y
+     * @param z Posição Z
+     * @return Nível inicial do bot
+     */
+    public SimulationLevel levelAt(int world, double x, double y, double z) {
+        if (!enabled) {
+            return SimulationLevel.FULL;
+        }
+        double nearestSq = Double.MAX_VALUE;
+        for (ViewerTracker.Viewer viewer : plugin.getViewerTracker().getViewers()) {
+            UUID worldId = viewer.worldId();
+            if (worldId == null || registry.findWorld(worldId) != world) {
+                continue;
+            }
+            double dx = viewer.x() - x;
+            double dy = viewer.y() - y;
+            double dz = viewer.z() - z;
+            nearestSq = Math.min(nearestSq, dx * dx + dy * dy + dz * dz);
+        }
+        applied = true;
+        if (nearestSq <= fullRadius * fullRadius) {
+            return SimulationLevel.FULL;
+        }
+        return nearestSq <= reducedRadius * reducedRadius ? SimulationLevel.REDUCED : SimulationLevel.DORMANT;
+    }
+
+    private void classify() {
+        int limit = registry.idLimit();
+        if (targets.length < limit) {
+            targets = new byte[Math.max(limit, targets.length * 2)];
+        }
+        Arrays.fill(targets, 0, limit, DORMANT);
+        if (found.length < registry.size()) {
+            found = new int[Math.max(registry.size(), found.length * 2)];
+        }
+
+        double searchRadius = reducedRadius + hysteresis;
+        for (ViewerTracker.Viewer viewer : plugin.getViewerTracker().getViewers()) {
+            UUID worldId = viewer.worldId();
+            // Mundo sem bots: nada a classificar, e a paleta não ganha uma entrada
+            int world = worldId == null ? FakePlayerRegistry.NO_WORLD : registry.findWorld(worldId);
+            if (world == FakePlayerRegistry.NO_WORLD) {
+                continue;
+            }
+            double px = viewer.x();
+            double py = viewer.y();
+            double pz = viewer.z();
+            int count = spatialIndex.queryRadius(world, px, py, pz, searchRadius, found);
+            for (int i = 0; i < count; i++) {
+                int id = found[i];
+                if (targets[id] == FULL) {
+                    continue;
+                }
+                double dx = registry.getX(id) - px;
+                double dy = registry.getY(id) - py;
+                double dz = registry.getZ(id) - pz;
+                double distanceSq = dx * dx + dy * dy + dz * dz;
+                int current = SimulationLevel.fromFlags(registry.getFlags(id)).ordinal();
+                // Quem já está em um nível só o perde depois da margem de histerese
+                double full = current == FULL ? fullRadius + hysteresis : fullRadius;
+                double reduced = current != DORMANT ? reducedRadius + hysteresis : reducedRadius;
+                byte level = distanceSq <= full * full ? FULL : distanceSq <= reduced * reduced ? REDUCED : DORMANT;
+                if (level < targets[id]) {
+                    targets[id] = level;
+                }
+            }
+        }
+
+        Arrays.fill(counts, 0);
+        for (int slot = 0; slot < registry.size(); slot++) {
+            int id = registry.idAt(slot);
+            int flags = registry.getFlags(id);
+            byte target = targets[id];
+            counts[target]++;
+            if (SimulationLevel.fromFlags(flags).ordinal() != target) {
+                registry.setFlags(id, LEVELS[target].applyTo(flags));
+            }
+        }
+        applied = true;
+    }
+
+    private void wakeAll() {
+        Arrays.fill(counts, 0);
+        for (int slot = 0; slot < registry.size(); slot++) {
+            int id = registry.idAt(slot);
+            int flags = registry.getFlags(id);
+            if (SimulationLevel.fromFlags(flags) != SimulationLevel.FULL) {
+                registry.setFlags(id, SimulationLevel.FULL.applyTo(flags));
+            }
+        }
+        counts[FULL] = registry.size();
+        applied = false;
+    }
+
+    /**
+     * @return true se os níveis de detalhe estão ativos
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Quantidade de bots em um nível na última verificação.
+     *
+     * @param level Nível desejado
+     * @return Quantidade de bots
+     */
+    public int getCount(SimulationLevel level) {
+        return counts[level.ordinal()];
+    }
+}
@@ -0,0 +1,62 @@
+package app.adriano.fakeplayers.bot;
+
+/**
+ * Nível de detalhe da simulação de um Fake Player, escolhido pela distância até o jogador real mais próximo.
+ *
+ * Níveis:
+ * 1. {@link #FULL} - perto de um jogador: comportamentos a cada ciclo do agendador e pacotes enviados
+ * 2. {@link #REDUCED} - a média distância: atualizado apenas a cada {@code lod.reduced-interval}
+ *    ciclos, ainda visível
+ * 3. {@link #DORMANT} - longe de todos: só a linha primitiva no registro (nome, posição, flags);
+ *    sem tarefas, sem pacotes e sem estado de IA
+ *
+ * O nível é guardado nas flags do {@link FakePlayerRegistry}, ao lado do {@link BotMode}.
+ * Flags zeradas correspondem a {@link #FULL}.
+ *
+ * @see LodController
+ * @since 0.2.0
+ */
+public enum SimulationLevel {
+    FULL,
+    REDUCED,
+    DORMANT;
+
+    private static final int SHIFT = 1;
+
+    /**
+     * Bits das flags que guardam o nível.
+     */
+    public static final int FLAG_MASK = 0b11 << SHIFT;
+
+    private static final SimulationLevel[] VALUES = values();
+
+    /**
+     * Obtém o nível representado pelas flags de um bot.
+     *
+     * @param flags Flags do bot no registro
+     * @return Nível do bot
+     */
+    public static SimulationLevel fromFlags(int flags) {
+        return VALUES[Math.min((flags & FLAG_MASK) >>> SHIFT, VALUES.length - 1)];
+    }
+
+    /**
+     * Verifica se as flags de um bot indicam um bot adormecido, sem criar nada.
+     *
+     * @param flags Flags do bot no registro
+     * @return true se o bot está em {@link #DORMANT}
+     */
+    public static boolean isDormant(int flags) {
+        return (flags & FLAG_MASK) == DORMANT.ordinal() << SHIFT;
+    }
+
+    /**
+     * Aplica este nível às flags de um bot.
+     *
+     * @param flags Flags atuais do bot
+     * @return Flags com os bits de nível ajustados
+     */
+    public int applyTo(int flags) {
+        return (flags & ~FLAG_MASK) | (ordinal() << SHIFT);
+    }
+}
@@ -0,0 +1,175 @@
+package app.adriano.fakeplayers.chat;
+
+import app.adriano.fakeplayers.text.MessageTemplate;
+import net.kyori.adventure.text.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Origem das mensagens do chat simulado.
+ *
+ * Modos:
+ * 1. {@code corpus}: cada linha do arquivo é uma mensagem, pré-compilada uma única vez
+ *    em um Component (com os códigos {@code &} do estilo da seção {@code messages});
+ *    enviar uma mensagem não cria nenhum Component novo
+ * 2. {@code markov}: frases novas geradas por uma cadeia de Markov de palavras
+ *    (ordem 1) aprendida das linhas do arquivo, sem os códigos de cor
+ *
+ * Linhas vazias e linhas começando com {@code #} são ignoradas.
+ *
+ * @see ChatSimulator
+ * @since 0.2.0
+ */
+public final class ChatCorpus {
+
+    private static final int MAX_WORDS = 16;
+    private static final int END = -1;
+
+    private final Component[] lines;
+    private final String[] words;
+    // Próximas palavras de cada palavra (END marca o fim da frase); starts são as primeiras palavras
+    private final int[][] next;
+    private final int[] starts;
+    private final StringBuilder builder = new StringBuilder(64);
+
+    private ChatCorpus(Component[] lines, String[] words, int[][] next, int[] starts) {
+        this.lines = lines;
+        this.words = words;
+        this.next = next;
+        this.starts = starts;
+    }
+
+    /**
+     * Lê o arquivo de mensagens.
+     *
+     * @param reader Conteúdo do arquivo
+     * @param markov true para gerar frases novas em vez de repetir as linhas
+     * @return Corpus lido
+     * @throws IOException Se o arquivo não puder ser lido
+     * @throws IllegalArgumentException Se o arquivo não tiver mensagens
+     */
+    public static ChatCorpus read(Reader reader, boolean markov) throws IOException {
+        List<String> sources = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(reader)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    sources.add(line);
+                }
+            }
+        }
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma mensagem no arquivo do chat simulado");
+        }
+        if (!markov) {
+            Component[] lines = new Component[sources.size()];
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = MessageTemplate.compile(sources.get(i)).asComponent();
+            }
+            return new ChatCorpus(lines, null, null, null);
+        }
+
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> words = new ArrayList<>();
+        List<int[]> next = new ArrayList<>();
+        int[] nextSizes = new int[16];
+        int[] starts = new int[sources.size()];
+        for (int line = 0; line < sources.size(); line++) {
+            String[] tokens = stripCodes(sources.get(line)).split("\\s+");
+            int previous = END;
+            for (String token : tokens) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                Integer known = ids.get(token);
+                int id;
+                if (known == null) {
+                    id = words.size();
+                    ids.put(token, id);
+                    words.add(token);
+                    next.add(new int[2]);
+                    if (id == nextSizes.length) {
+                        nextSizes = Arrays.copyOf(nextSizes, id * 2);
+                    }
+                } else {
+                    id = known;
+                }
+                if (previous == END) {
+                    starts[line] = id;
+                } else {
+                    append(next, nextSizes, previous, id);
+                }
+                previous = id;
+            }
+            if (previous != END) {
+                append(next, nextSizes, previous, END);
+            }
+        }
+        int[][] transitions = new int[words.size()][];
+        for (int i = 0; i < transitions.length; i++) {
+            transitions[i] = Arrays.copyOf(next.get(i), nextSizes[i]);
+        }
+        return new ChatCorpus(null, words.toArray(new String[0]), transitions, starts);
+    }
+
+    /**
+     * Sorteia a próxima mensagem.
+     *
+     * @param random Gerador de números aleatórios
+     * @return Mensagem pronta para envio
+     */
+    public Component next(SplittableRandom random) {
+        if (lines != null) {
+            return lines[random.nextInt(lines.length)];
+        }
+        builder.setLength(0);
+        int word = starts[random.nextInt(starts.length)];
+        for (int count = 0; word != END && count < MAX_WORDS; count++) {
+            if (count > 0) {
+                builder.append(' ');
+            }
+            builder.append(words[word]);
+            int[] options = next[word];
+            word = options[random.nextInt(options.length)];
+        }
+        return Component.text(builder.toString());
+    }
+
+    /**
+     * @return Quantidade de mensagens (modo corpus) ou de palavras (modo markov)
+     */
+    public int size() {
+        return lines != null ? lines.length : words.length;
+    }
+
+    private static void append(List<int[]> next, int[] sizes, int word, int value) {
+        int[] options = next.get(word);
+        if (sizes[word] == options.length) {
+            options = Arrays.copyOf(options, options.length * 2);
+            next.set(word, options);
+        }
+        options[sizes[word]++] = value;
+    }
+
+    private static String stripCodes(String line) {
+        StringBuilder plain = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '&' && i + 1 < line.length()) {
+                i++;
+                continue;
+            }
+            plain.append(c);
+        }
+        return plain.toString();
+    }
+}
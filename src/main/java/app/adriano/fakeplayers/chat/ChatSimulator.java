@@ -0,0 +1,157 @@
+package app.adriano.fakeplayers.chat;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.text.MessageTemplate;
+import app.adriano.fakeplayers.text.Placeholder;
+import app.adriano.fakeplayers.utils.TokenBucket;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Simula o chat de um servidor movimentado: bots aleatórios enviam mensagens do {@link ChatCorpus}.
+ *
+ * Funcionamento:
+ * 1. A vontade de falar segue um processo de Poisson com média de {@code messages-per-minute}:
+ *    o intervalo até a próxima mensagem é sorteado, sem verificar cada bot
+ * 2. Cada mensagem consome uma ficha de um {@link TokenBucket} ({@code max-per-second},
+ *    {@code burst}); sem fichas, a mensagem espera o próximo tick
+ * 3. As mensagens do tick são juntadas em um único Component e enviadas uma única vez
+ *    para cada jogador, no fim do tick ({@link #run()})
+ *
+ * O nome de cada bot no formato {@code messages.chat.format} é renderizado uma vez e
+ * guardado por id; as mensagens do modo corpus já são Components prontos.
+ *
+ * Usado apenas na thread principal.
+ *
+ * @see ChatCorpus
+ * @since 0.2.0
+ */
+public final class ChatSimulator implements BotRegistryListener, Runnable {
+
+    private final FakePlayersPlugin plugin;
+    private final FakePlayerRegistry registry;
+    private final ChatCorpus corpus;
+    private final TokenBucket bucket;
+    private final double meanTicks;
+    private final int maxBacklog;
+    private final boolean console;
+    private final SplittableRandom random = new SplittableRandom();
+    private final List<Component> pending = new ArrayList<>();
+    private Component[] prefixes = new Component[64];
+    private double ticksUntilNext;
+    private int backlog;
+    private long sent;
+
+    /**
+     * Cria o simulador. Deve ser registrado no registro e como tarefa de fim de tick.
+     *
+     * @param plugin Instância principal do plugin
+     * @param registry Registro de bots
+     * @param corpus Origem das mensagens
+     * @param messagesPerMinute Média de mensagens por minuto
+     * @param maxPerSecond Taxa máxima de envio, em mensagens por segundo
+     * @param burst Quantidade máxima de mensagens enviadas de uma vez após um período calmo
+     * @param console Se as mensagens também devem aparecer no console
+     */
+    public ChatSimulator(FakePlayersPlugin plugin, FakePlayerRegistry registry, ChatCorpus corpus,
+                         double messagesPerMinute, double maxPerSecond, int burst, boolean console) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.corpus = corpus;
+        this.bucket = new TokenBucket(maxPerSecond, burst);
+        this.meanTicks = 1200.0 / Math.max(0.001, messagesPerMinute);
+        this.maxBacklog = Math.max(1, burst);
+        this.console = console;
+        this.ticksUntilNext = nextInterval();
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry source, int id) {
+        if (id < prefixes.length) {
+            prefixes[id] = null;
+        }
+    }
+
+    @Override
+    public void onRename(FakePlayerRegistry source, int id) {
+        // Mudanças de flags não alteram o nome renderizado
+        onDespawn(source, id);
+    }
+
+    /**
+     * Descarta os nomes renderizados, para usar um novo formato após o /fp reload.
+     */
+    public void clearFormat() {
+        Arrays.fill(prefixes, null);
+    }
+
+    /**
+     * Gera e envia as mensagens do tick.
+     */
+    @Override
+    public void run() {
+        bucket.refill();
+        ticksUntilNext -= 1.0;
+        while (ticksUntilNext <= 0.0) {
+            // Mensagens que não couberam no balde esperam, até o tamanho da rajada
+            backlog = Math.min(maxBacklog, backlog + 1);
+            ticksUntilNext += nextInterval();
+        }
+        int bots = registry.size();
+        if (bots == 0) {
+            backlog = 0;
+            return;
+        }
+        while (backlog > 0 && bucket.tryAcquire()) {
+            backlog--;
+            int id = registry.idAt(random.nextInt(bots));
+            pending.add(Component.textOfChildren(prefix(id), corpus.next(random)));
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Component batch = pending.size() == 1 ? pending.get(0) : Component.join(JoinConfiguration.newlines(), pending);
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            player.sendMessage(batch);
+        }
+        if (console) {
+            plugin.getServer().getConsoleSender().sendMessage(batch);
+        }
+        sent += pending.size();
+        pending.clear();
+    }
+
+    /**
+     * @return Quantidade de mensagens enviadas desde a criação
+     */
+    public long getSent() {
+        return sent;
+    }
+
+    private Component prefix(int id) {
+        if (id >= prefixes.length) {
+            prefixes = Arrays.copyOf(prefixes, Math.max(id + 1, prefixes.length * 2));
+        }
+        Component prefix = prefixes[id];
+        if (prefix == null) {
+            MessageTemplate format = plugin.getConfigManager().getSnapshot().messages().chatFormat();
+            prefix = format.render(Placeholder.PLAYER, registry.getName(id));
+            prefixes[id] = prefix;
+        }
+        return prefix;
+    }
+
+    private double nextInterval() {
+        // Intervalo exponencial: as mensagens chegam de forma irregular, como em um chat real
+        return -Math.log(1.0 - random.nextDouble()) * meanTicks;
+    }
+}
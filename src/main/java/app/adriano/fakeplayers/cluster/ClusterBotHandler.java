@@ -0,0 +1,88 @@
+package app.adriano.fakeplayers.cluster;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.commands.SpawnCommand;
+import app.adriano.fakeplayers.metrics.TickMonitor;
+import app.adriano.fakeplayers.scheduler.BatchJob;
+
+/**
+ * Liga um {@link ClusterNode} aos bots deste servidor.
+ *
+ * Funcionamento:
+ * 1. Os lotes chegam na thread de leitura do nó e são repassados à thread dos bots
+ * 2. Criações usam o {@link SpawnCommand}, ao redor do spawn do mundo principal
+ * 3. Remoções tiram os bots do fim do registro, divididas entre ticks como no /fp remove
+ * 4. A cada segundo, como tarefa de tick, envia ao nó a contagem de bots e o MSPT
+ *
+ * @since 0.2.0
+ */
+public final class ClusterBotHandler implements ClusterNode.Handler, Runnable {
+
+    private static final int STATS_INTERVAL_TICKS = 20;
+
+    private final FakePlayersPlugin plugin;
+    private final SpawnCommand spawnCommand;
+    private ClusterNode node;
+
+    /**
+     * Cria o handler.
+     *
+     * @param plugin Instância principal do plugin
+     * @param spawnCommand Comando usado para criar os bots
+     */
+    public ClusterBotHandler(FakePlayersPlugin plugin, SpawnCommand spawnCommand) {
+        this.plugin = plugin;
+        this.spawnCommand = spawnCommand;
+    }
+
+    /**
+     * Define o nó que recebe as estatísticas.
+     *
+     * @param node Nó do cluster
+     */
+    public void setNode(ClusterNode node) {
+        this.node = node;
+    }
+
+    @Override
+    public void spawn(int count) {
+        plugin.getPlatformScheduler().run(() -> spawnCommand.spawn(null,
+            plugin.getServer().getWorlds().get(0).getSpawnLocation(), null, count));
+    }
+
+    @Override
+    public void despawn(int count) {
+        plugin.getPlatformScheduler().run(() -> plugin.getBotScheduler().submit(new DespawnJob(count)));
+    }
+
+    @Override
+    public void run() {
+        if (node == null || plugin.getBotScheduler().getTick() % STATS_INTERVAL_TICKS != 0) {
+            return;
+        }
+        FakePlayerRegistry registry = plugin.getRegistry();
+        node.update(registry.size(), registry.maxBots(), plugin.getTickMonitor().mspt(TickMonitor.SHORT_WINDOW));
+    }
+
+    /**
+     * Remove os bots mais recentes, {@code quota} por tick.
+     */
+    private final class DespawnJob implements BatchJob {
+        private int remaining;
+
+        DespawnJob(int count) {
+            this.remaining = count;
+        }
+
+        @Override
+        public boolean run(int quota) {
+            FakePlayerRegistry registry = plugin.getRegistry();
+            while (quota-- > 0 && remaining > 0 && registry.size() > 0) {
+                plugin.getBotManager().despawn(registry.idAt(registry.size() - 1));
+                remaining--;
+            }
+            return remaining == 0 || registry.size() == 0;
+        }
+    }
+}
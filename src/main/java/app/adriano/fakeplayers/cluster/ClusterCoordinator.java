@@ -0,0 +1,610 @@
+package app.adriano.fakeplayers.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Coordenador do cluster: distribui a população de bots entre vários servidores (nós).
+ *
+ * Funcionamento:
+ * 1. Os nós se conectam por TCP e se apresentam ({@code HELLO}) com a capacidade e os bots que já têm
+ * 2. {@link #spawn(int)} e {@link #despawn(int)} dividem os lotes entre os nós, proporcionalmente
+ *    à folga (capacidade menos bots atribuídos) ou aos bots atribuídos
+ * 3. Cada nó manda um {@code HEARTBEAT} periódico com bots, capacidade e MSPT; um nó acima de
+ *    {@code overload-mspt} entrega até {@code rebalance-step} bots ao nó menos carregado
+ *    (no máximo uma vez a cada {@code rebalance-cooldown-millis})
+ * 4. Um nó sem heartbeat por {@code timeout-millis} é desconectado e os bots dele são
+ *    redistribuídos; se ele voltar com bots a mais, o excesso é removido. Na primeira conexão
+ *    de um nó, os bots que ele já tinha entram na conta do cluster
+ * 5. Quando um nó fica estável (sem comandos recentes e com a mesma contagem em dois heartbeats),
+ *    os bots atribuídos são corrigidos para os informados: os que o nó não conseguiu criar ou
+ *    perdeu vão para os demais, e os criados fora do coordenador acima do total são removidos
+ * 6. Conexões sem {@code HELLO} têm um tempo limite de leitura ({@code timeout-millis}) e no máximo
+ *    {@value #MAX_PENDING} ficam abertas ao mesmo tempo
+ *
+ * Não depende da API do servidor: o estado fica sob a trava do coordenador e cada conexão
+ * tem uma thread de leitura e uma de escrita. Os comandos para os nós entram na fila da
+ * conexão, então nenhuma escrita na rede acontece sob a trava nem na thread de quem chama.
+ *
+ * @see ClusterProtocol
+ * @see ClusterNode
+ * @since 0.2.0
+ */
+public final class ClusterCoordinator implements Closeable {
+
+    // Conexões aceitas que ainda não enviaram o HELLO
+    private static final int MAX_PENDING = 16;
+
+    /**
+     * Estado de um nó, para o {@code /fp cluster status}.
+     *
+     * @param name Nome do nó
+     * @param capacity Máximo de bots do nó
+     * @param assigned Bots atribuídos pelo coordenador
+     * @param bots Bots informados no último heartbeat
+     * @param mspt MSPT informado no último heartbeat
+     * @param lastSeenMillis Milissegundos desde a última mensagem
+     */
+    public record NodeInfo(String name, int capacity, int assigned, int bots, double mspt, long lastSeenMillis) {
+    }
+
+    private final String host;
+    private final int port;
+    private final byte[] token;
+    private final long timeoutMillis;
+    private final int overloadMsptCenti;
+    private final int rebalanceStep;
+    private final long rebalanceCooldownMillis;
+    private final Logger logger;
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // Protegidos pela trava do coordenador
+    private final List<Connection> nodes = new ArrayList<>();
+    private final Set<String> knownNames = new HashSet<>();
+    private long desired;
+
+    private ServerSocket server;
+    private ScheduledExecutorService timer;
+    private volatile boolean running;
+
+    /**
+     * Cria o coordenador. Nada é aberto até {@link #start()}.
+     *
+     * @param host Endereço em que o coordenador escuta
+     * @param port Porta (0 escolhe uma porta livre, ver {@link #getPort()})
+     * @param token Segredo compartilhado com os nós
+     * @param timeoutMillis Tempo sem heartbeat até um nó ser desconectado
+     * @param overloadMspt MSPT a partir do qual um nó entrega bots a outro
+     * @param rebalanceStep Bots movidos por rebalanceamento
+     * @param rebalanceCooldownMillis Intervalo mínimo entre rebalanceamentos do mesmo nó
+     * @param logger Logger das conexões e rebalanceamentos
+     */
+    public ClusterCoordinator(String host, int port, String token, long timeoutMillis, double overloadMspt,
+                              int rebalanceStep, long rebalanceCooldownMillis, Logger logger) {
+        this.host = host;
+        this.port = port;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        this.timeoutMillis = Math.max(100L, timeoutMillis);
+        this.overloadMsptCenti = (int) Math.round(overloadMspt * 100.0);
+        this.rebalanceStep = Math.max(1, rebalanceStep);
+        this.rebalanceCooldownMillis = Math.max(0L, rebalanceCooldownMillis);
+        this.logger = logger;
+    }
+
+    /**
+     * Abre a porta e começa a aceitar nós.
+     *
+     * @throws IOException Se a porta não puder ser aberta
+     */
+    public void start() throws IOException {
+        server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.bind(new InetSocketAddress(host, port));
+        running = true;
+
+        Thread acceptor = new Thread(this::acceptLoop, "FakePlayers-Cluster-Accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "FakePlayers-Cluster-Timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(50L, timeoutMillis / 2);
+        timer.scheduleAtFixedRate(this::checkTimeouts, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return Porta em que o coordenador escuta
+     */
+    public int getPort() {
+        return server != null ? server.getLocalPort() : port;
+    }
+
+    /**
+     * Distribui novos bots entre os nós, pela folga de cada um.
+     * Nós acima do MSPT de sobrecarga só recebem bots se nenhum outro tiver folga.
+     *
+     * @param count Quantidade de bots
+     * @return Quantidade realmente atribuída (menor se a capacidade do cluster acabar)
+     */
+    public synchronized int spawn(int count) {
+        int given = distribute(count, true);
+        if (given < count) {
+            given += distribute(count - given, false);
+        }
+        desired += given;
+        return given;
+    }
+
+    /**
+     * Remove bots dos nós, proporcionalmente aos bots atribuídos a cada um.
+     *
+     * @param count Quantidade de bots
+     * @return Quantidade realmente removida
+     */
+    public synchronized int despawn(int count) {
+        long total = assignedTotal();
+        int target = (int) Math.min(count, total);
+        if (target <= 0) {
+            return 0;
+        }
+        int removed = 0;
+        for (Connection node : nodes) {
+            removed += take(node, (int) ((long) target * node.assigned / total));
+        }
+        // Arredondamento: o resto sai dos nós com mais bots
+        while (removed < target) {
+            Connection largest = null;
+            for (Connection node : nodes) {
+                if (node.assigned > 0 && (largest == null || node.assigned > largest.assigned)) {
+                    largest = node;
+                }
+            }
+            int sent = largest == null ? 0 : take(largest, Math.min(target - removed, largest.assigned));
+            if (sent == 0) {
+                break;
+            }
+            removed += sent;
+        }
+        desired = Math.max(0, desired - removed);
+        return removed;
+    }
+
+    /**
+     * Remove todos os bots de todos os nós.
+     *
+     * @return Quantidade de bots removidos
+     */
+    public synchronized int despawnAll() {
+        int removed = 0;
+        for (Connection node : nodes) {
+            removed += take(node, node.assigned);
+        }
+        desired = 0;
+        return removed;
+    }
+
+    /**
+     * @return Estado de cada nó conectado
+     */
+    public synchronized List<NodeInfo> getNodes() {
+        long now = System.currentTimeMillis();
+        List<NodeInfo> result = new ArrayList<>(nodes.size());
+        for (Connection node : nodes) {
+            result.add(new NodeInfo(node.name, node.capacity, node.assigned, node.bots,
+                node.msptCenti / 100.0, now - node.lastSeen));
+        }
+        return result;
+    }
+
+    /**
+     * @return Bots que o cluster deve ter, somando todos os nós
+     */
+    public synchronized long getDesired() {
+        return desired;
+    }
+
+    /**
+     * Avisa os nós e fecha todas as conexões. Os bots dos nós não são removidos.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        try {
+            if (server != null) {
+                server.close();
+            }
+        } catch (IOException ignored) {
+            // Já fechado
+        }
+        synchronized (this) {
+            for (Connection node : nodes) {
+                // A thread de escrita envia o BYE e fecha a conexão
+                node.send(ClusterProtocol::writeBye);
+                node.finish();
+            }
+            nodes.clear();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = server.accept();
+                if (pending.incrementAndGet() > MAX_PENDING) {
+                    pending.decrementAndGet();
+                    logger.warning("Conexões demais sem HELLO no cluster, recusando " + socket.getRemoteSocketAddress());
+                    socket.close();
+                    continue;
+                }
+                socket.setTcpNoDelay(true);
+                // Até o HELLO, uma conexão parada cai sozinha; depois vale o timeout de heartbeat
+                socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, timeoutMillis));
+                Thread reader = new Thread(new Connection(socket),
+                    "FakePlayers-Cluster-Node-" + threadCount.incrementAndGet());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (running) {
+                    logger.log(Level.WARNING, "Erro ao aceitar um nó do cluster", e);
+                }
+            }
+        }
+    }
+
+    private synchronized void checkTimeouts() {
+        long now = System.currentTimeMillis();
+        for (Connection node : nodes) {
+            if (now - node.lastSeen > timeoutMillis) {
+                logger.warning("Nó " + node.name + " sem heartbeat há " + (now - node.lastSeen) + "ms, desconectando");
+                // A thread de leitura recebe o erro e redistribui os bots
+                node.close();
+            }
+        }
+    }
+
+    /**
+     * Divide {@code count} bots pela folga dos nós.
+     *
+     * @param healthyOnly true para considerar só os nós abaixo do MSPT de sobrecarga
+     */
+    private int distribute(int count, boolean healthyOnly) {
+        if (count <= 0) {
+            return 0;
+        }
+        long headroom = 0;
+        for (Connection node : nodes) {
+            if (accepts(node, healthyOnly)) {
+                headroom += node.headroom();
+            }
+        }
+        if (headroom == 0) {
+            return 0;
+        }
+        int target = (int) Math.min(count, headroom);
+        int given = 0;
+        for (Connection node : nodes) {
+            if (accepts(node, healthyOnly)) {
+                given += give(node, (int) ((long) target * node.headroom() / headroom));
+            }
+        }
+        // Arredondamento: o resto vai para os nós com mais folga
+        while (given < target) {
+            Connection roomiest = null;
+            for (Connection node : nodes) {
+                if (accepts(node, healthyOnly) && (roomiest == null || node.headroom() > roomiest.headroom())) {
+                    roomiest = node;
+                }
+            }
+            int sent = roomiest == null ? 0 : give(roomiest, Math.min(target - given, roomiest.headroom()));
+            if (sent == 0) {
+                break;
+            }
+            given += sent;
+        }
+        return given;
+    }
+
+    private boolean accepts(Connection node, boolean healthyOnly) {
+        return node.headroom() > 0 && (!healthyOnly || node.msptCenti < overloadMsptCenti);
+    }
+
+    /**
+     * Enfileira um lote de spawn. Se a conexão cair antes do envio, os bots atribuídos
+     * são redistribuídos por {@link #lost(Connection)}.
+     */
+    private int give(Connection node, int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        node.send(out -> ClusterProtocol.writeSpawn(out, count));
+        node.assigned += count;
+        node.settleAfter = System.currentTimeMillis() + timeoutMillis;
+        return count;
+    }
+
+    private int take(Connection node, int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        node.send(out -> ClusterProtocol.writeDespawn(out, count));
+        node.assigned -= count;
+        node.settleAfter = System.currentTimeMillis() + timeoutMillis;
+        return count;
+    }
+
+    /**
+     * Corrige os bots atribuídos de um nó estável para os que ele informa ter.
+     */
+    private void reconcile(Connection node, int previousBots, long now) {
+        int drift = node.assigned - node.bots;
+        if (drift == 0 || now < node.settleAfter || node.bots != previousBots) {
+            return;
+        }
+        logger.info("Cluster: nó " + node.name + " tem " + node.bots + " bots, " + node.assigned
+            + " atribuídos; corrigindo");
+        node.assigned = node.bots;
+        if (drift > 0) {
+            // Bots que o nó não conseguiu criar ou perdeu vão para quem tiver folga
+            int placed = distribute(drift, true);
+            if (placed < drift) {
+                placed += distribute(drift - placed, false);
+            }
+            desired -= drift - placed;
+        } else {
+            // Bots criados fora do coordenador: o que passar do total desejado é removido
+            long excess = assignedTotal() - desired;
+            if (excess > 0) {
+                take(node, (int) Math.min(excess, node.assigned));
+            }
+        }
+    }
+
+    private long assignedTotal() {
+        long total = 0;
+        for (Connection node : nodes) {
+            total += node.assigned;
+        }
+        return total;
+    }
+
+    /**
+     * Move bots de um nó sobrecarregado para o nó menos carregado com folga.
+     */
+    private void rebalance(Connection overloaded, long now) {
+        if (overloaded.msptCenti < overloadMsptCenti || overloaded.assigned == 0
+            || now < overloaded.rebalanceAfter) {
+            return;
+        }
+        Connection target = null;
+        for (Connection node : nodes) {
+            if (node != overloaded && accepts(node, true)
+                && (target == null || node.msptCenti < target.msptCenti)) {
+                target = node;
+            }
+        }
+        if (target == null) {
+            return;
+        }
+        int moved = Math.min(rebalanceStep, Math.min(overloaded.assigned, target.headroom()));
+        // Se o destino cair antes do envio, lost() redistribui os bots dele
+        give(target, take(overloaded, moved));
+        overloaded.rebalanceAfter = now + rebalanceCooldownMillis;
+        logger.info("Cluster: " + moved + " bots movidos de " + overloaded.name + " ("
+            + overloaded.msptCenti / 100.0 + " MSPT) para " + target.name);
+    }
+
+    /**
+     * Mensagem para um nó, escrita pela thread de escrita da conexão.
+     */
+    @FunctionalInterface
+    private interface Write {
+        void to(DataOutputStream out) throws IOException;
+    }
+
+    // Marca o fim da fila de escrita
+    private static final Write END = out -> { };
+
+    /**
+     * Conexão com um nó, lida por uma thread própria e escrita por outra.
+     * Os campos de estado só são acessados sob a trava do coordenador.
+     */
+    private final class Connection implements ClusterProtocol.Receiver, Runnable {
+        private final Socket socket;
+        private final BlockingQueue<Write> outbox = new LinkedBlockingQueue<>();
+        private DataOutputStream out;
+        private boolean greeted;
+        private long settleAfter;
+        private String name;
+        private int capacity;
+        private int assigned;
+        private int bots;
+        private int msptCenti;
+        private long lastSeen = System.currentTimeMillis();
+        private long rebalanceAfter;
+
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        int headroom() {
+            return Math.max(0, capacity - assigned);
+        }
+
+        @Override
+        public void run() {
+            try {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                Thread writer = new Thread(this::drain, Thread.currentThread().getName() + "-Writer");
+                writer.setDaemon(true);
+                writer.start();
+                while (running && !socket.isClosed()) {
+                    ClusterProtocol.read(in, this);
+                }
+            } catch (IOException e) {
+                if (running && name != null) {
+                    logger.info("Nó " + name + " desconectado: " + e.getMessage());
+                }
+            } finally {
+                if (!greeted) {
+                    pending.decrementAndGet();
+                }
+                close();
+                lost(this);
+            }
+        }
+
+        /**
+         * Laço da thread de escrita: envia a fila em ordem até o fim da conexão.
+         */
+        private void drain() {
+            try {
+                for (Write write = outbox.take(); write != END; write = outbox.take()) {
+                    write.to(out);
+                }
+            } catch (IOException e) {
+                // A thread de leitura percebe a queda e redistribui os bots
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        void send(Write write) {
+            outbox.add(write);
+        }
+
+        /**
+         * Fecha a conexão depois de enviar o que já está na fila.
+         */
+        void finish() {
+            outbox.add(END);
+        }
+
+        @Override
+        public void onHello(int version, String nodeToken, String nodeName, int nodeCapacity, int nodeBots)
+            throws IOException {
+            // Recusas são escritas direto, fora da trava: a conexão fecha logo em seguida
+            if (greeted) {
+                throw new IOException("HELLO repetido de " + name);
+            }
+            if (version != ClusterProtocol.VERSION) {
+                ClusterProtocol.writeReject(out, "Versão do protocolo " + version + " incompatível com "
+                    + ClusterProtocol.VERSION);
+                throw new IOException("Versão incompatível");
+            }
+            if (!MessageDigest.isEqual(token, nodeToken.getBytes(StandardCharsets.UTF_8))) {
+                ClusterProtocol.writeReject(out, "Token inválido");
+                throw new IOException("Token inválido de " + socket.getRemoteSocketAddress());
+            }
+            socket.setSoTimeout(0);
+            greeted = true;
+            pending.decrementAndGet();
+            synchronized (ClusterCoordinator.this) {
+                for (int i = nodes.size() - 1; i >= 0; i--) {
+                    Connection node = nodes.get(i);
+                    if (node.name.equals(nodeName)) {
+                        // Reconexão: a conexão antiga ainda não percebeu a queda; os bots
+                        // dela são os que o nó informa agora, então não são redistribuídos
+                        nodes.remove(i);
+                        node.assigned = 0;
+                        node.close();
+                    }
+                }
+                name = nodeName;
+                capacity = nodeCapacity;
+                bots = nodeBots;
+                assigned = nodeBots;
+                lastSeen = System.currentTimeMillis();
+                nodes.add(this);
+                logger.info("Nó " + name + " conectado (" + bots + "/" + capacity + " bots)");
+
+                if (knownNames.add(name)) {
+                    // Primeira conexão: os bots que o nó já tinha passam a fazer parte do cluster
+                    desired += bots;
+                } else {
+                    // Reconexão: os bots dele podem já ter sido redistribuídos enquanto esteve fora
+                    long excess = assignedTotal() - desired;
+                    if (excess > 0) {
+                        take(this, (int) Math.min(excess, assigned));
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onHeartbeat(int nodeBots, int nodeCapacity, int nodeMsptCenti) throws IOException {
+            synchronized (ClusterCoordinator.this) {
+                if (name == null) {
+                    throw new IOException("HEARTBEAT antes do HELLO");
+                }
+                int previousBots = bots;
+                bots = nodeBots;
+                capacity = nodeCapacity;
+                msptCenti = nodeMsptCenti;
+                lastSeen = System.currentTimeMillis();
+                reconcile(this, previousBots, lastSeen);
+                rebalance(this, lastSeen);
+            }
+        }
+
+        @Override
+        public void onBye() throws IOException {
+            throw new IOException("encerrado pelo nó");
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Já fechado
+            }
+            outbox.add(END);
+        }
+    }
+
+    private synchronized void lost(Connection node) {
+        if (!nodes.remove(node) || !running || node.assigned == 0) {
+            return;
+        }
+        // Os bots do nó perdido vão para os demais, mantendo o total desejado
+        int orphaned = node.assigned;
+        int placed = distribute(orphaned, true);
+        if (placed < orphaned) {
+            placed += distribute(orphaned - placed, false);
+        }
+        if (placed < orphaned) {
+            logger.warning("Cluster sem capacidade para " + (orphaned - placed) + " bots do nó " + node.name);
+            desired -= orphaned - placed;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package app.adriano.fakeplayers.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Nó do cluster: recebe lotes de bots do {@link ClusterCoordinator}.
+ *
+ * Funcionamento:
+ * 1. Uma thread conecta ao coordenador, se apresenta e lê os lotes; se a conexão cair,
+ *    tenta de novo a cada {@code reconnect-millis}
+ * 2. Os lotes são entregues ao {@link Handler}, na thread de leitura
+ * 3. O heartbeat sai de uma thread própria a cada {@code heartbeat-millis}, com os últimos
+ *    valores passados a {@link #update(int, int, double)}; a thread dos bots só escreve três campos
+ *
+ * Não depende da API do servidor, então vários nós podem rodar no mesmo processo.
+ *
+ * @see ClusterProtocol
+ * @since 0.2.0
+ */
+public final class ClusterNode implements Closeable {
+
+    /**
+     * Executa os lotes recebidos do coordenador.
+     * Chamado na thread de leitura do nó; a implementação deve repassar o trabalho à thread dos bots.
+     */
+    public interface Handler {
+        /**
+         * @param count Quantidade de bots a criar
+         */
+        void spawn(int count);
+
+        /**
+         * @param count Quantidade de bots a remover
+         */
+        void despawn(int count);
+    }
+
+    private final String host;
+    private final int port;
+    private final String token;
+    private final String name;
+    private final long heartbeatMillis;
+    private final long reconnectMillis;
+    private final Handler handler;
+    private final Logger logger;
+    private final Object writeLock = new Object();
+
+    private volatile int bots;
+    private volatile int capacity;
+    private volatile int msptCenti;
+
+    private volatile boolean running;
+    private volatile Socket socket;
+    private volatile DataOutputStream out;
+    private Thread reader;
+    private ScheduledExecutorService heartbeat;
+
+    /**
+     * Cria o nó. Nada é aberto até {@link #start()}.
+     *
+     * @param host Endereço do coordenador
+     * @param port Porta do coordenador
+     * @param token Segredo compartilhado com o coordenador
+     * @param name Nome único deste nó no cluster
+     * @param heartbeatMillis Intervalo entre heartbeats
+     * @param reconnectMillis Espera entre tentativas de conexão
+     * @param handler Executor dos lotes recebidos
+     * @param logger Logger da conexão
+     */
+    public ClusterNode(String host, int port, String token, String name, long heartbeatMillis,
+                       long reconnectMillis, Handler handler, Logger logger) {
+        this.host = host;
+        this.port = port;
+        this.token = token;
+        this.name = name;
+        this.heartbeatMillis = Math.max(10L, heartbeatMillis);
+        this.reconnectMillis = Math.max(10L, reconnectMillis);
+        this.handler = handler;
+        this.logger = logger;
+    }
+
+    /**
+     * Atualiza os valores enviados no próximo heartbeat. Pode ser chamado de qualquer thread.
+     *
+     * @param bots Bots neste servidor
+     * @param capacity Máximo de bots neste servidor
+     * @param mspt MSPT atual deste servidor
+     */
+    public void update(int bots, int capacity, double mspt) {
+        this.bots = bots;
+        this.capacity = capacity;
+        this.msptCenti = (int) Math.round(mspt * 100.0);
+    }
+
+    /**
+     * Começa a conectar ao coordenador e a enviar heartbeats.
+     */
+    public void start() {
+        running = true;
+        reader = new Thread(this::connectLoop, "FakePlayers-Cluster-" + name);
+        reader.setDaemon(true);
+        reader.start();
+
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "FakePlayers-Cluster-Heartbeat-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return true se o nó está conectado ao coordenador
+     */
+    public boolean isConnected() {
+        return out != null;
+    }
+
+    /**
+     * @return Nome deste nó no cluster
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Avisa o coordenador e fecha a conexão. Os bots deste servidor não são removidos.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+        }
+        DataOutputStream current = out;
+        if (current != null) {
+            synchronized (writeLock) {
+                try {
+                    ClusterProtocol.writeBye(current);
+                } catch (IOException ignored) {
+                    // O coordenador já caiu
+                }
+            }
+        }
+        closeSocket();
+        if (reader != null) {
+            reader.interrupt();
+        }
+    }
+
+    private void connectLoop() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                connection.setTcpNoDelay(true);
+                connection.connect(new InetSocketAddress(host, port), (int) Math.min(Integer.MAX_VALUE, reconnectMillis));
+                socket = connection;
+                DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                synchronized (writeLock) {
+                    ClusterProtocol.writeHello(output, token, name, capacity, bots);
+                }
+                out = output;
+                logger.info("Conectado ao coordenador do cluster em " + host + ":" + port);
+                Receiver receiver = new Receiver();
+                while (running) {
+                    ClusterProtocol.read(in, receiver);
+                }
+            } catch (IOException e) {
+                if (running) {
+                    logger.log(Level.FINE, "Conexão com o coordenador do cluster falhou", e);
+                }
+            } finally {
+                if (out != null && running) {
+                    logger.warning("Conexão com o coordenador do cluster perdida, tentando de novo");
+                }
+                out = null;
+                socket = null;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void sendHeartbeat() {
+        DataOutputStream current = out;
+        if (current == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            try {
+                ClusterProtocol.writeHeartbeat(current, bots, capacity, msptCenti);
+            } catch (IOException e) {
+                // A thread de leitura percebe a queda e reconecta
+                closeSocket();
+            }
+        }
+    }
+
+    private void closeSocket() {
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // Já fechado
+            }
+        }
+    }
+
+    private final class Receiver implements ClusterProtocol.Receiver {
+        @Override
+        public void onSpawn(int count) {
+            handler.spawn(count);
+        }
+
+        @Override
+        public void onDespawn(int count) {
+            handler.despawn(count);
+        }
+
+        @Override
+        public void onReject(String reason) throws IOException {
+            logger.severe("Coordenador do cluster recusou este nó: " + reason);
+            running = false;
+            throw new IOException(reason);
+        }
+
+        @Override
+        public void onBye() throws IOException {
+            throw new IOException("Coordenador encerrado");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package app.adriano.fakeplayers.cluster;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Protocolo binário entre o coordenador e os nós do cluster, sobre TCP.
+ *
+ * Cada mensagem é um byte de tipo seguido de campos de tamanho fixo (big-endian) e
+ * textos em UTF modificado ({@link DataOutputStream#writeUTF(String)}):
+ *
+ * | Tipo | Direção | Campos |
+ * |------|---------|--------|
+ * | {@code HELLO} (1) | nó → coordenador | versão (byte), token, nome, capacidade (int), bots (int) |
+ * | {@code HEARTBEAT} (2) | nó → coordenador | bots (int), capacidade (int), MSPT × 100 (int) |
+ * | {@code SPAWN} (3) | coordenador → nó | quantidade (int) |
+ * | {@code DESPAWN} (4) | coordenador → nó | quantidade (int) |
+ * | {@code BYE} (5) | ambos | - |
+ * | {@code REJECT} (6) | coordenador → nó | motivo |
+ *
+ * Os lotes levam só a quantidade: o nó cria os bots com o próprio gerador de nomes e
+ * remove os mais recentes, então um lote de milhares de bots ocupa 5 bytes.
+ * Um tipo desconhecido encerra a conexão; a versão do HELLO evita misturar versões.
+ *
+ * As escritas não são sincronizadas: cada conexão deve ter um único escritor por vez.
+ *
+ * @see ClusterCoordinator
+ * @see ClusterNode
+ * @since 0.2.0
+ */
+public final class ClusterProtocol {
+
+    /**
+     * Versão do protocolo, enviada no HELLO.
+     */
+    public static final int VERSION = 1;
+
+    static final byte HELLO = 1;
+    static final byte HEARTBEAT = 2;
+    static final byte SPAWN = 3;
+    static final byte DESPAWN = 4;
+    static final byte BYE = 5;
+    static final byte REJECT = 6;
+
+    /**
+     * Recebe as mensagens lidas por {@link #read(DataInputStream, Receiver)}.
+     * Mensagens que não fazem sentido para o lado que recebe encerram a conexão.
+     */
+    public interface Receiver {
+        default void onHello(int version, String token, String name, int capacity, int bots) throws IOException {
+            throw new IOException("HELLO inesperado");
+        }
+
+        default void onHeartbeat(int bots, int capacity, int msptCenti) throws IOException {
+            throw new IOException("HEARTBEAT inesperado");
+        }
+
+        default void onSpawn(int count) throws IOException {
+            throw new IOException("SPAWN inesperado");
+        }
+
+        default void onDespawn(int count) throws IOException {
+            throw new IOException("DESPAWN inesperado");
+        }
+
+        default void onReject(String reason) throws IOException {
+            throw new IOException("REJECT inesperado");
+        }
+
+        void onBye() throws IOException;
+    }
+
+    private ClusterProtocol() {
+    }
+
+    static void writeHello(DataOutputStream out, String token, String name, int capacity, int bots) throws IOException {
+        out.writeByte(HELLO);
+        out.writeByte(VERSION);
+        out.writeUTF(token);
+        out.writeUTF(name);
+        out.writeInt(capacity);
+        out.writeInt(bots);
+        out.flush();
+    }
+
+    static void writeHeartbeat(DataOutputStream out, int bots, int capacity, int msptCenti) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeInt(bots);
+        out.writeInt(capacity);
+        out.writeInt(msptCenti);
+        out.flush();
+    }
+
+    static void writeSpawn(DataOutputStream out, int count) throws IOException {
+        out.writeByte(SPAWN);
+        out.writeInt(count);
+        out.flush();
+    }
+
+    static void writeDespawn(DataOutputStream out, int count) throws IOException {
+        out.writeByte(DESPAWN);
+        out.writeInt(count);
+        out.flush();
+    }
+
+    static void writeBye(DataOutputStream out) throws IOException {
+        out.writeByte(BYE);
+        out.flush();
+    }
+
+    static void writeReject(DataOutputStream out, String reason) throws IOException {
+        out.writeByte(REJECT);
+        out.writeUTF(reason);
+        out.flush();
+    }
+
+    /**
+     * Lê uma mensagem, bloqueando até ela chegar, e a entrega ao receptor.
+     *
+     * @param in Entrada da conexão
+     * @param receiver Receptor da mensagem
+     * @throws IOException Se a conexão cair ou a mensagem for inválida
+     */
+    static void read(DataInputStream in, Receiver receiver) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case HELLO -> receiver.onHello(in.readUnsignedByte(), in.readUTF(), in.readUTF(), in.readInt(), in.readInt());
+            case HEARTBEAT -> receiver.onHeartbeat(in.readInt(), in.readInt(), in.readInt());
+            case SPAWN -> receiver.onSpawn(nonNegative(in.readInt()));
+            case DESPAWN -> receiver.onDespawn(nonNegative(in.readInt()));
+            case BYE -> receiver.onBye();
+            case REJECT -> receiver.onReject(in.readUTF());
+            default -> throw new IOException("Tipo de mensagem desconhecido: " + type);
+        }
+    }
+
+    private static int nonNegative(int count) throws IOException {
+        if (count < 0) {
+            throw new IOException("Quantidade negativa: " + count);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,135 @@
+package app.adriano.fakeplayers.commands;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.cluster.ClusterCoordinator;
+import app.adriano.fakeplayers.cluster.ClusterNode;
+import app.adriano.fakeplayers.config.ConfigSnapshot;
+import app.adriano.fakeplayers.text.Placeholder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Comando que controla o cluster de servidores.
+ * Executado com /fp cluster [status | spawn <quantidade> | remove <quantidade|all>]
+ *
+ * Funcionalidades:
+ * 1. {@code status} - modo deste servidor e, no coordenador, o estado de cada nó
+ * 2. {@code spawn} - distribui novos bots entre os nós (só no coordenador)
+ * 3. {@code remove} - remove bots dos nós, proporcionalmente (só no coordenador)
+ *
+ * @see ClusterCoordinator
+ * @since 0.2.0
+ */
+public class ClusterCommand implements CommandExecutor, TabCompleter {
+
+    private static final List<String> ACTIONS = List.of("status", "spawn", "remove");
+    private static final List<String> AMOUNTS = List.of("100", "1000", "10000");
+
+    private final FakePlayersPlugin plugin;
+
+    /**
+     * Construtor do comando.
+     *
+     * @param plugin Instância principal do plugin
+     */
+    public ClusterCommand(FakePlayersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        ConfigSnapshot.Messages messages = plugin.getConfigManager().getSnapshot().messages();
+        String action = args.length > 0 ? args[0].toLowerCase(Locale.ROOT) : "status";
+        if (action.equals("status")) {
+            sender.sendMessage(status());
+            return true;
+        }
+
+        ClusterCoordinator coordinator = plugin.getClusterCoordinator();
+        if (coordinator == null) {
+            sender.sendMessage(messages.clusterNotCoordinator());
+            return true;
+        }
+        if (action.equals("remove") && args.length == 2 && args[1].equalsIgnoreCase("all")) {
+            int removed = coordinator.despawnAll();
+            sender.sendMessage(messages.clusterRemove().render(Placeholder.COUNT, (long) removed));
+            return true;
+        }
+        int amount = args.length == 2 ? parseAmount(args[1]) : -1;
+        if (amount <= 0 || !(action.equals("spawn") || action.equals("remove"))) {
+            sender.sendMessage(messages.clusterUsage());
+            return true;
+        }
+        if (action.equals("spawn")) {
+            int given = coordinator.spawn(amount);
+            sender.sendMessage(messages.clusterSpawn().render(Placeholder.COUNT, (long) given,
+                Placeholder.NODES, (long) coordinator.getNodes().size()));
+            if (given < amount) {
+                sender.sendMessage(messages.clusterFull().render(Placeholder.COUNT, (long) (amount - given)));
+            }
+        } else {
+            int removed = coordinator.despawn(amount);
+            sender.sendMessage(messages.clusterRemove().render(Placeholder.COUNT, (long) removed));
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (args.length == 1) {
+            return ACTIONS;
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("spawn")) {
+            return AMOUNTS;
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("remove")) {
+            return List.of("all", "100", "1000");
+        }
+        return Collections.emptyList();
+    }
+
+    private Component status() {
+        ClusterCoordinator coordinator = plugin.getClusterCoordinator();
+        ClusterNode node = plugin.getClusterNode();
+        TextComponent.Builder message = Component.text()
+            .append(Component.text("=========== FakePlayers Cluster ===========\n", NamedTextColor.GREEN));
+        if (coordinator != null) {
+            List<ClusterCoordinator.NodeInfo> nodes = coordinator.getNodes();
+            message.append(Component.text("Coordenador: ", NamedTextColor.YELLOW))
+                .append(Component.text("porta " + coordinator.getPort() + " | " + nodes.size()
+                    + " nós | bots desejados: " + coordinator.getDesired() + "\n", NamedTextColor.WHITE));
+            for (ClusterCoordinator.NodeInfo info : nodes) {
+                message.append(Component.text(info.name() + ": ", NamedTextColor.YELLOW))
+                    .append(Component.text(info.bots() + "/" + info.capacity()
+                        + " bots | atribuídos: " + info.assigned()
+                        + " | MSPT " + String.format(Locale.ROOT, "%.2f", info.mspt())
+                        + " | visto há " + info.lastSeenMillis() + "ms\n", NamedTextColor.WHITE));
+            }
+        } else if (node != null) {
+            message.append(Component.text("Nó: ", NamedTextColor.YELLOW))
+                .append(Component.text(node.getName() + " | "
+                    + (node.isConnected() ? "conectado" : "desconectado") + "\n", NamedTextColor.WHITE));
+        } else {
+            message.append(Component.text("Cluster desativado (cluster.mode: off)\n", NamedTextColor.GRAY));
+        }
+        return message.append(Component.text("===========================================", NamedTextColor.GREEN))
+            .build();
+    }
+
+    private static int parseAmount(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package app.adriano.fakeplayers.commands;
+
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.TabCompleter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Nó da árvore de subcomandos do /fp.
+ *
+ * Cada nó tem um nome, a chave da sua permissão em {@code permissions.*} do
+ * config.yml e um executor criado uma única vez no registro. Os filhos ficam
+ * em um mapa que ignora maiúsculas, então a busca não precisa converter o
+ * argumento digitado.
+ *
+ * Exemplo de uso:
+ * ```java
+ * CommandNode root = new CommandNode("fp", "base", null, null)
+ *     .then(new CommandNode("info", "info", new InfoCommand(plugin), null))
+ *     .then(new CommandNode("reload", "reload", new ReloadCommand(plugin), null));
+ * ```
+ *
+ * @see FakePlayersCommand
+ * @since 0.2.0
+ */
+public final class CommandNode {
+
+    private final String name;
+    private final String permissionKey;
+    private final CommandExecutor executor;
+    private final TabCompleter completer;
+    private final Map<String, CommandNode> children = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * Cria um nó.
+     *
+     * @param name Nome do subcomando
+     * @param permissionKey Chave em {@code permissions.*}, ou null se o nó não exigir permissão própria
+     * @param executor Executor do nó, ou null se o nó só agrupar filhos
+     * @param completer Sugestões dos argumentos do nó, ou null
+     */
+    public CommandNode(String name, String permissionKey, CommandExecutor executor, TabCompleter completer) {
+        this.name = name;
+        this.permissionKey = permissionKey;
+        this.executor = executor;
+        this.completer = completer;
+    }
+
+    /**
+     * Adiciona um filho.
+     *
+     * @param child Nó filho
+     * @return Este nó, para encadear chamadas
+     */
+    public CommandNode then(CommandNode child) {
+        children.put(child.name, child);
+        return this;
+    }
+
+    /**
+     * Busca um filho pelo nome, ignorando maiúsculas.
+     *
+     * @param childName Nome digitado
+     * @return Nó filho, ou null se não existir
+     */
+    public CommandNode child(String childName) {
+        return children.get(childName);
+    }
+
+    /**
+     * @return Filhos em ordem alfabética
+     */
+    public Collection<CommandNode> children() {
+        return children.values();
+    }
+
+    /**
+     * @return Nome do subcomando
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Chave da permissão em {@code permissions.*}, ou null
+     */
+    public String permissionKey() {
+        return permissionKey;
+    }
+
+    /**
+     * @return Executor do nó, ou null
+     */
+    public CommandExecutor executor() {
+        return executor;
+    }
+
+    /**
+     * @return Sugestões dos argumentos do nó, ou null
+     */
+    public TabCompleter completer() {
+        return completer;
+    }
+}
@@ -0,0 +1,153 @@
+package app.adriano.fakeplayers.commands;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.config.ConfigSnapshot;
+import app.adriano.fakeplayers.logging.TraceCategory;
+import app.adriano.fakeplayers.metrics.Subsystem;
+import app.adriano.fakeplayers.scheduler.PlatformScheduler;
+import app.adriano.fakeplayers.text.Placeholder;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Comando /fp, que despacha os argumentos para a árvore de {@link CommandNode}.
+ *
+ * Funcionamento:
+ * 1. Cada argumento desce um nível na árvore enquanto existir um filho com esse nome
+ * 2. A permissão de cada nó do caminho é verificada ({@code permissions.*} do config.yml)
+ * 3. O executor do último nó recebe apenas os argumentos que sobraram
+ * 4. A mensagem de uso e o tab completion são gerados a partir dos nós registrados,
+ *    mostrando apenas os subcomandos que o jogador pode usar
+ * 5. A execução acontece na thread dos bots ({@link PlatformScheduler}); no Folia, comandos
+ *    recebidos em outra thread são executados no próximo tick da região global
+ *
+ * @see CommandNode
+ * @since 0.2.0
+ */
+public final class FakePlayersCommand extends Command {
+
+    private final FakePlayersPlugin plugin;
+    private final CommandNode root;
+
+    /**
+     * Cria o comando.
+     *
+     * @param plugin Instância principal do plugin
+     * @param root Nó raiz, com os subcomandos como filhos
+     */
+    public FakePlayersCommand(FakePlayersPlugin plugin, CommandNode root) {
+        super(root.name());
+        this.plugin = plugin;
+        this.root = root;
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, String label, String[] args) {
+        plugin.getTrace().trace(TraceCategory.COMMANDS, "Comando recebido de {}: /{} {}", sender.getName(), label, args);
+        PlatformScheduler platform = plugin.getPlatformScheduler();
+        if (platform.isFolia()) {
+            // Folia: comandos de jogadores chegam na thread da região, e mesmo na região global
+            // os subcomandos precisam do acesso exclusivo aos bots
+            platform.execute(() -> dispatch(sender, label, args));
+            return true;
+        }
+        return dispatch(sender, label, args);
+    }
+
+    private boolean dispatch(CommandSender sender, String label, String[] args) {
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+
+        CommandNode node = root;
+        int depth = 0;
+        while (true) {
+            if (!canUse(sender, node, config)) {
+                sender.sendMessage(config.messages().noPermission());
+                return true;
+            }
+            if (depth == args.length) {
+                break;
+            }
+            CommandNode next = node.child(args[depth]);
+            if (next == null) {
+                break;
+            }
+            node = next;
+            depth++;
+        }
+
+        if (node.executor() == null) {
+            String commands = usage(sender, node, config);
+            sender.sendMessage(depth == args.length
+                ? config.messages().usage().render(Placeholder.COMMANDS, commands)
+                : config.messages().unknownCommand().render(Placeholder.COMMANDS, commands));
+            return true;
+        }
+
+        plugin.getTrace().trace(TraceCategory.COMMANDS, "Executando comando {}", node.name());
+        String[] remaining = depth == 0 ? args : Arrays.copyOfRange(args, depth, args.length);
+        long start = System.nanoTime();
+        try {
+            return node.executor().onCommand(sender, this, label, remaining);
+        } finally {
+            plugin.getProfiler().record(Subsystem.COMMANDS, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String alias, String[] args) {
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        CommandNode node = root;
+        int depth = 0;
+        while (depth < args.length - 1) {
+            CommandNode next = node.child(args[depth]);
+            if (next == null || !canUse(sender, next, config)) {
+                break;
+            }
+            node = next;
+            depth++;
+        }
+        if (!canUse(sender, node, config)) {
+            return Collections.emptyList();
+        }
+
+        // Argumento atual: primeiro os subcomandos, depois as sugestões do próprio nó
+        if (depth == args.length - 1) {
+            String typed = args[depth];
+            List<String> suggestions = new ArrayList<>();
+            for (CommandNode child : node.children()) {
+                if (child.name().regionMatches(true, 0, typed, 0, typed.length()) && canUse(sender, child, config)) {
+                    suggestions.add(child.name());
+                }
+            }
+            if (!suggestions.isEmpty() || node.completer() == null) {
+                return suggestions;
+            }
+        }
+        if (node.completer() == null) {
+            return Collections.emptyList();
+        }
+        return node.completer().onTabComplete(sender, this, alias, Arrays.copyOfRange(args, depth, args.length));
+    }
+
+    private static boolean canUse(CommandSender sender, CommandNode node, ConfigSnapshot config) {
+        return node.permissionKey() == null || sender.hasPermission(config.permission(node.permissionKey()));
+    }
+
+    private static String usage(CommandSender sender, CommandNode node, ConfigSnapshot config) {
+        StringBuilder builder = new StringBuilder();
+        for (CommandNode child : node.children()) {
+            if (canUse(sender, child, config)) {
+                if (!builder.isEmpty()) {
+                    builder.append('|');
+                }
+                builder.append(child.name());
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -1,22 +1,28 @@
 package app.adriano.fakeplayers.commands;
 
 import app.adriano.fakeplayers.FakePlayersPlugin;
-import net.kyori.adventure.text.Component;
+import app.adriano.fakeplayers.metrics.TickMonitor;
+import app.adriano.fakeplayers.text.Placeholder;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
 
 /**
- * Comando que testa a latência do plugin.
+ * Comando que mostra a latência de quem o executou e o MSPT do servidor.
  * Este comando é executado quando um jogador ou o console usa o comando /fp ping
  * 
+ * O ping vem do próprio servidor ({@link Player#getPing()}); no console é 0.
+ * O MSPT é a média dos últimos 5 segundos do {@link TickMonitor}.
+ * Para os detalhes, use /fp stats.
+ * 
  * @see org.bukkit.command.CommandExecutor
  * @see org.bukkit.command.TabCompleter
+ * @see StatsCommand
  */
 public class PingCommand implements CommandExecutor, TabCompleter {
     private final FakePlayersPlugin plugin;
-    private long lastPingTime;
 
     /**
      * Construtor do comando.
@@ -25,22 +31,16 @@ public class PingCommand implements CommandExecutor, TabCompleter {
      */
     public PingCommand(FakePlayersPlugin plugin) {
         this.plugin = plugin;
-        this.lastPingTime = System.currentTimeMillis();
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
-        // Calcula o tempo de resposta
-        long currentTime = System.currentTimeMillis();
-        long responseTime = currentTime - lastPingTime;
-        lastPingTime = currentTime;
-
-        // Obtém a mensagem do config e substitui o placeholder
-        String message = plugin.getConfigManager().getString("messages.commands.ping", "&aPong! &eTempo de resposta: &f%time%ms")
-            .replace("%time%", String.valueOf(responseTime));
+        long ping = sender instanceof Player player ? player.getPing() : 0L;
+        double mspt = plugin.getTickMonitor().mspt(TickMonitor.SHORT_WINDOW);
 
-        // Envia a mensagem formatada
-        sender.sendMessage(Component.text(message));
+        // Monta a mensagem pré-compilada preenchendo os placeholders
+        sender.sendMessage(plugin.getConfigManager().getSnapshot().messages().ping()
+            .render(Placeholder.TIME, ping, Placeholder.MSPT, mspt));
         return true;
     }
 
@@ -48,4 +48,4 @@ public class PingCommand implements CommandExecutor, TabCompleter {
     public java.util.List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         return java.util.Collections.emptyList();
     }
-} 
\ No newline at end of file
+}
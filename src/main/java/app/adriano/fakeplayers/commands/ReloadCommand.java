@@ -1,7 +1,6 @@
 package app.adriano.fakeplayers.commands;
 
 import app.adriano.fakeplayers.FakePlayersPlugin;
-import net.kyori.adventure.text.Component;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -12,7 +11,7 @@ import org.bukkit.command.TabCompleter;
  * Este comando é executado quando um jogador ou o console usa o comando /fp reload
  * 
  * Funcionalidades:
- * 1. Recarrega o arquivo config.yml
+ * 1. Recarrega o arquivo config.yml fora da thread principal
  * 2. Atualiza as configurações em memória
  * 3. Notifica o usuário sobre o resultado
  * 
@@ -33,7 +32,7 @@ public class ReloadCommand implements CommandExecutor, TabCompleter {
 
     /**
      * Método chamado quando o comando é executado.
-     * Recarrega as configurações e notifica o usuário.
+     * Inicia o recarregamento e notifica o usuário quando ele terminar.
      * 
      * @param sender Quem executou o comando (jogador ou console)
      * @param command O comando que foi executado
@@ -43,17 +42,12 @@ public class ReloadCommand implements CommandExecutor, TabCompleter {
      */
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
-        // Recarrega as configurações
-        boolean success = plugin.getConfigManager().reloadConfig();
-        
-        // Obtém a mensagem do config
-        String message = plugin.getConfigManager().getString(
-            "messages.commands.reload", 
-            success ? "&aConfigurações recarregadas com sucesso!" : "&cErro ao recarregar configurações!"
-        );
-        
-        // Envia a mensagem formatada
-        sender.sendMessage(Component.text(message));
+        // Recarrega as configurações; o resultado chega na thread principal
+        var configManager = plugin.getConfigManager();
+        configManager.reloadAsync().whenComplete((snapshot, error) -> {
+            var messages = configManager.getSnapshot().messages();
+            sender.sendMessage(error == null ? messages.reload() : messages.reloadError());
+        });
         return true;
     }
 
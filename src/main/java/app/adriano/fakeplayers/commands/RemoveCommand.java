@@ -0,0 +1,161 @@
+package app.adriano.fakeplayers.commands;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.config.ConfigSnapshot;
+import app.adriano.fakeplayers.scheduler.BatchJob;
+import app.adriano.fakeplayers.text.Placeholder;
+import org.bukkit.Location;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Entity;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Comando que remove bots em massa.
+ * Executado com /fp remove <filtro>
+ *
+ * Filtros suportados:
+ * 1. {@code all} - todos os bots
+ * 2. {@code radius:<raio>} - bots a até {@code raio} blocos de quem executou o comando
+ * 3. Nome do bot, com {@code *} como curinga (ex: {@code Bot*}), ignorando maiúsculas
+ *
+ * O registro é percorrido de trás para frente e as remoções são divididas entre
+ * vários ticks pelo {@link app.adriano.fakeplayers.scheduler.BotScheduler}.
+ *
+ * @see BatchJob
+ * @since 0.2.0
+ */
+public class RemoveCommand implements CommandExecutor, TabCompleter {
+
+    // Bots examinados por tick para cada remoção da cota
+    private static final int SCAN_FACTOR = 16;
+    private static final List<String> FILTERS = List.of("all", "radius:16", "Bot*");
+
+    private final FakePlayersPlugin plugin;
+
+    /**
+     * Construtor do comando.
+     *
+     * @param plugin Instância principal do plugin
+     */
+    public RemoveCommand(FakePlayersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        ConfigSnapshot.Messages messages = plugin.getConfigManager().getSnapshot().messages();
+        IntPredicate filter = args.length == 1 ? parseFilter(sender, args[0]) : null;
+        if (filter == null) {
+            sender.sendMessage(messages.removeUsage());
+            return true;
+        }
+        sender.sendMessage(messages.removeStarted().render(Placeholder.FILTER, args[0]));
+        plugin.getBotScheduler().submit(new RemoveJob(sender, filter));
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        return args.length == 1 ? FILTERS : Collections.emptyList();
+    }
+
+    /**
+     * Converte o filtro digitado em um teste sobre o id do bot.
+     *
+     * @return Teste do filtro, ou null se o filtro for inválido
+     */
+    private IntPredicate parseFilter(CommandSender sender, String value) {
+        FakePlayerRegistry registry = plugin.getRegistry();
+        if (value.equalsIgnoreCase("all")) {
+            return id -> true;
+        }
+        if (value.regionMatches(true, 0, "radius:", 0, 7)) {
+            if (!(sender instanceof Entity entity)) {
+                return null;
+            }
+            double radius;
+            try {
+                radius = Double.parseDouble(value.substring(7));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            Location center = entity.getLocation();
+            int world = registry.findWorld(center.getWorld().getUID());
+            if (world == FakePlayerRegistry.NO_WORLD) {
+                // Nenhum bot no mundo de quem executou o comando
+                return id -> false;
+            }
+            double radiusSq = radius * radius;
+            double x = center.getX();
+            double y = center.getY();
+            double z = center.getZ();
+            return id -> {
+                if (registry.getWorld(id) != world) {
+                    return false;
+                }
+                double dx = registry.getX(id) - x;
+                double dy = registry.getY(id) - y;
+                double dz = registry.getZ(id) - z;
+                return dx * dx + dy * dy + dz * dz <= radiusSq;
+            };
+        }
+        Pattern pattern = Pattern.compile(
+            Pattern.quote(value).replace("*", "\\E.*\\Q"), Pattern.CASE_INSENSITIVE);
+        return id -> pattern.matcher(registry.getName(id)).matches();
+    }
+
+    /**
+     * Percorre o registro de trás para frente removendo os bots do filtro.
+     *
+     * Com remoção por troca (swap-remove), o bot que ocupa a posição removida
+     * vem do fim do registro, que já foi examinado; bots criados depois do
+     * início do comando ficam além do cursor e são preservados.
+     */
+    private final class RemoveJob implements BatchJob {
+        private final CommandSender sender;
+        private final IntPredicate filter;
+        private final long startNanos = System.nanoTime();
+        private int cursor;
+        private long removed;
+
+        RemoveJob(CommandSender sender, IntPredicate filter) {
+            this.sender = sender;
+            this.filter = filter;
+            this.cursor = plugin.getRegistry().size();
+        }
+
+        @Override
+        public boolean run(int quota) {
+            FakePlayerRegistry registry = plugin.getRegistry();
+            cursor = Math.min(cursor, registry.size());
+            int removedNow = 0;
+            int scanLimit = quota * SCAN_FACTOR;
+            while (cursor > 0 && removedNow < quota && scanLimit-- > 0) {
+                int id = registry.idAt(--cursor);
+                if (filter.test(id)) {
+                    plugin.getBotManager().despawn(id);
+                    removedNow++;
+                }
+            }
+            removed += removedNow;
+            if (cursor > 0) {
+                return false;
+            }
+            if (sender == null) {
+                return true;
+            }
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            sender.sendMessage(plugin.getConfigManager().getSnapshot().messages().removeDone()
+                .render(Placeholder.COUNT, removed, Placeholder.TIME, elapsedMillis));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package app.adriano.fakeplayers.commands;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.config.ConfigSnapshot;
+import app.adriano.fakeplayers.replay.MovementRecorder;
+import app.adriano.fakeplayers.replay.MovementRecording;
+import app.adriano.fakeplayers.replay.ReplayEngine;
+import app.adriano.fakeplayers.text.Placeholder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Comando que grava jogadores reais e reproduz as gravações nos bots.
+ * Executado com /fp replay <ação>
+ *
+ * Ações:
+ * 1. {@code record <jogador> <nome>} - começa a gravar o movimento de um jogador
+ * 2. {@code stop <jogador>} - termina a gravação
+ * 3. {@code play <nome> [quantidade]} - reproduz a gravação nos bots, com defasagens espalhadas
+ * 4. {@code halt} - para todas as reproduções
+ * 5. {@code list} - lista as gravações e as em andamento
+ *
+ * @see MovementRecorder
+ * @see ReplayEngine
+ * @since 0.2.0
+ */
+public class ReplayCommand implements CommandExecutor, TabCompleter {
+
+    private static final List<String> ACTIONS = List.of("record", "stop", "play", "halt", "list");
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    private final FakePlayersPlugin plugin;
+
+    /**
+     * Construtor do comando.
+     *
+     * @param plugin Instância principal do plugin
+     */
+    public ReplayCommand(FakePlayersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        ConfigSnapshot.Messages messages = plugin.getConfigManager().getSnapshot().messages();
+        MovementRecorder recorder = plugin.getMovementRecorder();
+        ReplayEngine engine = plugin.getReplayEngine();
+        if (recorder == null || engine == null) {
+            sender.sendMessage(messages.replayDisabled());
+            return true;
+        }
+        String action = args.length > 0 ? args[0].toLowerCase(Locale.ROOT) : "";
+        switch (action) {
+            case "record" -> record(sender, messages, recorder, args);
+            case "stop" -> stop(sender, messages, recorder, args);
+            case "play" -> play(sender, messages, engine, args);
+            case "halt" -> sender.sendMessage(messages.replayHalt().render(Placeholder.COUNT, (long) engine.stopAll()));
+            case "list" -> list(sender, recorder, engine);
+            default -> sender.sendMessage(messages.replayUsage());
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (args.length == 1) {
+            return ACTIONS;
+        }
+        if (args.length == 2 && (args[0].equalsIgnoreCase("record") || args[0].equalsIgnoreCase("stop"))) {
+            List<String> players = new ArrayList<>();
+            for (Player player : plugin.getServer().getOnlinePlayers()) {
+                players.add(player.getName());
+            }
+            return players;
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("play") && plugin.getReplayEngine() != null) {
+            return plugin.getReplayEngine().listRecordings();
+        }
+        return Collections.emptyList();
+    }
+
+    private void record(CommandSender sender, ConfigSnapshot.Messages messages, MovementRecorder recorder,
+                        String[] args) {
+        Player player = args.length == 3 ? plugin.getServer().getPlayerExact(args[1]) : null;
+        if (player == null || !NAME.matcher(args[2]).matches()) {
+            sender.sendMessage(messages.replayUsage());
+            return;
+        }
+        if (!recorder.start(player, args[2])) {
+            sender.sendMessage(messages.replayAlreadyRecording());
+            return;
+        }
+        sender.sendMessage(messages.replayRecording().render(Placeholder.PLAYER, player.getName(),
+            Placeholder.RECORDING, args[2]));
+    }
+
+    private void stop(CommandSender sender, ConfigSnapshot.Messages messages, MovementRecorder recorder,
+                      String[] args) {
+        Player player = args.length == 2 ? plugin.getServer().getPlayerExact(args[1]) : null;
+        String name = player != null ? recorder.stop(player.getUniqueId()) : null;
+        if (name == null) {
+            sender.sendMessage(messages.replayNotRecording());
+            return;
+        }
+        sender.sendMessage(messages.replayStopped().render(Placeholder.RECORDING, name));
+    }
+
+    private void play(CommandSender sender, ConfigSnapshot.Messages messages, ReplayEngine engine, String[] args) {
+        if (args.length < 2 || !NAME.matcher(args[1]).matches()) {
+            sender.sendMessage(messages.replayUsage());
+            return;
+        }
+        int amount = Integer.MAX_VALUE;
+        if (args.length > 2) {
+            try {
+                amount = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                amount = -1;
+            }
+            if (amount <= 0) {
+                sender.sendMessage(messages.replayUsage());
+                return;
+            }
+        }
+        MovementRecording recording;
+        try {
+            recording = engine.open(args[1]);
+        } catch (IOException e) {
+            sender.sendMessage(messages.replayOpenFailed().render(Placeholder.RECORDING, args[1],
+                Placeholder.ERROR, String.valueOf(e.getMessage())));
+            return;
+        }
+        int started = engine.play(recording, amount);
+        sender.sendMessage(messages.replayPlay().render(Placeholder.COUNT, (long) started,
+            Placeholder.RECORDING, recording.getName()));
+    }
+
+    private void list(CommandSender sender, MovementRecorder recorder, ReplayEngine engine) {
+        List<String> recordings = engine.listRecordings();
+        List<String> active = recorder.getActive();
+        sender.sendMessage(Component.text()
+            .append(Component.text("Gravações: ", NamedTextColor.YELLOW))
+            .append(Component.text(recordings.isEmpty() ? "nenhuma" : String.join(", ", recordings), NamedTextColor.WHITE))
+            .append(Component.text("\nGravando agora: ", NamedTextColor.YELLOW))
+            .append(Component.text(active.isEmpty() ? "nada" : String.join(", ", active), NamedTextColor.WHITE))
+            .append(Component.text("\nBots reproduzindo: ", NamedTextColor.YELLOW))
+            .append(Component.text(String.valueOf(engine.getActive()), NamedTextColor.WHITE))
+            .build());
+    }
+}
@@ -0,0 +1,175 @@
+package app.adriano.fakeplayers.commands;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotMode;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.config.ConfigSnapshot;
+import app.adriano.fakeplayers.scheduler.BatchJob;
+import app.adriano.fakeplayers.text.Placeholder;
+import org.bukkit.Location;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Entity;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Comando que cria bots em massa.
+ * Executado com /fp spawn <quantidade> [prefixo]
+ *
+ * Os bots são criados no modo de {@code bots.mode} ao redor de quem executou o comando (ou
+ * do spawn do mundo principal, no console). A criação é dividida entre vários
+ * ticks pelo {@link app.adriano.fakeplayers.scheduler.BotScheduler}, em vez de
+ * um único laço síncrono.
+ *
+ * Sem prefixo, os nomes vêm do {@link app.adriano.fakeplayers.names.NameGenerator};
+ * com prefixo, os bots se chamam prefixo + número. Nos dois casos, nomes de bots
+ * ou jogadores online são pulados.
+ *
+ * @see BatchJob
+ * @since 0.2.0
+ */
+public class SpawnCommand implements CommandExecutor, TabCompleter {
+
+    // Nomes de jogador têm no máximo 16 caracteres
+    private static final int MAX_NAME_LENGTH = 16;
+    private static final double SPREAD = 8.0;
+    private static final List<String> AMOUNTS = List.of("1", "10", "100", "1000");
+
+    private final FakePlayersPlugin plugin;
+    private long nameSequence;
+
+    /**
+     * Construtor do comando.
+     *
+     * @param plugin Instância principal do plugin
+     */
+    public SpawnCommand(FakePlayersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        ConfigSnapshot.Messages messages = plugin.getConfigManager().getSnapshot().messages();
+        int amount = args.length > 0 ? parseAmount(args[0]) : -1;
+        if (amount <= 0) {
+            sender.sendMessage(messages.spawnUsage());
+            return true;
+        }
+        String prefix = args.length > 1 ? args[1] : null;
+
+        Location center = sender instanceof Entity entity
+            ? entity.getLocation()
+            : plugin.getServer().getWorlds().get(0).getSpawnLocation();
+
+        amount = spawn(sender, center, prefix, amount);
+        sender.sendMessage(messages.spawnStarted().render(Placeholder.COUNT, (long) amount));
+        return true;
+    }
+
+    /**
+     * Agenda a criação de bots ao redor de um ponto, limitada às vagas livres do registro.
+     * Deve ser chamado na thread dos bots.
+     *
+     * @param sender Quem recebe a mensagem de conclusão, ou null para nenhuma mensagem
+     * @param center Centro da área onde os bots são criados
+     * @param prefix Prefixo dos nomes, ou null para usar o gerador de nomes
+     * @param amount Quantidade de bots pedida
+     * @return Quantidade de bots agendada
+     */
+    public int spawn(CommandSender sender, Location center, String prefix, int amount) {
+        FakePlayerRegistry registry = plugin.getRegistry();
+        amount = Math.max(0, Math.min(amount, registry.maxBots() - registry.size()));
+        plugin.getBotScheduler().submit(new SpawnJob(sender, center, prefix, amount));
+        return amount;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        return args.length == 1 ? AMOUNTS : Collections.emptyList();
+    }
+
+    private static int parseAmount(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Cria os bots aos poucos, {@code quota} por tick.
+     */
+    private final class SpawnJob implements BatchJob {
+        private final CommandSender sender;
+        private final Location center;
+        private final String prefix;
+        private final long startNanos = System.nanoTime();
+        private int remaining;
+        private long created;
+
+        SpawnJob(CommandSender sender, Location center, String prefix, int amount) {
+            this.sender = sender;
+            this.center = center;
+            this.prefix = prefix;
+            this.remaining = amount;
+        }
+
+        @Override
+        public boolean run(int quota) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            BotMode mode = plugin.getConfigManager().getSnapshot().botMode();
+            while (quota-- > 0 && remaining > 0) {
+                Location location = new Location(center.getWorld(),
+                    center.getX() + random.nextDouble(-SPREAD, SPREAD),
+                    center.getY(),
+                    center.getZ() + random.nextDouble(-SPREAD, SPREAD),
+                    random.nextFloat() * 360.0f - 180.0f, 0.0f);
+                int id = plugin.getBotManager().spawn(nextName(), location, mode);
+                if (id == FakePlayerRegistry.NO_BOT) {
+                    // Limite de bots atingido
+                    remaining = 0;
+                    break;
+                }
+                created++;
+                remaining--;
+            }
+            if (remaining > 0) {
+                return false;
+            }
+            if (sender == null) {
+                return true;
+            }
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            sender.sendMessage(plugin.getConfigManager().getSnapshot().messages().spawnDone()
+                .render(Placeholder.COUNT, created, Placeholder.TIME, elapsedMillis));
+            return true;
+        }
+
+        private String nextName() {
+            if (prefix == null) {
+                String name = plugin.getNameGenerator().next();
+                if (name != null) {
+                    return name;
+                }
+            }
+            // Sem prefixo, só chega aqui se o gerador não achou um nome livre
+            String base = prefix != null ? prefix : "Bot";
+            String name;
+            do {
+                name = sequentialName(base);
+            } while (plugin.getNameIndex().contains(name));
+            return name;
+        }
+
+        private String sequentialName(String prefix) {
+            String suffix = Long.toString(++nameSequence);
+            int prefixLength = Math.min(prefix.length(), MAX_NAME_LENGTH - suffix.length());
+            return prefix.substring(0, prefixLength) + suffix;
+        }
+    }
+}
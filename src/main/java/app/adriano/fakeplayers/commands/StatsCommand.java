@@ -0,0 +1,142 @@
+package app.adriano.fakeplayers.commands;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.LodController;
+import app.adriano.fakeplayers.bot.SimulationLevel;
+import app.adriano.fakeplayers.metrics.LatencyHistogram;
+import app.adriano.fakeplayers.metrics.PingSimulator;
+import app.adriano.fakeplayers.metrics.PluginProfiler;
+import app.adriano.fakeplayers.metrics.Subsystem;
+import app.adriano.fakeplayers.metrics.TickMonitor;
+import app.adriano.fakeplayers.scheduler.BotScheduler;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Comando que exibe as métricas de desempenho do plugin.
+ * Executado com /fp stats [reset]
+ *
+ * Exibe:
+ * 1. TPS e MSPT dos últimos 5 segundos e do último minuto
+ * 2. Percentis (p50, p99) e máximo da duração dos ticks
+ * 3. Quantidade de bots e contadores do {@link BotScheduler}
+ * 4. Execuções, p50, p99 e máximo de cada {@link Subsystem}
+ * 5. Ping simulado dos bots, se ativo
+ *
+ * Com {@code reset}, zera os histogramas exibidos para medir um novo intervalo
+ * (os exportados para o Prometheus são acumulados e não mudam).
+ *
+ * @see PluginProfiler
+ * @see TickMonitor
+ * @since 0.2.0
+ */
+public class StatsCommand implements CommandExecutor, TabCompleter {
+
+    private static final List<String> ACTIONS = List.of("reset");
+
+    private final FakePlayersPlugin plugin;
+
+    /**
+     * Construtor do comando.
+     *
+     * @param plugin Instância principal do plugin
+     */
+    public StatsCommand(FakePlayersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("reset")) {
+            plugin.getProfiler().reset();
+            plugin.getTickMonitor().histogram().reset();
+            if (plugin.getPingSimulator() != null) {
+                plugin.getPingSimulator().histogram().reset();
+            }
+            sender.sendMessage(plugin.getConfigManager().getSnapshot().messages().statsReset());
+            return true;
+        }
+
+        TickMonitor ticks = plugin.getTickMonitor();
+        BotScheduler scheduler = plugin.getBotScheduler();
+        TextComponent.Builder message = Component.text()
+            .append(Component.text("=========== FakePlayers Stats ===========\n", NamedTextColor.GREEN))
+            .append(Component.text("TPS: ", NamedTextColor.YELLOW))
+            .append(Component.text(format(ticks.tps(TickMonitor.SHORT_WINDOW)) + " (5s), "
+                + format(ticks.tps(TickMonitor.WINDOW)) + " (1m)\n", NamedTextColor.WHITE))
+            .append(Component.text("MSPT: ", NamedTextColor.YELLOW))
+            .append(Component.text(format(ticks.mspt(TickMonitor.SHORT_WINDOW)) + " (5s), "
+                + format(ticks.mspt(TickMonitor.WINDOW)) + " (1m), máx "
+                + format(ticks.maxTick(TickMonitor.WINDOW)) + " (1m)\n", NamedTextColor.WHITE))
+            .append(line("Tick", ticks.histogram()))
+            .append(Component.text("Bots: ", NamedTextColor.YELLOW))
+            .append(Component.text(plugin.getRegistry().size()
+                + " | atualizados/tick: " + scheduler.getLastTickUpdates()
+                + " | orçamento estourado: " + scheduler.getBudgetOverruns()
+                + " | ticks adiados: " + scheduler.getDeferredTicks()
+                + " | lotes: " + scheduler.getPendingBatches() + "\n", NamedTextColor.WHITE));
+
+        LodController lod = plugin.getLodController();
+        if (lod != null && lod.isEnabled()) {
+            message.append(Component.text("Níveis de detalhe: ", NamedTextColor.YELLOW))
+                .append(Component.text("completo " + lod.getCount(SimulationLevel.FULL)
+                    + " | reduzido " + lod.getCount(SimulationLevel.REDUCED)
+                    + " | adormecido " + lod.getCount(SimulationLevel.DORMANT) + "\n", NamedTextColor.WHITE));
+        }
+
+        PluginProfiler profiler = plugin.getProfiler();
+        for (Subsystem subsystem : Subsystem.values()) {
+            LatencyHistogram histogram = profiler.histogram(subsystem);
+            if (histogram.count() > 0) {
+                message.append(line(subsystem.displayName(), histogram));
+            }
+        }
+
+        PingSimulator pings = plugin.getPingSimulator();
+        if (pings != null) {
+            LatencyHistogram histogram = pings.histogram();
+            message.append(Component.text("Ping dos bots: ", NamedTextColor.YELLOW))
+                .append(Component.text("média " + format(pings.getAveragePing())
+                    + "ms | p50 " + millis(histogram.percentile(0.5))
+                    + "ms | p99 " + millis(histogram.percentile(0.99)) + "ms\n", NamedTextColor.WHITE));
+        }
+
+        message.append(Component.text("Traces descartados: ", NamedTextColor.YELLOW))
+            .append(Component.text(plugin.getTrace().getDropped() + "\n", NamedTextColor.WHITE))
+            .append(Component.text("=========================================", NamedTextColor.GREEN));
+        sender.sendMessage(message.build());
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        return args.length == 1 ? ACTIONS : Collections.emptyList();
+    }
+
+    private static Component line(String name, LatencyHistogram histogram) {
+        return Component.text()
+            .append(Component.text(name + ": ", NamedTextColor.YELLOW))
+            .append(Component.text("n=" + histogram.count()
+                + " | p50 " + millis(histogram.percentile(0.5))
+                + "ms | p99 " + millis(histogram.percentile(0.99))
+                + "ms | máx " + millis(histogram.max()) + "ms\n", NamedTextColor.WHITE))
+            .build();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
@@ -1,7 +1,9 @@
 package app.adriano.fakeplayers.config;
 
 import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.metrics.Subsystem;
 import org.bukkit.ChatColor;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
@@ -10,6 +12,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 /**
@@ -20,11 +27,15 @@ import java.util.logging.Level;
  * 1. Carrega e salva configurações do arquivo config.yml
  * 2. Converte códigos de cores (&a, &b, etc) para formato do Minecraft
  * 3. Sistema de debug integrado para diagnóstico
- * 4. Recarregamento de configurações em tempo real
+ * 4. Recarregamento de configurações em tempo real, fora da thread principal
+ * 5. Snapshot imutável e compilado das configurações ({@link ConfigSnapshot})
  * 
  * Exemplo de uso:
  * ```java
- * // Obtém uma mensagem com cores
+ * // Caminho rápido: lê um campo do snapshot compilado
+ * String message = configManager.getSnapshot().messages().ping();
+ * 
+ * // Caminho genérico: busca no YAML e converte as cores a cada chamada
  * String message = configManager.getString("messages.info", "&aOlá!");
  * 
  * // Usa o sistema de debug
@@ -38,8 +49,11 @@ import java.util.logging.Level;
  */
 public class ConfigManager {
     private final FakePlayersPlugin plugin;
-    private FileConfiguration config;
+    private final List<Consumer<ConfigSnapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+    private volatile FileConfiguration config;
+    private volatile ConfigSnapshot snapshot;
     private File configFile;
+    private CompletableFuture<ConfigSnapshot> pendingReload;
 
     /**
      * Construtor do gerenciador de configuração.
@@ -60,20 +74,27 @@ public class ConfigManager {
      * 1. Verifica se o arquivo existe
      * 2. Carrega configurações do arquivo
      * 3. Aplica configurações padrão se necessário
+     * 4. Compila o snapshot; se o arquivo for inválido, usa apenas os valores padrão
      */
     public void loadConfig() {
         // Cria o arquivo de configuração se não existir
         plugin.saveDefaultConfig();
-        
-        // Carrega o arquivo de configuração
         configFile = new File(plugin.getDataFolder(), "config.yml");
-        config = YamlConfiguration.loadConfiguration(configFile);
         
-        // Carrega as configurações padrão do arquivo interno
-        InputStream defaultStream = plugin.getResource("config.yml");
-        if (defaultStream != null) {
-            config.setDefaults(YamlConfiguration.loadConfiguration(
-                new InputStreamReader(defaultStream, StandardCharsets.UTF_8)));
+        try {
+            FileConfiguration loaded = read();
+            snapshot = ConfigSnapshot.compile(loaded);
+            config = loaded;
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().log(Level.SEVERE, "config.yml inválido, usando as configurações padrão!", e);
+            FileConfiguration defaults = new YamlConfiguration();
+            applyDefaults(defaults);
+            try {
+                snapshot = ConfigSnapshot.compile(defaults);
+            } catch (InvalidConfigurationException invalidDefaults) {
+                throw new IllegalStateException("config.yml interno inválido", invalidDefaults);
+            }
+            config = defaults;
         }
     }
 
@@ -93,18 +114,15 @@ public class ConfigManager {
     }
 
     /**
-     * Recarrega as configurações do arquivo config.yml.
+     * Recarrega as configurações do arquivo config.yml na thread atual.
+     * Prefira {@link #reloadAsync()} na thread principal.
      * 
      * @return true se o recarregamento foi bem-sucedido
      */
     public boolean reloadConfig() {
         try {
-            config = YamlConfiguration.loadConfiguration(configFile);
-            InputStream defaultStream = plugin.getResource("config.yml");
-            if (defaultStream != null) {
-                config.setDefaults(YamlConfiguration.loadConfiguration(
-                    new InputStreamReader(defaultStream, StandardCharsets.UTF_8)));
-            }
+            FileConfiguration loaded = read();
+            publish(loaded, ConfigSnapshot.compile(loaded));
             return true;
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Não foi possível recarregar config.yml!", e);
@@ -112,6 +130,80 @@ public class ConfigManager {
         }
     }
 
+    /**
+     * Recarrega as configurações sem travar a thread principal.
+     * 
+     * Processo:
+     * 1. Em uma thread assíncrona, lê, valida e compila o config.yml
+     * 2. Na thread dos bots (a principal, no Paper), publica o novo snapshot com uma única escrita volátil
+     * 3. Notifica os ouvintes registrados em {@link #addReloadListener}
+     * 
+     * Se o arquivo for inválido, as configurações atuais são mantidas e o
+     * retorno termina com erro. Chamadas durante um recarregamento em andamento
+     * recebem o mesmo retorno. Pode ser chamado de qualquer thread.
+     * 
+     * @return Futuro concluído na thread principal com o novo snapshot
+     */
+    public synchronized CompletableFuture<ConfigSnapshot> reloadAsync() {
+        if (pendingReload != null) {
+            return pendingReload;
+        }
+        CompletableFuture<ConfigSnapshot> future = new CompletableFuture<>();
+        pendingReload = future;
+        long start = System.nanoTime();
+        var scheduler = plugin.getPlatformScheduler();
+        scheduler.runAsync(() -> {
+            FileConfiguration loaded = null;
+            ConfigSnapshot compiled = null;
+            Exception failure = null;
+            try {
+                loaded = read();
+                compiled = ConfigSnapshot.compile(loaded);
+            } catch (Exception e) {
+                failure = e;
+            }
+            if (!plugin.isEnabled()) {
+                return;
+            }
+            FileConfiguration result = loaded;
+            ConfigSnapshot compiledResult = compiled;
+            Exception error = failure;
+            scheduler.run(() -> {
+                synchronized (this) {
+                    pendingReload = null;
+                }
+                if (error != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Não foi possível recarregar config.yml!", error);
+                    future.completeExceptionally(error);
+                    return;
+                }
+                publish(result, compiledResult);
+                plugin.getProfiler().record(Subsystem.CONFIG_RELOAD, System.nanoTime() - start);
+                future.complete(compiledResult);
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Registra um ouvinte chamado na thread principal após cada recarregamento bem-sucedido.
+     * 
+     * @param listener Ouvinte que recebe o novo snapshot
+     */
+    public void addReloadListener(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Obtém o snapshot compilado das configurações atuais.
+     * A leitura é segura em qualquer thread.
+     * 
+     * @return ConfigSnapshot atual
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     /**
      * Obtém a instância da configuração.
      * 
@@ -121,6 +213,15 @@ public class ConfigManager {
         return config;
     }
 
+    /**
+     * Obtém o arquivo config.yml na pasta do plugin.
+     * 
+     * @return Arquivo de configuração
+     */
+    public File getConfigFile() {
+        return configFile;
+    }
+
     /**
      * Obtém um valor booleano da configuração.
      * 
@@ -143,9 +244,32 @@ public class ConfigManager {
         return config.getInt(path, defaultValue);
     }
 
+    /**
+     * Obtém um valor inteiro longo da configuração.
+     * 
+     * @param path Caminho do valor na configuração
+     * @param defaultValue Valor padrão caso não encontre
+     * @return Valor longo da configuração
+     */
+    public long getLong(String path, long defaultValue) {
+        return config.getLong(path, defaultValue);
+    }
+
+    /**
+     * Obtém um valor decimal da configuração.
+     * 
+     * @param path Caminho do valor na configuração
+     * @param defaultValue Valor padrão caso não encontre
+     * @return Valor decimal da configuração
+     */
+    public double getDouble(String path, double defaultValue) {
+        return config.getDouble(path, defaultValue);
+    }
+
     /**
      * Obtém uma string da configuração com suporte a cores.
      * Converte automaticamente códigos de cores (&a, &b, etc) para o formato do Minecraft.
+     * Para mensagens enviadas com frequência, use {@link #getSnapshot()}.
      * 
      * Códigos suportados:
      * - Cores básicas: &0 a &9
@@ -163,6 +287,7 @@ public class ConfigManager {
 
     /**
      * Define um valor na configuração.
+     * O snapshot só reflete a mudança após o próximo recarregamento.
      * 
      * @param path Caminho do valor na configuração
      * @param value Valor a ser definido
@@ -181,8 +306,48 @@ public class ConfigManager {
      * @param message Mensagem a ser enviada
      */
     public void debug(String message) {
-        if (getBoolean("general.debug", false)) {
+        if (snapshot.debug()) {
             plugin.getLogger().info("[DEBUG] " + message);
         }
     }
+
+    /**
+     * Envia uma mensagem de debug montada só quando o debug está ativo.
+     * Use quando a mensagem concatena valores, para não montar o texto à toa.
+     *
+     * @param message Fornecedor da mensagem a ser enviada
+     */
+    public void debug(Supplier<String> message) {
+        if (snapshot.debug()) {
+            plugin.getLogger().info("[DEBUG] " + message.get());
+        }
+    }
+
+    /**
+     * Lê o config.yml com os valores padrão do arquivo interno.
+     * Diferente de {@link YamlConfiguration#loadConfiguration(File)}, falha em
+     * vez de devolver uma configuração vazia quando o YAML é inválido.
+     */
+    private FileConfiguration read() throws IOException, InvalidConfigurationException {
+        YamlConfiguration loaded = new YamlConfiguration();
+        loaded.load(configFile);
+        applyDefaults(loaded);
+        return loaded;
+    }
+
+    private void applyDefaults(FileConfiguration target) {
+        InputStream defaultStream = plugin.getResource("config.yml");
+        if (defaultStream != null) {
+            target.setDefaults(YamlConfiguration.loadConfiguration(
+                new InputStreamReader(defaultStream, StandardCharsets.UTF_8)));
+        }
+    }
+
+    private void publish(FileConfiguration loaded, ConfigSnapshot compiled) {
+        config = loaded;
+        snapshot = compiled;
+        for (Consumer<ConfigSnapshot> listener : reloadListeners) {
+            listener.accept(compiled);
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,282 @@
+package app.adriano.fakeplayers.config;
+
+import app.adriano.fakeplayers.bot.BotMode;
+import app.adriano.fakeplayers.logging.TraceCategory;
+import app.adriano.fakeplayers.text.MessageTemplate;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cópia imutável e já compilada do config.yml.
+ *
+ * Em vez de buscar o caminho no YAML e converter as cores a cada uso, o
+ * config.yml é compilado uma única vez em valores tipados: as mensagens já são
+ * templates de Components ({@link MessageTemplate}) e os números já foram
+ * validados. Ler um valor do snapshot é apenas a leitura de um campo.
+ *
+ * Como o snapshot é imutável, ele pode ser montado em qualquer thread e
+ * publicado com uma única escrita volátil (ver {@link ConfigManager#reloadAsync()}).
+ *
+ * Exemplo de uso:
+ * ```java
+ * ConfigSnapshot config = configManager.getSnapshot();
+ * if (config.debug()) {
+ *     // ...
+ * }
+ * sender.sendMessage(config.messages().noPermission());
+ * ```
+ *
+ * @param prefix Prefixo das mensagens
+ * @param debug Se o modo debug está ativo
+ * @param updateInterval Intervalo das tarefas periódicas, em segundos
+ * @param autoReload Se o config.yml deve ser recarregado ao ser alterado no disco
+ * @param traceCategories Máscara das categorias de trace ativas ({@link TraceCategory#bit()})
+ * @param permissions Permissões dos comandos, por chave de {@code permissions.*}
+ * @param messages Mensagens do plugin
+ * @param scheduler Configurações do agendador
+ * @param botMode Modo dos bots criados pelos comandos ({@code bots.mode})
+ * @since 0.2.0
+ */
+public record ConfigSnapshot(
+    MessageTemplate prefix,
+    boolean debug,
+    int updateInterval,
+    boolean autoReload,
+    int traceCategories,
+    Map<String, String> permissions,
+    Messages messages,
+    Scheduler scheduler,
+    BotMode botMode
+) {
+
+    /**
+     * Mensagens do plugin, pré-compiladas.
+     *
+     * @param info Cabeçalho do /fp info
+     * @param ping Resposta do /fp ping ({@code %time%}, {@code %mspt%})
+     * @param reload Sucesso do /fp reload
+     * @param reloadError Falha do /fp reload
+     * @param noPermission Falta de permissão
+     * @param usage Uso do /fp ({@code %commands%})
+     * @param unknownCommand Subcomando desconhecido ({@code %commands%})
+     * @param spawnUsage Uso do /fp spawn
+     * @param spawnStarted Início do /fp spawn ({@code %count%})
+     * @param spawnDone Fim do /fp spawn ({@code %count%}, {@code %time%})
+     * @param removeUsage Uso do /fp remove
+     * @param removeStarted Início do /fp remove ({@code %filter%})
+     * @param removeDone Fim do /fp remove ({@code %count%}, {@code %time%})
+     * @param consoleEnabled Mensagem de ativação ({@code %version%})
+     * @param consoleDisabled Mensagem de desativação ({@code %version%})
+     * @param chatFormat Nome do bot no chat simulado, antes da mensagem ({@code %player%})
+     * @param clusterNotCoordinator /fp cluster fora do coordenador
+     * @param clusterUsage Uso do /fp cluster
+     * @param clusterSpawn Bots distribuídos pelo /fp cluster spawn ({@code %count%}, {@code %nodes%})
+     * @param clusterFull Bots que não couberam no cluster ({@code %count%})
+     * @param clusterRemove Bots removidos pelo /fp cluster remove ({@code %count%})
+     * @param statsReset Métricas zeradas pelo /fp stats reset
+     * @param replayDisabled /fp replay com as gravações desativadas
+     * @param replayUsage Uso do /fp replay
+     * @param replayRecording Gravação iniciada ({@code %player%}, {@code %recording%})
+     * @param replayAlreadyRecording Jogador ou nome que já está sendo gravado
+     * @param replayNotRecording Jogador que não está sendo gravado
+     * @param replayStopped Gravação concluída ({@code %recording%})
+     * @param replayOpenFailed Gravação que não pôde ser aberta ({@code %recording%}, {@code %error%})
+     * @param replayPlay Bots que começaram a reproduzir ({@code %count%}, {@code %recording%})
+     * @param replayHalt Bots que pararam de reproduzir ({@code %count%})
+     */
+    public record Messages(
+        MessageTemplate info,
+        MessageTemplate ping,
+        MessageTemplate reload,
+        MessageTemplate reloadError,
+        MessageTemplate noPermission,
+        MessageTemplate usage,
+        MessageTemplate unknownCommand,
+        MessageTemplate spawnUsage,
+        MessageTemplate spawnStarted,
+        MessageTemplate spawnDone,
+        MessageTemplate removeUsage,
+        MessageTemplate removeStarted,
+        MessageTemplate removeDone,
+        MessageTemplate consoleEnabled,
+        MessageTemplate consoleDisabled,
+        MessageTemplate chatFormat,
+        MessageTemplate clusterNotCoordinator,
+        MessageTemplate clusterUsage,
+        MessageTemplate clusterSpawn,
+        MessageTemplate clusterFull,
+        MessageTemplate clusterRemove,
+        MessageTemplate statsReset,
+        MessageTemplate replayDisabled,
+        MessageTemplate replayUsage,
+        MessageTemplate replayRecording,
+        MessageTemplate replayAlreadyRecording,
+        MessageTemplate replayNotRecording,
+        MessageTemplate replayStopped,
+        MessageTemplate replayOpenFailed,
+        MessageTemplate replayPlay,
+        MessageTemplate replayHalt
+    ) {
+    }
+
+    /**
+     * Configurações do {@link app.adriano.fakeplayers.scheduler.BotScheduler}.
+     *
+     * @param cycleTicks Ticks para percorrer todos os bots
+     * @param budgetNanos Orçamento por tick, em nanossegundos
+     * @param msptSoftLimit MSPT a partir do qual o orçamento cai pela metade
+     * @param msptHardLimit MSPT a partir do qual as atualizações são adiadas
+     * @param batchPerTick Operações por tick dos trabalhos em massa
+     * @param reducedInterval Ciclos entre as atualizações dos bots em nível reduzido ({@code lod.reduced-interval})
+     */
+    public record Scheduler(
+        int cycleTicks,
+        long budgetNanos,
+        double msptSoftLimit,
+        double msptHardLimit,
+        int batchPerTick,
+        int reducedInterval
+    ) {
+    }
+
+    /**
+     * Compila uma configuração carregada em um snapshot.
+     * Não usa a API do servidor, então pode rodar fora da thread principal.
+     *
+     * @param config Configuração carregada (com os valores padrão aplicados)
+     * @return Snapshot compilado
+     * @throws InvalidConfigurationException se algum valor for inválido
+     */
+    public static ConfigSnapshot compile(ConfigurationSection config) throws InvalidConfigurationException {
+        List<String> problems = new ArrayList<>();
+
+        int updateInterval = config.getInt("general.update-interval", 60);
+        if (updateInterval < 1) {
+            problems.add("general.update-interval deve ser pelo menos 1");
+        }
+
+        Scheduler scheduler = new Scheduler(
+            config.getInt("scheduler.cycle-ticks", 20),
+            config.getLong("scheduler.budget-nanos", 2_000_000L),
+            config.getDouble("scheduler.mspt-soft-limit", 40.0),
+            config.getDouble("scheduler.mspt-hard-limit", 48.0),
+            config.getInt("scheduler.batch-per-tick", 250),
+            config.getInt("lod.reduced-interval", 4)
+        );
+        if (scheduler.cycleTicks() < 1) {
+            problems.add("scheduler.cycle-ticks deve ser pelo menos 1");
+        }
+        if (scheduler.budgetNanos() < 100_000L) {
+            problems.add("scheduler.budget-nanos deve ser pelo menos 100000");
+        }
+        if (scheduler.batchPerTick() < 1) {
+            problems.add("scheduler.batch-per-tick deve ser pelo menos 1");
+        }
+        if (scheduler.reducedInterval() < 1) {
+            problems.add("lod.reduced-interval deve ser pelo menos 1");
+        }
+        if (scheduler.msptSoftLimit() > scheduler.msptHardLimit()) {
+            problems.add("scheduler.mspt-soft-limit não pode ser maior que scheduler.mspt-hard-limit");
+        }
+
+        BotMode botMode = switch (config.getString("bots.mode", "packet").toLowerCase(Locale.ROOT)) {
+            case "packet" -> BotMode.PACKET;
+            case "full" -> {
+                // Entidades completas ainda não existem: recusa aqui em vez de falhar em cada spawn
+                problems.add("bots.mode: full ainda não é suportado, use packet");
+                yield BotMode.PACKET;
+            }
+            default -> {
+                problems.add("bots.mode deve ser packet ou full");
+                yield BotMode.PACKET;
+            }
+        };
+
+        if (!problems.isEmpty()) {
+            throw new InvalidConfigurationException(String.join("; ", problems));
+        }
+
+        Messages messages = new Messages(
+            template(config, "messages.commands.info", "&aInformações do plugin:"),
+            template(config, "messages.commands.ping", "&aPong! &eLatência: &f%time%ms &e| MSPT: &f%mspt%"),
+            template(config, "messages.commands.reload", "&aConfigurações recarregadas com sucesso!"),
+            template(config, "messages.commands.reload-error", "&cErro ao recarregar configurações!"),
+            template(config, "messages.commands.no-permission", "&cVocê não tem permissão para usar este comando!"),
+            template(config, "messages.commands.usage", "&cUso: /fp [%commands%]"),
+            template(config, "messages.commands.unknown", "&cSubcomando desconhecido. Use: /fp [%commands%]"),
+            template(config, "messages.commands.spawn-usage", "&cUso: /fp spawn <quantidade> [prefixo]"),
+            template(config, "messages.commands.spawn-started", "&aCriando &f%count% &abots..."),
+            template(config, "messages.commands.spawn-done", "&f%count% &abots criados em &f%time%ms"),
+            template(config, "messages.commands.remove-usage", "&cUso: /fp remove <all|radius:<raio>|nome*>"),
+            template(config, "messages.commands.remove-started", "&aRemovendo bots: &f%filter%&a..."),
+            template(config, "messages.commands.remove-done", "&f%count% &abots removidos em &f%time%ms"),
+            template(config, "messages.console.enabled", "&aFakePlayers v%version% carregado com sucesso!"),
+            template(config, "messages.console.disabled", "&aFakePlayers v%version% desativado com sucesso!"),
+            template(config, "messages.chat.format", "&7%player%&8: "),
+            template(config, "messages.commands.cluster-not-coordinator", "&cEste servidor não é o coordenador do cluster."),
+            template(config, "messages.commands.cluster-usage", "&cUso: /fp cluster [status | spawn <quantidade> | remove <quantidade|all>]"),
+            template(config, "messages.commands.cluster-spawn", "&aDistribuindo &f%count% &abots entre &f%nodes% &anós."),
+            template(config, "messages.commands.cluster-full", "&eCapacidade do cluster esgotada: &f%count% &ebots não foram distribuídos."),
+            template(config, "messages.commands.cluster-remove", "&aRemovendo &f%count% &abots do cluster."),
+            template(config, "messages.commands.stats-reset", "&aMétricas zeradas."),
+            template(config, "messages.commands.replay-disabled", "&cGravações desativadas (replay.enabled: false)."),
+            template(config, "messages.commands.replay-usage",
+                "&cUso: /fp replay <record <jogador> <nome> | stop <jogador> | play <nome> [quantidade] | halt | list>"),
+            template(config, "messages.commands.replay-recording", "&aGravando &f%player% &aem &f%recording%.fpr"),
+            template(config, "messages.commands.replay-already-recording", "&cEsse jogador ou esse nome já está sendo gravado."),
+            template(config, "messages.commands.replay-not-recording", "&cEsse jogador não está sendo gravado."),
+            template(config, "messages.commands.replay-stopped", "&aGravação &f%recording% &aconcluída."),
+            template(config, "messages.commands.replay-open-failed", "&cNão foi possível abrir a gravação %recording%: %error%"),
+            template(config, "messages.commands.replay-play", "&f%count% &abots reproduzindo &f%recording%&a."),
+            template(config, "messages.commands.replay-halt", "&f%count% &abots pararam de reproduzir.")
+        );
+
+        int traceCategories = 0;
+        for (TraceCategory category : TraceCategory.values()) {
+            if (config.getBoolean("trace.categories." + category.key(), false)) {
+                traceCategories |= category.bit();
+            }
+        }
+
+        Map<String, String> permissions = new HashMap<>();
+        ConfigurationSection permissionSection = config.getConfigurationSection("permissions");
+        if (permissionSection != null) {
+            for (String key : permissionSection.getKeys(false)) {
+                permissions.put(key, permissionSection.getString(key));
+            }
+        }
+
+        return new ConfigSnapshot(
+            template(config, "general.prefix", "&a[FakePlayers] &r"),
+            config.getBoolean("general.debug", false),
+            updateInterval,
+            config.getBoolean("general.auto-reload", false),
+            traceCategories,
+            Map.copyOf(permissions),
+            messages,
+            scheduler,
+            botMode
+        );
+    }
+
+    /**
+     * Obtém a permissão de um comando.
+     *
+     * @param key Chave em {@code permissions.*} (ex: {@code "reload"})
+     * @return Permissão configurada, ou {@code fakeplayers.<chave>} se não existir
+     */
+    public String permission(String key) {
+        String permission = permissions.get(key);
+        return permission != null ? permission : "fakeplayers." + key;
+    }
+
+    private static MessageTemplate template(ConfigurationSection config, String path, String defaultValue) {
+        return MessageTemplate.compile(config.getString(path, defaultValue));
+    }
+}
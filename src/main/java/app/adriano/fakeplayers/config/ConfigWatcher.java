@@ -0,0 +1,123 @@
+package app.adriano.fakeplayers.config;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Observa o config.yml e recarrega as configurações quando o arquivo muda.
+ *
+ * Editores costumam gravar o arquivo em várias etapas, então o recarregamento
+ * só acontece depois que o arquivo fica {@value #QUIET_MILLIS}ms sem mudanças.
+ * O recarregamento em si é feito por {@link ConfigManager#reloadAsync()}.
+ *
+ * Ativado com {@code general.auto-reload: true}.
+ *
+ * @since 0.2.0
+ */
+public final class ConfigWatcher {
+
+    private static final long QUIET_MILLIS = 500L;
+
+    private final FakePlayersPlugin plugin;
+    private final ConfigManager configManager;
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * Cria o observador.
+     *
+     * @param plugin Instância principal do plugin
+     * @param configManager Gerenciador que fará o recarregamento
+     */
+    public ConfigWatcher(FakePlayersPlugin plugin, ConfigManager configManager) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+    }
+
+    /**
+     * Inicia a thread de observação, se ainda não estiver rodando.
+     */
+    public void start() {
+        if (thread != null) {
+            return;
+        }
+        Path file = configManager.getConfigFile().toPath().toAbsolutePath();
+        try {
+            watchService = file.getFileSystem().newWatchService();
+            file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Não foi possível observar config.yml", e);
+            return;
+        }
+        WatchService service = watchService;
+        thread = new Thread(() -> watch(service, file.getFileName()), "FakePlayers-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Para a thread de observação.
+     */
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Erro ao parar a observação do config.yml", e);
+        }
+        thread.interrupt();
+        thread = null;
+        watchService = null;
+    }
+
+    /**
+     * @return true se a observação está ativa
+     */
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    private void watch(WatchService service, Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = drain(key, fileName);
+                // Espera o arquivo parar de mudar antes de recarregar
+                while (changed) {
+                    WatchKey next = service.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        configManager.debug("config.yml alterado, recarregando");
+                        configManager.reloadAsync();
+                        break;
+                    }
+                    drain(next, fileName);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Observação encerrada
+        }
+    }
+
+    private static boolean drain(WatchKey key, Path fileName) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (fileName.equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,91 @@
+package app.adriano.fakeplayers.events;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evento com todos os bots que entraram e saíram em um tick.
+ *
+ * Em vez de um evento por bot, o {@link app.adriano.fakeplayers.listeners.JoinQuitCoalescer}
+ * junta as entradas e saídas do tick e dispara este evento uma única vez, no fim do tick.
+ * Criar ou remover milhares de bots custa um evento por tick para os outros plugins.
+ *
+ * Plugins que não querem ver bots simplesmente não escutam este evento: bots em modo
+ * pacote nunca disparam {@code PlayerJoinEvent} nem {@code PlayerQuitEvent}.
+ *
+ * Exemplo de uso:
+ * ```java
+ * @EventHandler
+ * public void onBots(FakePlayersJoinQuitEvent event) {
+ *     getLogger().info(event.getJoined().size() + " bots entraram");
+ * }
+ * ```
+ *
+ * @since 0.2.0
+ */
+public class FakePlayersJoinQuitEvent extends Event {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    /**
+     * Bot que entrou ou saiu.
+     *
+     * @param uuid UUID do bot
+     * @param name Nome do bot
+     */
+    public record Bot(UUID uuid, String name) {
+    }
+
+    private final long tick;
+    private final List<Bot> joined;
+    private final List<Bot> quit;
+
+    /**
+     * Cria o evento.
+     *
+     * @param tick Tick do agendador em que as mudanças aconteceram
+     * @param joined Bots que entraram, na ordem de criação
+     * @param quit Bots que saíram, na ordem de remoção
+     */
+    public FakePlayersJoinQuitEvent(long tick, List<Bot> joined, List<Bot> quit) {
+        this.tick = tick;
+        this.joined = List.copyOf(joined);
+        this.quit = List.copyOf(quit);
+    }
+
+    /**
+     * @return Tick do agendador em que as mudanças aconteceram
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return Bots que entraram no tick (lista imutável)
+     */
+    public List<Bot> getJoined() {
+        return joined;
+    }
+
+    /**
+     * @return Bots que saíram no tick (lista imutável)
+     */
+    public List<Bot> getQuit() {
+        return quit;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    /**
+     * @return Lista de handlers do evento, exigida pelo Bukkit
+     */
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
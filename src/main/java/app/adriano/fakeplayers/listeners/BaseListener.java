@@ -1,9 +1,13 @@
 package app.adriano.fakeplayers.listeners;
 
 import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import org.bukkit.entity.Player;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 
+import java.util.UUID;
+
 /**
  * Classe base para todos os listeners do plugin.
  * 
@@ -11,6 +15,19 @@ import org.bukkit.event.Listener;
  * 1. Fornece acesso à instância principal do plugin
  * 2. Implementa métodos comuns para todos os listeners
  * 3. Facilita o registro e desregistro de eventos
+ * 4. Identifica bots ({@link #isBot(Player)}), para que os handlers retornem
+ *    imediatamente quando o evento for de um Fake Player
+ * 
+ * Exemplo de uso:
+ * ```java
+ * @EventHandler
+ * public void onPlayerJoin(PlayerJoinEvent event) {
+ *     if (isBot(event.getPlayer())) {
+ *         return;
+ *     }
+ *     // ...
+ * }
+ * ```
  * 
  * @see org.bukkit.event.Listener
  * @see app.adriano.fakeplayers.FakePlayersPlugin
@@ -33,6 +50,36 @@ public abstract class BaseListener implements Listener {
         this.plugin = plugin;
     }
 
+    /**
+     * Verifica se um jogador é um Fake Player.
+     * Busca o UUID no registro sem criar objetos.
+     * 
+     * @param player Jogador do evento
+     * @return true se o jogador for um bot do plugin
+     * @since 0.2.0
+     */
+    protected boolean isBot(Player player) {
+        FakePlayerRegistry registry = plugin.getRegistry();
+        if (registry == null || registry.size() == 0) {
+            return false;
+        }
+        UUID uuid = player.getUniqueId();
+        return registry.find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())
+            != FakePlayerRegistry.NO_BOT;
+    }
+
+    /**
+     * Executa uma tarefa na thread dos bots.
+     * No Paper os eventos já chegam nela e a tarefa roda na hora; no Folia os eventos de
+     * jogadores chegam na thread da região do jogador e a tarefa é repassada à região global.
+     * 
+     * @param task Tarefa que lê ou altera o estado dos bots
+     * @since 0.2.0
+     */
+    protected void runOnBotThread(Runnable task) {
+        plugin.getPlatformScheduler().execute(task);
+    }
+
     /**
      * Registra este listener no servidor.
      * Este método deve ser chamado quando o plugin é habilitado.
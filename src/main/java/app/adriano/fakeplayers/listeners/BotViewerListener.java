@@ -0,0 +1,76 @@
+package app.adriano.fakeplayers.listeners;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.render.PacketBotRenderer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Listener que mantém os jogadores sincronizados com os bots em modo pacote.
+ *
+ * Quando um jogador entra ou troca de mundo, agenda o envio de todos os bots
+ * do mundo dele no próximo flush do {@link PacketBotRenderer}. Eventos de bots
+ * são ignorados, pois bots não recebem pacotes.
+ *
+ * @see PacketBotRenderer#queueFullSync(org.bukkit.entity.Player)
+ */
+public class BotViewerListener extends BaseListener {
+
+    private final PacketBotRenderer renderer;
+
+    /**
+     * Construtor do listener.
+     *
+     * @param plugin Instância principal do plugin
+     * @param renderer Renderizador dos bots em modo pacote
+     */
+    public BotViewerListener(FakePlayersPlugin plugin, PacketBotRenderer renderer) {
+        super(plugin);
+        this.renderer = renderer;
+    }
+
+    /**
+     * Agenda a sincronização do jogador que entrou.
+     *
+     * @param event O evento de jogador entrar
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        runOnBotThread(() -> {
+            if (!isBot(player)) {
+                renderer.queueFullSync(player);
+            }
+        });
+    }
+
+    /**
+     * Agenda a sincronização do jogador que trocou de mundo.
+     *
+     * @param event O evento de troca de mundo
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        Player player = event.getPlayer();
+        runOnBotThread(() -> {
+            if (!isBot(player)) {
+                renderer.queueFullSync(player);
+            }
+        });
+    }
+
+    /**
+     * Descarta a sincronização pendente do jogador que saiu.
+     *
+     * @param event O evento de jogador sair
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        runOnBotThread(() -> renderer.forget(player));
+    }
+}
@@ -0,0 +1,111 @@
+package app.adriano.fakeplayers.listeners;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.events.FakePlayersJoinQuitEvent;
+import app.adriano.fakeplayers.logging.TraceCategory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Junta as entradas e saídas de bots de um tick em um único lote.
+ *
+ * Funcionamento:
+ * 1. Como ouvinte do {@link FakePlayerRegistry}, guarda UUID e nome de cada bot
+ *    criado ou removido em arrays reutilizados, sem eventos por bot
+ * 2. No fim do tick ({@link #run()}, tarefa de fim de tick do agendador), registra
+ *    uma única linha de resumo no trace (categoria events)
+ * 3. Se algum plugin escuta {@link FakePlayersJoinQuitEvent}, dispara o evento uma
+ *    única vez com todo o lote; sem ouvintes, nenhuma lista é criada
+ *
+ * Usado apenas na thread principal.
+ *
+ * @see FakePlayersJoinQuitEvent
+ * @since 0.2.0
+ */
+public final class JoinQuitCoalescer implements BotRegistryListener, Runnable {
+
+    private final FakePlayersPlugin plugin;
+    private final Batch joined = new Batch();
+    private final Batch quit = new Batch();
+
+    /**
+     * Cria o agrupador. Deve ser registrado no registro e como tarefa de fim de tick.
+     *
+     * @param plugin Instância principal do plugin
+     */
+    public JoinQuitCoalescer(FakePlayersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry registry, int id) {
+        joined.add(registry, id);
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry registry, int id) {
+        quit.add(registry, id);
+    }
+
+    /**
+     * Envia o lote do tick, se houver entradas ou saídas.
+     */
+    @Override
+    public void run() {
+        if (joined.size == 0 && quit.size == 0) {
+            return;
+        }
+        long tick = plugin.getBotScheduler().getTick();
+        plugin.getTrace().trace(TraceCategory.EVENTS, "Tick {}: {} bots entraram, {} saíram",
+            tick, Integer.valueOf(joined.size), Integer.valueOf(quit.size));
+
+        if (FakePlayersJoinQuitEvent.getHandlerList().getRegisteredListeners().length > 0) {
+            plugin.getServer().getPluginManager().callEvent(
+                new FakePlayersJoinQuitEvent(tick, joined.toList(), quit.toList()));
+        }
+        joined.clear();
+        quit.clear();
+    }
+
+    /**
+     * Bots pendentes de um tipo (entradas ou saídas), em arrays paralelos.
+     */
+    private static final class Batch {
+        private long[] most = new long[64];
+        private long[] least = new long[64];
+        private String[] names = new String[64];
+        private int size;
+
+        void add(FakePlayerRegistry registry, int id) {
+            if (size == most.length) {
+                int capacity = size * 2;
+                most = Arrays.copyOf(most, capacity);
+                least = Arrays.copyOf(least, capacity);
+                names = Arrays.copyOf(names, capacity);
+            }
+            most[size] = registry.getUuidMost(id);
+            least[size] = registry.getUuidLeast(id);
+            names[size] = registry.getName(id);
+            size++;
+        }
+
+        List<FakePlayersJoinQuitEvent.Bot> toList() {
+            List<FakePlayersJoinQuitEvent.Bot> bots = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                bots.add(new FakePlayersJoinQuitEvent.Bot(new UUID(most[i], least[i]), names[i]));
+            }
+            return bots;
+        }
+
+        void clear() {
+            // Solta os nomes para não segurar strings de bots já removidos
+            Arrays.fill(names, 0, size, null);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package app.adriano.fakeplayers.listeners;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.names.NameIndex;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Listener que mantém os nomes dos jogadores reais no {@link NameIndex}.
+ *
+ * Assim o gerador de nomes nunca usa o nome de alguém online. Os nomes dos bots
+ * entram no índice pelo registro, então eventos de bots são ignorados.
+ *
+ * @see NameIndex
+ * @since 0.2.0
+ */
+public class PlayerNameListener extends BaseListener {
+
+    private final NameIndex index;
+
+    /**
+     * Construtor do listener. Adiciona ao índice os jogadores já online.
+     *
+     * @param plugin Instância principal do plugin
+     * @param index Nomes em uso
+     */
+    public PlayerNameListener(FakePlayersPlugin plugin, NameIndex index) {
+        super(plugin);
+        this.index = index;
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            if (!isBot(player)) {
+                index.add(player.getName());
+            }
+        }
+    }
+
+    /**
+     * Marca o nome do jogador que entrou como em uso.
+     *
+     * @param event O evento de jogador entrar
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        runOnBotThread(() -> {
+            if (!isBot(player)) {
+                index.add(player.getName());
+            }
+        });
+    }
+
+    /**
+     * Libera o nome do jogador que saiu.
+     *
+     * @param event O evento de jogador sair
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        runOnBotThread(() -> {
+            if (!isBot(player)) {
+                index.remove(player.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,203 @@
+package app.adriano.fakeplayers.listeners;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.config.ConfigManager;
+import app.adriano.fakeplayers.text.MessageTemplate;
+import app.adriano.fakeplayers.text.Placeholder;
+import com.destroystokyo.paper.event.server.PaperServerListPingEvent;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Listener que inclui os bots na lista de servidores (quantidade de jogadores, amostra de nomes e MOTD).
+ *
+ * Funcionamento:
+ * 1. A resposta é um {@link Snapshot} imutável, montado na thread principal
+ * 2. O snapshot é remontado no fim do tick quando bots ou jogadores entram ou saem
+ *    (no máximo uma vez por tick) e a cada {@code general.update-interval}
+ * 3. O ping, que chega fora da thread principal, só lê o snapshot de um
+ *    {@link AtomicReference} e o copia para o evento; nada é calculado por ping
+ *
+ * Assim, uma enxurrada de pings (ou scanners) não custa nada para o tick.
+ *
+ * @see PaperServerListPingEvent
+ * @since 0.2.0
+ */
+public class ServerListListener extends BaseListener implements BotRegistryListener, Runnable {
+
+    /**
+     * Resposta pronta para a lista de servidores.
+     *
+     * @param online Jogadores online, incluindo os bots
+     * @param max Máximo de jogadores exibido
+     * @param sample Amostra de nomes (lista imutável)
+     * @param motd MOTD, ou null para manter o do servidor
+     */
+    public record Snapshot(int online, int max, List<PaperServerListPingEvent.ListedPlayerInfo> sample,
+                           Component motd) {
+    }
+
+    private final FakePlayerRegistry registry;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private boolean dirty = true;
+    private int sampleSize;
+    private int maxPlayers;
+    private MessageTemplate motd;
+
+    /**
+     * Construtor do listener. Deve ser registrado no registro, como tarefa de fim de tick
+     * e como tarefa periódica ({@link #rebuild()}).
+     *
+     * @param plugin Instância principal do plugin
+     * @param registry Registro de bots
+     */
+    public ServerListListener(FakePlayersPlugin plugin, FakePlayerRegistry registry) {
+        super(plugin);
+        this.registry = registry;
+        loadSettings();
+    }
+
+    /**
+     * Lê as configurações da seção {@code server-list} e remonta o snapshot no próximo tick.
+     */
+    public void loadSettings() {
+        ConfigManager config = plugin.getConfigManager();
+        sampleSize = Math.max(0, config.getInt("server-list.sample-size", 12));
+        maxPlayers = config.getInt("server-list.max-players", 0);
+        String motdSource = config.getString("server-list.motd", "");
+        motd = motdSource.isEmpty() ? null : MessageTemplate.compile(motdSource);
+        dirty = true;
+    }
+
+    /**
+     * Entrega o snapshot atual ao ping.
+     *
+     * @param event O evento de ping da lista de servidores
+     */
+    @EventHandler
+    public void onServerListPing(PaperServerListPingEvent event) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+        event.setNumPlayers(current.online());
+        event.setMaxPlayers(current.max());
+        if (!event.shouldHidePlayers()) {
+            List<PaperServerListPingEvent.ListedPlayerInfo> listed = event.getListedPlayers();
+            listed.clear();
+            listed.addAll(current.sample());
+        }
+        if (current.motd() != null) {
+            event.motd(current.motd());
+        }
+    }
+
+    /**
+     * Marca o snapshot para ser remontado quando um jogador real entrar.
+     *
+     * @param event O evento de jogador entrar
+     */
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        runOnBotThread(this::markDirty);
+    }
+
+    /**
+     * Marca o snapshot para ser remontado quando um jogador real sair.
+     *
+     * @param event O evento de jogador sair
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        runOnBotThread(this::markDirty);
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry source, int id) {
+        dirty = true;
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry source, int id) {
+        dirty = true;
+    }
+
+    @Override
+    public void onRename(FakePlayerRegistry source, int id) {
+        // Só o nome entra na amostra; mudanças de flags não alteram o snapshot
+        dirty = true;
+    }
+
+    /**
+     * Remonta o snapshot no fim do tick, se algo mudou.
+     */
+    @Override
+    public void run() {
+        if (dirty) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Remonta o snapshot. Deve ser chamado na thread principal.
+     */
+    public void rebuild() {
+        dirty = false;
+        List<Player> players = new ArrayList<>(plugin.getServer().getOnlinePlayers());
+        int bots = registry.size();
+        int online = players.size() + bots;
+        int max = maxPlayers > 0 ? maxPlayers : Math.max(plugin.getServer().getMaxPlayers(), online);
+
+        int count = Math.min(sampleSize, online);
+        List<PaperServerListPingEvent.ListedPlayerInfo> sample = new ArrayList<>(count);
+        int[] picked = new int[count];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            int index;
+            do {
+                index = random.nextInt(online);
+            } while (contains(picked, i, index));
+            picked[i] = index;
+            if (index < players.size()) {
+                Player player = players.get(index);
+                sample.add(new PaperServerListPingEvent.ListedPlayerInfo(player.getName(), player.getUniqueId()));
+            } else {
+                int id = registry.idAt(index - players.size());
+                sample.add(new PaperServerListPingEvent.ListedPlayerInfo(registry.getName(id), registry.getUniqueId(id)));
+            }
+        }
+
+        Component renderedMotd = motd == null ? null : motd.render(Placeholder.COUNT, (long) online);
+        snapshot.set(new Snapshot(online, max, List.copyOf(sample), renderedMotd));
+    }
+
+    /**
+     * @return Snapshot atual, ou null se ainda não foi montado
+     */
+    public Snapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    private void markDirty() {
+        dirty = true;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
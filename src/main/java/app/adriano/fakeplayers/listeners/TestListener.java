@@ -1,6 +1,7 @@
 package app.adriano.fakeplayers.listeners;
 
 import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.logging.TraceCategory;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.player.PlayerJoinEvent;
 
@@ -23,11 +24,16 @@ public class TestListener extends BaseListener {
 
     /**
      * Manipula o evento de jogador entrar no servidor.
+     * A mensagem vai para o trace (categoria events), sem custo quando desativada.
+     * Entradas de bots são resumidas pelo {@link JoinQuitCoalescer}, não aqui.
      * 
      * @param event O evento de jogador entrar
      */
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        plugin.getLogger().info("Jogador " + event.getPlayer().getName() + " entrou no servidor!");
+        if (isBot(event.getPlayer())) {
+            return;
+        }
+        plugin.getTrace().trace(TraceCategory.EVENTS, "Jogador {} entrou no servidor!", event.getPlayer().getName());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,208 @@
+package app.adriano.fakeplayers.listeners;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.scheduler.PlatformScheduler;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cópia do mundo e da posição dos jogadores reais, para quem roda na thread dos bots.
+ *
+ * No Folia, o mundo e a posição de um jogador só podem ser lidos na thread da região dele,
+ * mas o renderizador e os níveis de detalhe rodam na região global. Por isso cada jogador tem
+ * uma tarefa na própria thread ({@link PlatformScheduler#runTimer(org.bukkit.entity.Entity, Runnable, long, long)})
+ * que copia mundo, posição e distância de visão a cada tick para um {@link Viewer}, lido sem travas
+ * pela thread dos bots.
+ * No Paper a tarefa roda na thread principal, como todo o resto.
+ *
+ * Os bots em modo pacote não disparam eventos de entrada, então só jogadores reais são acompanhados.
+ *
+ * @since 0.2.0
+ */
+public class ViewerTracker extends BaseListener {
+
+    /**
+     * Último estado conhecido de um jogador real.
+     */
+    public static final class Viewer {
+
+        private final Player player;
+        private PlatformScheduler.Task task;
+        private volatile UUID worldId;
+        private volatile double x;
+        private volatile double y;
+        private volatile double z;
+        private volatile int viewDistance;
+
+        private Viewer(Player player) {
+            this.player = player;
+        }
+
+        /**
+         * Copia o estado do jogador. Deve rodar na thread dona do jogador.
+         */
+        private void refresh() {
+            Location location = player.getLocation();
+            x = location.getX();
+            y = location.getY();
+            z = location.getZ();
+            viewDistance = player.getViewDistance();
+            worldId = location.getWorld().getUID();
+        }
+
+        /**
+         * @return Jogador, usado apenas para enviar pacotes
+         */
+        public Player player() {
+            return player;
+        }
+
+        /**
+         * @return UUID do mundo do jogador, ou null antes da primeira cópia
+         */
+        public UUID worldId() {
+            return worldId;
+        }
+
+        /**
+         * @return Coordenada X do jogador
+         */
+        public double x() {
+            return x;
+        }
+
+        /**
+         * @return Coordenada Y do jogador
+         */
+        public double y() {
+            return y;
+        }
+
+        /**
+         * @return Coordenada Z do jogador
+         */
+        public double z() {
+            return z;
+        }
+
+        /**
+         * @return Distância de visão do jogador em chunks, ou 0 antes da primeira cópia
+         */
+        public int viewDistance() {
+            return viewDistance;
+        }
+    }
+
+    private final Map<UUID, Viewer> viewers = new ConcurrentHashMap<>();
+    private final Collection<Viewer> view = Collections.unmodifiableCollection(viewers.values());
+
+    /**
+     * Construtor do listener.
+     *
+     * @param plugin Instância principal do plugin
+     */
+    public ViewerTracker(FakePlayersPlugin plugin) {
+        super(plugin);
+    }
+
+    /**
+     * Registra o listener e passa a acompanhar os jogadores já online (em um reload).
+     */
+    @Override
+    public void register() {
+        super.register();
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            track(player, false);
+        }
+    }
+
+    /**
+     * Para de acompanhar todos os jogadores e desregistra o listener.
+     */
+    @Override
+    public void unregister() {
+        super.unregister();
+        for (Viewer viewer : viewers.values()) {
+            viewer.task.cancel();
+        }
+        viewers.clear();
+    }
+
+    /**
+     * @return Jogadores acompanhados; a coleção reflete entradas e saídas
+     */
+    public Collection<Viewer> getViewers() {
+        return view;
+    }
+
+    /**
+     * @param player Jogador
+     * @return Estado do jogador, ou null se ele não é acompanhado
+     */
+    public Viewer get(Player player) {
+        return viewers.get(player.getUniqueId());
+    }
+
+    /**
+     * Começa a acompanhar o jogador que entrou. Roda antes dos listeners que agendam
+     * a sincronização dos bots, para que ela já encontre o estado do jogador.
+     *
+     * @param event O evento de jogador entrar
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        track(event.getPlayer(), true);
+    }
+
+    /**
+     * Atualiza o mundo do jogador na hora, sem esperar a próxima cópia.
+     *
+     * @param event O evento de troca de mundo
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        Viewer viewer = viewers.get(event.getPlayer().getUniqueId());
+        if (viewer != null) {
+            viewer.refresh();
+        }
+    }
+
+    /**
+     * Para de acompanhar o jogador que saiu.
+     *
+     * @param event O evento de jogador sair
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Viewer viewer = viewers.remove(event.getPlayer().getUniqueId());
+        if (viewer != null) {
+            viewer.task.cancel();
+        }
+    }
+
+    /**
+     * @param onOwnerThread Se a chamada já está na thread do jogador (eventos) e pode copiar o estado na hora
+     */
+    private void track(Player player, boolean onOwnerThread) {
+        Viewer viewer = new Viewer(player);
+        if (onOwnerThread) {
+            viewer.refresh();
+        }
+        viewer.task = plugin.getPlatformScheduler().runTimer(player, viewer::refresh, 1L, 1L);
+        Viewer previous = viewers.put(player.getUniqueId(), viewer);
+        if (previous != null) {
+            previous.task.cancel();
+        }
+    }
+}
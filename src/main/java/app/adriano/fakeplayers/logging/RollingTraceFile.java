@@ -0,0 +1,86 @@
+package app.adriano.fakeplayers.logging;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Arquivo de trace com rotação por tamanho.
+ *
+ * Ao passar de {@code maxBytes}, o arquivo atual vira {@code trace.log.1}, o
+ * {@code .1} vira {@code .2} e assim por diante, mantendo no máximo
+ * {@code maxFiles} arquivos antigos.
+ *
+ * Usado apenas pela thread de escrita do {@link TraceLogger}.
+ */
+final class RollingTraceFile {
+
+    private final File file;
+    private final long maxBytes;
+    private final int maxFiles;
+    private Writer writer;
+    private long written;
+
+    RollingTraceFile(File file, long maxBytes, int maxFiles) {
+        this.file = file;
+        this.maxBytes = Math.max(1024L, maxBytes);
+        this.maxFiles = Math.max(0, maxFiles);
+    }
+
+    void write(String line) throws IOException {
+        if (writer == null) {
+            open();
+        }
+        writer.write(line);
+        writer.write('\n');
+        // Aproximação em caracteres; suficiente para decidir a rotação
+        written += line.length() + 1;
+        if (written >= maxBytes) {
+            roll();
+        }
+    }
+
+    void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void open() throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        writer = new BufferedWriter(new OutputStreamWriter(
+            new FileOutputStream(file, true), StandardCharsets.UTF_8), 64 * 1024);
+        written = file.length();
+    }
+
+    private void roll() throws IOException {
+        close();
+        if (maxFiles == 0) {
+            file.delete();
+        } else {
+            new File(file.getPath() + "." + maxFiles).delete();
+            for (int i = maxFiles - 1; i >= 1; i--) {
+                File older = new File(file.getPath() + "." + i);
+                if (older.exists()) {
+                    older.renameTo(new File(file.getPath() + "." + (i + 1)));
+                }
+            }
+            file.renameTo(new File(file.getPath() + ".1"));
+        }
+        open();
+    }
+}
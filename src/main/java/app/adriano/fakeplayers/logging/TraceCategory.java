@@ -0,0 +1,53 @@
+package app.adriano.fakeplayers.logging;
+
+/**
+ * Categorias de trace, ativadas individualmente em {@code trace.categories} no config.yml.
+ *
+ * @see TraceLogger
+ * @since 0.2.0
+ */
+public enum TraceCategory {
+    /** Inicialização e desligamento do plugin. */
+    GENERAL("general"),
+    /** Carregamento e recarregamento do config.yml. */
+    CONFIG("config"),
+    /** Execução de comandos. */
+    COMMANDS("commands"),
+    /** Eventos do servidor recebidos pelos listeners. */
+    EVENTS("events"),
+    /** Ciclo de vida dos bots: criação e remoção. */
+    BOTS("bots"),
+    /** Decisões de comportamento dos bots. */
+    AI("ai"),
+    /** Busca de caminhos. */
+    PATHFINDING("pathfinding"),
+    /** Persistência dos bots. */
+    PERSISTENCE("persistence"),
+    /** Cache e busca de skins. */
+    SKINS("skins");
+
+    /** Máscara com todas as categorias ativas. */
+    public static final int ALL = (1 << values().length) - 1;
+
+    private final String key;
+    private final int bit;
+
+    TraceCategory(String key) {
+        this.key = key;
+        this.bit = 1 << ordinal();
+    }
+
+    /**
+     * @return Nome da categoria no config.yml
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return Bit da categoria na máscara de categorias ativas
+     */
+    public int bit() {
+        return bit;
+    }
+}
@@ -0,0 +1,384 @@
+package app.adriano.fakeplayers.logging;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Trace assíncrono do plugin, por categoria.
+ *
+ * Quem registra um trace não formata nem escreve nada: o formato e os
+ * argumentos vão para um buffer circular pré-alocado e uma thread própria
+ * monta as linhas e as escreve no log do plugin ou em um arquivo com rotação.
+ *
+ * Custo na thread que registra:
+ * 1. Categoria desativada: uma leitura de campo e um teste de bit
+ * 2. Categoria ativa: um compare-and-set e a cópia das referências para o buffer,
+ *    sem locks, sem formatação e sem alocação (argumentos {@code long} não viram objetos)
+ * 3. Buffer cheio: o trace é descartado e contado, a thread nunca espera
+ *
+ * Exemplo de uso:
+ * ```java
+ * TraceLogger trace = plugin.getTrace();
+ * trace.trace(TraceCategory.BOTS, "Bot {} criado com id {}", name, id);
+ *
+ * // Mensagens caras de montar
+ * trace.trace(TraceCategory.AI, () -> describe(botId));
+ * ```
+ *
+ * Os argumentos são convertidos em texto depois, na thread de escrita, por
+ * isso devem ser imutáveis (strings, números, UUIDs) ou arrays que não serão
+ * mais alterados.
+ *
+ * Exemplo de configuração:
+ * ```yaml
+ * trace:
+ *   output: file
+ *   categories:
+ *     bots: true
+ *     commands: true
+ * ```
+ *
+ * @see TraceCategory
+ * @since 0.2.0
+ */
+public final class TraceLogger {
+
+    private static final long IDLE_PARK_NANOS = 5_000_000L;
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    /**
+     * Posição do buffer circular, reutilizada a cada volta.
+     * {@code sequence} é escrito por último e publica os demais campos.
+     */
+    private static final class Entry {
+        volatile long sequence;
+        long timeMillis;
+        TraceCategory category;
+        String thread;
+        String format;
+        Supplier<String> supplier;
+        Object arg1;
+        Object arg2;
+        Object arg3;
+        long number;
+        int numberSlot;
+    }
+
+    private final FakePlayersPlugin plugin;
+    private final Entry[] ring;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final RollingTraceFile file;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private volatile long tail;
+    private volatile int enabledMask;
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * Cria o trace lendo as configurações de {@code trace.*}.
+     * As categorias ativas acompanham os recarregamentos do config.yml.
+     *
+     * @param plugin Instância principal do plugin
+     */
+    public TraceLogger(FakePlayersPlugin plugin) {
+        this.plugin = plugin;
+        var config = plugin.getConfigManager();
+        int capacity = Integer.highestOneBit(Math.max(64, config.getInt("trace.buffer-size", 8192) - 1) << 1);
+        this.ring = new Entry[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new Entry();
+        }
+        this.mask = capacity - 1;
+
+        if ("file".equalsIgnoreCase(config.getString("trace.output", "logger"))) {
+            this.file = new RollingTraceFile(
+                new File(plugin.getDataFolder(), config.getString("trace.file", "logs/trace.log")),
+                config.getLong("trace.max-file-size-kb", 10240) * 1024L,
+                config.getInt("trace.max-files", 3));
+        } else {
+            this.file = null;
+        }
+
+        this.enabledMask = config.getSnapshot().traceCategories();
+        config.addReloadListener(snapshot -> enabledMask = snapshot.traceCategories());
+    }
+
+    /**
+     * Inicia a thread de escrita.
+     */
+    public void start() {
+        if (writer != null) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "FakePlayers-Trace");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Escreve o que ainda está no buffer e para a thread de escrita.
+     */
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(2000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Erro ao fechar o arquivo de trace", e);
+            }
+        }
+    }
+
+    /**
+     * Verifica se uma categoria está ativa.
+     * Use antes de calcular argumentos caros.
+     *
+     * @param category Categoria do trace
+     * @return true se a categoria está ativa
+     */
+    public boolean isEnabled(TraceCategory category) {
+        return (enabledMask & category.bit()) != 0;
+    }
+
+    /**
+     * Registra uma mensagem fixa.
+     *
+     * @param category Categoria do trace
+     * @param message Mensagem
+     */
+    public void trace(TraceCategory category, String message) {
+        if (isEnabled(category)) {
+            publish(category, message, null, null, null, null, 0L, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com um argumento ({@code {}} no formato).
+     *
+     * @param category Categoria do trace
+     * @param format Formato da mensagem
+     * @param arg Argumento
+     */
+    public void trace(TraceCategory category, String format, Object arg) {
+        if (isEnabled(category)) {
+            publish(category, format, null, arg, null, null, 0L, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com um argumento numérico, sem convertê-lo em objeto.
+     *
+     * @param category Categoria do trace
+     * @param format Formato da mensagem
+     * @param number Argumento
+     */
+    public void trace(TraceCategory category, String format, long number) {
+        if (isEnabled(category)) {
+            publish(category, format, null, null, null, null, number, 1);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com dois argumentos.
+     *
+     * @param category Categoria do trace
+     * @param format Formato da mensagem
+     * @param arg1 Primeiro argumento
+     * @param arg2 Segundo argumento
+     */
+    public void trace(TraceCategory category, String format, Object arg1, Object arg2) {
+        if (isEnabled(category)) {
+            publish(category, format, null, arg1, arg2, null, 0L, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com um argumento e um argumento numérico, nesta ordem.
+     *
+     * @param category Categoria do trace
+     * @param format Formato da mensagem
+     * @param arg Primeiro argumento
+     * @param number Segundo argumento
+     */
+    public void trace(TraceCategory category, String format, Object arg, long number) {
+        if (isEnabled(category)) {
+            publish(category, format, null, arg, null, null, number, 2);
+        }
+    }
+
+    /**
+     * Registra uma mensagem com três argumentos.
+     *
+     * @param category Categoria do trace
+     * @param format Formato da mensagem
+     * @param arg1 Primeiro argumento
+     * @param arg2 Segundo argumento
+     * @param arg3 Terceiro argumento
+     */
+    public void trace(TraceCategory category, String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(category)) {
+            publish(category, format, null, arg1, arg2, arg3, 0L, 0);
+        }
+    }
+
+    /**
+     * Registra uma mensagem montada apenas na thread de escrita.
+     *
+     * @param category Categoria do trace
+     * @param message Fornecedor da mensagem
+     */
+    public void trace(TraceCategory category, Supplier<String> message) {
+        if (isEnabled(category)) {
+            publish(category, null, message, null, null, null, 0L, 0);
+        }
+    }
+
+    /**
+     * @return Quantidade de traces descartados por buffer cheio
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void publish(TraceCategory category, String format, Supplier<String> supplier,
+                         Object arg1, Object arg2, Object arg3, long number, int numberSlot) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail >= ring.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        Entry entry = ring[(int) sequence & mask];
+        entry.timeMillis = System.currentTimeMillis();
+        entry.category = category;
+        entry.thread = Thread.currentThread().getName();
+        entry.format = format;
+        entry.supplier = supplier;
+        entry.arg1 = arg1;
+        entry.arg2 = arg2;
+        entry.arg3 = arg3;
+        entry.number = number;
+        entry.numberSlot = numberSlot;
+        entry.sequence = sequence + 1;
+    }
+
+    /**
+     * Laço da thread de escrita.
+     */
+    private void drainLoop() {
+        while (true) {
+            long position = tail;
+            Entry entry = ring[(int) position & mask];
+            if (entry.sequence != position + 1) {
+                flushFile();
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            String message = render(entry);
+            TraceCategory category = entry.category;
+            long time = entry.timeMillis;
+            String thread = entry.thread;
+            entry.format = null;
+            entry.supplier = null;
+            entry.arg1 = null;
+            entry.arg2 = null;
+            entry.arg3 = null;
+            tail = position + 1;
+            write(time, category, thread, message);
+        }
+    }
+
+    private String render(Entry entry) {
+        if (entry.supplier != null) {
+            try {
+                return entry.supplier.get();
+            } catch (RuntimeException e) {
+                return "<erro ao montar mensagem: " + e + ">";
+            }
+        }
+        String format = entry.format;
+        line.setLength(0);
+        int slot = 0;
+        int start = 0;
+        int index;
+        while ((index = format.indexOf("{}", start)) >= 0) {
+            line.append(format, start, index);
+            slot++;
+            if (slot == entry.numberSlot) {
+                line.append(entry.number);
+            } else {
+                appendValue(slot == 1 ? entry.arg1 : slot == 2 ? entry.arg2 : slot == 3 ? entry.arg3 : "{}");
+            }
+            start = index + 2;
+        }
+        line.append(format, start, format.length());
+        return line.toString();
+    }
+
+    private void appendValue(Object value) {
+        if (value instanceof Object[] array) {
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    line.append(' ');
+                }
+                line.append(array[i]);
+            }
+        } else {
+            line.append(value);
+        }
+    }
+
+    private void write(long time, TraceCategory category, String thread, String message) {
+        if (file == null) {
+            plugin.getLogger().info("[TRACE/" + category.name() + "] " + message);
+            return;
+        }
+        try {
+            file.write(TIME_FORMAT.format(Instant.ofEpochMilli(time))
+                + " [" + category.name() + "] [" + thread + "] " + message);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Erro ao escrever o arquivo de trace", e);
+        }
+    }
+
+    private void flushFile() {
+        if (file != null) {
+            try {
+                file.flush();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Erro ao escrever o arquivo de trace", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package app.adriano.fakeplayers.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências com memória fixa.
+ *
+ * Os valores (em nanossegundos) são contados em baldes log-lineares: cada
+ * potência de dois é dividida em 8 baldes, o que limita o erro dos percentis
+ * a cerca de 12,5% e cobre de 1ns a dezenas de anos com apenas 496 contadores.
+ *
+ * Funcionalidades:
+ * 1. Registro em O(1), sem alocação e sem locks, de qualquer thread
+ * 2. Percentis (p50, p99, ...), máximo exato e média
+ * 3. Zerado sob demanda com {@link #reset()}
+ *
+ * Exemplo de uso:
+ * ```java
+ * long start = System.nanoTime();
+ * // ...
+ * histogram.record(System.nanoTime() - start);
+ * double p99Millis = histogram.percentile(0.99) / 1_000_000.0;
+ * ```
+ *
+ * @since 0.2.0
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Registra um valor.
+     *
+     * @param nanos Valor em nanossegundos (negativos contam como zero)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return Quantidade de valores registrados
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return Soma dos valores registrados, em nanossegundos
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return Maior valor registrado, em nanossegundos
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @return Média dos valores, em nanossegundos
+     */
+    public double mean() {
+        long total = count.sum();
+        return total == 0 ? 0.0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * Calcula um percentil.
+     *
+     * @param quantile Percentil entre 0 e 1 (ex: 0.99)
+     * @return Valor aproximado do percentil, em nanossegundos
+     */
+    public long percentile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long target = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(middleOf(i), max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Zera o histograma.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long middleOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        long width = 1L << (magnitude - SUB_BUCKET_BITS);
+        return ((long) (SUB_BUCKETS + sub) << (magnitude - SUB_BUCKET_BITS)) + width / 2;
+    }
+}
@@ -0,0 +1,311 @@
+package app.adriano.fakeplayers.metrics;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registro de métricas no formato de texto do Prometheus/OpenMetrics.
+ *
+ * As métricas são registradas uma vez, ao habilitar o plugin, e atualizadas
+ * sem locks por quem as produz:
+ * 1. {@link Counter} - contador crescente ({@link LongAdder}), de qualquer thread
+ * 2. {@link Gauge} - valor publicado com uma escrita atômica, em geral pela thread principal
+ * 3. Leitura direta de uma fonte thread-safe ({@link DoubleSupplier})
+ * 4. Resumo (summary) de um {@link LatencyHistogram}, com p50, p90, p99, soma e contagem em segundos
+ *
+ * {@link #write(StringBuilder)} apenas lê esses valores, então a coleta pode
+ * rodar em qualquer thread sem tocar na thread principal.
+ *
+ * Exemplo de uso:
+ * ```java
+ * Counter spawns = metrics.counter("fakeplayers_bot_spawns_total", "Bots criados", "mode", "packet");
+ * spawns.increment();
+ *
+ * Gauge tps = metrics.gauge("fakeplayers_tps", "TPS dos últimos 5 segundos");
+ * tps.set(19.98);
+ * ```
+ *
+ * @see MetricsExporter
+ * @since 0.2.0
+ */
+public final class MetricRegistry {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    /**
+     * Tipo de uma família de métricas.
+     */
+    public enum Type {
+        COUNTER,
+        GAUGE,
+        SUMMARY;
+
+        String exposition() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final List<Family> families = new CopyOnWriteArrayList<>();
+    private final Map<String, Family> byName = new ConcurrentHashMap<>();
+
+    /**
+     * Registra um contador.
+     *
+     * @param name Nome da métrica, terminado em {@code _total}
+     * @param help Descrição da métrica
+     * @param labels Pares de nome e valor dos rótulos
+     * @return Contador registrado
+     */
+    public Counter counter(String name, String help, String... labels) {
+        Counter counter = new Counter();
+        family(name, help, Type.COUNTER).add(labels(labels), counter::get);
+        return counter;
+    }
+
+    /**
+     * Registra um gauge, publicado com {@link Gauge#set}.
+     *
+     * @param name Nome da métrica
+     * @param help Descrição da métrica
+     * @param labels Pares de nome e valor dos rótulos
+     * @return Gauge registrado
+     */
+    public Gauge gauge(String name, String help, String... labels) {
+        return value(name, help, Type.GAUGE, labels);
+    }
+
+    /**
+     * Registra um valor publicado com {@link Gauge#set}, do tipo informado.
+     * Usado para contadores mantidos por código da thread principal, que são
+     * copiados periodicamente para o registro.
+     *
+     * @param name Nome da métrica
+     * @param help Descrição da métrica
+     * @param type {@link Type#COUNTER} ou {@link Type#GAUGE}
+     * @param labels Pares de nome e valor dos rótulos
+     * @return Valor registrado
+     */
+    public Gauge value(String name, String help, Type type, String... labels) {
+        if (type == Type.SUMMARY) {
+            throw new IllegalArgumentException("Use summary() para resumos");
+        }
+        Gauge gauge = new Gauge();
+        family(name, help, type).add(labels(labels), gauge::get);
+        return gauge;
+    }
+
+    /**
+     * Registra uma métrica lida diretamente de uma fonte a cada coleta.
+     * A fonte roda na thread da coleta e deve ser thread-safe.
+     *
+     * @param name Nome da métrica
+     * @param help Descrição da métrica
+     * @param type {@link Type#COUNTER} ou {@link Type#GAUGE}
+     * @param source Fonte do valor
+     * @param labels Pares de nome e valor dos rótulos
+     */
+    public void source(String name, String help, Type type, DoubleSupplier source, String... labels) {
+        if (type == Type.SUMMARY) {
+            throw new IllegalArgumentException("Use summary() para resumos");
+        }
+        family(name, help, type).add(labels(labels), source);
+    }
+
+    /**
+     * Registra o resumo de um histograma de latências, exposto em segundos.
+     *
+     * @param name Nome da métrica, terminado em {@code _seconds}
+     * @param help Descrição da métrica
+     * @param histogram Histograma de origem, em nanossegundos
+     * @param labels Pares de nome e valor dos rótulos
+     */
+    public void summary(String name, String help, LatencyHistogram histogram, String... labels) {
+        family(name, help, Type.SUMMARY).add(labels(labels), histogram);
+    }
+
+    /**
+     * Escreve todas as métricas no formato de texto do Prometheus (versão 0.0.4).
+     *
+     * @param out Destino do texto
+     */
+    public void write(StringBuilder out) {
+        for (Family family : families) {
+            family.write(out);
+        }
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = byName.computeIfAbsent(name, key -> {
+            Family created = new Family(key, help, type);
+            families.add(created);
+            return created;
+        });
+        if (family.type != type) {
+            throw new IllegalArgumentException("Métrica " + name + " já registrada como " + family.type);
+        }
+        return family;
+    }
+
+    /**
+     * Monta o trecho {@code {nome="valor",...}} dos rótulos.
+     */
+    private static String labels(String[] pairs) {
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Rótulos devem ser pares de nome e valor");
+        }
+        if (pairs.length == 0) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(pairs[i]).append("=\"");
+            String value = pairs[i + 1];
+            for (int c = 0; c < value.length(); c++) {
+                char ch = value.charAt(c);
+                switch (ch) {
+                    case '\\' -> builder.append("\\\\");
+                    case '"' -> builder.append("\\\"");
+                    case '\n' -> builder.append("\\n");
+                    default -> builder.append(ch);
+                }
+            }
+            builder.append('"');
+        }
+        return builder.append('}').toString();
+    }
+
+    private static void appendNumber(StringBuilder out, double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+    }
+
+    /**
+     * Família de séries com o mesmo nome, tipo e descrição.
+     */
+    private static final class Family {
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final List<Series> series = new CopyOnWriteArrayList<>();
+
+        Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+
+        void add(String labelText, DoubleSupplier source) {
+            series.add(new Series(labelText, source));
+        }
+
+        void add(String labelText, LatencyHistogram histogram) {
+            series.add(new Series(labelText, histogram));
+        }
+
+        void write(StringBuilder out) {
+            out.append("# HELP ").append(name).append(' ')
+                .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(type.exposition()).append('\n');
+            for (Series entry : series) {
+                if (entry.source() instanceof LatencyHistogram histogram) {
+                    writeSummary(out, entry.labels(), histogram);
+                } else {
+                    out.append(name).append(entry.labels()).append(' ');
+                    appendNumber(out, ((DoubleSupplier) entry.source()).getAsDouble());
+                    out.append('\n');
+                }
+            }
+        }
+
+        private void writeSummary(StringBuilder out, String labelText, LatencyHistogram histogram) {
+            String prefix = labelText.isEmpty() ? "{" : labelText.substring(0, labelText.length() - 1) + ",";
+            for (double quantile : QUANTILES) {
+                out.append(name).append(prefix).append("quantile=\"").append(quantile).append("\"} ");
+                appendNumber(out, histogram.percentile(quantile) / 1e9);
+                out.append('\n');
+            }
+            out.append(name).append("_sum").append(labelText).append(' ');
+            appendNumber(out, histogram.sum() / 1e9);
+            out.append('\n');
+            out.append(name).append("_count").append(labelText).append(' ').append(histogram.count()).append('\n');
+        }
+    }
+
+    /**
+     * Série de uma família: rótulos já formatados e a fonte do valor
+     * ({@link DoubleSupplier} ou {@link LatencyHistogram}).
+     */
+    private record Series(String labels, Object source) {
+    }
+
+    /**
+     * Contador crescente, incrementado de qualquer thread.
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        private Counter() {
+        }
+
+        /**
+         * Soma um ao contador.
+         */
+        public void increment() {
+            value.increment();
+        }
+
+        /**
+         * Soma um valor ao contador.
+         *
+         * @param amount Valor a somar (não negativo)
+         */
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        /**
+         * @return Valor atual
+         */
+        public double get() {
+            return value.sum();
+        }
+    }
+
+    /**
+     * Valor publicado com uma escrita atômica e lido pela coleta.
+     */
+    public static final class Gauge {
+        private final AtomicLong bits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+
+        private Gauge() {
+        }
+
+        /**
+         * Publica um novo valor.
+         *
+         * @param value Valor atual
+         */
+        public void set(double value) {
+            bits.lazySet(Double.doubleToRawLongBits(value));
+        }
+
+        /**
+         * @return Último valor publicado
+         */
+        public double get() {
+            return Double.longBitsToDouble(bits.get());
+        }
+    }
+}
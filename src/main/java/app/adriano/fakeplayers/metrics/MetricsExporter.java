@@ -0,0 +1,123 @@
+package app.adriano.fakeplayers.metrics;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Endpoint HTTP que expõe o {@link MetricRegistry} para o Prometheus.
+ *
+ * Usa o servidor HTTP embutido no JDK ({@code com.sun.net.httpserver}), sem
+ * dependências externas, em uma única thread própria. Cada coleta de
+ * {@code GET /metrics} apenas lê o registro, sem tocar na thread principal.
+ *
+ * Exemplo de configuração:
+ * ```yaml
+ * metrics:
+ *   exporter:
+ *     enabled: true
+ *     host: "127.0.0.1"
+ *     port: 9464
+ * ```
+ *
+ * @see PluginMetrics
+ * @since 0.2.0
+ */
+public final class MetricsExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final FakePlayersPlugin plugin;
+    private final MetricRegistry metrics;
+    private final String host;
+    private final int port;
+    private HttpServer server;
+    private ExecutorService executor;
+    // Tamanho da última resposta, para alocar o buffer da próxima de uma vez
+    private volatile int lastSize = 8192;
+
+    /**
+     * Cria o endpoint. Deve ser iniciado com {@link #start()}.
+     *
+     * @param plugin Instância principal do plugin
+     * @param metrics Registro exposto
+     * @param host Endereço local de escuta (ex: {@code 127.0.0.1})
+     * @param port Porta de escuta
+     */
+    public MetricsExporter(FakePlayersPlugin plugin, MetricRegistry metrics, String host, int port) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Abre a porta e começa a responder.
+     *
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "FakePlayers-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+    }
+
+    /**
+     * Fecha a porta e encerra a thread do endpoint.
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            try {
+                StringBuilder out = new StringBuilder(lastSize);
+                metrics.write(out);
+                lastSize = out.length() + 256;
+                body = out.toString().getBytes(StandardCharsets.UTF_8);
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "Erro ao coletar métricas", e);
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+}
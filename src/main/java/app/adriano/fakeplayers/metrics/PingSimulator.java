@@ -0,0 +1,121 @@
+package app.adriano.fakeplayers.metrics;
+
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.scheduler.BotTask;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simula o ping de cada bot.
+ *
+ * Funcionalidades:
+ * 1. Ao ser criado, cada bot recebe um ping base sorteado em uma distribuição
+ *    log-normal ao redor de {@code base-ms}, como uma população real de jogadores
+ * 2. A cada ciclo do {@link app.adriano.fakeplayers.scheduler.BotScheduler} o ping
+ *    varia em torno do valor base ({@code jitter-ms})
+ * 3. Todos os valores sorteados vão para um {@link LatencyHistogram}, exibido no {@code /fp stats},
+ *    e para outro acumulado, nunca zerado, exportado como resumo do Prometheus
+ *
+ * Os valores ficam em um {@code int[]} indexado pelo id do bot, sem objetos por bot.
+ * Spawns e despawns chegam na thread dos bots; {@link #update(int, long)} pode rodar em
+ * várias regiões ao mesmo tempo no Folia, então a soma dos pings é um {@link LongAdder}.
+ *
+ * @see BotTask
+ * @since 0.2.0
+ */
+public final class PingSimulator implements BotRegistryListener, BotTask {
+
+    private final int baseMillis;
+    private final double spread;
+    private final int jitterMillis;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LatencyHistogram total = new LatencyHistogram();
+    private int[] basePings = new int[64];
+    private int[] pings = new int[64];
+    private final LongAdder pingSum = new LongAdder();
+    private int bots;
+
+    /**
+     * Cria o simulador.
+     *
+     * @param baseMillis Ping mediano dos bots em milissegundos
+     * @param spread Variação entre bots (desvio padrão do logaritmo do ping)
+     * @param jitterMillis Variação de cada bot entre um ciclo e outro, em milissegundos
+     */
+    public PingSimulator(int baseMillis, double spread, int jitterMillis) {
+        this.baseMillis = Math.max(1, baseMillis);
+        this.spread = Math.max(0.0, spread);
+        this.jitterMillis = Math.max(0, jitterMillis);
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry registry, int id) {
+        if (id >= pings.length) {
+            int capacity = Math.max(id + 1, pings.length * 2);
+            basePings = Arrays.copyOf(basePings, capacity);
+            pings = Arrays.copyOf(pings, capacity);
+        }
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        int base = (int) Math.max(1, Math.round(baseMillis * Math.exp(spread * gaussian)));
+        basePings[id] = base;
+        pings[id] = base;
+        pingSum.add(base);
+        bots++;
+        histogram.record(base * 1_000_000L);
+        total.record(base * 1_000_000L);
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry registry, int id) {
+        pingSum.add(-pings[id]);
+        pings[id] = 0;
+        bots--;
+    }
+
+    @Override
+    public void update(int botId, long tick) {
+        if (jitterMillis == 0) {
+            return;
+        }
+        int jitter = ThreadLocalRandom.current().nextInt(-jitterMillis, jitterMillis + 1);
+        int ping = Math.max(1, basePings[botId] + jitter);
+        pingSum.add(ping - pings[botId]);
+        pings[botId] = ping;
+        histogram.record(ping * 1_000_000L);
+        total.record(ping * 1_000_000L);
+    }
+
+    /**
+     * Obtém o ping atual de um bot.
+     *
+     * @param id Id do bot
+     * @return Ping em milissegundos, ou 0 se o bot não existir
+     */
+    public int getPing(int id) {
+        return id >= 0 && id < pings.length ? pings[id] : 0;
+    }
+
+    /**
+     * @return Ping médio dos bots atuais em milissegundos
+     */
+    public double getAveragePing() {
+        return bots == 0 ? 0.0 : (double) pingSum.sum() / bots;
+    }
+
+    /**
+     * @return Histograma dos pings sorteados desde o último reset, em nanossegundos
+     */
+    public LatencyHistogram histogram() {
+        return histogram;
+    }
+
+    /**
+     * @return Histograma de todos os pings sorteados, nunca zerado, em nanossegundos
+     */
+    public LatencyHistogram totalHistogram() {
+        return total;
+    }
+}
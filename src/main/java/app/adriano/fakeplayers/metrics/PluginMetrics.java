@@ -0,0 +1,127 @@
+package app.adriano.fakeplayers.metrics;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotMode;
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.metrics.MetricRegistry.Counter;
+import app.adriano.fakeplayers.metrics.MetricRegistry.Gauge;
+import app.adriano.fakeplayers.metrics.MetricRegistry.Type;
+import app.adriano.fakeplayers.scheduler.BotScheduler;
+
+import java.util.Locale;
+
+/**
+ * Liga as partes internas do plugin ao {@link MetricRegistry}.
+ *
+ * Métricas expostas:
+ * 1. Bots atuais, criados e removidos por modo ({@code fakeplayers_bots},
+ *    {@code fakeplayers_bot_spawns_total}, {@code fakeplayers_bot_despawns_total})
+ * 2. Contadores do {@link BotScheduler} e profundidade das filas (trabalhos em massa,
+ *    buscas de caminho, traces descartados)
+ * 3. TPS, MSPT e resumo da duração dos ticks
+ * 4. Resumo de cada {@link Subsystem}, incluindo comandos e recarregamentos do config
+ * 5. Resumo do ping simulado dos bots, se ativo
+ *
+ * Criações e remoções são contadas como ouvinte do {@link FakePlayerRegistry}.
+ * Valores que só podem ser lidos na thread principal são copiados a cada
+ * {@value #SAMPLE_TICKS} ticks por {@link #run()}, registrado como tarefa de fim de tick.
+ *
+ * @see MetricsExporter
+ * @since 0.2.0
+ */
+public final class PluginMetrics implements BotRegistryListener, Runnable {
+
+    /** Intervalo entre as cópias dos valores da thread principal. */
+    public static final int SAMPLE_TICKS = 20;
+
+    private final FakePlayersPlugin plugin;
+    private final Counter[] spawns = new Counter[BotMode.values().length];
+    private final Counter[] despawns = new Counter[BotMode.values().length];
+    private final Gauge budgetOverruns;
+    private final Gauge deferredTicks;
+    private final Gauge pendingBatches;
+    private final Gauge lastTickUpdates;
+    private final Gauge tps;
+    private final Gauge mspt;
+    private int ticks;
+
+    /**
+     * Registra as métricas do plugin.
+     * Deve ser criado depois do agendador, da busca de caminhos e do profiler.
+     *
+     * @param plugin Instância principal do plugin
+     * @param metrics Registro de destino
+     */
+    public PluginMetrics(FakePlayersPlugin plugin, MetricRegistry metrics) {
+        this.plugin = plugin;
+
+        for (BotMode mode : BotMode.values()) {
+            String label = mode.name().toLowerCase(Locale.ROOT);
+            Counter spawned = metrics.counter("fakeplayers_bot_spawns_total", "Bots criados", "mode", label);
+            Counter despawned = metrics.counter("fakeplayers_bot_despawns_total", "Bots removidos", "mode", label);
+            spawns[mode.ordinal()] = spawned;
+            despawns[mode.ordinal()] = despawned;
+            metrics.source("fakeplayers_bots", "Bots atuais", Type.GAUGE,
+                () -> spawned.get() - despawned.get(), "mode", label);
+        }
+
+        budgetOverruns = metrics.value("fakeplayers_scheduler_budget_overruns_total",
+            "Ticks em que o orçamento do agendador estourou", Type.COUNTER);
+        deferredTicks = metrics.value("fakeplayers_scheduler_deferred_ticks_total",
+            "Ticks em que as atualizações foram adiadas pelo MSPT", Type.COUNTER);
+        lastTickUpdates = metrics.gauge("fakeplayers_scheduler_updates",
+            "Bots atualizados no último tick amostrado");
+        pendingBatches = metrics.gauge("fakeplayers_queue_depth",
+            "Itens aguardando em cada fila", "queue", "batch_jobs");
+        if (plugin.getPathfinding() != null) {
+            metrics.source("fakeplayers_queue_depth", "Itens aguardando em cada fila", Type.GAUGE,
+                plugin.getPathfinding()::getQueueDepth, "queue", "pathfinding");
+        }
+        metrics.source("fakeplayers_trace_dropped_total", "Traces descartados por buffer cheio",
+            Type.COUNTER, plugin.getTrace()::getDropped);
+
+        tps = metrics.gauge("fakeplayers_tps", "TPS dos últimos 5 segundos");
+        mspt = metrics.gauge("fakeplayers_mspt_milliseconds", "MSPT médio dos últimos 5 segundos");
+        metrics.summary("fakeplayers_tick_duration_seconds", "Duração dos ticks do servidor",
+            plugin.getTickMonitor().totalHistogram());
+
+        for (Subsystem subsystem : Subsystem.values()) {
+            metrics.summary("fakeplayers_subsystem_duration_seconds", "Duração de cada execução dos subsistemas",
+                plugin.getProfiler().totalHistogram(subsystem), "subsystem", subsystem.name().toLowerCase(Locale.ROOT));
+        }
+        if (plugin.getPingSimulator() != null) {
+            metrics.summary("fakeplayers_bot_ping_seconds", "Ping simulado dos bots",
+                plugin.getPingSimulator().totalHistogram());
+        }
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry registry, int id) {
+        spawns[BotMode.fromFlags(registry.getFlags(id)).ordinal()].increment();
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry registry, int id) {
+        despawns[BotMode.fromFlags(registry.getFlags(id)).ordinal()].increment();
+    }
+
+    /**
+     * Copia os valores da thread principal a cada {@value #SAMPLE_TICKS} ticks.
+     */
+    @Override
+    public void run() {
+        if (++ticks < SAMPLE_TICKS) {
+            return;
+        }
+        ticks = 0;
+        BotScheduler scheduler = plugin.getBotScheduler();
+        budgetOverruns.set(scheduler.getBudgetOverruns());
+        deferredTicks.set(scheduler.getDeferredTicks());
+        lastTickUpdates.set(scheduler.getLastTickUpdates());
+        pendingBatches.set(scheduler.getPendingBatches());
+        TickMonitor monitor = plugin.getTickMonitor();
+        tps.set(monitor.tps(TickMonitor.SHORT_WINDOW));
+        mspt.set(monitor.mspt(TickMonitor.SHORT_WINDOW));
+    }
+}
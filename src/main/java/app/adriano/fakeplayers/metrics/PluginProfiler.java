@@ -0,0 +1,97 @@
+package app.adriano.fakeplayers.metrics;
+
+/**
+ * Tempos de cada parte do plugin, em histogramas de memória fixa.
+ *
+ * Cada {@link Subsystem} tem dois {@link LatencyHistogram}: um exibido no {@code /fp stats},
+ * que pode ser zerado com {@link #reset()}, e um acumulado, nunca zerado, exportado como
+ * resumo do Prometheus. Os tempos podem ser registrados de qualquer thread.
+ *
+ * Exemplo de uso:
+ * ```java
+ * // Mede uma tarefa de fim de tick
+ * botScheduler.addTickTask(profiler.timed(Subsystem.PACKET_FLUSH, packetRenderer::flush));
+ *
+ * // Mede um trecho manualmente
+ * long start = System.nanoTime();
+ * // ...
+ * profiler.record(Subsystem.PERSISTENCE, System.nanoTime() - start);
+ * ```
+ *
+ * @see TickMonitor
+ * @since 0.2.0
+ */
+public final class PluginProfiler {
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Subsystem.values().length];
+    private final LatencyHistogram[] totals = new LatencyHistogram[Subsystem.values().length];
+
+    /**
+     * Cria os histogramas de todos os subsistemas.
+     */
+    public PluginProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+            totals[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Registra a duração de uma execução.
+     *
+     * @param subsystem Subsistema medido
+     * @param nanos Duração em nanossegundos
+     */
+    public void record(Subsystem subsystem, long nanos) {
+        histograms[subsystem.ordinal()].record(nanos);
+        totals[subsystem.ordinal()].record(nanos);
+    }
+
+    /**
+     * Envolve uma tarefa para registrar a duração de cada execução.
+     *
+     * @param subsystem Subsistema medido
+     * @param task Tarefa a ser medida
+     * @return Tarefa que mede e executa {@code task}
+     */
+    public Runnable timed(Subsystem subsystem, Runnable task) {
+        LatencyHistogram histogram = histograms[subsystem.ordinal()];
+        LatencyHistogram total = totals[subsystem.ordinal()];
+        return () -> {
+            long start = System.nanoTime();
+            task.run();
+            long nanos = System.nanoTime() - start;
+            histogram.record(nanos);
+            total.record(nanos);
+        };
+    }
+
+    /**
+     * Obtém o histograma de um subsistema.
+     *
+     * @param subsystem Subsistema
+     * @return Histograma com as durações registradas desde o último reset
+     */
+    public LatencyHistogram histogram(Subsystem subsystem) {
+        return histograms[subsystem.ordinal()];
+    }
+
+    /**
+     * Obtém o histograma acumulado de um subsistema.
+     *
+     * @param subsystem Subsistema
+     * @return Histograma com todas as durações registradas, nunca zerado
+     */
+    public LatencyHistogram totalHistogram(Subsystem subsystem) {
+        return totals[subsystem.ordinal()];
+    }
+
+    /**
+     * Zera os histogramas exibidos de todos os subsistemas. Os acumulados não mudam.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package app.adriano.fakeplayers.metrics;
+
+/**
+ * Partes do plugin com tempos medidos pelo {@link PluginProfiler}.
+ *
+ * @since 0.2.0
+ */
+public enum Subsystem {
+    /** Balde de atualizações dos bots no {@link app.adriano.fakeplayers.scheduler.BotScheduler}. */
+    BOT_UPDATES("Atualização dos bots"),
+    /** Verificação dos níveis de detalhe pela distância aos jogadores. */
+    LOD("Níveis de detalhe"),
+    /** Trabalhos em massa ({@code /fp spawn}, {@code /fp remove}). */
+    BATCH_JOBS("Trabalhos em massa"),
+    /** Envio das mudanças do tick aos jogadores. */
+    PACKET_FLUSH("Envio de pacotes"),
+    /** Busca de caminhos, nas threads de busca. */
+    PATHFINDING_SEARCH("Busca de caminhos"),
+    /** Entrega dos caminhos encontrados, na thread principal. */
+    PATHFINDING_DRAIN("Entrega de caminhos"),
+    /** Cópia dos bots alterados para gravação. */
+    PERSISTENCE("Persistência"),
+    /** Geração e envio das mensagens do chat simulado. */
+    CHAT("Chat simulado"),
+    /** Execução dos subcomandos do /fp. */
+    COMMANDS("Comandos"),
+    /** Recarregamento do config.yml, do pedido até a publicação. */
+    CONFIG_RELOAD("Recarregamento do config");
+
+    private final String displayName;
+
+    Subsystem(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return Nome exibido no /fp stats
+     */
+    public String displayName() {
+        return displayName;
+    }
+}
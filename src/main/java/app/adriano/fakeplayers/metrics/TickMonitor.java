@@ -0,0 +1,144 @@
+package app.adriano.fakeplayers.metrics;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.listeners.BaseListener;
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+
+/**
+ * Janelas móveis de MSPT e TPS do servidor.
+ *
+ * Guarda o início e a duração dos últimos {@value #WINDOW} ticks (1 minuto) em
+ * arrays circulares, a partir dos eventos de início e fim de tick do Paper.
+ * Assim o MSPT e o TPS podem ser calculados para qualquer janela menor, como
+ * os últimos 5 segundos ({@link #SHORT_WINDOW}) ou o último minuto.
+ *
+ * As durações também vão para dois {@link LatencyHistogram}: um exibido no {@code /fp stats},
+ * que pode ser zerado, e um acumulado desde o início, exportado como resumo do Prometheus.
+ *
+ * Usado apenas na thread principal.
+ *
+ * @since 0.2.0
+ */
+public final class TickMonitor extends BaseListener {
+
+    /** Quantidade de ticks guardados: 1 minuto. */
+    public static final int WINDOW = 1200;
+
+    /** Janela curta: 5 segundos. */
+    public static final int SHORT_WINDOW = 100;
+
+    private final long[] starts = new long[WINDOW];
+    private final long[] durations = new long[WINDOW];
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LatencyHistogram total = new LatencyHistogram();
+    private long recorded;
+    private long currentStart;
+
+    /**
+     * Cria o monitor. Deve ser registrado com {@link #register()}.
+     *
+     * @param plugin Instância principal do plugin
+     */
+    public TickMonitor(FakePlayersPlugin plugin) {
+        super(plugin);
+    }
+
+    /**
+     * Marca o início do tick.
+     *
+     * @param event Evento de início de tick
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onTickStart(ServerTickStartEvent event) {
+        currentStart = System.nanoTime();
+    }
+
+    /**
+     * Registra a duração do tick.
+     *
+     * @param event Evento de fim de tick
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        long duration = (long) (event.getTickDuration() * 1_000_000.0);
+        int index = (int) (recorded % WINDOW);
+        starts[index] = currentStart;
+        durations[index] = duration;
+        recorded++;
+        histogram.record(duration);
+        total.record(duration);
+    }
+
+    /**
+     * Calcula o MSPT médio de uma janela.
+     *
+     * @param ticks Tamanho da janela em ticks (no máximo {@link #WINDOW})
+     * @return MSPT médio em milissegundos
+     */
+    public double mspt(int ticks) {
+        int count = windowSize(ticks);
+        if (count == 0) {
+            return 0.0;
+        }
+        long total = 0;
+        for (int i = 1; i <= count; i++) {
+            total += durations[(int) ((recorded - i) % WINDOW)];
+        }
+        return total / (count * 1_000_000.0);
+    }
+
+    /**
+     * Calcula o maior tick de uma janela.
+     *
+     * @param ticks Tamanho da janela em ticks (no máximo {@link #WINDOW})
+     * @return Duração do maior tick em milissegundos
+     */
+    public double maxTick(int ticks) {
+        int count = windowSize(ticks);
+        long max = 0;
+        for (int i = 1; i <= count; i++) {
+            max = Math.max(max, durations[(int) ((recorded - i) % WINDOW)]);
+        }
+        return max / 1_000_000.0;
+    }
+
+    /**
+     * Calcula o TPS de uma janela, a partir do intervalo entre os inícios dos ticks.
+     *
+     * @param ticks Tamanho da janela em ticks (no máximo {@link #WINDOW})
+     * @return TPS, limitado a 20
+     */
+    public double tps(int ticks) {
+        int count = windowSize(ticks);
+        if (count < 2) {
+            return 20.0;
+        }
+        long oldest = starts[(int) ((recorded - count) % WINDOW)];
+        long newest = starts[(int) ((recorded - 1) % WINDOW)];
+        if (newest <= oldest) {
+            return 20.0;
+        }
+        return Math.min(20.0, (count - 1) * 1_000_000_000.0 / (newest - oldest));
+    }
+
+    /**
+     * @return Histograma das durações de todos os ticks desde o último reset
+     */
+    public LatencyHistogram histogram() {
+        return histogram;
+    }
+
+    /**
+     * @return Histograma das durações de todos os ticks desde o início, nunca zerado
+     */
+    public LatencyHistogram totalHistogram() {
+        return total;
+    }
+
+    private int windowSize(int ticks) {
+        return (int) Math.min(Math.min(ticks, WINDOW), recorded);
+    }
+}
@@ -0,0 +1,122 @@
+package app.adriano.fakeplayers.names;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Modelo de nomes por cadeia de Markov de ordem 2, treinado com uma lista de nomes.
+ *
+ * Funcionamento:
+ * 1. Cada nome de exemplo (uma linha, só letras) é lido como uma sequência de letras
+ *    terminada por um símbolo de fim
+ * 2. Para cada par de letras anteriores (contexto), conta quantas vezes cada próxima
+ *    letra apareceu; as contagens viram tabelas cumulativas em um único {@code int[]}
+ * 3. A geração parte do contexto inicial e sorteia a próxima letra pela tabela do
+ *    contexto atual até sortear o fim
+ *
+ * Como a geração só segue transições vistas no treino, todo contexto alcançado tem
+ * pelo menos uma saída. Nomes que passam do tamanho máximo são descartados.
+ *
+ * Imutável depois de treinado; pode ser usado por várias threads.
+ *
+ * @since 0.2.0
+ */
+public final class MarkovNameModel implements NameModel {
+
+    // Letras a-z, mais um símbolo de fim (na saída) ou de início (no contexto)
+    private static final int SYMBOLS = 27;
+    private static final int BOUNDARY = 26;
+
+    // Contagens cumulativas: [contexto * SYMBOLS + símbolo]
+    private final int[] cumulative;
+    private final int[] totals;
+
+    private MarkovNameModel(int[] cumulative, int[] totals) {
+        this.cumulative = cumulative;
+        this.totals = totals;
+    }
+
+    /**
+     * Treina o modelo.
+     *
+     * @param samples Nomes de exemplo; caracteres que não são letras são ignorados
+     * @return Modelo treinado
+     * @throws IllegalArgumentException Se nenhum exemplo tiver letras
+     */
+    public static MarkovNameModel train(List<String> samples) {
+        int[] counts = new int[SYMBOLS * SYMBOLS * SYMBOLS];
+        int[] totals = new int[SYMBOLS * SYMBOLS];
+        for (String sample : samples) {
+            int previous = BOUNDARY;
+            int current = BOUNDARY;
+            int letters = 0;
+            for (int i = 0; i < sample.length(); i++) {
+                int symbol = symbol(sample.charAt(i));
+                if (symbol < 0) {
+                    continue;
+                }
+                int context = previous * SYMBOLS + current;
+                counts[context * SYMBOLS + symbol]++;
+                totals[context]++;
+                previous = current;
+                current = symbol;
+                letters++;
+            }
+            if (letters > 0) {
+                int context = previous * SYMBOLS + current;
+                counts[context * SYMBOLS + BOUNDARY]++;
+                totals[context]++;
+            }
+        }
+        if (totals[BOUNDARY * SYMBOLS + BOUNDARY] == 0) {
+            throw new IllegalArgumentException("Nenhum nome de exemplo para o modelo markov");
+        }
+        for (int context = 0; context < totals.length; context++) {
+            int base = context * SYMBOLS;
+            for (int symbol = 1; symbol < SYMBOLS; symbol++) {
+                counts[base + symbol] += counts[base + symbol - 1];
+            }
+        }
+        return new MarkovNameModel(counts, totals);
+    }
+
+    @Override
+    public int generate(SplittableRandom random, char[] out, int maxLength) {
+        int previous = BOUNDARY;
+        int current = BOUNDARY;
+        int length = 0;
+        while (true) {
+            int context = previous * SYMBOLS + current;
+            int symbol = sample(context, random.nextInt(totals[context]));
+            if (symbol == BOUNDARY) {
+                return length;
+            }
+            if (length == maxLength) {
+                return 0;
+            }
+            out[length++] = (char) ('a' + symbol);
+            previous = current;
+            current = symbol;
+        }
+    }
+
+    private int sample(int context, int target) {
+        int base = context * SYMBOLS;
+        for (int symbol = 0; symbol < SYMBOLS; symbol++) {
+            if (target < cumulative[base + symbol]) {
+                return symbol;
+            }
+        }
+        return BOUNDARY;
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        return -1;
+    }
+}
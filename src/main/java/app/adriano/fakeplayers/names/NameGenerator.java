@@ -0,0 +1,124 @@
+package app.adriano.fakeplayers.names;
+
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de nomes únicos para bots.
+ *
+ * Funcionamento:
+ * 1. O {@link NameModel} escreve a parte base do nome em um buffer reutilizado
+ * 2. A primeira letra pode virar maiúscula e alguns nomes recebem dígitos no final,
+ *    como nomes reais de jogadores
+ * 3. O nome é validado caractere a caractere ({@code a-z}, {@code A-Z}, {@code 0-9}, {@code _},
+ *    3 a 16 caracteres), sem expressões regulares
+ * 4. A unicidade é verificada no {@link NameIndex} ainda no buffer; só o nome aceito vira
+ *    uma {@link String}, então cada bot custa uma única string
+ *
+ * Com a mesma semente, o modelo e a configuração, a sequência de tentativas é sempre a mesma.
+ *
+ * Usado apenas na thread principal.
+ *
+ * @see NameModel
+ * @see NameIndex
+ * @since 0.2.0
+ */
+public final class NameGenerator {
+
+    /**
+     * Tamanho mínimo de um nome de jogador.
+     */
+    public static final int MIN_LENGTH = 3;
+
+    /**
+     * Tamanho máximo de um nome de jogador.
+     */
+    public static final int MAX_LENGTH = 16;
+
+    private static final int MAX_ATTEMPTS = 64;
+    private static final int MAX_DIGITS = 4;
+
+    private final NameModel model;
+    private final NameIndex index;
+    private final SplittableRandom random;
+    private final int minLength;
+    private final int maxLength;
+    private final double digitChance;
+    private final double capitalizeChance;
+    private final char[] buffer = new char[MAX_LENGTH];
+
+    /**
+     * Cria o gerador.
+     *
+     * @param model Modelo da parte base dos nomes
+     * @param index Nomes em uso
+     * @param seed Semente (0 para uma semente aleatória)
+     * @param minLength Tamanho mínimo da parte base (pelo menos 3)
+     * @param maxLength Tamanho máximo da parte base (no máximo 16)
+     * @param digitChance Chance de acrescentar dígitos ao nome, de 0 a 1
+     * @param capitalizeChance Chance de a primeira letra ser maiúscula, de 0 a 1
+     */
+    public NameGenerator(NameModel model, NameIndex index, long seed, int minLength, int maxLength,
+                         double digitChance, double capitalizeChance) {
+        this.model = model;
+        this.index = index;
+        this.random = seed == 0 ? new SplittableRandom() : new SplittableRandom(seed);
+        this.maxLength = Math.max(MIN_LENGTH, Math.min(MAX_LENGTH, maxLength));
+        this.minLength = Math.max(MIN_LENGTH, Math.min(this.maxLength, minLength));
+        this.digitChance = digitChance;
+        this.capitalizeChance = capitalizeChance;
+    }
+
+    /**
+     * Gera um nome que não está em uso.
+     * O nome não é reservado: ele passa a contar como em uso quando o bot é criado.
+     *
+     * @return Nome gerado, ou null se nenhuma tentativa gerou um nome livre
+     */
+    public String next() {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int length = model.generate(random, buffer, maxLength);
+            if (length < minLength) {
+                continue;
+            }
+            if (random.nextDouble() < capitalizeChance) {
+                buffer[0] = Character.toUpperCase(buffer[0]);
+            }
+            // Na segunda metade das tentativas, os dígitos são obrigatórios para escapar das colisões
+            if (attempt >= MAX_ATTEMPTS / 2 || random.nextDouble() < digitChance) {
+                length = appendDigits(length);
+            }
+            if (isValid(buffer, length) && !index.contains(buffer, length)) {
+                return new String(buffer, 0, length);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Verifica se um nome é um nome de jogador válido.
+     *
+     * @param chars Caracteres do nome
+     * @param length Tamanho do nome
+     * @return true se tiver de 3 a 16 caracteres, todos letras, dígitos ou {@code _}
+     */
+    public static boolean isValid(char[] chars, int length) {
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int appendDigits(int length) {
+        int digits = Math.min(MAX_LENGTH - length, 1 + random.nextInt(MAX_DIGITS));
+        for (int i = 0; i < digits; i++) {
+            buffer[length++] = (char) ('0' + random.nextInt(10));
+        }
+        return length;
+    }
+}
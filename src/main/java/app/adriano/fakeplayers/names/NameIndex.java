@@ -0,0 +1,157 @@
+package app.adriano.fakeplayers.names;
+
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.utils.LongIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto compacto dos nomes em uso: bots e jogadores reais online.
+ *
+ * Funcionamento:
+ * 1. Cada nome vira um hash de 64 bits, calculado sem diferenciar maiúsculas
+ *    e sem criar strings (o Minecraft também não diferencia nomes por caixa)
+ * 2. Os hashes ficam em um {@link LongIntMap} (hash para quantidade de donos), então
+ *    um bot e um jogador com o mesmo nome não se apagam mutuamente
+ * 3. Bots entram, saem e trocam de nome como ouvinte do {@link FakePlayerRegistry}; jogadores reais,
+ *    pelos eventos de entrada e saída ({@link app.adriano.fakeplayers.listeners.PlayerNameListener})
+ * 4. O hash do nome de cada bot fica guardado pelo id, pois a troca de nome só chega
+ *    depois que o nome antigo já saiu do registro
+ *
+ * Como só o hash é guardado, uma colisão de hash faz um nome livre parecer ocupado;
+ * com 64 bits isso é raro e só custa uma nova tentativa ao gerar nomes.
+ *
+ * Usado apenas na thread principal.
+ *
+ * @see NameGenerator
+ * @since 0.2.0
+ */
+public final class NameIndex implements BotRegistryListener {
+
+    // Hash FNV-1a sobre os caracteres em minúsculas, seguido de uma mistura final
+    private static final long SEED = 0xCBF29CE484222325L;
+
+    private final LongIntMap owners;
+    private long[] botHashes = new long[64];
+
+    /**
+     * Cria o conjunto.
+     *
+     * @param expected Quantidade esperada de nomes
+     */
+    public NameIndex(int expected) {
+        this.owners = new LongIntMap(expected);
+    }
+
+    /**
+     * Adiciona um nome em uso.
+     *
+     * @param name Nome do bot ou jogador
+     */
+    public void add(CharSequence name) {
+        addHash(hash(name));
+    }
+
+    /**
+     * Remove um nome que deixou de ser usado.
+     *
+     * @param name Nome do bot ou jogador
+     */
+    public void remove(CharSequence name) {
+        removeHash(hash(name));
+    }
+
+    /**
+     * @param name Nome procurado
+     * @return true se o nome estiver em uso
+     */
+    public boolean contains(CharSequence name) {
+        return owners.get(hash(name)) != LongIntMap.MISSING;
+    }
+
+    /**
+     * Verifica um nome ainda no buffer do gerador, sem criar a string.
+     *
+     * @param chars Buffer com o nome
+     * @param length Tamanho do nome
+     * @return true se o nome estiver em uso
+     */
+    public boolean contains(char[] chars, int length) {
+        long h = SEED;
+        for (int i = 0; i < length; i++) {
+            h = step(h, chars[i]);
+        }
+        return owners.get(finish(h)) != LongIntMap.MISSING;
+    }
+
+    /**
+     * @return Quantidade de nomes distintos em uso
+     */
+    public int size() {
+        return owners.size();
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry registry, int id) {
+        if (id >= botHashes.length) {
+            botHashes = Arrays.copyOf(botHashes, Math.max(id + 1, botHashes.length * 2));
+        }
+        botHashes[id] = hash(registry.getName(id));
+        addHash(botHashes[id]);
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry registry, int id) {
+        removeHash(id < botHashes.length ? botHashes[id] : hash(registry.getName(id)));
+    }
+
+    @Override
+    public void onRename(FakePlayerRegistry registry, int id) {
+        if (id >= botHashes.length) {
+            return;
+        }
+        long key = hash(registry.getName(id));
+        if (key != botHashes[id]) {
+            removeHash(botHashes[id]);
+            botHashes[id] = key;
+            addHash(key);
+        }
+    }
+
+    private void addHash(long key) {
+        int count = owners.get(key);
+        owners.put(key, count == LongIntMap.MISSING ? 1 : count + 1);
+    }
+
+    private void removeHash(long key) {
+        int count = owners.get(key);
+        if (count == 1) {
+            owners.remove(key);
+        } else if (count > 1) {
+            owners.put(key, count - 1);
+        }
+    }
+
+    private static long hash(CharSequence name) {
+        long h = SEED;
+        for (int i = 0; i < name.length(); i++) {
+            h = step(h, name.charAt(i));
+        }
+        return finish(h);
+    }
+
+    private static long step(long h, char c) {
+        if (c >= 'A' && c <= 'Z') {
+            c += 'a' - 'A';
+        }
+        return (h ^ c) * 0x100000001B3L;
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,64 @@
+package app.adriano.fakeplayers.names;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Modelo que gera a parte base de um nome de bot.
+ *
+ * Os modelos escrevem letras minúsculas ({@code a-z}) direto em um buffer
+ * reutilizado pelo {@link NameGenerator}, sem criar strings. Toda a aleatoriedade
+ * vem do {@link SplittableRandom} recebido, então a mesma semente gera sempre os
+ * mesmos nomes.
+ *
+ * Modelos disponíveis:
+ * 1. {@code markov}: cadeia de Markov de ordem 2 treinada com uma lista de nomes ({@link MarkovNameModel})
+ * 2. {@code syllables}: combinação de sílabas iniciais, do meio e finais ({@link SyllableNameModel})
+ *
+ * @see NameGenerator
+ * @since 0.2.0
+ */
+public interface NameModel {
+
+    /**
+     * Gera a parte base de um nome.
+     *
+     * @param random Gerador de números aleatórios
+     * @param out Buffer de saída
+     * @param maxLength Tamanho máximo do nome (no máximo {@code out.length})
+     * @return Quantidade de caracteres escritos, ou 0 se o modelo não conseguiu gerar um nome
+     */
+    int generate(SplittableRandom random, char[] out, int maxLength);
+
+    /**
+     * Lê um modelo de um arquivo de texto.
+     * Linhas vazias e linhas começando com {@code #} são ignoradas.
+     *
+     * @param type Tipo do modelo ({@code markov} ou {@code syllables})
+     * @param reader Conteúdo do arquivo
+     * @return Modelo lido
+     * @throws IOException Se o arquivo não puder ser lido
+     * @throws IllegalArgumentException Se o tipo for desconhecido ou o arquivo não tiver dados
+     */
+    static NameModel read(String type, Reader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(reader)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    lines.add(line);
+                }
+            }
+        }
+        return switch (type) {
+            case "markov" -> MarkovNameModel.train(lines);
+            case "syllables" -> SyllableNameModel.parse(lines);
+            default -> throw new IllegalArgumentException("Modelo de nomes desconhecido: " + type);
+        };
+    }
+}
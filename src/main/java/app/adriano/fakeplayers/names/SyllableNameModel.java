@@ -0,0 +1,103 @@
+package app.adriano.fakeplayers.names;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Modelo de nomes por combinação de sílabas.
+ *
+ * O arquivo tem três seções, cada uma com uma sílaba por linha:
+ * ```
+ * [start]
+ * ka
+ * [middle]
+ * ri
+ * [end]
+ * lon
+ * ```
+ *
+ * Um nome é uma sílaba inicial, até duas sílabas do meio e uma sílaba final.
+ * As sílabas são guardadas como {@code char[]} e copiadas direto para o buffer.
+ *
+ * Imutável depois de lido; pode ser usado por várias threads.
+ *
+ * @since 0.2.0
+ */
+public final class SyllableNameModel implements NameModel {
+
+    private static final int MAX_MIDDLE = 2;
+
+    private final char[][] start;
+    private final char[][] middle;
+    private final char[][] end;
+
+    private SyllableNameModel(char[][] start, char[][] middle, char[][] end) {
+        this.start = start;
+        this.middle = middle;
+        this.end = end;
+    }
+
+    /**
+     * Lê o modelo.
+     *
+     * @param lines Linhas do arquivo, sem comentários
+     * @return Modelo lido
+     * @throws IllegalArgumentException Se a seção {@code start} ou {@code end} estiver vazia
+     */
+    public static SyllableNameModel parse(List<String> lines) {
+        List<char[]> start = new ArrayList<>();
+        List<char[]> middle = new ArrayList<>();
+        List<char[]> end = new ArrayList<>();
+        List<char[]> section = null;
+        for (String line : lines) {
+            switch (line) {
+                case "[start]" -> section = start;
+                case "[middle]" -> section = middle;
+                case "[end]" -> section = end;
+                default -> {
+                    char[] syllable = letters(line);
+                    if (section != null && syllable.length > 0) {
+                        section.add(syllable);
+                    }
+                }
+            }
+        }
+        if (start.isEmpty() || end.isEmpty()) {
+            throw new IllegalArgumentException("O modelo syllables precisa das seções [start] e [end]");
+        }
+        return new SyllableNameModel(start.toArray(new char[0][]), middle.toArray(new char[0][]),
+            end.toArray(new char[0][]));
+    }
+
+    @Override
+    public int generate(SplittableRandom random, char[] out, int maxLength) {
+        int length = append(start[random.nextInt(start.length)], out, 0, maxLength);
+        int middles = middle.length == 0 ? 0 : random.nextInt(MAX_MIDDLE + 1);
+        for (int i = 0; i < middles && length > 0; i++) {
+            length = append(middle[random.nextInt(middle.length)], out, length, maxLength);
+        }
+        return length > 0 ? append(end[random.nextInt(end.length)], out, length, maxLength) : 0;
+    }
+
+    private static int append(char[] syllable, char[] out, int offset, int maxLength) {
+        if (offset + syllable.length > maxLength) {
+            return 0;
+        }
+        System.arraycopy(syllable, 0, out, offset, syllable.length);
+        return offset + syllable.length;
+    }
+
+    private static char[] letters(String line) {
+        String lower = line.toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                builder.append(c);
+            }
+        }
+        return builder.toString().toCharArray();
+    }
+}
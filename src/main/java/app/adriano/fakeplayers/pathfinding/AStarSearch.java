@@ -0,0 +1,245 @@
+package app.adriano.fakeplayers.pathfinding;
+
+import app.adriano.fakeplayers.utils.LongIntMap;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Busca A* sobre um {@link WorldSnapshot}.
+ *
+ * Cada thread de busca tem sua própria instância, e todos os arrays são
+ * reaproveitados entre buscas: a única alocação por busca é o array final
+ * com o caminho encontrado.
+ *
+ * Movimentos considerados:
+ * 1. Oito direções horizontais (diagonais só com as duas laterais livres)
+ * 2. Subir um bloco (pulo) com espaço para a cabeça
+ * 3. Descer até três blocos
+ *
+ * @since 0.2.0
+ */
+final class AStarSearch {
+
+    private static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DZ = {0, 0, 1, -1, 1, -1, 1, -1};
+    private static final float DIAGONAL = 1.4142135f;
+    private static final float JUMP_COST = 0.5f;
+    private static final float FALL_COST = 0.25f;
+    private static final int MAX_FALL = 3;
+    private static final int CANCEL_CHECK_MASK = 255;
+
+    private final LongIntMap nodeByPos = new LongIntMap(1024);
+    private long[] pos = new long[1024];
+    private int[] parent = new int[1024];
+    private float[] g = new float[1024];
+    private float[] f = new float[1024];
+    private int[] heapIndex = new int[1024];
+    private int[] heap = new int[1024];
+    private int nodeCount;
+    private int heapSize;
+
+    /**
+     * Procura um caminho entre duas posições.
+     *
+     * @param snapshot Blocos capturados
+     * @param start Posição inicial empacotada
+     * @param goal Posição final empacotada
+     * @param maxNodes Quantidade máxima de nós explorados
+     * @param cancelled Consultado periodicamente para abortar a busca
+     * @return Nós do caminho, ou null se não encontrado
+     */
+    long[] search(WorldSnapshot snapshot, long start, long goal, int maxNodes, BooleanSupplier cancelled) {
+        int gx = BlockKey.x(goal);
+        int gy = BlockKey.y(goal);
+        int gz = BlockKey.z(goal);
+        if (!snapshot.isWalkable(gx, gy, gz)) {
+            return null;
+        }
+
+        reset(maxNodes);
+        int startNode = addNode(start, -1, 0f, heuristic(start, gx, gy, gz));
+        push(startNode);
+
+        int expanded = 0;
+        while (heapSize > 0) {
+            int current = pop();
+            long currentPos = pos[current];
+            if (currentPos == goal) {
+                return buildPath(current);
+            }
+            if ((++expanded & CANCEL_CHECK_MASK) == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+
+            int x = BlockKey.x(currentPos);
+            int y = BlockKey.y(currentPos);
+            int z = BlockKey.z(currentPos);
+            for (int dir = 0; dir < DX.length; dir++) {
+                int nx = x + DX[dir];
+                int nz = z + DZ[dir];
+                boolean diagonal = dir >= 4;
+                if (diagonal && (!snapshot.isOpen(nx, y, z) || !snapshot.isOpen(x, y, nz))) {
+                    continue;
+                }
+                float step = diagonal ? DIAGONAL : 1f;
+
+                if (snapshot.isWalkable(nx, y, nz)) {
+                    if (!relax(current, BlockKey.pack(nx, y, nz), step, gx, gy, gz, maxNodes)) {
+                        return null;
+                    }
+                } else if (snapshot.isWalkable(nx, y + 1, nz) && !snapshot.isSolid(x, y + 2, z)) {
+                    if (!relax(current, BlockKey.pack(nx, y + 1, nz), step + JUMP_COST, gx, gy, gz, maxNodes)) {
+                        return null;
+                    }
+                } else if (snapshot.isOpen(nx, y, nz)) {
+                    for (int fall = 1; fall <= MAX_FALL; fall++) {
+                        if (snapshot.isWalkable(nx, y - fall, nz)) {
+                            float cost = step + FALL_COST * fall;
+                            if (!relax(current, BlockKey.pack(nx, y - fall, nz), cost, gx, gy, gz, maxNodes)) {
+                                return null;
+                            }
+                            break;
+                        }
+                        if (snapshot.isSolid(nx, y - fall, nz)) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Atualiza (ou cria) o nó vizinho se o novo custo for menor.
+     *
+     * @return false se o limite de nós foi atingido
+     */
+    private boolean relax(int current, long neighbor, float stepCost, int gx, int gy, int gz, int maxNodes) {
+        float tentative = g[current] + stepCost;
+        int node = nodeByPos.get(neighbor);
+        if (node == LongIntMap.MISSING) {
+            if (nodeCount >= maxNodes) {
+                return false;
+            }
+            node = addNode(neighbor, current, tentative, tentative + heuristic(neighbor, gx, gy, gz));
+            push(node);
+        } else if (tentative < g[node]) {
+            float h = f[node] - g[node];
+            parent[node] = current;
+            g[node] = tentative;
+            f[node] = tentative + h;
+            if (heapIndex[node] >= 0) {
+                siftUp(heapIndex[node]);
+            } else {
+                push(node);
+            }
+        }
+        return true;
+    }
+
+    private static float heuristic(long from, int gx, int gy, int gz) {
+        // Distância octil no plano mais a diferença de altura
+        int dx = Math.abs(BlockKey.x(from) - gx);
+        int dz = Math.abs(BlockKey.z(from) - gz);
+        int dy = Math.abs(BlockKey.y(from) - gy);
+        int min = Math.min(dx, dz);
+        int max = Math.max(dx, dz);
+        return (DIAGONAL - 1f) * min + max + dy * FALL_COST;
+    }
+
+    private long[] buildPath(int node) {
+        int length = 0;
+        for (int n = node; n >= 0; n = parent[n]) {
+            length++;
+        }
+        long[] path = new long[length];
+        for (int n = node, i = length - 1; n >= 0; n = parent[n], i--) {
+            path[i] = pos[n];
+        }
+        return path;
+    }
+
+    private int addNode(long position, int parentNode, float cost, float estimate) {
+        int node = nodeCount++;
+        pos[node] = position;
+        parent[node] = parentNode;
+        g[node] = cost;
+        f[node] = estimate;
+        heapIndex[node] = -1;
+        nodeByPos.put(position, node);
+        return node;
+    }
+
+    private void reset(int maxNodes) {
+        if (pos.length < maxNodes) {
+            pos = Arrays.copyOf(pos, maxNodes);
+            parent = Arrays.copyOf(parent, maxNodes);
+            g = Arrays.copyOf(g, maxNodes);
+            f = Arrays.copyOf(f, maxNodes);
+            heapIndex = Arrays.copyOf(heapIndex, maxNodes);
+            heap = Arrays.copyOf(heap, maxNodes);
+        }
+        nodeByPos.clear();
+        nodeCount = 0;
+        heapSize = 0;
+    }
+
+    private void push(int node) {
+        heap[heapSize] = node;
+        heapIndex[node] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapIndex[top] = -1;
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapIndex[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int index) {
+        int node = heap[index];
+        float key = f[node];
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            int parentNode = heap[parentIndex];
+            if (f[parentNode] <= key) {
+                break;
+            }
+            heap[index] = parentNode;
+            heapIndex[parentNode] = index;
+            index = parentIndex;
+        }
+        heap[index] = node;
+        heapIndex[node] = index;
+    }
+
+    private void siftDown(int index) {
+        int node = heap[index];
+        float key = f[node];
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && f[heap[child + 1]] < f[heap[child]]) {
+                child++;
+            }
+            if (f[heap[child]] >= key) {
+                break;
+            }
+            heap[index] = heap[child];
+            heapIndex[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = node;
+        heapIndex[node] = index;
+    }
+}
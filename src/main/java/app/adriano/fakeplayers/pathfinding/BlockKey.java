@@ -0,0 +1,49 @@
+package app.adriano.fakeplayers.pathfinding;
+
+/**
+ * Empacotamento de coordenadas de bloco em um único long.
+ *
+ * Usa o mesmo layout do servidor: 26 bits para X, 26 bits para Z e 12 bits
+ * para Y, o que cobre toda a área jogável sem alocar objetos por posição.
+ *
+ * @since 0.2.0
+ */
+public final class BlockKey {
+
+    private BlockKey() {
+    }
+
+    /**
+     * @param x Coordenada X do bloco
+     * @param y Coordenada Y do bloco
+     * @param z Coordenada Z do bloco
+     * @return Posição empacotada
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    /**
+     * @param key Posição empacotada
+     * @return Coordenada X do bloco
+     */
+    public static int x(long key) {
+        return (int) (key >> 38);
+    }
+
+    /**
+     * @param key Posição empacotada
+     * @return Coordenada Y do bloco
+     */
+    public static int y(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    /**
+     * @param key Posição empacotada
+     * @return Coordenada Z do bloco
+     */
+    public static int z(long key) {
+        return (int) (key << 26 >> 38);
+    }
+}
@@ -0,0 +1,80 @@
+package app.adriano.fakeplayers.pathfinding;
+
+import app.adriano.fakeplayers.utils.LongIntMap;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache das grades de passabilidade, compartilhado entre as buscas.
+ *
+ * Evita capturar e converter o mesmo chunk a cada pedido. As grades expiram
+ * após {@code pathfinding.snapshot-ttl-ticks}, já que mudanças de blocos não
+ * são acompanhadas. Escrito pelas threads de busca e lido na thread principal.
+ *
+ * @since 0.2.0
+ */
+final class PassabilityCache {
+
+    private record Entry(PassabilityGrid grid, long createdNanos) {
+    }
+
+    private final long ttlNanos;
+    private volatile ConcurrentHashMap<Long, Entry>[] worlds = newArray(4);
+
+    PassabilityCache(long ttlNanos) {
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * @return Grade ainda válida do chunk, ou null
+     */
+    PassabilityGrid get(int world, int chunkX, int chunkZ) {
+        ConcurrentHashMap<Long, Entry>[] current = worlds;
+        if (world >= current.length || current[world] == null) {
+            return null;
+        }
+        Entry entry = current[world].get(LongIntMap.chunkKey(chunkX, chunkZ));
+        if (entry == null || System.nanoTime() - entry.createdNanos() > ttlNanos) {
+            return null;
+        }
+        return entry.grid();
+    }
+
+    void put(int world, int chunkX, int chunkZ, PassabilityGrid grid) {
+        map(world).put(LongIntMap.chunkKey(chunkX, chunkZ), new Entry(grid, System.nanoTime()));
+    }
+
+    /**
+     * Remove as grades expiradas.
+     */
+    void purge() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<Long, Entry> map : worlds) {
+            if (map != null) {
+                map.values().removeIf(entry -> now - entry.createdNanos() > ttlNanos);
+            }
+        }
+    }
+
+    void clear() {
+        worlds = newArray(4);
+    }
+
+    private synchronized ConcurrentHashMap<Long, Entry> map(int world) {
+        ConcurrentHashMap<Long, Entry>[] current = worlds;
+        if (world >= current.length) {
+            current = Arrays.copyOf(current, Math.max(world + 1, current.length * 2));
+        }
+        if (current[world] == null) {
+            current[world] = new ConcurrentHashMap<>();
+        }
+        worlds = current;
+        return current[world];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentHashMap<Long, Entry>[] newArray(int length) {
+        return new ConcurrentHashMap[length];
+    }
+}
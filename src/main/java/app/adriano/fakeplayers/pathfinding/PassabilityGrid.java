@@ -0,0 +1,122 @@
+package app.adriano.fakeplayers.pathfinding;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+
+/**
+ * Mapa imutável e compacto de passabilidade de um chunk.
+ *
+ * Guarda dois bits por bloco, divididos por seção de 16x16x16:
+ * 1. {@code solid} - o bloco ocupa espaço (não dá para atravessar, dá para pisar)
+ * 2. {@code avoid} - o bloco deve ser evitado (água, lava, fogo, etc)
+ *
+ * Seções vazias não alocam nada, então um chunk típico ocupa poucos KB em vez
+ * dos ~100 KB de um {@link ChunkSnapshot}. Por ser imutável, pode ser lido por
+ * várias threads de busca ao mesmo tempo.
+ *
+ * @since 0.2.0
+ */
+final class PassabilityGrid {
+
+    private static final int SECTION_WORDS = 16 * 16 * 16 / 64;
+
+    private final int minY;
+    private final long[][] solid;
+    private final long[][] avoid;
+
+    private PassabilityGrid(int minY, long[][] solid, long[][] avoid) {
+        this.minY = minY;
+        this.solid = solid;
+        this.avoid = avoid;
+    }
+
+    /**
+     * Converte um snapshot de chunk. Pode ser chamado fora da thread principal.
+     *
+     * @param snapshot Snapshot do chunk
+     * @param minY Altura mínima do mundo
+     * @param maxY Altura máxima do mundo (exclusiva)
+     * @return Grade de passabilidade do chunk
+     */
+    static PassabilityGrid of(ChunkSnapshot snapshot, int minY, int maxY) {
+        int sections = (maxY - minY) >> 4;
+        long[][] solid = new long[sections][];
+        long[][] avoid = new long[sections][];
+        for (int section = 0; section < sections; section++) {
+            if (snapshot.isSectionEmpty(section)) {
+                continue;
+            }
+            long[] solidBits = new long[SECTION_WORDS];
+            long[] avoidBits = null;
+            int baseY = minY + (section << 4);
+            for (int dy = 0; dy < 16; dy++) {
+                for (int dz = 0; dz < 16; dz++) {
+                    for (int dx = 0; dx < 16; dx++) {
+                        Material type = snapshot.getBlockType(dx, baseY + dy, dz);
+                        int bit = (dy << 8) | (dz << 4) | dx;
+                        if (type.isSolid()) {
+                            solidBits[bit >>> 6] |= 1L << bit;
+                        } else if (isHazard(type)) {
+                            if (avoidBits == null) {
+                                avoidBits = new long[SECTION_WORDS];
+                            }
+                            avoidBits[bit >>> 6] |= 1L << bit;
+                        }
+                    }
+                }
+            }
+            solid[section] = solidBits;
+            avoid[section] = avoidBits;
+        }
+        return new PassabilityGrid(minY, solid, avoid);
+    }
+
+    /**
+     * @param x Coordenada X dentro do chunk (0-15)
+     * @param y Coordenada Y absoluta
+     * @param z Coordenada Z dentro do chunk (0-15)
+     * @return true se o bloco ocupa espaço; fora da altura do mundo conta como sólido
+     */
+    boolean isSolid(int x, int y, int z) {
+        return test(solid, x, y, z, true);
+    }
+
+    /**
+     * @param x Coordenada X dentro do chunk (0-15)
+     * @param y Coordenada Y absoluta
+     * @param z Coordenada Z dentro do chunk (0-15)
+     * @return true se o bloco deve ser evitado
+     */
+    boolean isAvoided(int x, int y, int z) {
+        return test(avoid, x, y, z, false);
+    }
+
+    private boolean test(long[][] bits, int x, int y, int z, boolean outside) {
+        int relative = y - minY;
+        int section = relative >> 4;
+        if (relative < 0 || section >= bits.length) {
+            return outside;
+        }
+        long[] words = bits[section];
+        if (words == null) {
+            return false;
+        }
+        int bit = ((relative & 15) << 8) | (z << 4) | x;
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static boolean isHazard(Material type) {
+        switch (type) {
+            case WATER:
+            case LAVA:
+            case FIRE:
+            case SOUL_FIRE:
+            case POWDER_SNOW:
+            case SWEET_BERRY_BUSH:
+            case WITHER_ROSE:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
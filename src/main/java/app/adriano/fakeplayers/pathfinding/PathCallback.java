@@ -0,0 +1,18 @@
+package app.adriano.fakeplayers.pathfinding;
+
+/**
+ * Recebe o resultado de um pedido de caminho.
+ * Sempre chamado na thread principal.
+ *
+ * @see PathfindingService#request
+ * @since 0.2.0
+ */
+@FunctionalInterface
+public interface PathCallback {
+
+    /**
+     * @param botId Id do bot que pediu o caminho
+     * @param result Resultado do pedido
+     */
+    void onPath(int botId, PathResult result);
+}
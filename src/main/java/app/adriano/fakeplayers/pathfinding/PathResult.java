@@ -0,0 +1,28 @@
+package app.adriano.fakeplayers.pathfinding;
+
+/**
+ * Caminho calculado para um bot.
+ *
+ * Os nós são posições de bloco empacotadas com {@link BlockKey}, da origem
+ * (inclusive) até o destino. Cada bot recebe a própria cópia do array, mesmo
+ * quando o caminho vem do cache, então ele pode ser consumido ou modificado.
+ *
+ * @param status Situação do pedido
+ * @param nodes Nós do caminho (vazio se não encontrado)
+ * @since 0.2.0
+ */
+public record PathResult(PathStatus status, long[] nodes) {
+
+    private static final long[] EMPTY = new long[0];
+
+    static final PathResult NOT_FOUND = new PathResult(PathStatus.NOT_FOUND, EMPTY);
+    static final PathResult TOO_FAR = new PathResult(PathStatus.TOO_FAR, EMPTY);
+    static final PathResult BUSY = new PathResult(PathStatus.BUSY, EMPTY);
+
+    /**
+     * @return Quantidade de nós do caminho
+     */
+    public int length() {
+        return nodes.length;
+    }
+}
@@ -0,0 +1,18 @@
+package app.adriano.fakeplayers.pathfinding;
+
+/**
+ * Resultado de um pedido de caminho.
+ *
+ * @see PathResult
+ * @since 0.2.0
+ */
+public enum PathStatus {
+    /** Caminho encontrado. */
+    FOUND,
+    /** Não existe caminho dentro dos limites de busca. */
+    NOT_FOUND,
+    /** Origem e destino estão mais distantes que {@code pathfinding.max-distance}. */
+    TOO_FAR,
+    /** A fila de pedidos está cheia; o bot deve tentar de novo mais tarde. */
+    BUSY
+}
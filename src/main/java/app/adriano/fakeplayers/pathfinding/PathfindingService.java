@@ -0,0 +1,492 @@
+package app.adriano.fakeplayers.pathfinding;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.metrics.Subsystem;
+import app.adriano.fakeplayers.scheduler.PlatformScheduler;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Serviço de busca de caminhos assíncrona para os bots.
+ *
+ * Fluxo de um pedido:
+ * 1. Os chunks entre origem e destino são reaproveitados do cache de passabilidade
+ *    ou capturados na thread dona de cada chunk: no Paper na thread principal, até
+ *    {@code chunk-captures-per-tick} por tick (o resto fica para os ticks seguintes, e um
+ *    chunk capturado no tick serve a todos os pedidos do tick), ou na região de cada chunk
+ *    no Folia ({@link PlatformScheduler#runAt}); a busca começa quando o último chunk chega
+ * 2. A busca A* roda em um pool limitado de threads, sobre o snapshot imutável
+ * 3. O resultado entra em uma fila de conclusão, drenada na thread dos bots
+ *    no fim de cada tick, onde os callbacks são chamados (inclusive para
+ *    pedidos resolvidos na hora, como caminhos em cache)
+ *
+ * O estado dos pedidos só é usado na thread dos bots. Pedidos e cancelamentos feitos em
+ * outras threads (como as regiões do Folia, que atualizam os bots em paralelo) são
+ * repassados a ela com {@link PlatformScheduler#run} e processados no tick seguinte.
+ *
+ * Proteções:
+ * - A fila de pedidos é limitada; se estiver cheia o pedido termina com
+ *   {@link PathStatus#BUSY} em vez de acumular
+ * - Cada bot tem no máximo um pedido ativo; um novo pedido (ou
+ *   {@link #cancel(int)}) descarta o anterior
+ * - Pedidos iguais em andamento são unidos em uma única busca
+ * - Caminhos recentes para o mesmo destino são reaproveitados quando a origem
+ *   de outro bot está sobre eles; cada bot recebe a própria cópia dos nós
+ *
+ * Exemplo de uso:
+ * ```java
+ * pathfinding.request(botId, world, sx, sy, sz, gx, gy, gz, (id, result) -> {
+ *     if (result.status() == PathStatus.FOUND) {
+ *         // seguir result.nodes()
+ *     }
+ * });
+ * ```
+ *
+ * @see PathResult
+ * @since 0.2.0
+ */
+public final class PathfindingService implements BotRegistryListener {
+
+    // Quantidade de caminhos recentes guardados por destino
+    private static final int PATHS_PER_GOAL = 4;
+
+    private final FakePlayersPlugin plugin;
+    private final FakePlayerRegistry registry;
+    private final ThreadPoolExecutor executor;
+    private final ThreadLocal<AStarSearch> searches = ThreadLocal.withInitial(AStarSearch::new);
+    private final PassabilityCache passability;
+    private final ConcurrentLinkedQueue<Job> completed = new ConcurrentLinkedQueue<>();
+
+    // Estado da thread dos bots
+    private final Map<JobKey, Job> inFlight = new HashMap<>();
+    private final Map<GoalKey, CachedPath[]> pathCache = new HashMap<>();
+    private int[] generations = new int[0];
+    private long tick;
+
+    // Capturas de chunk na thread principal: limitadas por tick e reaproveitadas no mesmo tick
+    private final ArrayDeque<DeferredChunk> deferred = new ArrayDeque<>();
+    private final Map<ChunkKey, ChunkSnapshot> capturedThisTick = new HashMap<>();
+    private int capturesLeft;
+
+    private final int maxDistance;
+    private final int maxNodes;
+    private final long pathTtlTicks;
+    private final int capturesPerTick;
+
+    private record JobKey(int world, long start, long goal) {
+    }
+
+    private record GoalKey(int world, long goal) {
+    }
+
+    private record CachedPath(long[] nodes, long createdTick) {
+    }
+
+    private record Waiter(int botId, int generation, PathCallback callback) {
+    }
+
+    private record ChunkKey(int world, int chunkX, int chunkZ) {
+    }
+
+    private record DeferredChunk(World world, Job job, int chunkX, int chunkZ) {
+    }
+
+    /**
+     * Busca em andamento, compartilhada por todos os bots que pediram o mesmo caminho.
+     */
+    private static final class Job {
+        final JobKey key;
+        final WorldSnapshot snapshot;
+        final List<Waiter> waiters = new ArrayList<>(1);
+        // Chunks ainda não capturados; o último a chegar envia a busca
+        final AtomicInteger chunksLeft = new AtomicInteger();
+        volatile boolean cancelled;
+        volatile PathResult result;
+
+        Job(JobKey key, WorldSnapshot snapshot) {
+            this.key = key;
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Cria um pedido já resolvido, entregue pela fila de conclusão como os demais.
+         */
+        static Job resolved(JobKey key, Waiter waiter, PathResult result) {
+            Job job = new Job(key, null);
+            job.waiters.add(waiter);
+            job.result = result;
+            return job;
+        }
+    }
+
+    /**
+     * Cria o serviço e inicia o pool de busca.
+     *
+     * @param plugin Instância principal do plugin
+     * @param registry Registro de bots
+     */
+    public PathfindingService(FakePlayersPlugin plugin, FakePlayerRegistry registry) {
+        this.plugin = plugin;
+        this.registry = registry;
+        var config = plugin.getConfigManager();
+        int workers = Math.max(1, config.getInt("pathfinding.workers", 2));
+        int queueSize = Math.max(1, config.getInt("pathfinding.queue-size", 256));
+        this.maxDistance = config.getInt("pathfinding.max-distance", 64);
+        this.maxNodes = Math.max(64, config.getInt("pathfinding.max-nodes", 4000));
+        this.pathTtlTicks = config.getInt("pathfinding.path-ttl-ticks", 100);
+        this.capturesPerTick = Math.max(1, config.getInt("pathfinding.chunk-captures-per-tick", 32));
+        this.capturesLeft = capturesPerTick;
+        this.passability = new PassabilityCache(
+            TimeUnit.MILLISECONDS.toNanos(config.getInt("pathfinding.snapshot-ttl-ticks", 200) * 50L));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 30L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize), runnable -> {
+                Thread thread = new Thread(runnable, "FakePlayers-Path-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        registry.addListener(this);
+    }
+
+    /**
+     * Pede um caminho para um bot. Qualquer pedido anterior do mesmo bot é cancelado.
+     * Fora da thread dos bots, o pedido é repassado a ela e feito no tick seguinte.
+     *
+     * @param botId Id do bot
+     * @param world Mundo do bot
+     * @param sx X inicial
+     * @param sy Y inicial
+     * @param sz Z inicial
+     * @param gx X do destino
+     * @param gy Y do destino
+     * @param gz Z do destino
+     * @param callback Recebe o resultado na thread dos bots
+     */
+    public void request(int botId, World world, int sx, int sy, int sz, int gx, int gy, int gz,
+                        PathCallback callback) {
+        PlatformScheduler platform = plugin.getPlatformScheduler();
+        if (!platform.isBotThread()) {
+            platform.run(() -> request(botId, world, sx, sy, sz, gx, gy, gz, callback));
+            return;
+        }
+        Waiter waiter = new Waiter(botId, nextGeneration(botId), callback);
+        int worldIndex = registry.worldIndex(world.getUID());
+        JobKey key = new JobKey(worldIndex, BlockKey.pack(sx, sy, sz), BlockKey.pack(gx, gy, gz));
+
+        if (Math.abs(gx - sx) > maxDistance || Math.abs(gz - sz) > maxDistance || Math.abs(gy - sy) > maxDistance) {
+            completed.add(Job.resolved(key, waiter, PathResult.TOO_FAR));
+            return;
+        }
+
+        long[] cached = findCached(worldIndex, key.start(), key.goal());
+        if (cached != null) {
+            completed.add(Job.resolved(key, waiter, new PathResult(PathStatus.FOUND, cached)));
+            return;
+        }
+
+        Job job = inFlight.get(key);
+        if (job == null || job.cancelled) {
+            int minChunkX = (Math.min(sx, gx) >> 4) - 1;
+            int maxChunkX = (Math.max(sx, gx) >> 4) + 1;
+            int minChunkZ = (Math.min(sz, gz) >> 4) - 1;
+            int maxChunkZ = (Math.max(sz, gz) >> 4) + 1;
+            job = new Job(key, new WorldSnapshot(worldIndex, minChunkX, minChunkZ,
+                maxChunkX - minChunkX + 1, maxChunkZ - minChunkZ + 1, world.getMinHeight(), world.getMaxHeight()));
+            inFlight.put(key, job);
+            capture(world, job, minChunkX, minChunkZ, maxChunkX, maxChunkZ);
+        }
+        job.waiters.add(waiter);
+    }
+
+    /**
+     * Cancela o pedido ativo de um bot, se houver.
+     * Fora da thread dos bots, o cancelamento é repassado a ela e feito no tick seguinte.
+     *
+     * @param botId Id do bot
+     */
+    public void cancel(int botId) {
+        PlatformScheduler platform = plugin.getPlatformScheduler();
+        if (!platform.isBotThread()) {
+            platform.run(() -> cancel(botId));
+            return;
+        }
+        nextGeneration(botId);
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry source, int id) {
+        cancel(id);
+    }
+
+    private int nextGeneration(int botId) {
+        if (botId >= generations.length) {
+            generations = Arrays.copyOf(generations, Math.max(botId + 1, generations.length * 2));
+        }
+        return ++generations[botId];
+    }
+
+    /**
+     * Entrega os resultados concluídos aos callbacks.
+     * Executado na thread dos bots no fim de cada tick.
+     */
+    public void drain() {
+        tick++;
+        capturedThisTick.clear();
+        capturesLeft = capturesPerTick;
+        captureDeferred();
+
+        Job job;
+        while ((job = completed.poll()) != null) {
+            PathResult result = job.result;
+            if (job.snapshot != null) {
+                // Busca real: sai da lista de andamento e entra no cache
+                inFlight.remove(job.key, job);
+                if (result.status() == PathStatus.FOUND) {
+                    remember(job.key, result.nodes().clone());
+                }
+            }
+            boolean shared = false;
+            for (Waiter waiter : job.waiters) {
+                if (waiter.botId() < generations.length && generations[waiter.botId()] == waiter.generation()) {
+                    // Cada bot recebe o próprio array, que pode ser modificado
+                    PathResult delivered = shared && result.length() > 0
+                        ? new PathResult(result.status(), result.nodes().clone())
+                        : result;
+                    shared = true;
+                    waiter.callback().onPath(waiter.botId(), delivered);
+                }
+            }
+        }
+
+        // Marca como canceladas as buscas sem nenhum bot interessado
+        for (Job pending : inFlight.values()) {
+            if (!pending.cancelled && allCancelled(pending)) {
+                pending.cancelled = true;
+            }
+        }
+
+        if (tick % 200 == 0) {
+            passability.purge();
+            pathCache.values().removeIf(paths -> {
+                for (CachedPath path : paths) {
+                    if (path != null && tick - path.createdTick() <= pathTtlTicks) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * @return Quantidade de buscas aguardando ou em execução
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size() + executor.getActiveCount();
+    }
+
+    /**
+     * Encerra o pool de busca e descarta os pedidos pendentes.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        deferred.clear();
+        capturedThisTick.clear();
+        inFlight.clear();
+        pathCache.clear();
+        completed.clear();
+        passability.clear();
+    }
+
+    private void run(Job job) {
+        long[] nodes = null;
+        try {
+            if (!job.cancelled) {
+                long start = System.nanoTime();
+                job.snapshot.compact(passability);
+                nodes = searches.get().search(job.snapshot, job.key.start(), job.key.goal(),
+                    maxNodes, () -> job.cancelled);
+                plugin.getProfiler().record(Subsystem.PATHFINDING_SEARCH, System.nanoTime() - start);
+            }
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Erro ao calcular caminho", e);
+        }
+        job.result = nodes == null ? PathResult.NOT_FOUND : new PathResult(PathStatus.FOUND, nodes);
+        completed.add(job);
+    }
+
+    /**
+     * Captura os chunks do retângulo entre origem e destino (com um chunk de margem)
+     * e envia a busca ao pool quando todos tiverem chegado.
+     */
+    private void capture(World world, Job job, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        WorldSnapshot snapshot = job.snapshot;
+        PlatformScheduler platform = plugin.getPlatformScheduler();
+        int[] remote = null;
+        int remoteCount = 0;
+        // Conta um a mais até o fim do laço, para que nenhuma captura envie a busca antes da hora
+        job.chunksLeft.set(1);
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                PassabilityGrid grid = passability.get(job.key.world(), cx, cz);
+                if (grid != null) {
+                    snapshot.setGrid(cx, cz, grid);
+                } else if (!platform.ownsChunk(world, cx, cz)) {
+                    if (remote == null) {
+                        remote = new int[(maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1) * 2];
+                    }
+                    remote[remoteCount++] = cx;
+                    remote[remoteCount++] = cz;
+                } else if (!captureLocal(world, job, cx, cz)) {
+                    // Orçamento do tick esgotado: o chunk é capturado nos próximos ticks
+                    job.chunksLeft.incrementAndGet();
+                    deferred.add(new DeferredChunk(world, job, cx, cz));
+                }
+            }
+        }
+
+        // Folia: cada chunk é lido pela região dona dele; a última região a terminar envia a busca.
+        // Cada região escreve uma posição diferente do snapshot, e o contador publica as escritas
+        job.chunksLeft.addAndGet(remoteCount / 2);
+        for (int i = 0; i < remoteCount; i += 2) {
+            int cx = remote[i];
+            int cz = remote[i + 1];
+            platform.runAt(world, cx, cz, () -> {
+                if (!job.cancelled) {
+                    captureChunk(world, snapshot, cx, cz);
+                }
+                chunkArrived(job);
+            });
+        }
+        chunkArrived(job);
+    }
+
+    /**
+     * Captura um chunk na thread principal, reaproveitando a cópia feita no mesmo tick.
+     *
+     * @return false se o orçamento de capturas do tick acabou
+     */
+    private boolean captureLocal(World world, Job job, int cx, int cz) {
+        ChunkKey key = new ChunkKey(job.key.world(), cx, cz);
+        ChunkSnapshot chunk = capturedThisTick.get(key);
+        if (chunk == null) {
+            if (capturesLeft <= 0) {
+                return false;
+            }
+            if (!world.isChunkLoaded(cx, cz)) {
+                return true;
+            }
+            capturesLeft--;
+            chunk = world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false);
+            capturedThisTick.put(key, chunk);
+        }
+        job.snapshot.setSnapshot(cx, cz, chunk);
+        return true;
+    }
+
+    /**
+     * Captura os chunks adiados pelos ticks anteriores, dentro do orçamento do tick.
+     */
+    private void captureDeferred() {
+        DeferredChunk next;
+        while ((next = deferred.peek()) != null) {
+            Job job = next.job();
+            if (!job.cancelled && !captureLocal(next.world(), job, next.chunkX(), next.chunkZ())) {
+                return;
+            }
+            deferred.poll();
+            chunkArrived(job);
+        }
+    }
+
+    private void chunkArrived(Job job) {
+        if (job.chunksLeft.decrementAndGet() == 0) {
+            submit(job);
+        }
+    }
+
+    private static void captureChunk(World world, WorldSnapshot snapshot, int cx, int cz) {
+        if (world.isChunkLoaded(cx, cz)) {
+            snapshot.setSnapshot(cx, cz, world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false));
+        }
+    }
+
+    /**
+     * Envia uma busca ao pool. Pode ser chamado de qualquer thread.
+     */
+    private void submit(Job job) {
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            job.result = PathResult.BUSY;
+            completed.add(job);
+        }
+    }
+
+    /**
+     * Procura um caminho recente para o mesmo destino que passe pela origem
+     * e devolve o trecho a partir dela.
+     */
+    private long[] findCached(int world, long start, long goal) {
+        CachedPath[] paths = pathCache.get(new GoalKey(world, goal));
+        if (paths == null) {
+            return null;
+        }
+        for (CachedPath path : paths) {
+            if (path == null || tick - path.createdTick() > pathTtlTicks) {
+                continue;
+            }
+            long[] nodes = path.nodes();
+            for (int i = 0; i < nodes.length; i++) {
+                if (nodes[i] == start) {
+                    // Cópia: o caminho em cache nunca sai do serviço
+                    return Arrays.copyOfRange(nodes, i, nodes.length);
+                }
+            }
+        }
+        return null;
+    }
+
+    private void remember(JobKey key, long[] nodes) {
+        CachedPath[] paths = pathCache.computeIfAbsent(new GoalKey(key.world(), key.goal()),
+            goal -> new CachedPath[PATHS_PER_GOAL]);
+        // Substitui o caminho mais antigo
+        int oldest = 0;
+        for (int i = 0; i < paths.length; i++) {
+            if (paths[i] == null) {
+                oldest = i;
+                break;
+            }
+            if (paths[i].createdTick() < paths[oldest].createdTick()) {
+                oldest = i;
+            }
+        }
+        paths[oldest] = new CachedPath(nodes, tick);
+    }
+
+    private boolean allCancelled(Job job) {
+        for (Waiter waiter : job.waiters) {
+            if (generations[waiter.botId()] == waiter.generation()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
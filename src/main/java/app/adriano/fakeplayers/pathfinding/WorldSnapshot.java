@@ -0,0 +1,116 @@
+package app.adriano.fakeplayers.pathfinding;
+
+import org.bukkit.ChunkSnapshot;
+
+/**
+ * Conjunto imutável de chunks capturados para uma busca de caminho.
+ *
+ * Cobre um retângulo de chunks. Cada chunk chega como uma
+ * {@link PassabilityGrid} já em cache ou como um {@link ChunkSnapshot} recém
+ * capturado na thread dona do chunk, que é convertido na thread de busca
+ * ({@link #compact(PassabilityCache)}). Chunks não carregados contam como sólidos.
+ *
+ * @since 0.2.0
+ */
+final class WorldSnapshot {
+
+    private final int world;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int width;
+    private final int depth;
+    private final int minY;
+    private final int maxY;
+    private final PassabilityGrid[] grids;
+    private final ChunkSnapshot[] pending;
+
+    WorldSnapshot(int world, int minChunkX, int minChunkZ, int width, int depth, int minY, int maxY) {
+        this.world = world;
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.width = width;
+        this.depth = depth;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.grids = new PassabilityGrid[width * depth];
+        this.pending = new ChunkSnapshot[width * depth];
+    }
+
+    /**
+     * Define um chunk já convertido. Usado apenas durante a captura.
+     */
+    void setGrid(int chunkX, int chunkZ, PassabilityGrid grid) {
+        grids[index(chunkX, chunkZ)] = grid;
+    }
+
+    /**
+     * Define um chunk capturado a ser convertido. Usado apenas durante a captura.
+     */
+    void setSnapshot(int chunkX, int chunkZ, ChunkSnapshot snapshot) {
+        pending[index(chunkX, chunkZ)] = snapshot;
+    }
+
+    /**
+     * Converte os chunks pendentes e os publica no cache.
+     * Chamado na thread de busca, antes da primeira consulta.
+     *
+     * @param cache Cache compartilhado de grades
+     */
+    void compact(PassabilityCache cache) {
+        for (int i = 0; i < pending.length; i++) {
+            ChunkSnapshot snapshot = pending[i];
+            if (snapshot != null) {
+                PassabilityGrid grid = PassabilityGrid.of(snapshot, minY, maxY);
+                grids[i] = grid;
+                pending[i] = null;
+                cache.put(world, snapshot.getX(), snapshot.getZ(), grid);
+            }
+        }
+    }
+
+    /**
+     * @return true se é possível ficar em pé no bloco: espaço livre para os pés e
+     *         para a cabeça, chão sólido embaixo e nada a evitar
+     */
+    boolean isWalkable(int x, int y, int z) {
+        PassabilityGrid grid = grid(x, z);
+        if (grid == null) {
+            return false;
+        }
+        int localX = x & 15;
+        int localZ = z & 15;
+        return !grid.isSolid(localX, y, localZ)
+            && !grid.isSolid(localX, y + 1, localZ)
+            && grid.isSolid(localX, y - 1, localZ)
+            && !grid.isAvoided(localX, y, localZ);
+    }
+
+    /**
+     * @return true se o bloco não ocupa espaço (usado para verificar passagens diagonais e quedas)
+     */
+    boolean isOpen(int x, int y, int z) {
+        PassabilityGrid grid = grid(x, z);
+        return grid != null && !grid.isSolid(x & 15, y, z & 15) && !grid.isSolid(x & 15, y + 1, z & 15);
+    }
+
+    /**
+     * @return true se o bloco ocupa espaço; chunks fora do snapshot contam como sólidos
+     */
+    boolean isSolid(int x, int y, int z) {
+        PassabilityGrid grid = grid(x, z);
+        return grid == null || grid.isSolid(x & 15, y, z & 15);
+    }
+
+    private PassabilityGrid grid(int x, int z) {
+        int cx = (x >> 4) - minChunkX;
+        int cz = (z >> 4) - minChunkZ;
+        if (cx < 0 || cz < 0 || cx >= width || cz >= depth) {
+            return null;
+        }
+        return grids[cz * width + cx];
+    }
+
+    private int index(int chunkX, int chunkZ) {
+        return (chunkZ - minChunkZ) * width + (chunkX - minChunkX);
+    }
+}
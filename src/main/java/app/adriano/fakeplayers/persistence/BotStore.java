@@ -0,0 +1,361 @@
+package app.adriano.fakeplayers.persistence;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.logging.TraceCategory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Persistência binária do estado dos bots.
+ *
+ * Os bots são gravados em um arquivo de registros de tamanho fixo, um por id
+ * de bot, o que permite regravar apenas os bots que mudaram.
+ *
+ * Formato do arquivo (little-endian):
+ * ```
+ * Cabeçalho (32 bytes): magic "FPBS", versão (short), tamanho do registro (short),
+ *                       quantidade de registros (int), reservado
+ * Registro (96 bytes):  estado (byte), tamanho do nome (byte), reservado (short), flags (int),
+ *                       UUID do bot (2 longs), UUID do mundo (2 longs),
+ *                       x, y, z (doubles), yaw, pitch (floats), nome (16 bytes), reservado
+ * ```
+ * O nome é cortado em 16 bytes UTF-8 sem partir caracteres.
+ *
+ * Funcionamento:
+ * 1. No onEnable, o arquivo é lido com uma única leitura e todos os bots são
+ *    restaurados de uma vez ({@link #restore()}); nenhum mapeamento fica preso ao arquivo
+ * 2. Mudanças no registro marcam o id do bot em um conjunto de bits sujos
+ * 3. Periodicamente, os registros sujos são copiados na thread principal e
+ *    gravados em uma thread própria com escritas posicionais ({@link #saveAsync()})
+ * 4. Quando o arquivo inteiro precisa ser regravado (após a restauração), ele é escrito
+ *    em um arquivo temporário e movido de forma atômica sobre o antigo, como no
+ *    {@link app.adriano.fakeplayers.skin.SkinDiskStore}
+ * 5. No onDisable, o que falta é gravado e a thread de escrita é aguardada ({@link #close()})
+ *
+ * @since 0.2.0
+ */
+public final class BotStore implements BotRegistryListener {
+
+    private static final int MAGIC = 0x53425046; // "FPBS" em little-endian
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 96;
+    private static final int NAME_BYTES = 16;
+
+    private static final byte STATE_EMPTY = 0;
+    private static final byte STATE_ACTIVE = 1;
+    private static final byte[] EMPTY_RECORD = new byte[RECORD_SIZE];
+
+    private final FakePlayersPlugin plugin;
+    private final FakePlayerRegistry registry;
+    private final File file;
+    private final ExecutorService writer;
+
+    private long[] dirty = new long[16];
+    private boolean rewrite;
+    private FileChannel channel;
+
+    /**
+     * Cria o armazenamento e passa a observar o registro.
+     *
+     * @param plugin Instância principal do plugin
+     * @param registry Registro de bots
+     * @param file Arquivo de dados
+     */
+    public BotStore(FakePlayersPlugin plugin, FakePlayerRegistry registry, File file) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "FakePlayers-BotStore");
+            thread.setDaemon(true);
+            return thread;
+        });
+        registry.addListener(this);
+    }
+
+    /**
+     * Restaura todos os bots do arquivo para o registro.
+     * Deve ser chamado na thread principal, com o registro vazio.
+     *
+     * @return Quantidade de bots restaurados
+     */
+    public int restore() {
+        if (!file.isFile() || file.length() < HEADER_SIZE) {
+            return 0;
+        }
+        int restored = 0;
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) in.size()).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) {
+                if (in.read(buffer, buffer.position()) < 0) {
+                    break;
+                }
+            }
+            if (buffer.getInt(0) != MAGIC) {
+                plugin.getLogger().warning("Arquivo " + file.getName() + " inválido, ignorando");
+                return 0;
+            }
+            short version = buffer.getShort(4);
+            short recordSize = buffer.getShort(6);
+            if (version != VERSION || recordSize != RECORD_SIZE) {
+                plugin.getLogger().warning("Versão " + version + " do arquivo " + file.getName() + " não suportada, ignorando");
+                return 0;
+            }
+            int records = (int) Math.min(buffer.getInt(8), (buffer.position() - HEADER_SIZE) / RECORD_SIZE);
+
+            byte[] nameBytes = new byte[NAME_BYTES];
+            for (int record = 0; record < records; record++) {
+                int base = HEADER_SIZE + record * RECORD_SIZE;
+                if (buffer.get(base) != STATE_ACTIVE) {
+                    continue;
+                }
+                int nameLength = Math.min(buffer.get(base + 1) & 0xFF, NAME_BYTES);
+                buffer.get(base + 72, nameBytes, 0, nameLength);
+                int world = registry.worldIndex(new UUID(buffer.getLong(base + 24), buffer.getLong(base + 32)));
+                int id = registry.spawn(
+                    new UUID(buffer.getLong(base + 8), buffer.getLong(base + 16)),
+                    new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8),
+                    plugin.getServer().getUnsafe().nextEntityId(),
+                    world,
+                    buffer.getDouble(base + 40), buffer.getDouble(base + 48), buffer.getDouble(base + 56),
+                    buffer.getFloat(base + 64), buffer.getFloat(base + 68),
+                    buffer.getInt(base + 4));
+                if (id != FakePlayerRegistry.NO_BOT) {
+                    restored++;
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Não foi possível restaurar os bots de " + file.getName(), e);
+        }
+        // Os ids atribuídos na restauração não batem com as posições antigas no arquivo
+        rewrite = true;
+        return restored;
+    }
+
+    /**
+     * Copia os registros sujos e agenda a gravação em segundo plano.
+     * Deve ser chamado na thread principal.
+     */
+    public void saveAsync() {
+        Batch batch = collect();
+        if (batch != null) {
+            plugin.getTrace().trace(TraceCategory.PERSISTENCE, "Gravando {} registros de bots", batch.count());
+            writer.execute(() -> write(batch));
+        }
+    }
+
+    /**
+     * Grava o que falta e encerra a thread de escrita, aguardando a conclusão.
+     * Chamado no onDisable.
+     */
+    public void close() {
+        saveAsync();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Tempo esgotado ao gravar " + file.getName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Erro ao fechar " + file.getName(), e);
+            }
+        }
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry source, int id) {
+        markDirty(id);
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry source, int id) {
+        markDirty(id);
+    }
+
+    @Override
+    public void onUpdate(FakePlayerRegistry source, int id) {
+        markDirty(id);
+    }
+
+    @Override
+    public void onMove(FakePlayerRegistry source, int id, int oldWorld, double oldX, double oldZ) {
+        markDirty(id);
+    }
+
+    /**
+     * Registros copiados na thread principal, prontos para gravação.
+     */
+    private record Batch(ByteBuffer data, int[] records, int count, int recordCount, boolean truncate) {
+    }
+
+    private Batch collect() {
+        int limit = registry.idLimit();
+        boolean truncate = rewrite;
+        if (truncate) {
+            // Regrava o arquivo inteiro na disposição atual dos ids
+            dirty = new long[Math.max(16, (limit >>> 6) + 1)];
+            for (int id = 0; id < limit; id++) {
+                dirty[id >>> 6] |= 1L << id;
+            }
+            rewrite = false;
+        }
+
+        int count = 0;
+        for (long word : dirty) {
+            count += Long.bitCount(word);
+        }
+        if (count == 0 && !truncate) {
+            return null;
+        }
+
+        ByteBuffer data = ByteBuffer.allocate(count * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        int[] records = new int[count];
+        int index = 0;
+        for (int word = 0; word < dirty.length; word++) {
+            long bits = dirty[word];
+            while (bits != 0) {
+                int id = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                records[index++] = id;
+                encode(data, id);
+            }
+            dirty[word] = 0;
+        }
+        data.flip();
+        return new Batch(data, records, count, limit, truncate);
+    }
+
+    private void encode(ByteBuffer data, int id) {
+        int base = data.position();
+        data.put(EMPTY_RECORD);
+        if (!registry.isAlive(id)) {
+            return;
+        }
+        byte[] name = registry.getName(id).getBytes(StandardCharsets.UTF_8);
+        int nameLength = nameLength(name);
+        UUID world = registry.worldId(registry.getWorld(id));
+        data.put(base, STATE_ACTIVE);
+        data.put(base + 1, (byte) nameLength);
+        data.putInt(base + 4, registry.getFlags(id));
+        data.putLong(base + 8, registry.getUuidMost(id));
+        data.putLong(base + 16, registry.getUuidLeast(id));
+        data.putLong(base + 24, world.getMostSignificantBits());
+        data.putLong(base + 32, world.getLeastSignificantBits());
+        data.putDouble(base + 40, registry.getX(id));
+        data.putDouble(base + 48, registry.getY(id));
+        data.putDouble(base + 56, registry.getZ(id));
+        data.putFloat(base + 64, registry.getYaw(id));
+        data.putFloat(base + 68, registry.getPitch(id));
+        data.put(base + 72, name, 0, nameLength);
+    }
+
+    /**
+     * Executado na thread de escrita.
+     */
+    private void write(Batch batch) {
+        try {
+            if (batch.truncate()) {
+                rewrite(batch);
+                return;
+            }
+            if (channel == null) {
+                file.getAbsoluteFile().getParentFile().mkdirs();
+                channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            writeRecords(channel, batch);
+            long fileRecords = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+            writeHeader(channel, (int) Math.max(batch.recordCount(), fileRecords));
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Não foi possível gravar " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Regrava o arquivo inteiro em um temporário e o move sobre o antigo, para que uma
+     * queda no meio da gravação nunca deixe o arquivo pela metade.
+     */
+    private void rewrite(Batch batch) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+        File temp = new File(parent, file.getName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeRecords(out, batch);
+            writeHeader(out, batch.recordCount());
+            out.force(false);
+        }
+        if (channel != null) {
+            // O canal aponta para o arquivo antigo; é reaberto na próxima gravação
+            channel.close();
+            channel = null;
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeRecords(FileChannel out, Batch batch) throws IOException {
+        ByteBuffer data = batch.data();
+        for (int i = 0; i < batch.count(); i++) {
+            ByteBuffer record = data.slice(i * RECORD_SIZE, RECORD_SIZE);
+            long position = HEADER_SIZE + (long) batch.records()[i] * RECORD_SIZE;
+            while (record.hasRemaining()) {
+                position += out.write(record, position);
+            }
+        }
+    }
+
+    private static void writeHeader(FileChannel out, int recordCount) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putInt(recordCount);
+        header.position(0);
+        while (header.hasRemaining()) {
+            out.write(header, header.position());
+        }
+    }
+
+    /**
+     * @return Quantidade de bytes do nome que cabem no registro, sem partir um caractere UTF-8
+     */
+    private static int nameLength(byte[] name) {
+        if (name.length <= NAME_BYTES) {
+            return name.length;
+        }
+        int end = NAME_BYTES;
+        // Bytes de continuação (10xxxxxx) pertencem ao caractere anterior
+        while (end > 0 && (name[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return end;
+    }
+
+    private void markDirty(int id) {
+        int word = id >>> 6;
+        if (word >= dirty.length) {
+            dirty = Arrays.copyOf(dirty, Math.max(word + 1, dirty.length * 2));
+        }
+        dirty[word] |= 1L << id;
+    }
+}
@@ -0,0 +1,136 @@
+package app.adriano.fakeplayers.render;
+
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import org.bukkit.entity.Player;
+
+/**
+ * Destino dos pacotes dos bots em modo pacote.
+ *
+ * A API do Paper não expõe pacotes de player-info nem de entidades, então o
+ * envio real fica a cargo de um adaptador de protocolo (NMS, ProtocolLib,
+ * PacketEvents, etc) registrado com {@link PacketBotRenderer#setSink(BotPacketSink)}.
+ *
+ * A tab list tem todos os bots do mundo do jogador, mas as entidades só existem para os bots
+ * dentro da distância de visão dele: o renderizador escolhe quais bots entram em cada chamada.
+ *
+ * Todas as chamadas já chegam agrupadas: cada método recebe todos os bots de
+ * uma categoria para um jogador e deve ser convertido em um único pacote
+ * (ou no menor número possível de pacotes). Os arrays são reutilizados pelo
+ * renderizador e não devem ser guardados após a chamada.
+ *
+ * @see PacketBotRenderer
+ * @since 0.2.0
+ */
+public interface BotPacketSink {
+
+    /**
+     * Adiciona os bots à tab list do jogador e cria suas entidades.
+     * A skin de cada bot pode ser obtida sem bloquear com
+     * {@link app.adriano.fakeplayers.skin.SkinCache#resolve(String)}.
+     *
+     * @param viewer Jogador que receberá os pacotes
+     * @param registry Registro com o estado dos bots
+     * @param botIds Ids dos bots
+     * @param count Quantidade de ids válidos em {@code botIds}
+     */
+    void spawnBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count);
+
+    /**
+     * Adiciona os bots apenas à tab list do jogador, sem criar entidades.
+     * Usado para os bots fora da distância de visão.
+     *
+     * @param viewer Jogador que receberá os pacotes
+     * @param registry Registro com o estado dos bots
+     * @param botIds Ids dos bots
+     * @param count Quantidade de ids válidos em {@code botIds}
+     */
+    void listBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count);
+
+    /**
+     * Cria as entidades de bots que já estão na tab list do jogador.
+     * Usado quando os bots entram na distância de visão.
+     *
+     * @param viewer Jogador que receberá os pacotes
+     * @param registry Registro com o estado dos bots
+     * @param botIds Ids dos bots
+     * @param count Quantidade de ids válidos em {@code botIds}
+     */
+    void showBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count);
+
+    /**
+     * Remove as entidades dos bots, mantendo-os na tab list.
+     * Usado quando os bots saem da distância de visão.
+     *
+     * @param viewer Jogador que receberá os pacotes
+     * @param entityIds Ids de entidade dos bots
+     * @param count Quantidade de ids válidos em {@code entityIds}
+     */
+    void hideBots(Player viewer, int[] entityIds, int count);
+
+    /**
+     * Atualiza posição e rotação das entidades dos bots.
+     *
+     * @param viewer Jogador que receberá os pacotes
+     * @param registry Registro com o estado dos bots
+     * @param botIds Ids dos bots
+     * @param count Quantidade de ids válidos em {@code botIds}
+     */
+    void moveBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count);
+
+    /**
+     * Remove as entidades dos bots e suas entradas na tab list.
+     * Recebe os dados já copiados, pois os bots não estão mais no registro.
+     *
+     * @param viewer Jogador que receberá os pacotes
+     * @param entityIds Ids de entidade dos bots removidos
+     * @param uuidMost Bits mais significativos dos UUIDs
+     * @param uuidLeast Bits menos significativos dos UUIDs
+     * @param count Quantidade de bots removidos
+     */
+    void removeBots(Player viewer, int[] entityIds, long[] uuidMost, long[] uuidLeast, int count);
+
+    /**
+     * Atualiza uma categoria de dados dos bots já visíveis para o jogador:
+     * um único pacote de player-info por chamada.
+     * O ping de cada bot vem de {@link app.adriano.fakeplayers.metrics.PingSimulator#getPing(int)}.
+     * A implementação padrão ignora as atualizações.
+     *
+     * @param viewer Jogador que receberá os pacotes
+     * @param registry Registro com o estado dos bots
+     * @param update Categoria da atualização
+     * @param botIds Ids dos bots
+     * @param count Quantidade de ids válidos em {@code botIds}
+     */
+    default void updateBots(Player viewer, FakePlayerRegistry registry, BotUpdate update, int[] botIds, int count) {
+    }
+
+    /**
+     * Sink padrão que descarta os pacotes, usado enquanto nenhum adaptador
+     * de protocolo estiver registrado.
+     */
+    BotPacketSink NONE = new BotPacketSink() {
+        @Override
+        public void spawnBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count) {
+        }
+
+        @Override
+        public void listBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count) {
+        }
+
+        @Override
+        public void showBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count) {
+        }
+
+        @Override
+        public void hideBots(Player viewer, int[] entityIds, int count) {
+        }
+
+        @Override
+        public void moveBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count) {
+        }
+
+        @Override
+        public void removeBots(Player viewer, int[] entityIds, long[] uuidMost, long[] uuidLeast, int count) {
+        }
+    };
+}
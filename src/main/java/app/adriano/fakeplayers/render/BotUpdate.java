@@ -0,0 +1,21 @@
+package app.adriano.fakeplayers.render;
+
+/**
+ * Categorias de atualização dos bots já visíveis, enviadas em lote no fim do tick
+ * por {@link BotPacketSink#updateBots}.
+ *
+ * @see PacketBotRenderer#queueUpdate(int, BotUpdate)
+ * @since 0.2.0
+ */
+public enum BotUpdate {
+    /** Nome exibido na tab list (player-info {@code UPDATE_DISPLAY_NAME}). */
+    DISPLAY_NAME,
+    /** Ping na tab list (player-info {@code UPDATE_LATENCY}), vindo do {@link app.adriano.fakeplayers.metrics.PingSimulator}. */
+    LATENCY,
+    /**
+     * Skin que chegou depois do spawn: o player-info do bot é removido e enviado de novo.
+     * O cliente só lê a skin ao criar a entidade, então o renderizador remove as entidades
+     * visíveis antes e as cria de novo depois.
+     */
+    SKIN
+}
@@ -0,0 +1,685 @@
+package app.adriano.fakeplayers.render;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotMode;
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.bot.SimulationLevel;
+import app.adriano.fakeplayers.listeners.ViewerTracker;
+import app.adriano.fakeplayers.metrics.PingSimulator;
+import app.adriano.fakeplayers.spatial.BotSpatialIndex;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Renderizador dos bots em modo pacote.
+ *
+ * Os bots em {@link BotMode#PACKET} não têm entidade no servidor: eles existem
+ * apenas nos pacotes enviados aos jogadores. Este renderizador observa o
+ * registro, acumula as mudanças do tick e, no fim do tick, envia tudo de uma
+ * vez por jogador e por categoria através de um {@link BotPacketSink}.
+ *
+ * Funcionalidades:
+ * 1. Spawns, movimentos e remoções do tick são agrupados em lotes
+ * 2. Movimentos repetidos do mesmo bot no tick geram um único envio
+ * 3. Bots criados e removidos no mesmo tick não geram pacote algum
+ * 4. Jogadores que entram ou trocam de mundo recebem todos os bots do mundo, uma única vez:
+ *    ficam fora dos lotes do tick até a sincronização completa
+ * 5. Bots que adormecem ({@link SimulationLevel#DORMANT}) são removidos dos jogadores
+ *    e reenviados quando acordam
+ * 6. Nome exibido, ping e skins que chegaram depois do spawn também são acumulados
+ *    ({@link BotUpdate}) e enviados em um único pacote por jogador e por categoria
+ * 7. O ping só é comparado a cada {@code render.latency-interval-ticks}, e só os bots
+ *    cujo ping mudou desde o último envio entram no lote
+ * 8. Bots que trocam de mundo são removidos dos jogadores do mundo antigo e
+ *    enviados aos do mundo novo
+ * 9. A tab list de cada jogador tem todos os bots do mundo dele, mas as entidades só existem
+ *    para os bots dentro da distância de visão: os bots próximos vêm do {@link BotSpatialIndex},
+ *    e movimentos só são enviados a quem tem a entidade
+ *
+ * Os bots são visíveis apenas para jogadores no mesmo mundo. O mundo, a posição e a distância
+ * de visão de cada jogador vêm do {@link ViewerTracker}, pois no Folia eles só podem ser lidos
+ * na thread do jogador.
+ *
+ * Funcionamento da distância de visão:
+ * 1. Cada jogador tem um bitset com os bots cuja entidade ele recebeu
+ * 2. Bots que se movem entram ou saem da vista de cada jogador no próprio flush
+ * 3. Quando o jogador anda {@value #REFRESH_DISTANCE} blocos ou muda a distância de visão,
+ *    a vista é recalculada com uma consulta de raio no índice espacial
+ * 4. A entidade só é removida {@value #HIDE_MARGIN} blocos além da distância de visão,
+ *    para que bots na borda não pisquem
+ *
+ * @see BotPacketSink
+ * @since 0.2.0
+ */
+public final class PacketBotRenderer implements BotRegistryListener {
+
+    // Tamanho máximo de cada lote na sincronização completa de um jogador
+    private static final int SYNC_BATCH = 512;
+
+    // Margem além da distância de visão antes de remover a entidade de um bot, em blocos
+    private static final double HIDE_MARGIN = 16.0;
+
+    // Distância que o jogador anda antes de a vista ser recalculada, em blocos
+    private static final double REFRESH_DISTANCE = 8.0;
+
+    private final FakePlayersPlugin plugin;
+    private final FakePlayerRegistry registry;
+    private final BotSpatialIndex spatialIndex;
+    private BotPacketSink sink = BotPacketSink.NONE;
+
+    private static final BotUpdate[] UPDATES = BotUpdate.values();
+
+    // Bots pendentes por categoria, sem duplicatas
+    private final UpdateBuffer spawned = new UpdateBuffer();
+    private final UpdateBuffer moved = new UpdateBuffer();
+    private final UpdateBuffer[] updates = new UpdateBuffer[UPDATES.length];
+
+    // Bots adormecidos, que os jogadores não têm
+    private long[] dormantMarks = new long[1];
+
+    // Bots removidos: os dados são copiados pois saem do registro (ou do mundo)
+    private int[] removedWorlds = new int[64];
+    private int[] removedIds = new int[64];
+    private int[] removedEntityIds = new int[64];
+    private long[] removedMost = new long[64];
+    private long[] removedLeast = new long[64];
+    private int removedCount;
+
+    // Remoções filtradas pelo mundo de cada jogador
+    private int[] removalEntityIds = new int[64];
+    private long[] removalMost = new long[64];
+    private long[] removalLeast = new long[64];
+
+    // Último nome e ping enviados de cada bot, para só enviar o que mudou
+    private String[] sentNames = new String[64];
+    private int[] sentPings = new int[64];
+    private int latencyInterval = 100;
+    private int flushes;
+
+    private final List<Player> pendingSync = new ArrayList<>();
+    private final Map<Player, ViewerState> states = new HashMap<>();
+    private int[] scratch = new int[64];
+    private int[] splitScratch = new int[64];
+    private int[] hiddenScratch = new int[64];
+    private int[] found = new int[64];
+
+    /**
+     * Bots com entidade criada para um jogador e a vista usada no último recálculo.
+     */
+    private static final class ViewerState {
+
+        private long[] shown = new long[1];
+        private boolean computed;
+        private double x;
+        private double y;
+        private double z;
+        private double radius;
+    }
+
+    /**
+     * Cria o renderizador e passa a observar o registro.
+     *
+     * @param plugin Instância principal do plugin
+     * @param registry Registro de bots
+     */
+    public PacketBotRenderer(FakePlayersPlugin plugin, FakePlayerRegistry registry) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.spatialIndex = plugin.getSpatialIndex();
+        for (int i = 0; i < updates.length; i++) {
+            updates[i] = new UpdateBuffer();
+        }
+        registry.addListener(this);
+        loadSettings();
+    }
+
+    /**
+     * Carrega o intervalo de envio do ping do config.yml.
+     * Chamado na criação e a cada recarregamento.
+     */
+    public void loadSettings() {
+        latencyInterval = Math.max(1, plugin.getConfigManager().getInt("render.latency-interval-ticks", 100));
+    }
+
+    /**
+     * Define o adaptador de protocolo que enviará os pacotes.
+     *
+     * @param sink Adaptador de protocolo, ou {@link BotPacketSink#NONE}
+     */
+    public void setSink(BotPacketSink sink) {
+        this.sink = sink == null ? BotPacketSink.NONE : sink;
+    }
+
+    /**
+     * @return Adaptador de protocolo atual
+     */
+    public BotPacketSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Agenda o envio de todos os bots do mundo do jogador no próximo flush.
+     *
+     * @param viewer Jogador que acabou de entrar ou trocar de mundo
+     */
+    public void queueFullSync(Player viewer) {
+        if (!pendingSync.contains(viewer)) {
+            pendingSync.add(viewer);
+        }
+    }
+
+    /**
+     * Agenda uma atualização de um bot visível para o próximo flush.
+     * Várias chamadas para o mesmo bot e categoria no tick geram um único envio;
+     * bots ainda não enviados ou adormecidos são ignorados, pois o spawn já leva o estado atual.
+     * Usado pelo {@link app.adriano.fakeplayers.skin.SkinCache} quando uma skin chega depois do spawn;
+     * nome e ping são detectados pelo próprio renderizador.
+     *
+     * @param id Id do bot
+     * @param update Categoria da atualização
+     */
+    public void queueUpdate(int id, BotUpdate update) {
+        if (isVisible(id)) {
+            updates[update.ordinal()].add(id);
+        }
+    }
+
+    /**
+     * Cancela a sincronização pendente de um jogador que saiu.
+     *
+     * @param viewer Jogador que saiu do servidor
+     */
+    public void forget(Player viewer) {
+        pendingSync.remove(viewer);
+        states.remove(viewer);
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry source, int id) {
+        if (!isPacketBot(id)) {
+            return;
+        }
+        if (SimulationLevel.isDormant(registry.getFlags(id))) {
+            dormantMarks = UpdateBuffer.ensureBits(dormantMarks, id);
+            UpdateBuffer.testAndSet(dormantMarks, id);
+            return;
+        }
+        spawned.add(id);
+    }
+
+    @Override
+    public void onUpdate(FakePlayerRegistry source, int id) {
+        boolean dormant = isPacketBot(id) && SimulationLevel.isDormant(registry.getFlags(id));
+        if (dormant == UpdateBuffer.isSet(dormantMarks, id)) {
+            if (!dormant && isVisible(id) && !Objects.equals(registry.getName(id), sentName(id))) {
+                ensureSentCapacity(id);
+                sentNames[id] = registry.getName(id);
+                updates[BotUpdate.DISPLAY_NAME.ordinal()].add(id);
+            }
+            return;
+        }
+        if (!dormant) {
+            // Acordou: os jogadores recebem o bot de novo, já na posição atual
+            UpdateBuffer.clear(dormantMarks, id);
+            spawned.add(id);
+            return;
+        }
+        dormantMarks = UpdateBuffer.ensureBits(dormantMarks, id);
+        UpdateBuffer.testAndSet(dormantMarks, id);
+        discardPending(id);
+    }
+
+    @Override
+    public void onMove(FakePlayerRegistry source, int id, int oldWorld, double oldX, double oldZ) {
+        // O spawn pendente já levará a posição mais recente; bots adormecidos não são vistos
+        if (!isVisible(id)) {
+            return;
+        }
+        if (registry.getWorld(id) == oldWorld) {
+            moved.add(id);
+            return;
+        }
+        // Trocou de mundo: sai dos jogadores do mundo antigo e é enviado aos do novo
+        moved.discard(id);
+        for (UpdateBuffer buffer : updates) {
+            buffer.discard(id);
+        }
+        queueRemoval(id, oldWorld);
+        spawned.add(id);
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry source, int id) {
+        if (!isPacketBot(id)) {
+            return;
+        }
+        if (UpdateBuffer.isSet(dormantMarks, id)) {
+            // Já foi removido dos jogadores ao adormecer
+            UpdateBuffer.clear(dormantMarks, id);
+            return;
+        }
+        discardPending(id);
+    }
+
+    /**
+     * Envia as mudanças acumuladas no tick para todos os jogadores.
+     * Executado pelo {@link app.adriano.fakeplayers.scheduler.BotScheduler} no fim de cada tick.
+     */
+    public void flush() {
+        if (++flushes % latencyInterval == 0) {
+            queueLatencyChanges();
+        }
+
+        boolean hasChanges = !spawned.isEmpty() || !moved.isEmpty() || removedCount > 0;
+        for (UpdateBuffer buffer : updates) {
+            hasChanges |= !buffer.isEmpty();
+        }
+        if (hasChanges) {
+            spawned.compact();
+            moved.compact();
+            for (UpdateBuffer buffer : updates) {
+                buffer.compact();
+            }
+            rememberSent(spawned);
+        }
+        for (ViewerTracker.Viewer tracked : plugin.getViewerTracker().getViewers()) {
+            Player viewer = tracked.player();
+            if (tracked.worldId() == null || pendingSync.contains(viewer)) {
+                // O jogador receberá tudo na sincronização abaixo
+                continue;
+            }
+            int world = registry.findWorld(tracked.worldId());
+            if (world == FakePlayerRegistry.NO_WORLD) {
+                // Nenhum bot no mundo
+                continue;
+            }
+            ViewerState state = states.computeIfAbsent(viewer, ignored -> new ViewerState());
+            if (hasChanges) {
+                sendChanges(viewer, tracked, state, world);
+            }
+            double radius = viewRadius(tracked);
+            if (!state.computed || state.radius != radius
+                || distanceSq(tracked, state.x, state.y, state.z) > REFRESH_DISTANCE * REFRESH_DISTANCE) {
+                refreshView(viewer, tracked, state, world, radius);
+            }
+        }
+        if (hasChanges) {
+            spawned.reset();
+            moved.reset();
+            for (UpdateBuffer buffer : updates) {
+                buffer.reset();
+            }
+            removedCount = 0;
+        }
+
+        if (!pendingSync.isEmpty()) {
+            // Jogadores cujo mundo ainda não é conhecido ficam para o próximo flush
+            pendingSync.removeIf(viewer -> !viewer.isOnline() || syncAll(viewer));
+        }
+    }
+
+    /**
+     * Envia a um jogador as mudanças do tick no mundo dele: remoções, spawns, movimentos
+     * (com entradas e saídas da vista) e atualizações.
+     */
+    private void sendChanges(Player viewer, ViewerTracker.Viewer tracked, ViewerState state, int world) {
+        for (int i = 0; i < removedCount; i++) {
+            UpdateBuffer.clear(state.shown, removedIds[i]);
+        }
+        int count = filterRemovals(world);
+        if (count > 0) {
+            sink.removeBots(viewer, removalEntityIds, removalMost, removalLeast, count);
+        }
+
+        double radius = viewRadius(tracked);
+        double radiusSq = radius * radius;
+        double hideRadiusSq = (radius + HIDE_MARGIN) * (radius + HIDE_MARGIN);
+        count = filterByWorld(spawned, world);
+        if (count > 0) {
+            // Todos entram na tab list; só os próximos ganham entidade
+            int near = 0;
+            int far = 0;
+            splitScratch = ensureCapacity(splitScratch, count);
+            for (int i = 0; i < count; i++) {
+                int id = scratch[i];
+                if (distanceSq(tracked, id) <= radiusSq) {
+                    state.shown = UpdateBuffer.ensureBits(state.shown, id);
+                    UpdateBuffer.testAndSet(state.shown, id);
+                    scratch[near++] = id;
+                } else {
+                    splitScratch[far++] = id;
+                }
+            }
+            if (near > 0) {
+                sink.spawnBots(viewer, registry, scratch, near);
+            }
+            if (far > 0) {
+                sink.listBots(viewer, registry, splitScratch, far);
+            }
+        }
+
+        count = filterByWorld(moved, world);
+        if (count > 0) {
+            int moves = 0;
+            int shows = 0;
+            int hides = 0;
+            splitScratch = ensureCapacity(splitScratch, count);
+            hiddenScratch = ensureCapacity(hiddenScratch, count);
+            for (int i = 0; i < count; i++) {
+                int id = scratch[i];
+                double distanceSq = distanceSq(tracked, id);
+                if (UpdateBuffer.isSet(state.shown, id)) {
+                    if (distanceSq <= hideRadiusSq) {
+                        scratch[moves++] = id;
+                    } else {
+                        UpdateBuffer.clear(state.shown, id);
+                        hiddenScratch[hides++] = registry.getEntityId(id);
+                    }
+                } else if (distanceSq <= radiusSq) {
+                    state.shown = UpdateBuffer.ensureBits(state.shown, id);
+                    UpdateBuffer.testAndSet(state.shown, id);
+                    splitScratch[shows++] = id;
+                }
+            }
+            if (hides > 0) {
+                sink.hideBots(viewer, hiddenScratch, hides);
+            }
+            if (moves > 0) {
+                sink.moveBots(viewer, registry, scratch, moves);
+            }
+            if (shows > 0) {
+                sink.showBots(viewer, registry, splitScratch, shows);
+            }
+        }
+
+        for (BotUpdate update : UPDATES) {
+            count = filterByWorld(updates[update.ordinal()], world);
+            if (count == 0) {
+                continue;
+            }
+            if (update != BotUpdate.SKIN) {
+                sink.updateBots(viewer, registry, update, scratch, count);
+                continue;
+            }
+            // O cliente só lê a skin ao criar a entidade: as visíveis são recriadas
+            int shown = 0;
+            splitScratch = ensureCapacity(splitScratch, count);
+            hiddenScratch = ensureCapacity(hiddenScratch, count);
+            for (int i = 0; i < count; i++) {
+                int id = scratch[i];
+                if (UpdateBuffer.isSet(state.shown, id)) {
+                    hiddenScratch[shown] = registry.getEntityId(id);
+                    splitScratch[shown++] = id;
+                }
+            }
+            if (shown > 0) {
+                sink.hideBots(viewer, hiddenScratch, shown);
+            }
+            sink.updateBots(viewer, registry, update, scratch, count);
+            if (shown > 0) {
+                sink.showBots(viewer, registry, splitScratch, shown);
+            }
+        }
+    }
+
+    /**
+     * Recalcula a vista de um jogador que andou ou mudou a distância de visão:
+     * remove as entidades dos bots que ficaram longe e cria as dos que ficaram perto.
+     */
+    private void refreshView(Player viewer, ViewerTracker.Viewer tracked, ViewerState state, int world,
+                             double radius) {
+        double hideRadiusSq = (radius + HIDE_MARGIN) * (radius + HIDE_MARGIN);
+        hiddenScratch = ensureCapacity(hiddenScratch, registry.size());
+        int hides = 0;
+        long[] shown = state.shown;
+        for (int word = 0; word < shown.length; word++) {
+            long bits = shown[word];
+            while (bits != 0) {
+                int id = word << 6 | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (!registry.isAlive(id)) {
+                    UpdateBuffer.clear(shown, id);
+                } else if (distanceSq(tracked, id) > hideRadiusSq) {
+                    UpdateBuffer.clear(shown, id);
+                    hiddenScratch[hides++] = registry.getEntityId(id);
+                }
+            }
+        }
+        if (hides > 0) {
+            sink.hideBots(viewer, hiddenScratch, hides);
+        }
+
+        found = ensureCapacity(found, registry.size());
+        int count = spatialIndex.queryRadius(world, tracked.x(), tracked.y(), tracked.z(), radius, found);
+        int shows = 0;
+        for (int i = 0; i < count; i++) {
+            int id = found[i];
+            if (isVisible(id) && !UpdateBuffer.isSet(state.shown, id)) {
+                state.shown = UpdateBuffer.ensureBits(state.shown, id);
+                UpdateBuffer.testAndSet(state.shown, id);
+                found[shows++] = id;
+            }
+        }
+        if (shows > 0) {
+            sink.showBots(viewer, registry, found, shows);
+        }
+        state.computed = true;
+        state.radius = radius;
+        state.x = tracked.x();
+        state.y = tracked.y();
+        state.z = tracked.z();
+    }
+
+    /**
+     * @return Distância de visão do jogador em blocos; antes da primeira cópia vale a do servidor
+     */
+    private double viewRadius(ViewerTracker.Viewer tracked) {
+        int chunks = tracked.viewDistance() > 0 ? tracked.viewDistance() : plugin.getServer().getViewDistance();
+        return chunks * 16.0;
+    }
+
+    private double distanceSq(ViewerTracker.Viewer tracked, int id) {
+        return distanceSq(tracked, registry.getX(id), registry.getY(id), registry.getZ(id));
+    }
+
+    private static double distanceSq(ViewerTracker.Viewer tracked, double x, double y, double z) {
+        double dx = tracked.x() - x;
+        double dy = tracked.y() - y;
+        double dz = tracked.z() - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Agenda o ping dos bots visíveis que mudou desde o último envio.
+     * O {@link PingSimulator} varia o ping a cada ciclo; enviar só a cada intervalo
+     * evita um pacote de ping por tick para cada jogador.
+     */
+    private void queueLatencyChanges() {
+        PingSimulator pings = plugin.getPingSimulator();
+        if (pings == null) {
+            return;
+        }
+        UpdateBuffer latency = updates[BotUpdate.LATENCY.ordinal()];
+        for (int slot = 0; slot < registry.size(); slot++) {
+            int id = registry.idAt(slot);
+            if (isVisible(id)) {
+                int ping = pings.getPing(id);
+                ensureSentCapacity(id);
+                if (ping != sentPings[id]) {
+                    sentPings[id] = ping;
+                    latency.add(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Guarda o nome e o ping com que os bots foram enviados, que servem de base para as atualizações.
+     */
+    private void rememberSent(UpdateBuffer buffer) {
+        PingSimulator pings = plugin.getPingSimulator();
+        int[] ids = buffer.ids();
+        for (int i = 0; i < buffer.size(); i++) {
+            int id = ids[i];
+            ensureSentCapacity(id);
+            sentNames[id] = registry.getName(id);
+            sentPings[id] = pings != null ? pings.getPing(id) : 0;
+        }
+    }
+
+    private String sentName(int id) {
+        return id < sentNames.length ? sentNames[id] : null;
+    }
+
+    private void ensureSentCapacity(int id) {
+        if (id >= sentNames.length) {
+            int capacity = Math.max(id + 1, sentNames.length * 2);
+            sentNames = Arrays.copyOf(sentNames, capacity);
+            sentPings = Arrays.copyOf(sentPings, capacity);
+        }
+    }
+
+    /**
+     * Descarta tudo o que estava pendente para um bot que sai da vista dos jogadores
+     * e agenda a remoção, se algum jogador chegou a recebê-lo.
+     */
+    private void discardPending(int id) {
+        moved.discard(id);
+        for (UpdateBuffer buffer : updates) {
+            buffer.discard(id);
+        }
+        if (!spawned.discard(id)) {
+            queueRemoval(id, registry.getWorld(id));
+        }
+    }
+
+    private void queueRemoval(int id, int world) {
+        if (removedCount == removedEntityIds.length) {
+            int capacity = removedCount * 2;
+            removedWorlds = Arrays.copyOf(removedWorlds, capacity);
+            removedIds = Arrays.copyOf(removedIds, capacity);
+            removedEntityIds = Arrays.copyOf(removedEntityIds, capacity);
+            removedMost = Arrays.copyOf(removedMost, capacity);
+            removedLeast = Arrays.copyOf(removedLeast, capacity);
+        }
+        removedWorlds[removedCount] = world;
+        removedIds[removedCount] = id;
+        removedEntityIds[removedCount] = registry.getEntityId(id);
+        removedMost[removedCount] = registry.getUuidMost(id);
+        removedLeast[removedCount] = registry.getUuidLeast(id);
+        removedCount++;
+    }
+
+    /**
+     * @return false se o mundo do jogador ainda não é conhecido
+     */
+    private boolean syncAll(Player viewer) {
+        ViewerTracker.Viewer tracked = plugin.getViewerTracker().get(viewer);
+        if (tracked == null || tracked.worldId() == null) {
+            return false;
+        }
+        // O cliente não tem mais nenhuma entidade de bot: a vista começa do zero
+        ViewerState state = new ViewerState();
+        states.put(viewer, state);
+        int world = registry.findWorld(tracked.worldId());
+        if (world == FakePlayerRegistry.NO_WORLD) {
+            // Nenhum bot vive no mundo do jogador
+            return true;
+        }
+        double radius = viewRadius(tracked);
+        int near = 0;
+        int far = 0;
+        scratch = ensureCapacity(scratch, SYNC_BATCH);
+        splitScratch = ensureCapacity(splitScratch, SYNC_BATCH);
+        for (int slot = 0; slot < registry.size(); slot++) {
+            int id = registry.idAt(slot);
+            if (!isPacketBot(id) || UpdateBuffer.isSet(dormantMarks, id) || registry.getWorld(id) != world) {
+                continue;
+            }
+            if (distanceSq(tracked, id) <= radius * radius) {
+                state.shown = UpdateBuffer.ensureBits(state.shown, id);
+                UpdateBuffer.testAndSet(state.shown, id);
+                scratch[near++] = id;
+                if (near == SYNC_BATCH) {
+                    sink.spawnBots(viewer, registry, scratch, near);
+                    near = 0;
+                }
+            } else {
+                splitScratch[far++] = id;
+                if (far == SYNC_BATCH) {
+                    sink.listBots(viewer, registry, splitScratch, far);
+                    far = 0;
+                }
+            }
+        }
+        if (near > 0) {
+            sink.spawnBots(viewer, registry, scratch, near);
+        }
+        if (far > 0) {
+            sink.listBots(viewer, registry, splitScratch, far);
+        }
+        state.computed = true;
+        state.radius = radius;
+        state.x = tracked.x();
+        state.y = tracked.y();
+        state.z = tracked.z();
+        return true;
+    }
+
+    /**
+     * Copia para os arrays de remoção apenas os bots removidos do mundo do jogador.
+     */
+    private int filterRemovals(int world) {
+        if (removalEntityIds.length < removedCount) {
+            removalEntityIds = new int[removedEntityIds.length];
+            removalMost = new long[removedEntityIds.length];
+            removalLeast = new long[removedEntityIds.length];
+        }
+        int count = 0;
+        for (int i = 0; i < removedCount; i++) {
+            if (removedWorlds[i] == world) {
+                removalEntityIds[count] = removedEntityIds[i];
+                removalMost[count] = removedMost[i];
+                removalLeast[count] = removedLeast[i];
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int filterByWorld(UpdateBuffer buffer, int world) {
+        int[] ids = buffer.ids();
+        int length = buffer.size();
+        scratch = ensureCapacity(scratch, length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            int id = ids[i];
+            if (registry.getWorld(id) == world) {
+                scratch[count++] = id;
+            }
+        }
+        return count;
+    }
+
+    private boolean isPacketBot(int id) {
+        return BotMode.fromFlags(registry.getFlags(id)) == BotMode.PACKET;
+    }
+
+    /**
+     * @return true se os jogadores já têm o bot: em modo pacote, acordado e sem spawn pendente
+     */
+    private boolean isVisible(int id) {
+        return isPacketBot(id) && !spawned.contains(id) && !UpdateBuffer.isSet(dormantMarks, id);
+    }
+
+    private static int[] ensureCapacity(int[] array, int length) {
+        return array.length >= length ? array : new int[Math.max(length, array.length * 2)];
+    }
+}
@@ -0,0 +1,225 @@
+package app.adriano.fakeplayers.render;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.metrics.PingSimulator;
+import app.adriano.fakeplayers.skin.SkinCache;
+import app.adriano.fakeplayers.skin.SkinTexture;
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
+import com.github.retrooper.packetevents.protocol.player.GameMode;
+import com.github.retrooper.packetevents.protocol.player.TextureProperty;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.protocol.player.UserProfile;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDestroyEntities;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityHeadLook;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityTeleport;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerPlayerInfoRemove;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerPlayerInfoUpdate;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSpawnEntity;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@link BotPacketSink} que envia os pacotes pelo PacketEvents.
+ *
+ * Registrado automaticamente na inicialização quando o plugin PacketEvents está
+ * instalado; sem ele os bots em modo pacote não ficam visíveis.
+ *
+ * Funcionamento:
+ * 1. Spawn: um único player-info com todos os bots (perfil com skin, ping e modo de jogo)
+ *    e um pacote de criação de entidade por bot; bots fora da vista só recebem o player-info
+ * 2. Movimento: teleporte e rotação da cabeça de cada bot
+ * 3. Entrada e saída da vista: criação das entidades, ou um único pacote de destruição
+ * 4. Remoção: um único pacote de destruição de entidades e um único player-info-remove
+ * 5. Atualizações: nome exibido e ping em um único player-info por categoria
+ * 6. Skin que chegou depois do spawn: player-info-remove e um novo player-info com a skin
+ *
+ * Os pacotes de cada chamada são escritos no canal do jogador e enviados com um único flush.
+ *
+ * @since 0.2.0
+ */
+public final class PacketEventsSink implements BotPacketSink {
+
+    private static final EnumSet<WrapperPlayServerPlayerInfoUpdate.Action> SPAWN_ACTIONS = EnumSet.of(
+        WrapperPlayServerPlayerInfoUpdate.Action.ADD_PLAYER,
+        WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_GAME_MODE,
+        WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_LISTED,
+        WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_LATENCY);
+
+    private final FakePlayersPlugin plugin;
+
+    /**
+     * Cria o adaptador.
+     *
+     * @param plugin Instância principal do plugin
+     */
+    public PacketEventsSink(FakePlayersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void spawnBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count) {
+        User user = user(viewer);
+        if (user == null) {
+            return;
+        }
+        writeInfo(user, registry, botIds, count);
+        writeEntities(user, registry, botIds, count);
+        user.flushPackets();
+    }
+
+    @Override
+    public void listBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count) {
+        User user = user(viewer);
+        if (user == null) {
+            return;
+        }
+        writeInfo(user, registry, botIds, count);
+        user.flushPackets();
+    }
+
+    @Override
+    public void showBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count) {
+        User user = user(viewer);
+        if (user == null) {
+            return;
+        }
+        writeEntities(user, registry, botIds, count);
+        user.flushPackets();
+    }
+
+    @Override
+    public void hideBots(Player viewer, int[] entityIds, int count) {
+        User user = user(viewer);
+        if (user == null) {
+            return;
+        }
+        user.writePacket(new WrapperPlayServerDestroyEntities(Arrays.copyOf(entityIds, count)));
+        user.flushPackets();
+    }
+
+    @Override
+    public void moveBots(Player viewer, FakePlayerRegistry registry, int[] botIds, int count) {
+        User user = user(viewer);
+        if (user == null) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int id = botIds[i];
+            int entityId = registry.getEntityId(id);
+            float yaw = registry.getYaw(id);
+            user.writePacket(new WrapperPlayServerEntityTeleport(entityId, position(registry, id),
+                yaw, registry.getPitch(id), true));
+            user.writePacket(new WrapperPlayServerEntityHeadLook(entityId, yaw));
+        }
+        user.flushPackets();
+    }
+
+    @Override
+    public void removeBots(Player viewer, int[] entityIds, long[] uuidMost, long[] uuidLeast, int count) {
+        User user = user(viewer);
+        if (user == null) {
+            return;
+        }
+        int[] entities = new int[count];
+        List<UUID> uuids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entities[i] = entityIds[i];
+            uuids.add(new UUID(uuidMost[i], uuidLeast[i]));
+        }
+        user.writePacket(new WrapperPlayServerDestroyEntities(entities));
+        user.writePacket(new WrapperPlayServerPlayerInfoRemove(uuids));
+        user.flushPackets();
+    }
+
+    @Override
+    public void updateBots(Player viewer, FakePlayerRegistry registry, BotUpdate update, int[] botIds, int count) {
+        User user = user(viewer);
+        if (user == null) {
+            return;
+        }
+        if (update == BotUpdate.SKIN) {
+            List<UUID> uuids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                uuids.add(registry.getUniqueId(botIds[i]));
+            }
+            user.writePacket(new WrapperPlayServerPlayerInfoRemove(uuids));
+            writeInfo(user, registry, botIds, count);
+            user.flushPackets();
+            return;
+        }
+        WrapperPlayServerPlayerInfoUpdate.Action action = update == BotUpdate.LATENCY
+            ? WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_LATENCY
+            : WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_DISPLAY_NAME;
+        List<WrapperPlayServerPlayerInfoUpdate.PlayerInfo> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = botIds[i];
+            entries.add(new WrapperPlayServerPlayerInfoUpdate.PlayerInfo(
+                new UserProfile(registry.getUniqueId(id), registry.getName(id)), true, ping(id),
+                GameMode.SURVIVAL, Component.text(registry.getName(id)), null));
+        }
+        user.writePacket(new WrapperPlayServerPlayerInfoUpdate(EnumSet.of(action), entries));
+        user.flushPackets();
+    }
+
+    /**
+     * Escreve um único player-info com todos os bots (perfil com skin, ping e modo de jogo).
+     */
+    private void writeInfo(User user, FakePlayerRegistry registry, int[] botIds, int count) {
+        List<WrapperPlayServerPlayerInfoUpdate.PlayerInfo> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = botIds[i];
+            entries.add(new WrapperPlayServerPlayerInfoUpdate.PlayerInfo(
+                profile(registry, id), true, ping(id), GameMode.SURVIVAL, null, null));
+        }
+        user.writePacket(new WrapperPlayServerPlayerInfoUpdate(SPAWN_ACTIONS, entries));
+    }
+
+    private static void writeEntities(User user, FakePlayerRegistry registry, int[] botIds, int count) {
+        for (int i = 0; i < count; i++) {
+            int id = botIds[i];
+            float yaw = registry.getYaw(id);
+            user.writePacket(new WrapperPlayServerSpawnEntity(registry.getEntityId(id),
+                Optional.of(registry.getUniqueId(id)), EntityTypes.PLAYER, position(registry, id),
+                registry.getPitch(id), yaw, yaw, 0, Optional.empty()));
+        }
+    }
+
+    /**
+     * Monta o perfil do bot com a skin em memória, se houver.
+     */
+    private UserProfile profile(FakePlayerRegistry registry, int id) {
+        String name = registry.getName(id);
+        SkinCache skins = plugin.getSkinCache();
+        SkinTexture texture = skins != null ? skins.resolve(name) : null;
+        List<TextureProperty> properties = texture == null
+            ? List.of()
+            : List.of(new TextureProperty("textures", texture.value(), texture.signature()));
+        return new UserProfile(registry.getUniqueId(id), name, properties);
+    }
+
+    private int ping(int id) {
+        PingSimulator pings = plugin.getPingSimulator();
+        return pings != null ? pings.getPing(id) : 0;
+    }
+
+    private static Vector3d position(FakePlayerRegistry registry, int id) {
+        return new Vector3d(registry.getX(id), registry.getY(id), registry.getZ(id));
+    }
+
+    /**
+     * @return Conexão do jogador no PacketEvents, ou null se ele já saiu
+     */
+    private static User user(Player viewer) {
+        return PacketEvents.getAPI().getPlayerManager().getUser(viewer);
+    }
+}
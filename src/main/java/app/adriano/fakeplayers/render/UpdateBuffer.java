@@ -0,0 +1,125 @@
+package app.adriano.fakeplayers.render;
+
+import java.util.Arrays;
+
+/**
+ * Lista de bots pendentes de uma categoria de pacote durante o tick.
+ *
+ * Cada bot entra uma única vez: um bitset indexado pelo id descarta as mudanças
+ * repetidas do mesmo bot no tick. Descartar um bot apenas limpa o bit; a entrada
+ * sai da lista em {@link #compact()}, antes do envio.
+ *
+ * Usado apenas na thread dos bots, pelo {@link PacketBotRenderer}.
+ *
+ * @since 0.2.0
+ */
+final class UpdateBuffer {
+
+    private int[] ids = new int[64];
+    private int count;
+    private long[] marks = new long[1];
+
+    /**
+     * Adiciona um bot, se ainda não estiver pendente.
+     *
+     * @param id Id do bot
+     */
+    void add(int id) {
+        marks = ensureBits(marks, id);
+        if (!testAndSet(marks, id)) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = id;
+        }
+    }
+
+    /**
+     * Descarta um bot pendente.
+     *
+     * @param id Id do bot
+     * @return true se o bot estava pendente
+     */
+    boolean discard(int id) {
+        boolean pending = isSet(marks, id);
+        clear(marks, id);
+        return pending;
+    }
+
+    /**
+     * @param id Id do bot
+     * @return true se o bot está pendente
+     */
+    boolean contains(int id) {
+        return isSet(marks, id);
+    }
+
+    /**
+     * @return true se não há entradas, nem mesmo descartadas
+     */
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Remove as entradas descartadas e limpa os bits das restantes.
+     * Ids reaproveitados no mesmo tick aparecem uma única vez.
+     */
+    void compact() {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int id = ids[i];
+            if (isSet(marks, id)) {
+                clear(marks, id);
+                ids[kept++] = id;
+            }
+        }
+        count = kept;
+    }
+
+    /**
+     * @return Ids pendentes; válidos até {@link #size()} e apenas após {@link #compact()}
+     */
+    int[] ids() {
+        return ids;
+    }
+
+    /**
+     * @return Quantidade de entradas
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Esvazia a lista após o envio. Os bits já foram limpos por {@link #compact()}.
+     */
+    void reset() {
+        count = 0;
+    }
+
+    static long[] ensureBits(long[] bits, int id) {
+        int word = id >>> 6;
+        return word < bits.length ? bits : Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+    }
+
+    static boolean testAndSet(long[] bits, int id) {
+        long mask = 1L << id;
+        int word = id >>> 6;
+        boolean wasSet = (bits[word] & mask) != 0;
+        bits[word] |= mask;
+        return wasSet;
+    }
+
+    static boolean isSet(long[] bits, int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+
+    static void clear(long[] bits, int id) {
+        int word = id >>> 6;
+        if (word < bits.length) {
+            bits[word] &= ~(1L << id);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package app.adriano.fakeplayers.replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cursor sobre os quadros de uma {@link MovementRecording}.
+ *
+ * Guarda o estado absoluto no tick do último quadro lido; {@link #advance()} aplica o
+ * próximo quadro sobre ele. Lê o arquivo mapeado com leituras absolutas, sem alocar,
+ * então um único cursor pode ser reaproveitado para todos os bots: o {@link ReplayEngine}
+ * carrega o estado do bot, avança e guarda o estado de volta.
+ *
+ * @see MovementFormat
+ * @since 0.2.0
+ */
+final class FrameReader {
+
+    private ByteBuffer buffer;
+    private int limit;
+    private boolean truncated;
+
+    int position;
+    int tick;
+    long x;
+    long y;
+    long z;
+    int yaw;
+    int pitch;
+    int actions;
+
+    /**
+     * Posiciona o cursor no início dos quadros de uma gravação, antes do primeiro quadro.
+     */
+    void start(MovementRecording recording) {
+        buffer = recording.buffer();
+        limit = recording.framesEnd();
+        position = MovementFormat.HEADER_SIZE;
+        tick = 0;
+        x = 0;
+        y = 0;
+        z = 0;
+        yaw = 0;
+        pitch = 0;
+        actions = 0;
+    }
+
+    /**
+     * Troca a gravação lida sem mexer no estado, para continuar de onde um bot parou.
+     */
+    void attach(MovementRecording recording) {
+        buffer = recording.buffer();
+        limit = recording.framesEnd();
+    }
+
+    /**
+     * Posiciona o cursor em um keyframe, que será lido pelo próximo {@link #advance()}.
+     *
+     * @param offset Posição do keyframe no arquivo
+     * @param keyframeTick Tick do keyframe, do índice da gravação
+     */
+    void seek(int offset, int keyframeTick) {
+        position = offset;
+        int delta = peekTicks();
+        tick = keyframeTick - Math.max(0, delta);
+    }
+
+    /**
+     * @return Tick do próximo quadro, ou {@link Integer#MAX_VALUE} se não houver mais quadros
+     */
+    int nextTick() {
+        int delta = peekTicks();
+        return delta < 0 ? Integer.MAX_VALUE : tick + delta;
+    }
+
+    /**
+     * Lê o próximo quadro e aplica sobre o estado.
+     *
+     * @return false se não houver mais quadros completos; o estado não muda
+     */
+    boolean advance() {
+        int start = position;
+        truncated = false;
+        int delta = (int) readUnsigned();
+        int mask = readByte();
+        long newX = x;
+        long newY = y;
+        long newZ = z;
+        int newYaw = yaw;
+        int newPitch = pitch;
+        int newActions = actions;
+        if ((mask & MovementFormat.KEYFRAME) != 0) {
+            newX = readSigned();
+            newY = readSigned();
+            newZ = readSigned();
+            newYaw = (int) readUnsigned();
+            newPitch = (int) readUnsigned();
+            newActions = (int) readUnsigned();
+        } else {
+            if ((mask & MovementFormat.X) != 0) {
+                newX += readSigned();
+            }
+            if ((mask & MovementFormat.Y) != 0) {
+                newY += readSigned();
+            }
+            if ((mask & MovementFormat.Z) != 0) {
+                newZ += readSigned();
+            }
+            if ((mask & MovementFormat.YAW) != 0) {
+                newYaw = (int) (newYaw + readSigned()) & 0xFFFF;
+            }
+            if ((mask & MovementFormat.PITCH) != 0) {
+                newPitch = (int) (newPitch + readSigned()) & 0xFFFF;
+            }
+            if ((mask & MovementFormat.ACTIONS) != 0) {
+                newActions = (int) readUnsigned();
+            }
+        }
+        if (truncated) {
+            position = start;
+            return false;
+        }
+        tick += delta;
+        x = newX;
+        y = newY;
+        z = newZ;
+        yaw = newYaw;
+        pitch = newPitch;
+        actions = newActions;
+        return true;
+    }
+
+    private int peekTicks() {
+        int start = position;
+        truncated = false;
+        int delta = (int) readUnsigned();
+        position = start;
+        return truncated ? -1 : delta;
+    }
+
+    private int readByte() {
+        if (position >= limit) {
+            truncated = true;
+            return 0;
+        }
+        return buffer.get(position++) & 0xFF;
+    }
+
+    private long readUnsigned() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        truncated = true;
+        return 0;
+    }
+
+    private long readSigned() {
+        return MovementFormat.decodeSigned(readUnsigned());
+    }
+}
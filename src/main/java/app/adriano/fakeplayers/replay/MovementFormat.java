@@ -0,0 +1,117 @@
+package app.adriano.fakeplayers.replay;
+
+/**
+ * Formato binário das gravações de movimento ({@code .fpr}).
+ *
+ * Formato do arquivo (little-endian):
+ * ```
+ * Cabeçalho (64 bytes): magic "FPMR" (int), versão (short), reservado (short),
+ *                       duração em ticks (int), quantidade de keyframes (int), posição do índice (long),
+ *                       UUID do mundo (2 longs), reservado
+ * Quadro:               ticks desde o quadro anterior (varint), máscara (byte), campos da máscara
+ * Índice:               tick (int) e posição (int) de cada keyframe
+ * ```
+ *
+ * Campos do quadro, na ordem dos bits da máscara:
+ * 1. {@link #X}, {@link #Y}, {@link #Z}: posição em 1/4096 de bloco, como diferença (zigzag varlong)
+ * 2. {@link #YAW}, {@link #PITCH}: rotação em 16 bits, como diferença (zigzag varint; o yaw dá a volta)
+ * 3. {@link #ACTIONS}: ações do jogador ({@link app.adriano.fakeplayers.bot.BotActions}), valor absoluto (varint)
+ *
+ * Um quadro com {@link #KEYFRAME} traz todos os campos com valores absolutos, para que a
+ * reprodução possa começar nele. Só os campos que mudaram são gravados, então um jogador
+ * andando em linha reta ocupa de 3 a 5 bytes por tick, e um parado, nenhum.
+ *
+ * A posição do índice fica zerada até a gravação terminar; um arquivo sem índice (servidor
+ * caiu durante a gravação) ainda é reproduzível, apenas sem saltos rápidos.
+ *
+ * @since 0.2.0
+ */
+final class MovementFormat {
+
+    static final int MAGIC = 0x524D5046; // "FPMR" em little-endian
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int INDEX_ENTRY_SIZE = 8;
+
+    // Posições no cabeçalho
+    static final int DURATION_OFFSET = 8;
+    static final int KEYFRAMES_OFFSET = 12;
+    static final int INDEX_OFFSET = 16;
+    static final int WORLD_OFFSET = 24;
+
+    // Bits da máscara do quadro
+    static final int X = 1;
+    static final int Y = 1 << 1;
+    static final int Z = 1 << 2;
+    static final int YAW = 1 << 3;
+    static final int PITCH = 1 << 4;
+    static final int ACTIONS = 1 << 5;
+    static final int KEYFRAME = 1 << 7;
+
+    /**
+     * Escala da posição: 1/4096 de bloco, a mesma precisão dos pacotes de movimento.
+     */
+    static final double POSITION_SCALE = 4096.0;
+
+    /**
+     * Maior quadro possível: tick (5) + máscara (1) + 3 posições (10 cada) + 2 rotações (3 cada) + ações (1).
+     */
+    static final int MAX_FRAME_SIZE = 43;
+
+    private static final float YAW_SCALE = 65536f / 360f;
+    private static final float PITCH_SCALE = 65535f / 180f;
+
+    private MovementFormat() {
+    }
+
+    static long toFixed(double coordinate) {
+        return Math.round(coordinate * POSITION_SCALE);
+    }
+
+    static double fromFixed(long fixed) {
+        return fixed / POSITION_SCALE;
+    }
+
+    static int packYaw(float yaw) {
+        return Math.round(yaw * YAW_SCALE) & 0xFFFF;
+    }
+
+    static float unpackYaw(int yaw) {
+        return (short) yaw / YAW_SCALE;
+    }
+
+    static int packPitch(float pitch) {
+        return Math.round((Math.max(-90f, Math.min(90f, pitch)) + 90f) * PITCH_SCALE) & 0xFFFF;
+    }
+
+    static float unpackPitch(int pitch) {
+        return pitch / PITCH_SCALE - 90f;
+    }
+
+    /**
+     * Grava um varlong em zigzag.
+     *
+     * @return Posição logo após o valor
+     */
+    static int writeSigned(byte[] buffer, int position, long value) {
+        return writeUnsigned(buffer, position, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Grava um varlong sem sinal (7 bits por byte, o bit alto indica continuação).
+     *
+     * @return Posição logo após o valor
+     */
+    static int writeUnsigned(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    static long decodeSigned(long zigzag) {
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
@@ -0,0 +1,471 @@
+package app.adriano.fakeplayers.replay;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotActions;
+import app.adriano.fakeplayers.listeners.BaseListener;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerAnimationEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.bukkit.event.player.PlayerToggleSprintEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Grava o movimento de jogadores reais em arquivos {@code .fpr}, para o {@link ReplayEngine}.
+ *
+ * Funcionamento:
+ * 1. Os eventos de movimento, agachar, correr e balançar o braço atualizam o estado pendente
+ *    de cada jogador gravado, na thread dos bots
+ * 2. Uma vez por tick, o estado pendente vira um quadro com só o que mudou desde o último;
+ *    ticks sem mudança não gravam nada, e a cada {@code replay.keyframe-interval-ticks}
+ *    o quadro seguinte é um keyframe completo
+ * 3. Os quadros vão para um bloco de 64 KB por jogador; blocos cheios são gravados em uma
+ *    thread própria, então o disco nunca é tocado no tick e a memória por jogador é fixa
+ * 4. Ao parar, a thread de escrita grava o índice de keyframes, completa o cabeçalho e troca
+ *    {@code <nome>.fpr.tmp} por {@code <nome>.fpr}; assim uma gravação refeita nunca encolhe
+ *    um arquivo que o {@link ReplayEngine} ainda tem mapeado
+ *
+ * Se o servidor cair no meio, a gravação fica em {@code <nome>.fpr.tmp}, sem índice; renomeada
+ * para {@code .fpr}, ela ainda é reproduzível até o último quadro gravado.
+ *
+ * @see MovementFormat
+ * @since 0.2.0
+ */
+public final class MovementRecorder extends BaseListener implements Runnable {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final File folder;
+    private final int keyframeInterval;
+    private final ExecutorService writer;
+    private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Cria o gravador.
+     *
+     * @param plugin Instância principal do plugin
+     * @param folder Pasta das gravações
+     * @param keyframeInterval Ticks mínimos entre keyframes
+     */
+    public MovementRecorder(FakePlayersPlugin plugin, File folder, int keyframeInterval) {
+        super(plugin);
+        this.folder = folder;
+        this.keyframeInterval = Math.max(20, keyframeInterval);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "FakePlayers-Recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Começa a gravar um jogador. Deve ser chamado na thread dos bots.
+     *
+     * @param player Jogador gravado
+     * @param name Nome da gravação; o arquivo é {@code <nome>.fpr}
+     * @return false se o jogador ou o nome já estiverem sendo gravados
+     */
+    public boolean start(Player player, String name) {
+        UUID uuid = player.getUniqueId();
+        if (sessions.containsKey(uuid) || getActive().contains(name)) {
+            return false;
+        }
+        Location location = player.getLocation();
+        Session session = new Session(name, new File(folder, name + ".fpr"), location.getWorld().getUID());
+        session.move(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
+        session.setAction(BotActions.SNEAKING, player.isSneaking());
+        session.setAction(BotActions.SPRINTING, player.isSprinting());
+        sessions.put(uuid, session);
+        writer.execute(session::open);
+        return true;
+    }
+
+    /**
+     * Para a gravação de um jogador. Deve ser chamado na thread dos bots.
+     *
+     * @param player UUID do jogador
+     * @return Nome da gravação encerrada, ou null se o jogador não estava sendo gravado
+     */
+    public String stop(UUID player) {
+        Session session = sessions.remove(player);
+        if (session == null) {
+            return null;
+        }
+        session.finish();
+        return session.name;
+    }
+
+    /**
+     * @return Nomes das gravações em andamento
+     */
+    public List<String> getActive() {
+        List<String> names = new ArrayList<>();
+        for (Session session : sessions.values()) {
+            names.add(session.name);
+        }
+        return names;
+    }
+
+    /**
+     * Encerra todas as gravações e espera a thread de escrita terminar.
+     */
+    public void close() {
+        for (UUID player : new ArrayList<>(sessions.keySet())) {
+            stop(player);
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Tempo esgotado ao gravar os movimentos");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        for (Session session : sessions.values()) {
+            session.sample();
+        }
+    }
+
+    /**
+     * Registra a nova posição de um jogador gravado.
+     *
+     * @param event O evento de movimento
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Session session = sessions.get(event.getPlayer().getUniqueId());
+        if (session == null) {
+            return;
+        }
+        Location to = event.getTo();
+        double x = to.getX();
+        double y = to.getY();
+        double z = to.getZ();
+        float yaw = to.getYaw();
+        float pitch = to.getPitch();
+        runOnBotThread(() -> session.move(x, y, z, yaw, pitch));
+    }
+
+    /**
+     * Registra quando um jogador gravado agacha ou levanta.
+     *
+     * @param event O evento de agachar
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerToggleSneak(PlayerToggleSneakEvent event) {
+        Session session = sessions.get(event.getPlayer().getUniqueId());
+        if (session != null) {
+            boolean sneaking = event.isSneaking();
+            runOnBotThread(() -> session.setAction(BotActions.SNEAKING, sneaking));
+        }
+    }
+
+    /**
+     * Registra quando um jogador gravado começa ou para de correr.
+     *
+     * @param event O evento de correr
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerToggleSprint(PlayerToggleSprintEvent event) {
+        Session session = sessions.get(event.getPlayer().getUniqueId());
+        if (session != null) {
+            boolean sprinting = event.isSprinting();
+            runOnBotThread(() -> session.setAction(BotActions.SPRINTING, sprinting));
+        }
+    }
+
+    /**
+     * Registra quando um jogador gravado balança o braço.
+     *
+     * @param event O evento de animação
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerAnimation(PlayerAnimationEvent event) {
+        Session session = sessions.get(event.getPlayer().getUniqueId());
+        if (session != null) {
+            runOnBotThread(() -> session.swing = true);
+        }
+    }
+
+    /**
+     * Encerra a gravação de quem saiu.
+     *
+     * @param event O evento de jogador sair
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        if (sessions.containsKey(uuid)) {
+            runOnBotThread(() -> stop(uuid));
+        }
+    }
+
+    /**
+     * Gravação de um jogador. O estado é usado só na thread dos bots; o canal, só na de escrita.
+     */
+    private final class Session {
+        private final String name;
+        private final File file;
+        private final File temp;
+        private final UUID world;
+        private final byte[] chunk = new byte[CHUNK_SIZE];
+        private FileChannel channel;
+        private volatile boolean failed;
+
+        // Estado pendente, atualizado pelos eventos
+        private long x;
+        private long y;
+        private long z;
+        private int yaw;
+        private int pitch;
+        private int actions;
+        private boolean swing;
+
+        // Estado do último quadro gravado
+        private long writtenX;
+        private long writtenY;
+        private long writtenZ;
+        private int writtenYaw;
+        private int writtenPitch;
+        private int writtenActions;
+
+        private int tick;
+        private int frames;
+        private int lastFrameTick;
+        private int lastKeyframeTick;
+        private int length;
+        private long flushed;
+        private int[] keyframeTicks = new int[16];
+        private int[] keyframeOffsets = new int[16];
+        private int keyframes;
+
+        Session(String name, File file, UUID world) {
+            this.name = name;
+            this.file = file;
+            this.temp = new File(file.getPath() + ".tmp");
+            this.world = world;
+        }
+
+        void move(double newX, double newY, double newZ, float newYaw, float newPitch) {
+            x = MovementFormat.toFixed(newX);
+            y = MovementFormat.toFixed(newY);
+            z = MovementFormat.toFixed(newZ);
+            yaw = MovementFormat.packYaw(newYaw);
+            pitch = MovementFormat.packPitch(newPitch);
+        }
+
+        void setAction(int action, boolean active) {
+            actions = active ? actions | action : actions & ~action;
+        }
+
+        /**
+         * Grava o quadro deste tick, se algo mudou.
+         */
+        void sample() {
+            int current = actions | (swing ? BotActions.SWINGING : 0);
+            int mask = 0;
+            if (x != writtenX) {
+                mask |= MovementFormat.X;
+            }
+            if (y != writtenY) {
+                mask |= MovementFormat.Y;
+            }
+            if (z != writtenZ) {
+                mask |= MovementFormat.Z;
+            }
+            if (yaw != writtenYaw) {
+                mask |= MovementFormat.YAW;
+            }
+            if (pitch != writtenPitch) {
+                mask |= MovementFormat.PITCH;
+            }
+            if (current != writtenActions) {
+                mask |= MovementFormat.ACTIONS;
+            }
+            boolean keyframe = frames == 0 || tick - lastKeyframeTick >= keyframeInterval;
+            if ((mask != 0 || frames == 0) && !failed) {
+                write(keyframe ? MovementFormat.KEYFRAME : mask, current);
+            }
+            swing = false;
+            tick++;
+        }
+
+        private void write(int mask, int current) {
+            if (length + MovementFormat.MAX_FRAME_SIZE > CHUNK_SIZE) {
+                flush();
+            }
+            long offset = MovementFormat.HEADER_SIZE + flushed + length;
+            if (offset + CHUNK_SIZE > Integer.MAX_VALUE) {
+                plugin.getLogger().warning("Gravação " + name + " chegou a 2 GB e foi encerrada");
+                failed = true;
+                return;
+            }
+            int position = MovementFormat.writeUnsigned(chunk, length, tick - lastFrameTick);
+            chunk[position++] = (byte) mask;
+            if (mask == MovementFormat.KEYFRAME) {
+                position = MovementFormat.writeSigned(chunk, position, x);
+                position = MovementFormat.writeSigned(chunk, position, y);
+                position = MovementFormat.writeSigned(chunk, position, z);
+                position = MovementFormat.writeUnsigned(chunk, position, yaw);
+                position = MovementFormat.writeUnsigned(chunk, position, pitch);
+                position = MovementFormat.writeUnsigned(chunk, position, current);
+                addKeyframe(tick, (int) offset);
+                lastKeyframeTick = tick;
+            } else {
+                if ((mask & MovementFormat.X) != 0) {
+                    position = MovementFormat.writeSigned(chunk, position, x - writtenX);
+                }
+                if ((mask & MovementFormat.Y) != 0) {
+                    position = MovementFormat.writeSigned(chunk, position, y - writtenY);
+                }
+                if ((mask & MovementFormat.Z) != 0) {
+                    position = MovementFormat.writeSigned(chunk, position, z - writtenZ);
+                }
+                if ((mask & MovementFormat.YAW) != 0) {
+                    // Pelo caminho mais curto: de 359° para 1° são +2°, não -358°
+                    position = MovementFormat.writeSigned(chunk, position, (short) (yaw - writtenYaw));
+                }
+                if ((mask & MovementFormat.PITCH) != 0) {
+                    position = MovementFormat.writeSigned(chunk, position, pitch - writtenPitch);
+                }
+                if ((mask & MovementFormat.ACTIONS) != 0) {
+                    position = MovementFormat.writeUnsigned(chunk, position, current);
+                }
+            }
+            length = position;
+            writtenX = x;
+            writtenY = y;
+            writtenZ = z;
+            writtenYaw = yaw;
+            writtenPitch = pitch;
+            writtenActions = current;
+            lastFrameTick = tick;
+            frames++;
+        }
+
+        private void addKeyframe(int keyframeTick, int offset) {
+            if (keyframes == keyframeTicks.length) {
+                keyframeTicks = Arrays.copyOf(keyframeTicks, keyframes * 2);
+                keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframes * 2);
+            }
+            keyframeTicks[keyframes] = keyframeTick;
+            keyframeOffsets[keyframes] = offset;
+            keyframes++;
+        }
+
+        /**
+         * Entrega o bloco atual à thread de escrita.
+         */
+        private void flush() {
+            if (length == 0) {
+                return;
+            }
+            byte[] data = Arrays.copyOf(chunk, length);
+            long position = MovementFormat.HEADER_SIZE + flushed;
+            flushed += length;
+            length = 0;
+            writer.execute(() -> writeAt(ByteBuffer.wrap(data), position));
+        }
+
+        /**
+         * Grava o que falta, o índice e o cabeçalho final.
+         */
+        void finish() {
+            flush();
+            long indexOffset = MovementFormat.HEADER_SIZE + flushed;
+            ByteBuffer index = ByteBuffer.allocate(keyframes * MovementFormat.INDEX_ENTRY_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < keyframes; i++) {
+                index.putInt(keyframeTicks[i]).putInt(keyframeOffsets[i]);
+            }
+            index.flip();
+            ByteBuffer header = header(lastFrameTick, keyframes, indexOffset);
+            writer.execute(() -> {
+                writeAt(index, indexOffset);
+                writeAt(header, 0);
+                if (channel == null) {
+                    return;
+                }
+                try {
+                    channel.force(false);
+                    channel.close();
+                    channel = null;
+                    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.WARNING, "Erro ao concluir a gravação " + file.getName(), e);
+                }
+            });
+        }
+
+        /**
+         * Cria o arquivo com o cabeçalho provisório, sem índice. Roda na thread de escrita.
+         */
+        void open() {
+            try {
+                folder.mkdirs();
+                channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Não foi possível criar a gravação " + file.getName(), e);
+                failed = true;
+                return;
+            }
+            writeAt(header(0, 0, 0), 0);
+        }
+
+        private ByteBuffer header(int duration, int keyframeCount, long indexOffset) {
+            ByteBuffer header = ByteBuffer.allocate(MovementFormat.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MovementFormat.MAGIC);
+            header.putShort(4, MovementFormat.VERSION);
+            header.putInt(MovementFormat.DURATION_OFFSET, duration);
+            header.putInt(MovementFormat.KEYFRAMES_OFFSET, keyframeCount);
+            header.putLong(MovementFormat.INDEX_OFFSET, indexOffset);
+            header.putLong(MovementFormat.WORLD_OFFSET, world.getMostSignificantBits());
+            header.putLong(MovementFormat.WORLD_OFFSET + 8, world.getLeastSignificantBits());
+            return header;
+        }
+
+        private void writeAt(ByteBuffer data, long position) {
+            if (channel == null) {
+                return;
+            }
+            try {
+                while (data.hasRemaining()) {
+                    position += channel.write(data, position);
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Erro ao gravar " + file.getName(), e);
+                failed = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package app.adriano.fakeplayers.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Gravação de movimento aberta para reprodução.
+ *
+ * O arquivo é mapeado em memória somente leitura: os quadros ficam no cache de páginas
+ * do sistema operacional e nunca são copiados para o heap, então uma gravação de horas
+ * custa o mesmo heap que uma de segundos e pode ser lida por centenas de bots ao mesmo tempo.
+ * Os saltos usam o índice de keyframes, lido direto do arquivo com busca binária.
+ *
+ * Gravações maiores que 2 GB não são suportadas (cerca de mil horas de um jogador).
+ *
+ * @see MovementFormat
+ * @see ReplayEngine
+ * @since 0.2.0
+ */
+public final class MovementRecording {
+
+    private final String name;
+    private final MappedByteBuffer buffer;
+    private final int framesEnd;
+    private final int duration;
+    private final int keyframes;
+    private final int indexOffset;
+
+    private MovementRecording(String name, MappedByteBuffer buffer, int framesEnd, int duration,
+                              int keyframes, int indexOffset) {
+        this.name = name;
+        this.buffer = buffer;
+        this.framesEnd = framesEnd;
+        this.duration = duration;
+        this.keyframes = keyframes;
+        this.indexOffset = indexOffset;
+    }
+
+    /**
+     * Abre e mapeia uma gravação.
+     * Se a gravação não terminou (sem índice), os quadros são percorridos uma vez para achar a duração.
+     *
+     * @param name Nome da gravação
+     * @param file Arquivo {@code .fpr}
+     * @return Gravação aberta
+     * @throws IOException Se o arquivo não existir, for inválido ou maior que 2 GB
+     */
+    public static MovementRecording open(String name, File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Gravação maior que 2 GB: " + file);
+            }
+            if (size < MovementFormat.HEADER_SIZE) {
+                throw new IOException("Gravação inválida: " + file);
+            }
+            // O mapeamento continua válido depois que o canal é fechado
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MovementFormat.MAGIC || buffer.getShort(4) != MovementFormat.VERSION) {
+            throw new IOException("Gravação inválida: " + file);
+        }
+
+        long indexOffset = buffer.getLong(MovementFormat.INDEX_OFFSET);
+        int keyframes = buffer.getInt(MovementFormat.KEYFRAMES_OFFSET);
+        if (indexOffset >= MovementFormat.HEADER_SIZE
+            && indexOffset + (long) keyframes * MovementFormat.INDEX_ENTRY_SIZE <= buffer.capacity()) {
+            return new MovementRecording(name, buffer, (int) indexOffset,
+                buffer.getInt(MovementFormat.DURATION_OFFSET), keyframes, (int) indexOffset);
+        }
+
+        // Gravação interrompida: vale até o último quadro completo, sem índice
+        MovementRecording partial = new MovementRecording(name, buffer, buffer.capacity(), 0, 0, 0);
+        FrameReader reader = new FrameReader();
+        reader.start(partial);
+        while (reader.advance()) {
+            // Só percorre
+        }
+        return new MovementRecording(name, buffer, reader.position, reader.tick, 0, 0);
+    }
+
+    /**
+     * @return Nome da gravação
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Tick do último quadro; a gravação cobre os ticks de 0 até este
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return Tamanho dos quadros em bytes
+     */
+    public int getFrameBytes() {
+        return framesEnd - MovementFormat.HEADER_SIZE;
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    int framesEnd() {
+        return framesEnd;
+    }
+
+    /**
+     * Procura o último keyframe no tick informado ou antes dele.
+     *
+     * @param tick Tick da gravação
+     * @return Índice do keyframe, ou -1 se não houver índice ou keyframe anterior
+     */
+    int keyframeBefore(int tick) {
+        int low = 0;
+        int high = keyframes - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (keyframeTick(middle) <= tick) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    int keyframeTick(int keyframe) {
+        return buffer.getInt(indexOffset + keyframe * MovementFormat.INDEX_ENTRY_SIZE);
+    }
+
+    int keyframeOffset(int keyframe) {
+        return buffer.getInt(indexOffset + keyframe * MovementFormat.INDEX_ENTRY_SIZE + 4);
+    }
+}
@@ -0,0 +1,398 @@
+package app.adriano.fakeplayers.replay;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.behavior.BehaviorEngine;
+import app.adriano.fakeplayers.bot.BotActions;
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.logging.TraceCategory;
+import app.adriano.fakeplayers.scheduler.BotTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reproduz gravações de movimento ({@link MovementRecording}) nos bots.
+ *
+ * Funcionamento:
+ * 1. Cada bot em reprodução guarda, em arrays indexados pelo id, a gravação, o tick de início,
+ *    a posição do cursor no arquivo e o estado do último quadro lido (~80 bytes por bot)
+ * 2. Em cada atualização do {@link app.adriano.fakeplayers.scheduler.BotScheduler}, o cursor
+ *    avança até o tick atual da gravação e o bot recebe a posição, a rotação e as ações
+ * 3. Vários bots podem reproduzir a mesma gravação com defasagens diferentes; cada um anda
+ *    a partir de onde estava, somando o deslocamento da gravação à própria posição
+ * 4. Saltos grandes (bot que acordou do {@code DORMANT}, volta ao início em {@code replay.loop})
+ *    usam o índice de keyframes em vez de ler todos os quadros do meio
+ *
+ * Os arquivos ficam mapeados em memória e são lidos sem cópia, então o heap usado não depende
+ * da duração das gravações, só da quantidade de bots. Uma gravação regravada substitui a versão
+ * antiga quando nenhum bot a reproduz; senão a antiga sai na próxima abertura depois que os bots
+ * dela param, e o mapeamento é liberado junto com o buffer. Bots em reprodução deixam de ter árvore
+ * de comportamento, para que as duas coisas não os movam ao mesmo tempo.
+ *
+ * O cursor de leitura é um por thread, pois no Folia bots de regiões diferentes são
+ * atualizados ao mesmo tempo.
+ *
+ * @see MovementRecorder
+ * @since 0.2.0
+ */
+public final class ReplayEngine implements BotRegistryListener, BotTask {
+
+    private static final int NONE = -1;
+
+    private final FakePlayersPlugin plugin;
+    private final FakePlayerRegistry registry;
+    private final File folder;
+    private final ThreadLocal<FrameReader> readers = ThreadLocal.withInitial(FrameReader::new);
+    private final Map<String, Integer> indexByName = new HashMap<>();
+    private MovementRecording[] recordings = new MovementRecording[0];
+    private long[] modifiedAt = new long[0];
+    private boolean loop;
+    private final AtomicInteger active = new AtomicInteger();
+
+    // Estado por bot, indexado pelo id
+    private int[] recordingOf = new int[64];
+    private long[] startTicks = new long[64];
+    private int[] cursors = new int[64];
+    private int[] frameTicks = new int[64];
+    private long[] positions = new long[64 * 3];
+    private int[] rotations = new int[64];
+    private int[] actions = new int[64];
+    private double[] anchors = new double[64 * 3];
+
+    /**
+     * Cria o motor de reprodução.
+     *
+     * @param plugin Instância principal do plugin
+     * @param registry Registro de bots
+     * @param folder Pasta das gravações
+     */
+    public ReplayEngine(FakePlayersPlugin plugin, FakePlayerRegistry registry, File folder) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.folder = folder;
+        Arrays.fill(recordingOf, NONE);
+        loadSettings();
+    }
+
+    /**
+     * Lê as opções da seção {@code replay} do config.yml.
+     */
+    public void loadSettings() {
+        loop = plugin.getConfigManager().getBoolean("replay.loop", true);
+    }
+
+    /**
+     * Abre uma gravação da pasta, reaproveitando a já aberta se o arquivo não mudou.
+     *
+     * @param name Nome da gravação, sem extensão
+     * @return Gravação aberta
+     * @throws IOException Se o arquivo não existir ou for inválido
+     */
+    public MovementRecording open(String name) throws IOException {
+        File file = new File(folder, name + ".fpr");
+        long modified = file.lastModified();
+        Integer index = indexByName.get(name);
+        if (index != null && modifiedAt[index] == modified) {
+            return recordings[index];
+        }
+        MovementRecording recording = MovementRecording.open(name, file);
+
+        // Uma gravação regravada só ocupa outra posição enquanto há bots na versão antiga
+        boolean[] inUse = releaseUnused();
+        int slot = index != null && !inUse[index] ? index : freeSlot();
+        recordings[slot] = recording;
+        modifiedAt[slot] = modified;
+        indexByName.put(name, slot);
+        plugin.getTrace().trace(TraceCategory.BOTS, "Gravação {} aberta: {} ticks, {} bytes",
+            name, Integer.valueOf(recording.getDuration()), Integer.valueOf(recording.getFrameBytes()));
+        return recording;
+    }
+
+    /**
+     * Tira do array as versões antigas de gravações regravadas que nenhum bot reproduz mais,
+     * liberando o mapeamento delas. Deve ser chamado na thread dos bots.
+     *
+     * @return Posições com bots reproduzindo
+     */
+    private boolean[] releaseUnused() {
+        boolean[] inUse = new boolean[recordings.length];
+        for (int id = 0; id < recordingOf.length; id++) {
+            if (recordingOf[id] != NONE) {
+                inUse[recordingOf[id]] = true;
+            }
+        }
+        for (int slot = 0; slot < recordings.length; slot++) {
+            MovementRecording old = recordings[slot];
+            if (old != null && !inUse[slot] && indexByName.get(old.getName()) != slot) {
+                recordings[slot] = null;
+            }
+        }
+        return inUse;
+    }
+
+    private int freeSlot() {
+        for (int slot = 0; slot < recordings.length; slot++) {
+            if (recordings[slot] == null) {
+                return slot;
+            }
+        }
+        recordings = Arrays.copyOf(recordings, recordings.length + 1);
+        modifiedAt = Arrays.copyOf(modifiedAt, recordings.length);
+        return recordings.length - 1;
+    }
+
+    /**
+     * @return Nomes das gravações na pasta
+     */
+    public List<String> listRecordings() {
+        List<String> names = new ArrayList<>();
+        String[] files = folder.list((dir, file) -> file.endsWith(".fpr"));
+        if (files != null) {
+            for (String file : files) {
+                names.add(file.substring(0, file.length() - 4));
+            }
+        }
+        names.sort(null);
+        return names;
+    }
+
+    /**
+     * Começa a reproduzir uma gravação em um bot. Deve ser chamado na thread dos bots.
+     *
+     * @param id Id do bot
+     * @param recording Gravação aberta com {@link #open(String)}
+     * @param offset Tick da gravação em que o bot começa
+     * @return false se o bot não existir ou a gravação estiver vazia
+     */
+    public boolean play(int id, MovementRecording recording, int offset) {
+        Integer index = indexByName.get(recording.getName());
+        if (!registry.isAlive(id) || recording.getFrameBytes() == 0
+            || index == null || recordings[index] != recording) {
+            return false;
+        }
+        if (recordingOf[id] == NONE) {
+            active.incrementAndGet();
+        }
+        BehaviorEngine behaviors = plugin.getBehaviorEngine();
+        if (behaviors != null) {
+            behaviors.setTree(id, null);
+        }
+        int target = Math.max(0, Math.min(offset, recording.getDuration()));
+        recordingOf[id] = index;
+        startTicks[id] = plugin.getBotScheduler().getTick() - target;
+
+        FrameReader reader = readers.get();
+        reader.start(recording);
+        advanceTo(reader, recording, target);
+        store(reader, id);
+        // Ancora a gravação na posição atual do bot
+        int base = id * 3;
+        anchors[base] = registry.getX(id) - MovementFormat.fromFixed(reader.x);
+        anchors[base + 1] = registry.getY(id) - MovementFormat.fromFixed(reader.y);
+        anchors[base + 2] = registry.getZ(id) - MovementFormat.fromFixed(reader.z);
+        apply(reader, id, true);
+        return true;
+    }
+
+    /**
+     * Reproduz uma gravação em vários bots, com defasagens espalhadas pela duração.
+     * Deve ser chamado na thread dos bots.
+     *
+     * @param recording Gravação aberta com {@link #open(String)}
+     * @param amount Máximo de bots; são escolhidos os que ainda não reproduzem nada
+     * @return Quantidade de bots que começaram a reprodução
+     */
+    public int play(MovementRecording recording, int amount) {
+        int[] chosen = new int[Math.min(amount, registry.size())];
+        int count = 0;
+        for (int slot = 0; slot < registry.size() && count < chosen.length; slot++) {
+            int id = registry.idAt(slot);
+            if (!isPlaying(id)) {
+                chosen[count++] = id;
+            }
+        }
+        int started = 0;
+        for (int i = 0; i < count; i++) {
+            int offset = (int) ((long) recording.getDuration() * i / count);
+            if (play(chosen[i], recording, offset)) {
+                started++;
+            }
+        }
+        return started;
+    }
+
+    /**
+     * Para a reprodução de um bot; ele fica onde está, sem ações.
+     *
+     * @param id Id do bot
+     */
+    public void stop(int id) {
+        if (!isPlaying(id)) {
+            return;
+        }
+        recordingOf[id] = NONE;
+        active.decrementAndGet();
+        if (registry.isAlive(id)) {
+            int flags = registry.getFlags(id);
+            if (BotActions.fromFlags(flags) != 0) {
+                registry.setFlags(id, BotActions.applyTo(flags, 0));
+            }
+        }
+    }
+
+    /**
+     * Para todas as reproduções.
+     *
+     * @return Quantidade de bots que estavam reproduzindo
+     */
+    public int stopAll() {
+        int stopped = active.get();
+        for (int id = 0; id < recordingOf.length; id++) {
+            stop(id);
+        }
+        return stopped;
+    }
+
+    /**
+     * @param id Id do bot
+     * @return true se o bot está reproduzindo uma gravação
+     */
+    public boolean isPlaying(int id) {
+        return id >= 0 && id < recordingOf.length && recordingOf[id] != NONE;
+    }
+
+    /**
+     * @return Quantidade de bots reproduzindo gravações
+     */
+    public int getActive() {
+        return active.get();
+    }
+
+    @Override
+    public void update(int botId, long tick) {
+        if (botId >= recordingOf.length || recordingOf[botId] == NONE) {
+            return;
+        }
+        MovementRecording recording = recordings[recordingOf[botId]];
+        int duration = recording.getDuration();
+        long elapsed = tick - startTicks[botId];
+        boolean finished = false;
+        int target;
+        if (elapsed <= duration) {
+            target = (int) Math.max(0, elapsed);
+        } else if (loop) {
+            target = (int) (elapsed % (duration + 1L));
+        } else {
+            target = duration;
+            finished = true;
+        }
+
+        FrameReader reader = readers.get();
+        load(reader, botId, recording);
+        advanceTo(reader, recording, target);
+        store(reader, botId);
+        apply(reader, botId, false);
+        if (finished) {
+            stop(botId);
+        }
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry source, int id) {
+        if (id >= recordingOf.length) {
+            int capacity = Math.max(id + 1, recordingOf.length * 2);
+            int oldLength = recordingOf.length;
+            recordingOf = Arrays.copyOf(recordingOf, capacity);
+            startTicks = Arrays.copyOf(startTicks, capacity);
+            cursors = Arrays.copyOf(cursors, capacity);
+            frameTicks = Arrays.copyOf(frameTicks, capacity);
+            positions = Arrays.copyOf(positions, capacity * 3);
+            rotations = Arrays.copyOf(rotations, capacity);
+            actions = Arrays.copyOf(actions, capacity);
+            anchors = Arrays.copyOf(anchors, capacity * 3);
+            Arrays.fill(recordingOf, oldLength, capacity, NONE);
+        }
+        recordingOf[id] = NONE;
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry source, int id) {
+        if (recordingOf[id] != NONE) {
+            recordingOf[id] = NONE;
+            active.decrementAndGet();
+        }
+    }
+
+    /**
+     * Leva o cursor até o último quadro no tick {@code target} ou antes dele.
+     */
+    private void advanceTo(FrameReader reader, MovementRecording recording, int target) {
+        int keyframe = recording.keyframeBefore(target);
+        if (keyframe >= 0) {
+            int keyframeTick = recording.keyframeTick(keyframe);
+            // Salta se estiver atrás do keyframe ou se a gravação voltou ao início
+            if (target < reader.tick || keyframeTick > reader.tick) {
+                reader.seek(recording.keyframeOffset(keyframe), keyframeTick);
+            }
+        } else if (target < reader.tick) {
+            reader.start(recording);
+        }
+        while (reader.nextTick() <= target && reader.advance()) {
+            // Aplica os quadros até o tick alvo
+        }
+    }
+
+    private void load(FrameReader reader, int id, MovementRecording recording) {
+        reader.attach(recording);
+        int base = id * 3;
+        reader.position = cursors[id];
+        reader.tick = frameTicks[id];
+        reader.x = positions[base];
+        reader.y = positions[base + 1];
+        reader.z = positions[base + 2];
+        reader.yaw = rotations[id] >>> 16;
+        reader.pitch = rotations[id] & 0xFFFF;
+        reader.actions = actions[id];
+    }
+
+    private void store(FrameReader reader, int id) {
+        cursors[id] = reader.position;
+        frameTicks[id] = reader.tick;
+    }
+
+    /**
+     * Copia o estado do cursor para o bot, notificando o registro só do que mudou.
+     */
+    private void apply(FrameReader reader, int id, boolean force) {
+        int base = id * 3;
+        if (force || reader.x != positions[base] || reader.y != positions[base + 1] || reader.z != positions[base + 2]) {
+            positions[base] = reader.x;
+            positions[base + 1] = reader.y;
+            positions[base + 2] = reader.z;
+            registry.setPosition(id, registry.getWorld(id),
+                MovementFormat.fromFixed(reader.x) + anchors[base],
+                MovementFormat.fromFixed(reader.y) + anchors[base + 1],
+                MovementFormat.fromFixed(reader.z) + anchors[base + 2]);
+        }
+        int rotation = reader.yaw << 16 | reader.pitch;
+        if (force || rotation != rotations[id]) {
+            rotations[id] = rotation;
+            registry.setRotation(id, MovementFormat.unpackYaw(reader.yaw), MovementFormat.unpackPitch(reader.pitch));
+        }
+        if (force || reader.actions != actions[id]) {
+            actions[id] = reader.actions;
+            int flags = registry.getFlags(id);
+            int updated = BotActions.applyTo(flags, reader.actions);
+            if (updated != flags) {
+                registry.setFlags(id, updated);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package app.adriano.fakeplayers.scheduler;
+
+/**
+ * Trabalho em massa dividido entre vários ticks, como criar ou remover
+ * milhares de bots.
+ *
+ * A cada tick o {@link BotScheduler} chama {@link #run(int)} com uma cota de
+ * operações; o trabalho faz no máximo essa quantidade e continua de onde
+ * parou no próximo tick.
+ *
+ * @see BotScheduler#submit(BatchJob)
+ * @since 0.2.0
+ */
+@FunctionalInterface
+public interface BatchJob {
+
+    /**
+     * Executa a próxima parte do trabalho.
+     *
+     * @param quota Quantidade máxima de operações neste tick
+     * @return true quando o trabalho terminou
+     */
+    boolean run(int quota);
+}
@@ -0,0 +1,482 @@
+package app.adriano.fakeplayers.scheduler;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.bot.SimulationLevel;
+import app.adriano.fakeplayers.config.ConfigSnapshot;
+import app.adriano.fakeplayers.metrics.Subsystem;
+import app.adriano.fakeplayers.utils.LongIntMap;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Agendador das atualizações dos bots.
+ *
+ * Em vez de atualizar todos os bots em todo tick, o agendador percorre os bots
+ * em rodízio (round-robin): a cada tick processa um "balde" de
+ * {@code ceil(bots / cycle-ticks)} bots, de modo que cada bot é atualizado uma
+ * vez a cada {@code cycle-ticks} ticks.
+ *
+ * Controle de custo:
+ * 1. Cada tick tem um orçamento em nanossegundos; ao estourá-lo o balde é
+ *    interrompido e o restante fica para o próximo tick
+ * 2. Se o MSPT do servidor passar do limite suave, o orçamento cai pela metade
+ * 3. Se passar do limite rígido, as atualizações dos bots são adiadas inteiramente
+ *
+ * O nível de detalhe de cada bot ({@link SimulationLevel}) também é respeitado:
+ * bots adormecidos são pulados e bots em nível reduzido só são atualizados a cada
+ * {@code lod.reduced-interval} ciclos completos.
+ *
+ * Além disso, tarefas de fim de tick rodam depois do balde em todo tick,
+ * tarefas periódicas do plugin (não por bot) rodam a cada
+ * {@code general.update-interval} segundos e trabalhos em massa
+ * ({@link BatchJob}) avançam {@code batch-per-tick} operações por tick,
+ * um trabalho por vez, na ordem em que foram enviados.
+ *
+ * O agendador roda na thread dos bots do {@link PlatformScheduler}: a principal no Paper
+ * e a da região global no Folia. No Folia o balde é dividido pelas seções de região
+ * (16x16 chunks) onde os bots estão, e cada parte roda na região dona da seção
+ * ({@link PlatformScheduler#runBotWork}), em paralelo e com o orçamento próprio; um novo balde
+ * só é enviado quando todas as partes do anterior terminaram. Os limites de MSPT não se
+ * aplicam no Folia, que não tem um MSPT global.
+ *
+ * Exemplo de configuração:
+ * ```yaml
+ * scheduler:
+ *   cycle-ticks: 20
+ *   budget-nanos: 2000000
+ *   mspt-soft-limit: 40.0
+ *   mspt-hard-limit: 48.0
+ *   batch-per-tick: 250
+ * ```
+ *
+ * @see BotTask
+ * @since 0.2.0
+ */
+public final class BotScheduler {
+
+    // Verifica o relógio a cada 16 bots para não pagar System.nanoTime() por bot
+    private static final int CLOCK_CHECK_MASK = 15;
+    // Seções de região do Folia: 16x16 chunks, ou 256 blocos
+    private static final int SECTION_SHIFT = 8;
+    // Ticks esperando as partes de um balde antes de descartá-las (região que nunca as executou)
+    private static final int STALL_TICKS = 100;
+
+    private final FakePlayersPlugin plugin;
+    private final FakePlayerRegistry registry;
+
+    private BotTask[] tasks = new BotTask[0];
+    private Runnable[] tickTasks = new Runnable[0];
+    private Runnable[] intervalTasks = new Runnable[0];
+    private final ArrayDeque<BatchJob> batchJobs = new ArrayDeque<>();
+
+    private int cycleTicks;
+    private long budgetNanos;
+    private double msptSoftLimit;
+    private double msptHardLimit;
+    private long intervalTicks;
+    private int batchPerTick;
+    private int reducedInterval;
+
+    private PlatformScheduler.Task task;
+    private long tick;
+    private int cursor;
+    // Ciclos completos do rodízio, usado pelo nível reduzido
+    private int cycles;
+
+    // Folia: partes do balde em andamento nas regiões
+    private final LongIntMap sectionGroups = new LongIntMap(64);
+    private final AtomicInteger pendingGroups = new AtomicInteger();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger regionUpdates = new AtomicInteger();
+    private final AtomicLong regionOverruns = new AtomicLong();
+    private int[] bucketIds = new int[64];
+    private int[] groupOf = new int[64];
+    private int[] groupStarts = new int[16];
+    private int[] groupIds = new int[64];
+    private int stalledTicks;
+
+    // Estatísticas
+    private long lastTickNanos;
+    private int lastTickUpdates;
+    private long budgetOverruns;
+    private long deferredTicks;
+
+    /**
+     * Cria o agendador e carrega as configurações.
+     *
+     * @param plugin Instância principal do plugin
+     * @param registry Registro de bots a ser percorrido
+     */
+    public BotScheduler(FakePlayersPlugin plugin, FakePlayerRegistry registry) {
+        this.plugin = plugin;
+        this.registry = registry;
+        loadSettings();
+    }
+
+    /**
+     * Lê as configurações do agendador do snapshot atual do config.yml.
+     * Chamado novamente após cada reload.
+     */
+    public void loadSettings() {
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        cycleTicks = config.scheduler().cycleTicks();
+        budgetNanos = config.scheduler().budgetNanos();
+        msptSoftLimit = config.scheduler().msptSoftLimit();
+        msptHardLimit = config.scheduler().msptHardLimit();
+        intervalTicks = config.updateInterval() * 20L;
+        batchPerTick = config.scheduler().batchPerTick();
+        reducedInterval = config.scheduler().reducedInterval();
+    }
+
+    /**
+     * Inicia o agendador, executando a cada tick na thread dos bots.
+     */
+    public void start() {
+        if (task == null) {
+            task = plugin.getPlatformScheduler().runTimer(this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Para o agendador.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Adiciona uma tarefa executada para cada bot.
+     *
+     * @param botTask Tarefa a ser adicionada
+     */
+    public void addTask(BotTask botTask) {
+        tasks = Arrays.copyOf(tasks, tasks.length + 1);
+        tasks[tasks.length - 1] = botTask;
+    }
+
+    /**
+     * Adiciona uma tarefa executada uma vez por tick, depois das atualizações dos bots.
+     * Usada para enviar as mudanças acumuladas durante o tick.
+     *
+     * @param tickTask Tarefa a ser adicionada
+     */
+    public void addTickTask(Runnable tickTask) {
+        tickTasks = Arrays.copyOf(tickTasks, tickTasks.length + 1);
+        tickTasks[tickTasks.length - 1] = tickTask;
+    }
+
+    /**
+     * Adiciona uma tarefa executada a cada {@code general.update-interval} segundos.
+     *
+     * @param intervalTask Tarefa a ser adicionada
+     */
+    public void addIntervalTask(Runnable intervalTask) {
+        intervalTasks = Arrays.copyOf(intervalTasks, intervalTasks.length + 1);
+        intervalTasks[intervalTasks.length - 1] = intervalTask;
+    }
+
+    /**
+     * Envia um trabalho em massa para ser executado aos poucos, a partir do próximo tick.
+     *
+     * @param job Trabalho a ser executado
+     */
+    public void submit(BatchJob job) {
+        batchJobs.add(job);
+    }
+
+    /**
+     * @return Quantidade de trabalhos em massa aguardando ou em andamento
+     */
+    public int getPendingBatches() {
+        return batchJobs.size();
+    }
+
+    /**
+     * Executa um tick do agendador.
+     * Chamado automaticamente pelo servidor após {@link #start()}.
+     */
+    void tick() {
+        long start = System.nanoTime();
+        tick++;
+
+        if (tick % intervalTicks == 0) {
+            for (Runnable intervalTask : intervalTasks) {
+                runTask(intervalTask, "Erro em uma tarefa periódica do agendador");
+            }
+        }
+
+        long bucketStart = System.nanoTime();
+        lastTickUpdates = runBucket(start);
+        if (lastTickUpdates > 0) {
+            plugin.getProfiler().record(Subsystem.BOT_UPDATES, System.nanoTime() - bucketStart);
+        }
+        runBatches();
+        for (Runnable tickTask : tickTasks) {
+            runTask(tickTask, "Erro em uma tarefa de tick do agendador");
+        }
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Atualiza um bot, sem deixar que a falha de um bot interrompa o balde.
+     */
+    private void updateBot(BotTask[] current, int botId, long now) {
+        try {
+            for (BotTask botTask : current) {
+                botTask.update(botId, now);
+            }
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.SEVERE, "Erro ao atualizar o bot " + botId, e);
+        }
+    }
+
+    /**
+     * Executa uma tarefa registrada, sem deixar que uma falha pule as seguintes.
+     */
+    private void runTask(Runnable task, String error) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.SEVERE, error, e);
+        }
+    }
+
+    private int runBucket(long start) {
+        int size = registry.size();
+        if (size == 0 || tasks.length == 0) {
+            return 0;
+        }
+
+        double mspt = plugin.getPlatformScheduler().averageTickMillis();
+        if (mspt >= msptHardLimit) {
+            // Servidor sobrecarregado: adia o balde, o cursor continua onde estava
+            deferredTicks++;
+            return 0;
+        }
+        long budget = mspt >= msptSoftLimit ? budgetNanos >>> 1 : budgetNanos;
+
+        int quota = (size + cycleTicks - 1) / cycleTicks;
+        if (plugin.getPlatformScheduler().isFolia()) {
+            return dispatchBucket(quota, budget);
+        }
+        BotTask[] current = tasks;
+        int processed = 0;
+        int updated = 0;
+        while (processed < quota) {
+            // Despawns durante o balde encolhem o registro; o cursor volta ao início
+            if (cursor >= registry.size()) {
+                cursor = 0;
+                cycles++;
+                if (registry.size() == 0) {
+                    break;
+                }
+            }
+            int botId = registry.idAt(cursor++);
+            processed++;
+            SimulationLevel level = SimulationLevel.fromFlags(registry.getFlags(botId));
+            if (level == SimulationLevel.DORMANT) {
+                continue;
+            }
+            // Os bots reduzidos são espalhados entre os ciclos pelo id
+            if (level == SimulationLevel.REDUCED && (cycles + botId) % reducedInterval != 0) {
+                continue;
+            }
+            updateBot(current, botId, tick);
+            updated++;
+
+            if ((updated & CLOCK_CHECK_MASK) == 0 && System.nanoTime() - start > budget) {
+                budgetOverruns++;
+                break;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Folia: escolhe os bots do balde, agrupa por seção de região e envia cada grupo
+     * para a região dona. Retorna as atualizações feitas pelo balde anterior.
+     */
+    private int dispatchBucket(int quota, long budget) {
+        if (pendingGroups.get() > 0) {
+            if (++stalledTicks < STALL_TICKS) {
+                deferredTicks++;
+                return 0;
+            }
+            // Alguma região não executou a parte dela; as partes atrasadas são ignoradas
+            plugin.getLogger().warning("Atualizações dos bots sem resposta de uma região; reenviando o balde");
+            generation.incrementAndGet();
+            pendingGroups.set(0);
+        }
+        stalledTicks = 0;
+        int finished = regionUpdates.getAndSet(0);
+
+        if (bucketIds.length < quota) {
+            bucketIds = new int[Math.max(quota, bucketIds.length * 2)];
+            groupOf = new int[bucketIds.length];
+            groupIds = new int[bucketIds.length];
+        }
+        int count = 0;
+        int processed = 0;
+        while (processed < quota) {
+            if (cursor >= registry.size()) {
+                cursor = 0;
+                cycles++;
+            }
+            int botId = registry.idAt(cursor++);
+            processed++;
+            SimulationLevel level = SimulationLevel.fromFlags(registry.getFlags(botId));
+            if (level == SimulationLevel.DORMANT
+                || (level == SimulationLevel.REDUCED && (cycles + botId) % reducedInterval != 0)) {
+                continue;
+            }
+            bucketIds[count++] = botId;
+        }
+
+        // Conta os bots de cada seção e ordena os ids por seção (counting sort)
+        sectionGroups.clear();
+        int groups = 0;
+        for (int i = 0; i < count; i++) {
+            long key = sectionKey(bucketIds[i]);
+            int group = sectionGroups.get(key);
+            if (group == LongIntMap.MISSING) {
+                group = groups++;
+                sectionGroups.put(key, group);
+                if (groupStarts.length <= groups) {
+                    groupStarts = Arrays.copyOf(groupStarts, groupStarts.length * 2);
+                }
+                groupStarts[group + 1] = 0;
+            }
+            groupOf[i] = group;
+            groupStarts[group + 1]++;
+        }
+        groupStarts[0] = 0;
+        for (int group = 0; group < groups; group++) {
+            groupStarts[group + 1] += groupStarts[group];
+        }
+        int[] fill = Arrays.copyOf(groupStarts, groups);
+        for (int i = 0; i < count; i++) {
+            groupIds[fill[groupOf[i]]++] = bucketIds[i];
+        }
+
+        long current = generation.get();
+        long now = tick;
+        for (int group = 0; group < groups; group++) {
+            int[] ids = Arrays.copyOfRange(groupIds, groupStarts[group], groupStarts[group + 1]);
+            int first = ids[0];
+            World world = plugin.getServer().getWorld(registry.worldId(registry.getWorld(first)));
+            if (world == null) {
+                continue;
+            }
+            pendingGroups.incrementAndGet();
+            plugin.getPlatformScheduler().runBotWork(world,
+                (int) Math.floor(registry.getX(first)) >> 4, (int) Math.floor(registry.getZ(first)) >> 4,
+                () -> runGroup(ids, now, budget, current));
+        }
+        return finished;
+    }
+
+    /**
+     * Folia: atualiza um grupo de bots na thread da região dona da seção deles.
+     */
+    private void runGroup(int[] ids, long now, long budget, long dispatchedIn) {
+        if (generation.get() != dispatchedIn) {
+            return;
+        }
+        long start = System.nanoTime();
+        BotTask[] current = tasks;
+        int updated = 0;
+        try {
+            for (int botId : ids) {
+                if (!registry.isAlive(botId)) {
+                    continue;
+                }
+                updateBot(current, botId, now);
+                updated++;
+                if ((updated & CLOCK_CHECK_MASK) == 0 && System.nanoTime() - start > budget) {
+                    regionOverruns.incrementAndGet();
+                    break;
+                }
+            }
+        } finally {
+            regionUpdates.addAndGet(updated);
+            plugin.getProfiler().record(Subsystem.BOT_UPDATES, System.nanoTime() - start);
+            if (generation.get() == dispatchedIn) {
+                pendingGroups.decrementAndGet();
+            }
+        }
+    }
+
+    private long sectionKey(int botId) {
+        long sectionX = (long) Math.floor(registry.getX(botId)) >> SECTION_SHIFT;
+        long sectionZ = (long) Math.floor(registry.getZ(botId)) >> SECTION_SHIFT;
+        return (long) registry.getWorld(botId) << 48 | (sectionX & 0xFFFFFFL) << 24 | (sectionZ & 0xFFFFFFL);
+    }
+
+    private void runBatches() {
+        BatchJob job = batchJobs.peek();
+        if (job == null) {
+            return;
+        }
+        double mspt = plugin.getPlatformScheduler().averageTickMillis();
+        if (mspt >= msptHardLimit) {
+            return;
+        }
+        int quota = mspt >= msptSoftLimit ? Math.max(1, batchPerTick >>> 1) : batchPerTick;
+        boolean done;
+        long jobStart = System.nanoTime();
+        try {
+            done = job.run(quota);
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.SEVERE, "Erro em um trabalho em massa", e);
+            done = true;
+        }
+        plugin.getProfiler().record(Subsystem.BATCH_JOBS, System.nanoTime() - jobStart);
+        if (done) {
+            batchJobs.poll();
+        }
+    }
+
+    /**
+     * @return Tick atual do agendador
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return Duração do último tick do agendador em nanossegundos
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return Quantidade de bots atualizados no último tick (no Folia, no último balde concluído)
+     */
+    public int getLastTickUpdates() {
+        return lastTickUpdates;
+    }
+
+    /**
+     * @return Quantidade de ticks em que o orçamento foi estourado
+     */
+    public long getBudgetOverruns() {
+        return budgetOverruns + regionOverruns.get();
+    }
+
+    /**
+     * @return Quantidade de ticks em que as atualizações foram adiadas por MSPT alto
+     */
+    public long getDeferredTicks() {
+        return deferredTicks;
+    }
+}
@@ -0,0 +1,28 @@
+package app.adriano.fakeplayers.scheduler;
+
+/**
+ * Tarefa executada pelo {@link BotScheduler} para cada bot.
+ *
+ * Implementações devem ser rápidas e não devem alocar objetos, pois são
+ * chamadas milhares de vezes por tick.
+ *
+ * No Paper as chamadas são todas na thread principal. No Folia, bots de regiões diferentes
+ * são atualizados ao mesmo tempo, cada um na thread da sua região: o estado por bot pode
+ * ficar em arrays indexados pelo id, mas o estado compartilhado da avaliação deve ser por
+ * thread, e os bots só devem ser alterados pelo {@link app.adriano.fakeplayers.bot.FakePlayerRegistry}.
+ * Spawns e despawns nunca acontecem durante as chamadas.
+ *
+ * @see BotScheduler#addTask(BotTask)
+ * @since 0.2.0
+ */
+@FunctionalInterface
+public interface BotTask {
+
+    /**
+     * Atualiza um bot.
+     *
+     * @param botId Id do bot no {@link app.adriano.fakeplayers.bot.FakePlayerRegistry}
+     * @param tick Tick atual do agendador
+     */
+    void update(int botId, long tick);
+}
@@ -0,0 +1,74 @@
+package app.adriano.fakeplayers.scheduler;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * {@link PlatformScheduler} do Paper: tudo roda na thread principal.
+ *
+ * @since 0.2.0
+ */
+final class BukkitPlatformScheduler implements PlatformScheduler {
+
+    private final Plugin plugin;
+    private final BukkitScheduler scheduler;
+
+    BukkitPlatformScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getServer().getScheduler();
+    }
+
+    @Override
+    public boolean isFolia() {
+        return false;
+    }
+
+    @Override
+    public Task runTimer(Runnable task, long delayTicks, long periodTicks) {
+        BukkitTask scheduled = scheduler.runTaskTimer(plugin, task, delayTicks, periodTicks);
+        return scheduled::cancel;
+    }
+
+    @Override
+    public Task runTimer(Entity entity, Runnable task, long delayTicks, long periodTicks) {
+        return runTimer(task, delayTicks, periodTicks);
+    }
+
+    @Override
+    public void runBotWork(World world, int chunkX, int chunkZ, Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public void run(Runnable task) {
+        scheduler.runTask(plugin, task);
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        scheduler.runTaskAsynchronously(plugin, task);
+    }
+
+    @Override
+    public void runAt(World world, int chunkX, int chunkZ, Runnable task) {
+        execute(task);
+    }
+
+    @Override
+    public boolean isBotThread() {
+        return plugin.getServer().isPrimaryThread();
+    }
+
+    @Override
+    public boolean ownsChunk(World world, int chunkX, int chunkZ) {
+        return plugin.getServer().isPrimaryThread();
+    }
+
+    @Override
+    public double averageTickMillis() {
+        return plugin.getServer().getAverageTickTime();
+    }
+}
@@ -0,0 +1,126 @@
+package app.adriano.fakeplayers.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link PlatformScheduler} do Folia.
+ *
+ * Funcionamento:
+ * 1. A thread dos bots é a da região global: o {@link BotScheduler}, os comandos e as tarefas
+ *    repassadas dos eventos rodam nela, com acesso exclusivo ao estado dos bots
+ * 2. As atualizações dos bots são divididas por região ({@link #runBotWork}) e rodam em paralelo
+ *    nas threads das regiões, com acesso compartilhado; o registro serializa as escritas
+ * 3. Exclusivo e compartilhado são as duas metades de um {@link ReentrantReadWriteLock}:
+ *    a região global espera os lotes em andamento (limitados pelo orçamento), e os lotes
+ *    que chegam enquanto a região global trabalha são adiados para o tick seguinte, sem
+ *    bloquear a thread da região
+ * 4. Leituras de chunks vão para a região dona do chunk e leituras de jogadores para a
+ *    thread dona do jogador ({@code EntityScheduler})
+ * 5. O Folia não tem um MSPT global; os limites de MSPT do agendador ficam inativos
+ *    e vale o orçamento de cada lote ({@code scheduler.budget-nanos})
+ *
+ * @since 0.2.0
+ */
+final class FoliaPlatformScheduler implements PlatformScheduler {
+
+    private static final Task NO_TASK = () -> { };
+
+    private final Plugin plugin;
+    private final ReentrantReadWriteLock botState = new ReentrantReadWriteLock();
+
+    FoliaPlatformScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isFolia() {
+        return true;
+    }
+
+    @Override
+    public Task runTimer(Runnable task, long delayTicks, long periodTicks) {
+        ScheduledTask scheduled = plugin.getServer().getGlobalRegionScheduler()
+            .runAtFixedRate(plugin, ignored -> exclusive(task), Math.max(1L, delayTicks), periodTicks);
+        return scheduled::cancel;
+    }
+
+    @Override
+    public Task runTimer(Entity entity, Runnable task, long delayTicks, long periodTicks) {
+        ScheduledTask scheduled = entity.getScheduler()
+            .runAtFixedRate(plugin, ignored -> task.run(), null, Math.max(1L, delayTicks), periodTicks);
+        // Null se a entidade já saiu do servidor
+        return scheduled == null ? NO_TASK : scheduled::cancel;
+    }
+
+    @Override
+    public void runBotWork(World world, int chunkX, int chunkZ, Runnable task) {
+        plugin.getServer().getRegionScheduler().execute(plugin, world, chunkX, chunkZ,
+            () -> shared(world, chunkX, chunkZ, task));
+    }
+
+    @Override
+    public void run(Runnable task) {
+        plugin.getServer().getGlobalRegionScheduler().execute(plugin, () -> exclusive(task));
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (isBotThread()) {
+            exclusive(task);
+        } else {
+            run(task);
+        }
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        plugin.getServer().getAsyncScheduler().runNow(plugin, ignored -> task.run());
+    }
+
+    @Override
+    public void runAt(World world, int chunkX, int chunkZ, Runnable task) {
+        plugin.getServer().getRegionScheduler().execute(plugin, world, chunkX, chunkZ, task);
+    }
+
+    @Override
+    public boolean isBotThread() {
+        return plugin.getServer().isGlobalTickThread();
+    }
+
+    @Override
+    public boolean ownsChunk(World world, int chunkX, int chunkZ) {
+        return plugin.getServer().isOwnedByCurrentRegion(world, chunkX, chunkZ);
+    }
+
+    @Override
+    public double averageTickMillis() {
+        return 0.0;
+    }
+
+    private void exclusive(Runnable task) {
+        botState.writeLock().lock();
+        try {
+            task.run();
+        } finally {
+            botState.writeLock().unlock();
+        }
+    }
+
+    private void shared(World world, int chunkX, int chunkZ, Runnable task) {
+        if (!botState.readLock().tryLock()) {
+            plugin.getServer().getRegionScheduler().runDelayed(plugin, world, chunkX, chunkZ,
+                ignored -> shared(world, chunkX, chunkZ, task), 1L);
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            botState.readLock().unlock();
+        }
+    }
+}
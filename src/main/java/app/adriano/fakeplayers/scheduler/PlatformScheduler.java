@@ -0,0 +1,175 @@
+package app.adriano.fakeplayers.scheduler;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Ponte entre o plugin e o agendador do servidor, escolhida conforme a plataforma.
+ *
+ * O estado dos bots (registro, índice espacial, IA, renderizador) tem um único dono:
+ * a "thread dos bots". O que muda entre as plataformas é quem é esse dono e como
+ * chegar até o dono de um pedaço do mundo:
+ * 1. Paper: tudo roda na thread principal pelo {@link org.bukkit.scheduler.BukkitScheduler},
+ *    como antes; {@link #execute(Runnable)} chamado na thread principal roda na hora
+ * 2. Folia: a thread dos bots é a da região global ({@code GlobalRegionScheduler}); leituras
+ *    de chunks vão para a região dona do chunk ({@code RegionScheduler}) e eventos de jogadores,
+ *    que chegam nas threads das regiões, são repassados para a região global
+ * 3. Folia: as atualizações de cada bot ({@link #runBotWork}) rodam na região dona do chunk
+ *    do bot, em paralelo entre as regiões, mas nunca ao mesmo tempo que o trabalho da região
+ *    global; o registro serializa as escritas feitas pelas regiões
+ * 4. Leituras de jogadores (mundo, posição) rodam na thread dona do jogador ({@link #runTimer(Entity, Runnable, long, long)})
+ *
+ * Como os bots não têm entidade no servidor, um bot que cruza a borda de uma região não
+ * precisa ser transferido: a próxima atualização já vai para a região da posição atual.
+ *
+ * Exemplo de uso:
+ * ```java
+ * PlatformScheduler platform = plugin.getPlatformScheduler();
+ * platform.runAt(world, chunkX, chunkZ, () -> {
+ *     ChunkSnapshot snapshot = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot();
+ *     platform.execute(() -> ...); // de volta para a thread dos bots
+ * });
+ * ```
+ *
+ * @see BotScheduler
+ * @since 0.2.0
+ */
+public interface PlatformScheduler {
+
+    /**
+     * Tarefa repetida, que pode ser cancelada.
+     */
+    interface Task {
+        /**
+         * Cancela a tarefa. Execuções já iniciadas terminam normalmente.
+         */
+        void cancel();
+    }
+
+    /**
+     * Cria o agendador adequado ao servidor em execução.
+     *
+     * @param plugin Plugin dono das tarefas
+     * @return Agendador do Folia, se o servidor for Folia, ou o da thread principal
+     */
+    static PlatformScheduler create(Plugin plugin) {
+        return isFoliaServer() ? new FoliaPlatformScheduler(plugin) : new BukkitPlatformScheduler(plugin);
+    }
+
+    /**
+     * @return true se o servidor em execução é Folia (regiões em várias threads)
+     */
+    static boolean isFoliaServer() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return true se as tarefas são distribuídas entre as regiões do Folia
+     */
+    boolean isFolia();
+
+    /**
+     * Executa uma tarefa repetidamente na thread dos bots.
+     *
+     * @param task Tarefa a ser executada
+     * @param delayTicks Ticks até a primeira execução (pelo menos 1)
+     * @param periodTicks Ticks entre as execuções
+     * @return Tarefa agendada
+     */
+    Task runTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Executa uma tarefa repetidamente na thread dona de uma entidade (a principal, no Paper).
+     * A tarefa deve ser cancelada quando a entidade sai do servidor.
+     *
+     * @param entity Entidade, normalmente um jogador
+     * @param task Tarefa a ser executada
+     * @param delayTicks Ticks até a primeira execução (pelo menos 1)
+     * @param periodTicks Ticks entre as execuções
+     * @return Tarefa agendada
+     */
+    Task runTimer(Entity entity, Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Executa uma parte das atualizações dos bots na thread dona de um chunk.
+     *
+     * No Paper roda na hora, pois o {@link BotScheduler} já está na thread principal. No Folia
+     * vai para a região dona do chunk e roda em paralelo às demais regiões, mas nunca junto com
+     * o trabalho da thread dos bots (comandos, tarefas de fim de tick, spawns): se a região
+     * chegar enquanto a thread dos bots trabalha, a tarefa é adiada para o tick seguinte.
+     *
+     * @param world Mundo do chunk
+     * @param chunkX Coordenada X do chunk
+     * @param chunkZ Coordenada Z do chunk
+     * @param task Atualizações a executar; só pode alterar os bots pelo registro
+     */
+    void runBotWork(World world, int chunkX, int chunkZ, Runnable task);
+
+    /**
+     * Executa uma tarefa na thread dos bots, no próximo tick.
+     *
+     * @param task Tarefa a ser executada
+     */
+    void run(Runnable task);
+
+    /**
+     * Executa uma tarefa fora das threads de tick.
+     *
+     * @param task Tarefa a ser executada
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Executa uma tarefa na thread dona de um chunk (a principal, no Paper).
+     *
+     * @param world Mundo do chunk
+     * @param chunkX Coordenada X do chunk
+     * @param chunkZ Coordenada Z do chunk
+     * @param task Tarefa a ser executada
+     */
+    void runAt(World world, int chunkX, int chunkZ, Runnable task);
+
+    /**
+     * @return true se a thread atual é a dona do estado dos bots
+     */
+    boolean isBotThread();
+
+    /**
+     * Verifica se a thread atual pode ler um chunk diretamente.
+     *
+     * @param world Mundo do chunk
+     * @param chunkX Coordenada X do chunk
+     * @param chunkZ Coordenada Z do chunk
+     * @return true se a thread atual é a dona do chunk
+     */
+    boolean ownsChunk(World world, int chunkX, int chunkZ);
+
+    /**
+     * MSPT médio do servidor, usado pelos limites do {@link BotScheduler}.
+     * O Folia não tem um MSPT global nem expõe o de cada região; nele os limites de MSPT
+     * são substituídos pelo orçamento de cada região ({@code scheduler.budget-nanos} por lote).
+     *
+     * @return MSPT médio, ou 0 se a plataforma não tiver um MSPT global (Folia)
+     */
+    double averageTickMillis();
+
+    /**
+     * Executa uma tarefa na thread dos bots: na hora, se já estiver nela,
+     * ou no próximo tick, se for chamada de outra thread.
+     *
+     * @param task Tarefa a ser executada
+     */
+    default void execute(Runnable task) {
+        if (isBotThread()) {
+            task.run();
+        } else {
+            run(task);
+        }
+    }
+}
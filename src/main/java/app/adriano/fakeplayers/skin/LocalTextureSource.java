@@ -0,0 +1,87 @@
+package app.adriano.fakeplayers.skin;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Origem de texturas lidas do disco, sem rede.
+ *
+ * Aceita dois formatos:
+ * 1. Pasta com um arquivo {@code <nome>.properties} por skin, com as chaves
+ *    {@code value} e {@code signature}
+ * 2. Um único arquivo {@code .properties} com as chaves {@code <nome>.value} e
+ *    {@code <nome>.signature}, lido uma vez na primeira busca
+ *
+ * Exemplo ({@code skins/notch.properties}):
+ * ```properties
+ * value=ewogICJ0aW1lc3RhbXAiIDog...
+ * signature=Rd6S1hb5Gg8...
+ * ```
+ *
+ * Os nomes são comparados em minúsculas.
+ *
+ * @see TextureSource
+ * @since 0.2.0
+ */
+public final class LocalTextureSource implements TextureSource {
+
+    private static final String EXTENSION = ".properties";
+
+    private final Path path;
+    private volatile Properties bundle;
+
+    /**
+     * Cria a origem.
+     *
+     * @param path Pasta com um arquivo por skin, ou arquivo único com todas as skins
+     */
+    public LocalTextureSource(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public SkinTexture fetch(String key) throws IOException {
+        if (Files.isDirectory(path)) {
+            Path file = path.resolve(key + EXTENSION);
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            Properties properties = read(file);
+            return texture(properties.getProperty("value"), properties.getProperty("signature"));
+        }
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        Properties properties = bundle;
+        if (properties == null) {
+            properties = read(path);
+            bundle = properties;
+        }
+        return texture(properties.getProperty(key + ".value"), properties.getProperty(key + ".signature"));
+    }
+
+    private static Properties read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        // Chaves em minúsculas, como os nomes buscados
+        Properties normalized = new Properties();
+        for (String name : properties.stringPropertyNames()) {
+            normalized.setProperty(name.toLowerCase(Locale.ROOT), properties.getProperty(name).trim());
+        }
+        return normalized;
+    }
+
+    private static SkinTexture texture(String value, String signature) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return new SkinTexture(value, signature == null || signature.isEmpty() ? null : signature);
+    }
+}
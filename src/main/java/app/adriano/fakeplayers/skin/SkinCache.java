@@ -0,0 +1,369 @@
+package app.adriano.fakeplayers.skin;
+
+import app.adriano.fakeplayers.FakePlayersPlugin;
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.logging.TraceCategory;
+import app.adriano.fakeplayers.render.BotUpdate;
+import app.adriano.fakeplayers.render.PacketBotRenderer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+/**
+ * Cache das texturas de skin dos bots, em dois níveis.
+ *
+ * Níveis:
+ * 1. Memória: LRU limitado a {@code memory-max-entries}, com TTL por entrada; skins
+ *    inexistentes também ficam em cache (por menos tempo) para não consultar a origem de novo
+ * 2. Disco: arquivo compacto na pasta do plugin ({@link SkinDiskStore}), lido só na primeira
+ *    consulta que não estiver em memória
+ *
+ * Funcionamento:
+ * 1. A thread principal só usa {@link #getIfPresent(String)} e {@link #resolve(String)}, que nunca
+ *    bloqueiam: uma skin vencida ou despejada da memória é buscada de novo nas threads do cache,
+ *    e enquanto isso vale a cópia vencida, a skin padrão ou a skin padrão do cliente
+ * 2. {@link #get(String)} e {@link #prefetch(Collection)} resolvem as skins nas threads
+ *    do cache: memória, depois disco, depois a {@link TextureSource}
+ * 3. Bots criados no tick têm suas skins buscadas em lote no fim do tick ({@link #run()}),
+ *    então criar milhares de bots nunca espera pela resolução das skins; quando a skin de um bot
+ *    chega depois do spawn, o bot é reenviado aos jogadores ({@link BotUpdate#SKIN})
+ * 4. Pedidos simultâneos da mesma skin compartilham a mesma busca
+ * 5. A skin padrão fica guardada fora do LRU e é buscada de novo a cada {@code memory-ttl-minutes}
+ *
+ * A skin de um bot é a do seu nome; se não existir, é usada a skin {@code skins.default}.
+ *
+ * @see TextureSource
+ * @see LocalTextureSource
+ * @since 0.2.0
+ */
+public final class SkinCache implements BotRegistryListener, Runnable {
+
+    // Nomes de skin válidos, como nomes de jogador; evita caminhos no nome do arquivo
+    private static final Pattern VALID_KEY = Pattern.compile("[a-z0-9_]{1,16}");
+    private static final long NEGATIVE_TTL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final FakePlayersPlugin plugin;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final String defaultKey;
+    private final SkinDiskStore disk;
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<SkinTexture>> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Entry> memory;
+    private final List<SpawnedBot> pending = new ArrayList<>();
+    // Bots cuja skin chegou nas threads do cache, reenviados na thread dos bots
+    private final Queue<SpawnedBot> arrived = new ConcurrentLinkedQueue<>();
+    private volatile TextureSource source;
+    private volatile SkinTexture defaultTexture;
+    private long defaultRefreshAt;
+
+    /**
+     * Entrada em memória; {@code texture} nulo marca uma skin inexistente.
+     */
+    private record Entry(SkinTexture texture, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt - now < 0;
+        }
+    }
+
+    /**
+     * Bot criado no tick; o nome confirma que o id não foi reaproveitado quando a skin chegar.
+     */
+    private record SpawnedBot(int id, String name) {
+    }
+
+    /**
+     * Cria o cache.
+     *
+     * @param plugin Instância principal do plugin
+     * @param source Origem das texturas
+     * @param diskFile Arquivo do nível em disco
+     * @param maxEntries Quantidade máxima de skins em memória
+     * @param ttlMinutes Tempo de vida das skins em memória, em minutos
+     * @param diskTtlHours Tempo após o qual uma skin em disco é buscada de novo na origem, em horas
+     * @param defaultSkin Skin usada quando o bot não tem uma própria (vazio para nenhuma)
+     * @param workers Quantidade de threads de busca
+     */
+    public SkinCache(FakePlayersPlugin plugin, TextureSource source, File diskFile, int maxEntries,
+                     long ttlMinutes, long diskTtlHours, String defaultSkin, int workers) {
+        this.plugin = plugin;
+        this.source = source;
+        this.maxEntries = Math.max(16, maxEntries);
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(Math.max(1, ttlMinutes));
+        this.defaultKey = normalize(defaultSkin);
+        this.disk = new SkinDiskStore(diskFile, TimeUnit.HOURS.toMillis(Math.max(1, diskTtlHours)));
+        this.memory = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > SkinCache.this.maxEntries;
+            }
+        };
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "FakePlayers-Skins");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (defaultKey != null) {
+            defaultRefreshAt = System.nanoTime() + ttlNanos;
+            get(defaultKey);
+        }
+    }
+
+    /**
+     * Troca a origem das texturas. Skins já em cache são mantidas.
+     *
+     * @param source Nova origem
+     */
+    public void setSource(TextureSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Obtém a skin de um bot se ela já estiver em memória, sem bloquear.
+     * Usado pelos adaptadores de protocolo ao enviar os bots.
+     *
+     * @param name Nome do bot
+     * @return Skin do bot, a skin padrão, ou null se nenhuma estiver em memória
+     */
+    public SkinTexture resolve(String name) {
+        SkinTexture texture = getIfPresent(name);
+        return texture != null || defaultKey == null ? texture : defaultTexture;
+    }
+
+    /**
+     * Obtém uma skin se ela estiver em memória, sem bloquear.
+     * Se a skin venceu ou saiu da memória, agenda uma nova busca e devolve a cópia vencida, se houver.
+     *
+     * @param name Nome da skin
+     * @return Textura, ou null se não estiver em memória ou não existir
+     */
+    public SkinTexture getIfPresent(String name) {
+        String key = normalize(name);
+        if (key == null) {
+            return null;
+        }
+        Entry entry = memoryGet(key);
+        if (entry == null || entry.isExpired(System.nanoTime())) {
+            fetch(key);
+        }
+        return entry == null ? null : entry.texture();
+    }
+
+    /**
+     * Resolve uma skin nas threads do cache.
+     *
+     * @param name Nome da skin
+     * @return Futuro com a textura, ou com null se a skin não existir
+     */
+    public CompletableFuture<SkinTexture> get(String name) {
+        String key = normalize(name);
+        if (key == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Entry entry = memoryGet(key);
+        if (entry != null && !entry.isExpired(System.nanoTime())) {
+            return CompletableFuture.completedFuture(entry.texture());
+        }
+        return fetch(key);
+    }
+
+    /**
+     * Agenda a resolução de várias skins, sem esperar pelo resultado.
+     *
+     * @param names Nomes das skins
+     */
+    public void prefetch(Collection<String> names) {
+        for (String name : names) {
+            get(name);
+        }
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry registry, int id) {
+        pending.add(new SpawnedBot(id, registry.getName(id)));
+    }
+
+    /**
+     * Reenvia os bots cujas skins chegaram, busca em lote as skins dos bots criados no tick
+     * e renova a skin padrão quando ela vence.
+     */
+    @Override
+    public void run() {
+        if (!arrived.isEmpty()) {
+            resendArrived();
+        }
+        if (defaultKey != null && defaultRefreshAt - System.nanoTime() < 0) {
+            defaultRefreshAt = System.nanoTime() + ttlNanos;
+            fetch(defaultKey);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        plugin.getTrace().trace(TraceCategory.SKINS, "Buscando skins de {} bots", Integer.valueOf(pending.size()));
+        for (SpawnedBot bot : pending) {
+            CompletableFuture<SkinTexture> future = get(bot.name());
+            if (!future.isDone()) {
+                // O spawn já foi enviado sem esta skin
+                future.thenAccept(texture -> {
+                    if (texture != null) {
+                        arrived.add(bot);
+                    }
+                });
+            }
+        }
+        pending.clear();
+    }
+
+    private void resendArrived() {
+        PacketBotRenderer renderer = plugin.getPacketRenderer();
+        FakePlayerRegistry registry = plugin.getRegistry();
+        SpawnedBot bot;
+        while ((bot = arrived.poll()) != null) {
+            if (renderer != null && registry.isAlive(bot.id()) && bot.name().equals(registry.getName(bot.id()))) {
+                renderer.queueUpdate(bot.id(), BotUpdate.SKIN);
+            }
+        }
+    }
+
+    /**
+     * Grava o nível em disco nas threads do cache, se houver mudanças.
+     */
+    public void flushAsync() {
+        executor.execute(this::flush);
+    }
+
+    /**
+     * Encerra as threads de busca e grava o nível em disco.
+     */
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Busca uma skin nas threads do cache, ignorando a memória.
+     * Buscas simultâneas da mesma skin compartilham o mesmo futuro.
+     */
+    private CompletableFuture<SkinTexture> fetch(String key) {
+        CompletableFuture<SkinTexture> future = new CompletableFuture<>();
+        CompletableFuture<SkinTexture> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(load(key));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Cache já encerrado: fica com o que estiver em memória
+            inFlight.remove(key, future);
+            future.complete(null);
+        }
+        return future;
+    }
+
+    private SkinTexture load(String key) {
+        long now = System.currentTimeMillis();
+        SkinDiskStore.Stored stored = null;
+        try {
+            stored = disk.get(key);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Não foi possível ler o cache de skins em disco", e);
+        }
+        if (stored != null && !disk.isStale(stored, now)) {
+            memoryPut(key, stored.texture(), ttlNanos);
+            return stored.texture();
+        }
+
+        SkinTexture texture;
+        try {
+            texture = source.fetch(key);
+        } catch (IOException | RuntimeException e) {
+            plugin.getTrace().trace(TraceCategory.SKINS, "Erro ao buscar a skin {}: {}", key, e);
+            // Sem a origem, uma skin vencida ainda é melhor que nenhuma
+            SkinTexture fallback = stored != null ? stored.texture() : null;
+            if (fallback == null) {
+                Entry stale = memoryGet(key);
+                fallback = stale != null ? stale.texture() : null;
+            }
+            memoryPut(key, fallback, fallback != null ? ttlNanos : NEGATIVE_TTL_NANOS);
+            return fallback;
+        }
+
+        if (texture == null) {
+            plugin.getTrace().trace(TraceCategory.SKINS, "Skin {} não encontrada", key);
+            memoryPut(key, null, NEGATIVE_TTL_NANOS);
+            return null;
+        }
+        plugin.getTrace().trace(TraceCategory.SKINS, "Skin {} carregada da origem", key);
+        memoryPut(key, texture, ttlNanos);
+        try {
+            disk.put(key, texture, now);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Não foi possível gravar a skin no cache em disco", e);
+        }
+        return texture;
+    }
+
+    private void flush() {
+        try {
+            disk.flush();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Não foi possível gravar o cache de skins", e);
+        }
+    }
+
+    /**
+     * @return Entrada em memória, mesmo vencida, ou null se não existir
+     */
+    private synchronized Entry memoryGet(String key) {
+        return memory.get(key);
+    }
+
+    private synchronized void memoryPut(String key, SkinTexture texture, long ttl) {
+        memory.put(key, new Entry(texture, System.nanoTime() + ttl));
+        if (texture != null && key.equals(defaultKey)) {
+            defaultTexture = texture;
+        }
+    }
+
+    private static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        return VALID_KEY.matcher(key).matches() ? key : null;
+    }
+}
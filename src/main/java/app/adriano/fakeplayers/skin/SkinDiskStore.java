@@ -0,0 +1,120 @@
+package app.adriano.fakeplayers.skin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Segundo nível do {@link SkinCache}: texturas gravadas em um arquivo binário compacto.
+ *
+ * Formato do arquivo (big-endian, {@link DataOutputStream}):
+ * ```
+ * Cabeçalho: magic "FPSK" (int), versão (short), quantidade (int)
+ * Entrada:   nome (UTF), buscada em (long, epoch em ms), valor (UTF), assinatura (UTF, vazia se não houver)
+ * ```
+ *
+ * O arquivo é lido apenas na primeira consulta e regravado por inteiro (em um
+ * arquivo temporário, depois movido) quando houver mudanças. Entradas mais antigas
+ * que o dobro do TTL são descartadas na gravação.
+ *
+ * Usado apenas pelas threads do cache; todos os métodos são sincronizados.
+ */
+final class SkinDiskStore {
+
+    private static final int MAGIC = 0x4650534B; // "FPSK"
+    private static final short VERSION = 1;
+
+    /**
+     * Textura gravada e o momento em que foi buscada na origem.
+     */
+    record Stored(SkinTexture texture, long fetchedAt) {
+    }
+
+    private final File file;
+    private final long ttlMillis;
+    private Map<String, Stored> entries;
+    private boolean dirty;
+
+    SkinDiskStore(File file, long ttlMillis) {
+        this.file = file;
+        this.ttlMillis = ttlMillis;
+    }
+
+    synchronized Stored get(String key) throws IOException {
+        return loaded().get(key);
+    }
+
+    synchronized void put(String key, SkinTexture texture, long fetchedAt) throws IOException {
+        loaded().put(key, new Stored(texture, fetchedAt));
+        dirty = true;
+    }
+
+    /**
+     * @return true se a entrada foi buscada há mais tempo que o TTL
+     */
+    boolean isStale(Stored stored, long now) {
+        return now - stored.fetchedAt() > ttlMillis;
+    }
+
+    synchronized void flush() throws IOException {
+        if (!dirty || entries == null) {
+            return;
+        }
+        long oldest = System.currentTimeMillis() - ttlMillis * 2;
+        for (Iterator<Stored> it = entries.values().iterator(); it.hasNext(); ) {
+            if (it.next().fetchedAt() < oldest) {
+                it.remove();
+            }
+        }
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+        File temp = new File(parent, file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Stored> entry : entries.entrySet()) {
+                SkinTexture texture = entry.getValue().texture();
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().fetchedAt());
+                out.writeUTF(texture.value());
+                out.writeUTF(texture.isSigned() ? texture.signature() : "");
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        dirty = false;
+    }
+
+    private Map<String, Stored> loaded() throws IOException {
+        if (entries != null) {
+            return entries;
+        }
+        entries = new HashMap<>();
+        if (!file.isFile()) {
+            return entries;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Arquivo de skins inválido: " + file);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                long fetchedAt = in.readLong();
+                String value = in.readUTF();
+                String signature = in.readUTF();
+                entries.put(key, new Stored(new SkinTexture(value, signature.isEmpty() ? null : signature), fetchedAt));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,18 @@
+package app.adriano.fakeplayers.skin;
+
+/**
+ * Textura de skin assinada, como a propriedade {@code textures} de um perfil do Minecraft.
+ *
+ * @param value Valor em base64 com as URLs das texturas
+ * @param signature Assinatura em base64, ou null se a textura não for assinada
+ * @since 0.2.0
+ */
+public record SkinTexture(String value, String signature) {
+
+    /**
+     * @return true se a textura tiver assinatura (exigida pelos clientes para skins de outros jogadores)
+     */
+    public boolean isSigned() {
+        return signature != null && !signature.isEmpty();
+    }
+}
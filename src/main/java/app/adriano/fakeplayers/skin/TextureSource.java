@@ -0,0 +1,32 @@
+package app.adriano.fakeplayers.skin;
+
+import java.io.IOException;
+
+/**
+ * Origem das texturas de skin usada pelo {@link SkinCache} quando a skin não está em cache.
+ *
+ * Chamada apenas nas threads do cache, nunca na thread principal, então pode
+ * fazer leitura de disco ou rede. A implementação padrão é {@link LocalTextureSource},
+ * que funciona sem rede; outras origens (API da Mojang, serviços de skin) podem ser
+ * registradas com {@link SkinCache#setSource(TextureSource)}.
+ *
+ * @see SkinCache
+ * @since 0.2.0
+ */
+@FunctionalInterface
+public interface TextureSource {
+
+    /**
+     * Busca a textura de uma skin.
+     *
+     * @param key Nome da skin, em minúsculas
+     * @return Textura encontrada, ou null se a skin não existir nesta origem
+     * @throws IOException se a origem não puder ser consultada
+     */
+    SkinTexture fetch(String key) throws IOException;
+
+    /**
+     * Origem vazia, que não encontra nenhuma skin.
+     */
+    TextureSource NONE = key -> null;
+}
@@ -0,0 +1,320 @@
+package app.adriano.fakeplayers.spatial;
+
+import app.adriano.fakeplayers.bot.BotRegistryListener;
+import app.adriano.fakeplayers.bot.FakePlayerRegistry;
+import app.adriano.fakeplayers.utils.LongIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Índice espacial dos bots, organizado em uma grade de chunks por mundo.
+ *
+ * Cada mundo tem um mapa de chave de chunk para o primeiro bot da célula, e os
+ * bots de uma mesma célula formam uma lista duplamente encadeada intrusiva
+ * (arrays {@code next}/{@code prev} indexados pelo id do bot). Assim:
+ * 1. Inserir, remover e mover um bot entre células é O(1)
+ * 2. Consultas só visitam os chunks que intersectam a área pedida
+ * 3. Nenhuma consulta aloca objetos: os resultados vão para arrays do chamador
+ *
+ * O índice observa o {@link FakePlayerRegistry} e se atualiza sozinho quando
+ * um bot é criado, removido ou cruza a borda de um chunk.
+ *
+ * Exemplo de uso:
+ * ```java
+ * int[] out = new int[64];
+ * int count = spatialIndex.queryRadius(world, x, y, z, 32.0, out);
+ * for (int i = 0; i < count; i++) {
+ *     int botId = out[i];
+ * }
+ * ```
+ *
+ * Esta classe não é thread-safe e deve ser usada apenas na thread principal.
+ *
+ * @since 0.2.0
+ */
+public final class BotSpatialIndex implements BotRegistryListener {
+
+    private static final int NONE = -1;
+
+    private final FakePlayerRegistry registry;
+
+    // Células por mundo: chave do chunk -> primeiro bot da célula
+    private LongIntMap[] cells = new LongIntMap[4];
+
+    // Listas intrusivas e célula atual de cada bot, indexadas por id
+    private int[] next = new int[0];
+    private int[] prev = new int[0];
+    private long[] cellKey = new long[0];
+    private int[] cellWorld = new int[0];
+
+    /**
+     * Cria o índice e passa a observar o registro.
+     *
+     * @param registry Registro de bots
+     */
+    public BotSpatialIndex(FakePlayerRegistry registry) {
+        this.registry = registry;
+        registry.addListener(this);
+    }
+
+    @Override
+    public void onSpawn(FakePlayerRegistry source, int id) {
+        ensureCapacity(id);
+        link(id, registry.getWorld(id), keyOf(registry.getX(id), registry.getZ(id)));
+    }
+
+    @Override
+    public void onDespawn(FakePlayerRegistry source, int id) {
+        unlink(id);
+    }
+
+    @Override
+    public void onMove(FakePlayerRegistry source, int id, int oldWorld, double oldX, double oldZ) {
+        int world = registry.getWorld(id);
+        long key = keyOf(registry.getX(id), registry.getZ(id));
+        if (world != cellWorld[id] || key != cellKey[id]) {
+            unlink(id);
+            link(id, world, key);
+        }
+    }
+
+    /**
+     * Busca os bots dentro de uma esfera.
+     *
+     * @param world Índice do mundo
+     * @param x Centro X
+     * @param y Centro Y
+     * @param z Centro Z
+     * @param radius Raio em blocos
+     * @param out Array que receberá os ids encontrados
+     * @return Quantidade de ids escritos em {@code out} (limitada ao tamanho do array)
+     */
+    public int queryRadius(int world, double x, double y, double z, double radius, int[] out) {
+        LongIntMap grid = grid(world);
+        if (grid == null) {
+            return 0;
+        }
+        double radiusSq = radius * radius;
+        int minCx = floorChunk(x - radius);
+        int maxCx = floorChunk(x + radius);
+        int minCz = floorChunk(z - radius);
+        int maxCz = floorChunk(z + radius);
+        int count = 0;
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                int id = grid.get(LongIntMap.chunkKey(cx, cz));
+                while (id != NONE) {
+                    if (distanceSq(id, x, y, z) <= radiusSq) {
+                        if (count == out.length) {
+                            return count;
+                        }
+                        out[count++] = id;
+                    }
+                    id = next[id];
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Busca os bots dentro de uma caixa alinhada aos eixos.
+     *
+     * @param world Índice do mundo
+     * @param minX X mínimo
+     * @param minY Y mínimo
+     * @param minZ Z mínimo
+     * @param maxX X máximo
+     * @param maxY Y máximo
+     * @param maxZ Z máximo
+     * @param out Array que receberá os ids encontrados
+     * @return Quantidade de ids escritos em {@code out} (limitada ao tamanho do array)
+     */
+    public int queryBox(int world, double minX, double minY, double minZ,
+                        double maxX, double maxY, double maxZ, int[] out) {
+        LongIntMap grid = grid(world);
+        if (grid == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int cx = floorChunk(minX); cx <= floorChunk(maxX); cx++) {
+            for (int cz = floorChunk(minZ); cz <= floorChunk(maxZ); cz++) {
+                int id = grid.get(LongIntMap.chunkKey(cx, cz));
+                while (id != NONE) {
+                    double bx = registry.getX(id);
+                    double by = registry.getY(id);
+                    double bz = registry.getZ(id);
+                    if (bx >= minX && bx <= maxX && by >= minY && by <= maxY && bz >= minZ && bz <= maxZ) {
+                        if (count == out.length) {
+                            return count;
+                        }
+                        out[count++] = id;
+                    }
+                    id = next[id];
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Busca os {@code k} bots mais próximos de um ponto, em ordem crescente de distância.
+     * A busca expande anéis de chunks ao redor do ponto e para assim que nenhum
+     * chunk ainda não visitado puder conter um bot mais próximo.
+     *
+     * @param world Índice do mundo
+     * @param x Centro X
+     * @param y Centro Y
+     * @param z Centro Z
+     * @param maxRadius Distância máxima considerada, em blocos
+     * @param outIds Array que receberá os ids; seu tamanho define {@code k}
+     * @param outDistSq Array que receberá as distâncias ao quadrado (mesmo tamanho de {@code outIds})
+     * @return Quantidade de bots encontrados
+     */
+    public int nearest(int world, double x, double y, double z, double maxRadius,
+                       int[] outIds, double[] outDistSq) {
+        LongIntMap grid = grid(world);
+        int k = Math.min(outIds.length, outDistSq.length);
+        if (grid == null || k == 0) {
+            return 0;
+        }
+        double maxSq = maxRadius * maxRadius;
+        int centerCx = floorChunk(x);
+        int centerCz = floorChunk(z);
+        int maxRing = (int) Math.ceil(maxRadius / 16.0) + 1;
+        int count = 0;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Distância mínima de qualquer ponto do anel até o centro
+            if (ring > 0) {
+                double ringDistance = (ring - 1) * 16.0;
+                double ringSq = ringDistance * ringDistance;
+                if (ringSq > maxSq || (count == k && ringSq > outDistSq[k - 1])) {
+                    break;
+                }
+            }
+            for (int cx = centerCx - ring; cx <= centerCx + ring; cx++) {
+                boolean edgeColumn = cx == centerCx - ring || cx == centerCx + ring;
+                int step = edgeColumn || ring == 0 ? 1 : ring * 2;
+                for (int cz = centerCz - ring; cz <= centerCz + ring; cz += step) {
+                    int id = grid.get(LongIntMap.chunkKey(cx, cz));
+                    while (id != NONE) {
+                        double distSq = distanceSq(id, x, y, z);
+                        if (distSq <= maxSq && (count < k || distSq < outDistSq[count - 1])) {
+                            count = insertSorted(outIds, outDistSq, count, k, id, distSq);
+                        }
+                        id = next[id];
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Conta os bots em um chunk.
+     *
+     * @param world Índice do mundo
+     * @param chunkX Coordenada X do chunk
+     * @param chunkZ Coordenada Z do chunk
+     * @return Quantidade de bots no chunk
+     */
+    public int countInChunk(int world, int chunkX, int chunkZ) {
+        LongIntMap grid = grid(world);
+        if (grid == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int id = grid.get(LongIntMap.chunkKey(chunkX, chunkZ)); id != NONE; id = next[id]) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int insertSorted(int[] ids, double[] dists, int count, int k, int id, double distSq) {
+        int position = Math.min(count, k - 1);
+        while (position > 0 && dists[position - 1] > distSq) {
+            if (position < k) {
+                ids[position] = ids[position - 1];
+                dists[position] = dists[position - 1];
+            }
+            position--;
+        }
+        ids[position] = id;
+        dists[position] = distSq;
+        return Math.min(count + 1, k);
+    }
+
+    private double distanceSq(int id, double x, double y, double z) {
+        double dx = registry.getX(id) - x;
+        double dy = registry.getY(id) - y;
+        double dz = registry.getZ(id) - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void link(int id, int world, long key) {
+        LongIntMap grid = grid(world);
+        if (grid == null) {
+            if (world >= cells.length) {
+                cells = Arrays.copyOf(cells, Math.max(world + 1, cells.length * 2));
+            }
+            grid = cells[world] = new LongIntMap(256);
+        }
+        int head = grid.get(key);
+        next[id] = head;
+        prev[id] = NONE;
+        if (head != NONE) {
+            prev[head] = id;
+        }
+        grid.put(key, id);
+        cellWorld[id] = world;
+        cellKey[id] = key;
+    }
+
+    private void unlink(int id) {
+        int before = prev[id];
+        int after = next[id];
+        if (after != NONE) {
+            prev[after] = before;
+        }
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            // Era o primeiro da célula
+            LongIntMap grid = cells[cellWorld[id]];
+            if (after != NONE) {
+                grid.put(cellKey[id], after);
+            } else {
+                grid.remove(cellKey[id]);
+            }
+        }
+        next[id] = NONE;
+        prev[id] = NONE;
+    }
+
+    private LongIntMap grid(int world) {
+        return world >= 0 && world < cells.length ? cells[world] : null;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < next.length) {
+            return;
+        }
+        int capacity = Math.max(id + 1, Math.max(64, next.length * 2));
+        int old = next.length;
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        Arrays.fill(next, old, capacity, NONE);
+        Arrays.fill(prev, old, capacity, NONE);
+        cellKey = Arrays.copyOf(cellKey, capacity);
+        cellWorld = Arrays.copyOf(cellWorld, capacity);
+    }
+
+    private static long keyOf(double x, double z) {
+        return LongIntMap.chunkKey(floorChunk(x), floorChunk(z));
+    }
+
+    private static int floorChunk(double coordinate) {
+        return (int) Math.floor(coordinate) >> 4;
+    }
+}
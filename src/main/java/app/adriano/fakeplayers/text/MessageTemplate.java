@@ -0,0 +1,224 @@
+package app.adriano.fakeplayers.text;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mensagem pré-compilada em um Component.
+ *
+ * O texto do config.yml (com códigos {@code &a}, {@code &l}, etc) é lido uma
+ * única vez e dividido em trechos com estilo próprio. Trechos fixos viram
+ * Components prontos e cada placeholder vira uma posição tipada, preenchida
+ * no envio com o estilo do ponto em que aparece.
+ *
+ * Funcionalidades:
+ * 1. Mensagens sem placeholders são um único Component em cache, sem alocação por envio
+ * 2. Mensagens com placeholders só criam o Component do valor e o Component raiz
+ * 3. Os códigos de cor viram estilos do Adventure, em vez de texto com {@code §}
+ *
+ * Exemplo de uso:
+ * ```java
+ * MessageTemplate ping = MessageTemplate.compile("&aPong! &eTempo: &f%time%ms");
+ * sender.sendMessage(ping.render(Placeholder.TIME, 12L));
+ * ```
+ *
+ * As instâncias são imutáveis e podem ser usadas em qualquer thread.
+ *
+ * @see Placeholder
+ * @since 0.2.0
+ */
+public final class MessageTemplate implements ComponentLike {
+
+    private static final String COLOR_CODES = "0123456789abcdef";
+    private static final TextColor[] COLORS = {
+        NamedTextColor.BLACK, NamedTextColor.DARK_BLUE, NamedTextColor.DARK_GREEN, NamedTextColor.DARK_AQUA,
+        NamedTextColor.DARK_RED, NamedTextColor.DARK_PURPLE, NamedTextColor.GOLD, NamedTextColor.GRAY,
+        NamedTextColor.DARK_GRAY, NamedTextColor.BLUE, NamedTextColor.GREEN, NamedTextColor.AQUA,
+        NamedTextColor.RED, NamedTextColor.LIGHT_PURPLE, NamedTextColor.YELLOW, NamedTextColor.WHITE
+    };
+
+    private final String source;
+
+    // Cada posição é um trecho fixo (parts) ou um placeholder (slots + slotStyles)
+    private final Component[] parts;
+    private final Placeholder<?>[] slots;
+    private final Style[] slotStyles;
+
+    // Mensagem completa quando não há placeholders
+    private final Component cached;
+
+    private MessageTemplate(String source, Component[] parts, Placeholder<?>[] slots, Style[] slotStyles) {
+        this.source = source;
+        this.parts = parts;
+        this.slots = slots;
+        this.slotStyles = slotStyles;
+        boolean hasSlots = false;
+        for (Placeholder<?> slot : slots) {
+            hasSlots |= slot != null;
+        }
+        this.cached = hasSlots ? null : build(null, null, null, null);
+    }
+
+    /**
+     * Compila uma mensagem com códigos de cor {@code &} (ou {@code §}) e placeholders.
+     *
+     * @param source Texto da mensagem
+     * @return Template compilado
+     */
+    public static MessageTemplate compile(String source) {
+        List<Component> parts = new ArrayList<>();
+        List<Placeholder<?>> slots = new ArrayList<>();
+        List<Style> slotStyles = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        Style style = Style.empty();
+
+        int length = source.length();
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(i);
+            if ((c == '&' || c == '§') && i + 1 < length) {
+                Style next = applyCode(style, Character.toLowerCase(source.charAt(i + 1)));
+                if (next != null) {
+                    flush(text, style, parts, slots, slotStyles);
+                    style = next;
+                    i++;
+                    continue;
+                }
+            } else if (c == '%') {
+                int end = source.indexOf('%', i + 1);
+                Placeholder<?> placeholder = end > i + 1 ? Placeholder.byName(source.substring(i + 1, end)) : null;
+                if (placeholder != null) {
+                    flush(text, style, parts, slots, slotStyles);
+                    parts.add(null);
+                    slots.add(placeholder);
+                    slotStyles.add(style);
+                    i = end;
+                    continue;
+                }
+            }
+            text.append(c);
+        }
+        flush(text, style, parts, slots, slotStyles);
+
+        return new MessageTemplate(source,
+            parts.toArray(new Component[0]),
+            slots.toArray(new Placeholder<?>[0]),
+            slotStyles.toArray(new Style[0]));
+    }
+
+    /**
+     * Obtém a mensagem sem preencher placeholders.
+     * Placeholders presentes aparecem como {@code %nome%}.
+     *
+     * @return Component da mensagem
+     */
+    @Override
+    public Component asComponent() {
+        return cached != null ? cached : build(null, null, null, null);
+    }
+
+    /**
+     * Monta a mensagem preenchendo um placeholder.
+     *
+     * @param placeholder Placeholder a preencher
+     * @param value Valor do placeholder
+     * @param <A> Tipo do valor
+     * @return Component da mensagem
+     */
+    public <A> Component render(Placeholder<A> placeholder, A value) {
+        return cached != null ? cached : build(placeholder, value, null, null);
+    }
+
+    /**
+     * Monta a mensagem preenchendo dois placeholders.
+     *
+     * @param first Primeiro placeholder
+     * @param firstValue Valor do primeiro placeholder
+     * @param second Segundo placeholder
+     * @param secondValue Valor do segundo placeholder
+     * @param <A> Tipo do primeiro valor
+     * @param <B> Tipo do segundo valor
+     * @return Component da mensagem
+     */
+    public <A, B> Component render(Placeholder<A> first, A firstValue, Placeholder<B> second, B secondValue) {
+        return cached != null ? cached : build(first, firstValue, second, secondValue);
+    }
+
+    /**
+     * @return Texto original da mensagem
+     */
+    public String source() {
+        return source;
+    }
+
+    /**
+     * @return true se a mensagem não tem placeholders
+     */
+    public boolean isStatic() {
+        return cached != null;
+    }
+
+    private <A, B> Component build(Placeholder<A> first, A firstValue, Placeholder<B> second, B secondValue) {
+        if (parts.length == 1 && parts[0] != null) {
+            return parts[0];
+        }
+        TextComponent.Builder builder = Component.text();
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i] != null) {
+                builder.append(parts[i]);
+                continue;
+            }
+            Placeholder<?> slot = slots[i];
+            String value;
+            if (slot == first) {
+                value = first.format(firstValue);
+            } else if (slot == second) {
+                value = second.format(secondValue);
+            } else {
+                value = slot.toString();
+            }
+            builder.append(Component.text(value, slotStyles[i]));
+        }
+        return builder.build();
+    }
+
+    private static void flush(StringBuilder text, Style style, List<Component> parts,
+                              List<Placeholder<?>> slots, List<Style> slotStyles) {
+        if (text.isEmpty()) {
+            return;
+        }
+        parts.add(Component.text(text.toString(), style));
+        slots.add(null);
+        slotStyles.add(null);
+        text.setLength(0);
+    }
+
+    /**
+     * Aplica um código de formatação legado ao estilo atual.
+     * Como no Minecraft, uma cor remove as formatações anteriores.
+     *
+     * @return Novo estilo, ou null se o caractere não for um código válido
+     */
+    private static Style applyCode(Style style, char code) {
+        int color = COLOR_CODES.indexOf(code);
+        if (color >= 0) {
+            return Style.style(COLORS[color]);
+        }
+        return switch (code) {
+            case 'k' -> style.decorate(TextDecoration.OBFUSCATED);
+            case 'l' -> style.decorate(TextDecoration.BOLD);
+            case 'm' -> style.decorate(TextDecoration.STRIKETHROUGH);
+            case 'n' -> style.decorate(TextDecoration.UNDERLINED);
+            case 'o' -> style.decorate(TextDecoration.ITALIC);
+            case 'r' -> Style.empty();
+            default -> null;
+        };
+    }
+}
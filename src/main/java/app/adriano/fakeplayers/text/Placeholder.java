@@ -0,0 +1,114 @@
+package app.adriano.fakeplayers.text;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Placeholder tipado usado nas mensagens ({@code %nome%}).
+ *
+ * Cada placeholder conhece o tipo do valor que recebe e como convertê-lo em
+ * texto, então {@code template.render(Placeholder.TIME, 12L)} não compila se
+ * o valor tiver o tipo errado.
+ *
+ * Somente placeholders criados com {@link #of} são reconhecidos por
+ * {@link MessageTemplate#compile}; qualquer outro {@code %texto%} fica como texto literal.
+ *
+ * @param <T> Tipo do valor do placeholder
+ * @since 0.2.0
+ */
+public final class Placeholder<T> {
+
+    private static final Map<String, Placeholder<?>> BY_NAME = new ConcurrentHashMap<>();
+
+    /** Tempo de resposta em milissegundos ({@code %time%}). */
+    public static final Placeholder<Long> TIME = of("time", String::valueOf);
+
+    /** Versão do plugin ({@code %version%}). */
+    public static final Placeholder<String> VERSION = of("version", Function.identity());
+
+    /** Nome de um jogador ou bot ({@code %player%}). */
+    public static final Placeholder<String> PLAYER = of("player", Function.identity());
+
+    /** Quantidade de itens, como bots criados ou removidos ({@code %count%}). */
+    public static final Placeholder<Long> COUNT = of("count", String::valueOf);
+
+    /** Lista de subcomandos disponíveis ({@code %commands%}). */
+    public static final Placeholder<String> COMMANDS = of("commands", Function.identity());
+
+    /** Filtro usado em um comando ({@code %filter%}). */
+    public static final Placeholder<String> FILTER = of("filter", Function.identity());
+
+    /** Nome de uma gravação de movimento ({@code %recording%}). */
+    public static final Placeholder<String> RECORDING = of("recording", Function.identity());
+
+    /** Descrição de um erro ({@code %error%}). */
+    public static final Placeholder<String> ERROR = of("error", Function.identity());
+
+    /** Quantidade de nós do cluster ({@code %nodes%}). */
+    public static final Placeholder<Long> NODES = of("nodes", String::valueOf);
+
+    /** Milissegundos por tick do servidor ({@code %mspt%}). */
+    public static final Placeholder<Double> MSPT = of("mspt", value -> String.format(Locale.ROOT, "%.1f", value));
+
+    /** Ticks por segundo do servidor ({@code %tps%}). */
+    public static final Placeholder<Double> TPS = of("tps", value -> String.format(Locale.ROOT, "%.1f", value));
+
+    private final String name;
+    private final Function<? super T, String> formatter;
+
+    private Placeholder(String name, Function<? super T, String> formatter) {
+        this.name = name;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Cria e registra um placeholder.
+     *
+     * @param name Nome usado entre os sinais de porcentagem, sem eles
+     * @param formatter Conversão do valor em texto
+     * @param <T> Tipo do valor
+     * @return Placeholder registrado
+     * @throws IllegalArgumentException se o nome já estiver registrado
+     */
+    public static <T> Placeholder<T> of(String name, Function<? super T, String> formatter) {
+        Placeholder<T> placeholder = new Placeholder<>(name, formatter);
+        if (BY_NAME.putIfAbsent(name, placeholder) != null) {
+            throw new IllegalArgumentException("Placeholder já registrado: " + name);
+        }
+        return placeholder;
+    }
+
+    /**
+     * Busca um placeholder registrado pelo nome.
+     *
+     * @param name Nome sem os sinais de porcentagem
+     * @return Placeholder, ou null se não existir
+     */
+    static Placeholder<?> byName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * @return Nome do placeholder, sem os sinais de porcentagem
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Converte um valor em texto.
+     *
+     * @param value Valor do placeholder
+     * @return Texto a ser inserido na mensagem
+     */
+    public String format(T value) {
+        return formatter.apply(value);
+    }
+
+    @Override
+    public String toString() {
+        return "%" + name + "%";
+    }
+}
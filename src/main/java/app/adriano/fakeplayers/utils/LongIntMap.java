@@ -0,0 +1,170 @@
+package app.adriano.fakeplayers.utils;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de endereçamento aberto de long para int, sem boxing.
+ *
+ * Segue o mesmo desenho do {@link UuidIntMap}: sondagem linear, fator de
+ * carga de 50% e remoção por deslocamento para trás. Usado principalmente
+ * com chaves de chunk empacotadas por {@link #chunkKey(int, int)}.
+ *
+ * Não é thread-safe; o acesso deve ser feito por uma única thread.
+ *
+ * @since 0.2.0
+ */
+public final class LongIntMap {
+
+    /**
+     * Valor retornado por {@link #get(long)} quando a chave não existe.
+     */
+    public static final int MISSING = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    /**
+     * Cria um mapa com capacidade para pelo menos {@code expected} entradas sem redimensionar.
+     *
+     * @param expected Quantidade esperada de entradas
+     */
+    public LongIntMap(int expected) {
+        allocate(Integer.highestOneBit(Math.max(expected, 8) * 4 - 1));
+    }
+
+    /**
+     * Empacota coordenadas de chunk em uma única chave.
+     *
+     * @param chunkX Coordenada X do chunk
+     * @param chunkZ Coordenada Z do chunk
+     * @return Chave do chunk
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param key Chave procurada
+     * @return Valor associado ou {@link #MISSING}
+     */
+    public int get(long key) {
+        int index = hash(key) & mask;
+        while (values[index] != MISSING) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Associa um valor à chave, substituindo o anterior se existir.
+     *
+     * @param key Chave
+     * @param value Valor (não negativo)
+     * @return Valor anterior ou {@link #MISSING}
+     */
+    public int put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Valor negativo não suportado: " + value);
+        }
+        int index = hash(key) & mask;
+        while (values[index] != MISSING) {
+            if (keys[index] == key) {
+                int previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeAt) {
+            rehash(values.length << 1);
+        }
+        return MISSING;
+    }
+
+    /**
+     * @param key Chave a ser removida
+     * @return Valor removido ou {@link #MISSING}
+     */
+    public int remove(long key) {
+        int index = hash(key) & mask;
+        while (values[index] != MISSING) {
+            if (keys[index] == key) {
+                int previous = values[index];
+                shiftBack(index);
+                size--;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * @return Quantidade de entradas no mapa
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove todas as entradas, mantendo a capacidade atual.
+     */
+    public void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    private void shiftBack(int hole) {
+        int index = hole;
+        while (true) {
+            index = (index + 1) & mask;
+            if (values[index] == MISSING) {
+                break;
+            }
+            int home = hash(keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                keys[hole] = keys[index];
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        values[hole] = MISSING;
+    }
+
+    private void rehash(int newLength) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newLength);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != MISSING) {
+                int index = hash(oldKeys[i]) & mask;
+                while (values[index] != MISSING) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int length) {
+        keys = new long[length];
+        values = new int[length];
+        Arrays.fill(values, MISSING);
+        mask = length - 1;
+        resizeAt = length >>> 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,58 @@
+package app.adriano.fakeplayers.utils;
+
+/**
+ * Balde de fichas medido em ticks, para limitar a taxa de uma operação.
+ *
+ * O balde recebe {@code ratePerTick} fichas a cada {@link #refill()} (uma vez por
+ * tick), até a capacidade; cada operação consome uma ficha. A capacidade define
+ * a rajada máxima depois de um período ocioso.
+ *
+ * Não é thread-safe; o acesso deve ser feito por uma única thread.
+ *
+ * @since 0.2.0
+ */
+public final class TokenBucket {
+
+    private final double ratePerTick;
+    private final double capacity;
+    private double tokens;
+
+    /**
+     * Cria um balde cheio.
+     *
+     * @param ratePerSecond Fichas por segundo (20 ticks)
+     * @param capacity Quantidade máxima de fichas acumuladas (pelo menos 1)
+     */
+    public TokenBucket(double ratePerSecond, double capacity) {
+        this.ratePerTick = Math.max(0.0, ratePerSecond) / 20.0;
+        this.capacity = Math.max(1.0, capacity);
+        this.tokens = this.capacity;
+    }
+
+    /**
+     * Acrescenta as fichas de um tick.
+     */
+    public void refill() {
+        tokens = Math.min(capacity, tokens + ratePerTick);
+    }
+
+    /**
+     * Consome uma ficha, se houver.
+     *
+     * @return true se a operação pode ser feita
+     */
+    public boolean tryAcquire() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    /**
+     * @return Fichas disponíveis no momento
+     */
+    public double available() {
+        return tokens;
+    }
+}
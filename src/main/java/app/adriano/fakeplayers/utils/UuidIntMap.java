@@ -0,0 +1,200 @@
+package app.adriano.fakeplayers.utils;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Mapa de endereçamento aberto de UUID para int, sem boxing.
+ *
+ * Cada UUID é guardado como dois {@code long} (bits mais e menos significativos)
+ * em arrays paralelos, e as colisões são resolvidas por sondagem linear.
+ * A remoção usa deslocamento para trás (backward shift), então a tabela
+ * nunca acumula lápides e as buscas continuam O(1) mesmo após muitas remoções.
+ *
+ * Detalhes Técnicos:
+ * - Fator de carga máximo de 50%, dobrando a capacidade quando excedido
+ * - Valores negativos não são permitidos (usados como marcador de vazio)
+ * - Não é thread-safe; o acesso deve ser feito por uma única thread
+ *
+ * @since 0.2.0
+ */
+public final class UuidIntMap {
+
+    /**
+     * Valor retornado por {@link #get(long, long)} quando a chave não existe.
+     */
+    public static final int MISSING = -1;
+
+    private long[] most;
+    private long[] least;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    /**
+     * Cria um mapa com capacidade para pelo menos {@code expected} entradas sem redimensionar.
+     *
+     * @param expected Quantidade esperada de entradas
+     */
+    public UuidIntMap(int expected) {
+        allocate(tableSizeFor(Math.max(expected, 8) * 2));
+    }
+
+    /**
+     * Obtém o valor associado ao UUID.
+     *
+     * @param uuid UUID procurado
+     * @return Valor associado ou {@link #MISSING}
+     */
+    public int get(UUID uuid) {
+        return get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Obtém o valor associado ao UUID informado em suas duas metades.
+     *
+     * @param msb Bits mais significativos do UUID
+     * @param lsb Bits menos significativos do UUID
+     * @return Valor associado ou {@link #MISSING}
+     */
+    public int get(long msb, long lsb) {
+        int index = hash(msb, lsb) & mask;
+        while (values[index] != MISSING) {
+            if (most[index] == msb && least[index] == lsb) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Associa um valor ao UUID, substituindo o anterior se existir.
+     *
+     * @param msb Bits mais significativos do UUID
+     * @param lsb Bits menos significativos do UUID
+     * @param value Valor (não negativo) a ser associado
+     * @return Valor anterior ou {@link #MISSING}
+     */
+    public int put(long msb, long lsb, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Valor negativo não suportado: " + value);
+        }
+        int index = hash(msb, lsb) & mask;
+        while (values[index] != MISSING) {
+            if (most[index] == msb && least[index] == lsb) {
+                int previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        most[index] = msb;
+        least[index] = lsb;
+        values[index] = value;
+        if (++size > resizeAt) {
+            rehash(values.length << 1);
+        }
+        return MISSING;
+    }
+
+    /**
+     * Remove o UUID do mapa.
+     *
+     * @param msb Bits mais significativos do UUID
+     * @param lsb Bits menos significativos do UUID
+     * @return Valor removido ou {@link #MISSING}
+     */
+    public int remove(long msb, long lsb) {
+        int index = hash(msb, lsb) & mask;
+        while (values[index] != MISSING) {
+            if (most[index] == msb && least[index] == lsb) {
+                int previous = values[index];
+                shiftBack(index);
+                size--;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * @return Quantidade de entradas no mapa
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove todas as entradas, mantendo a capacidade atual.
+     */
+    public void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    /**
+     * Fecha o buraco deixado em {@code hole} movendo para trás as entradas
+     * seguintes do mesmo cluster que pertençam a posições anteriores.
+     */
+    private void shiftBack(int hole) {
+        int index = hole;
+        while (true) {
+            index = (index + 1) & mask;
+            if (values[index] == MISSING) {
+                break;
+            }
+            int home = hash(most[index], least[index]) & mask;
+            // A entrada pode ocupar o buraco se sua posição ideal não estiver entre o buraco e ela
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                most[hole] = most[index];
+                least[hole] = least[index];
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        values[hole] = MISSING;
+    }
+
+    private void rehash(int newLength) {
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        int[] oldValues = values;
+        allocate(newLength);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != MISSING) {
+                int index = hash(oldMost[i], oldLeast[i]) & mask;
+                while (values[index] != MISSING) {
+                    index = (index + 1) & mask;
+                }
+                most[index] = oldMost[i];
+                least[index] = oldLeast[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int length) {
+        most = new long[length];
+        least = new long[length];
+        values = new int[length];
+        Arrays.fill(values, MISSING);
+        mask = length - 1;
+        resizeAt = length >>> 1;
+    }
+
+    private static int hash(long msb, long lsb) {
+        // Finalizador do MurmurHash3 para espalhar bem os bits
+        long h = msb ^ (lsb * 0x9E3779B97F4A7C15L);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static int tableSizeFor(int n) {
+        return Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+    }
+}